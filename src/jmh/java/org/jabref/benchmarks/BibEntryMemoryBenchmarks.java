@@ -0,0 +1,96 @@
+package org.jabref.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.field.UnknownField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the heap occupied by the entries of a generated library. The field values are generated beforehand, so that
+ * the measured size is the size of the entries and of the library themselves. The size per entry is reported as the
+ * secondary result "bytesPerEntry".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+public class BibEntryMemoryBenchmarks {
+
+    private static final Field[] FIELDS = {StandardField.AUTHOR, StandardField.TITLE, StandardField.JOURNAL,
+            StandardField.YEAR, StandardField.VOLUME, StandardField.NUMBER, StandardField.PAGES, StandardField.DOI,
+            StandardField.KEYWORDS, new UnknownField("rnd")};
+
+    @Param({"200000"})
+    private int entries;
+
+    private final List<String[]> values = new ArrayList<>();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long bytesPerEntry;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerEntry = 0;
+        }
+    }
+
+    @Setup
+    public void init() {
+        Random random = new Random(42);
+        for (int i = 0; i < entries; i++) {
+            values.add(new String[] {
+                    "Lastname" + random.nextInt(5000) + ", Firstname and Lastname" + random.nextInt(5000) + ", Firstname",
+                    "This is the title of entry " + i,
+                    "Journal of Computer Science " + random.nextInt(200),
+                    String.valueOf(1950 + random.nextInt(70)),
+                    String.valueOf(random.nextInt(50)),
+                    String.valueOf(random.nextInt(12)),
+                    random.nextInt(500) + "--" + random.nextInt(500),
+                    "10.1000/" + i,
+                    "keyword" + random.nextInt(100) + ", keyword" + random.nextInt(100),
+                    String.valueOf(random.nextInt())});
+        }
+    }
+
+    @Benchmark
+    public BibDatabase createLibrary(Footprint footprint) {
+        long usedBefore = usedMemory();
+        BibDatabase database = new BibDatabase();
+        List<BibEntry> newEntries = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            BibEntry entry = new BibEntry(StandardEntryType.Article).withCitationKey("key" + i);
+            String[] entryValues = values.get(i);
+            for (int j = 0; j < FIELDS.length; j++) {
+                entry.setField(FIELDS[j], entryValues[j]);
+            }
+            newEntries.add(entry);
+        }
+        database.insertEntries(newEntries);
+        footprint.bytesPerEntry = (usedMemory() - usedBefore) / entries;
+        return database;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,63 @@
+package org.jabref.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.logic.bst.VM;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs bst styles over a generated library. To compare the bst VM with an earlier version, run this benchmark on both
+ * versions.
+ */
+@State(Scope.Thread)
+public class BstBenchmarks {
+
+    @Param({"src/main/resources/bst/IEEEtran.bst", "src/test/resources/org/jabref/logic/bst/abbrv.bst"})
+    private String style;
+
+    private final List<BibEntry> entries = new ArrayList<>();
+
+    private VM vm;
+
+    @Setup
+    public void init() throws Exception {
+        vm = new VM(new File(style));
+
+        for (int i = 0; i < 10000; i++) {
+            BibEntry entry = new BibEntry(i % 2 == 0 ? StandardEntryType.Article : StandardEntryType.InProceedings);
+            entry.setCitationKey("id" + i);
+            entry.setField(StandardField.TITLE, "This is my title " + i);
+            entry.setField(StandardField.AUTHOR, "Firstname Lastname and FirstnameA LastnameA and FirstnameB LastnameB" + i);
+            entry.setField(StandardField.JOURNAL, "Journal Title " + i);
+            entry.setField(StandardField.BOOKTITLE, "Proceedings of the Conference " + i);
+            entry.setField(StandardField.PAGES, i + "--" + (i + 10));
+            entry.setField(StandardField.YEAR, String.valueOf(1900 + (i % 120)));
+            entries.add(entry);
+        }
+    }
+
+    @Benchmark
+    public String runStyle() {
+        return vm.run(entries);
+    }
+
+    @Benchmark
+    public String runStylePerEntry() {
+        // like the preview, which runs the style for one entry at a time
+        StringBuilder result = new StringBuilder();
+        for (BibEntry entry : entries.subList(0, 1000)) {
+            result.append(vm.run(List.of(entry)));
+        }
+        return result.toString();
+    }
+}
@@ -245,12 +245,11 @@ public class ArgumentProcessor {
         // $ stands for a blank
         ParserResult pr = loaded.get(loaded.size() - 1);
         BibDatabaseContext databaseContext = pr.getDatabaseContext();
-        BibDatabase dataBase = pr.getDatabase();
 
         SearchPreferences searchPreferences = Globals.prefs.getSearchPreferences();
         SearchQuery query = new SearchQuery(searchTerm, searchPreferences.isCaseSensitive(),
                 searchPreferences.isRegularExpression());
-        List<BibEntry> matches = new DatabaseSearcher(query, dataBase).getMatches();
+        List<BibEntry> matches = new DatabaseSearcher(query, databaseContext).getMatches();
 
         // export matches
         if (!matches.isEmpty()) {
@@ -512,9 +511,7 @@ public class ArgumentProcessor {
             LOGGER.info(Localization.lang("Regenerating citation keys according to metadata"));
 
             CitationKeyGenerator keyGenerator = new CitationKeyGenerator(parserResult.getDatabaseContext(), Globals.prefs.getCitationKeyPatternPreferences());
-            for (BibEntry entry : database.getEntries()) {
-                keyGenerator.generateAndSetKey(entry);
-            }
+            keyGenerator.generateAndSetKeys(database.getEntries());
         }
     }
 
@@ -269,7 +269,7 @@ public class JabRefGUI {
                 continue;
             }
 
-            if (BackupManager.backupFileDiffers(dbFile.toPath())) {
+            if (BackupManager.backupFileDiffers(dbFile.toPath(), Globals.prefs)) {
                 BackupUIManager.showRestoreBackupDialog(mainFrame.getDialogService(), dbFile.toPath());
             }
 
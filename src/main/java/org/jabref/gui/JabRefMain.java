@@ -12,9 +12,11 @@ import org.jabref.gui.remote.JabRefMessageHandler;
 import org.jabref.logic.exporter.ExporterFactory;
 import org.jabref.logic.journals.JournalAbbreviationLoader;
 import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.net.HttpResponseCache;
 import org.jabref.logic.net.ProxyAuthenticator;
 import org.jabref.logic.net.ProxyPreferences;
 import org.jabref.logic.net.ProxyRegisterer;
+import org.jabref.logic.net.URLDownload;
 import org.jabref.logic.protectedterms.ProtectedTermsLoader;
 import org.jabref.logic.remote.RemotePreferences;
 import org.jabref.logic.remote.client.RemoteClient;
@@ -54,6 +56,7 @@ public class JabRefMain extends Application {
             PreferencesMigrations.runMigrations();
 
             configureProxy(preferences.getProxyPreferences());
+            URLDownload.setResponseCache(new HttpResponseCache(OS.getUserDataDirectory().resolve("http-cache")));
 
             Globals.startBackgroundTasks();
 
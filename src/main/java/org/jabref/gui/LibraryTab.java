@@ -116,7 +116,7 @@ public class LibraryTab extends Tab {
         bibDatabaseContext.getMetaData().registerListener(this);
 
         this.sidePaneManager = frame.getSidePaneManager();
-        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager);
+        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager, Globals.TASK_EXECUTOR);
 
         citationStyleCache = new CitationStyleCache(bibDatabaseContext);
         annotationCache = new FileAnnotationCache(bibDatabaseContext, preferencesService.getFilePreferences());
@@ -209,12 +209,15 @@ public class LibraryTab extends Tab {
     public void feedData(BibDatabaseContext bibDatabaseContext) {
         cleanUp();
 
+        BibDatabaseContext oldContext = this.bibDatabaseContext;
         this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
+        // The list of open databases only follows the tabs, thus the loaded database has to be put in place
+        Globals.stateManager.getOpenDatabases().replaceAll(context -> context == oldContext ? bibDatabaseContext : context);
 
         bibDatabaseContext.getDatabase().registerListener(this);
         bibDatabaseContext.getMetaData().registerListener(this);
 
-        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager);
+        this.tableModel = new MainTableDataModel(getBibDatabaseContext(), preferencesService, Globals.stateManager, Globals.TASK_EXECUTOR);
         citationStyleCache = new CitationStyleCache(bibDatabaseContext);
         annotationCache = new FileAnnotationCache(bibDatabaseContext, preferencesService.getFilePreferences());
 
@@ -674,6 +677,9 @@ public class LibraryTab extends Tab {
         changeMonitor.ifPresent(DatabaseChangeMonitor::unregister);
         AutosaveManager.shutdown(bibDatabaseContext);
         BackupManager.shutdown(bibDatabaseContext);
+        if (bibDatabaseContext != null) {
+            bibDatabaseContext.closeIndexes();
+        }
     }
 
     /**
@@ -12,6 +12,7 @@ import javafx.beans.property.ReadOnlyListProperty;
 import javafx.beans.property.ReadOnlyListWrapper;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.concurrent.Task;
@@ -45,6 +46,10 @@ public class StateManager {
 
     private final CustomLocalDragboard localDragboard = new CustomLocalDragboard();
     private final ObservableList<BibDatabaseContext> openDatabases = FXCollections.observableArrayList();
+    /**
+     * A copy of {@link #openDatabases}, replaced (on the JavaFX thread) whenever the open databases change
+     */
+    private volatile List<BibDatabaseContext> openDatabasesSnapshot = List.of();
     private final OptionalObjectProperty<BibDatabaseContext> activeDatabase = OptionalObjectProperty.empty();
     private final ReadOnlyListWrapper<GroupTreeNode> activeGroups = new ReadOnlyListWrapper<>(FXCollections.observableArrayList());
     private final ObservableList<BibEntry> selectedEntries = FXCollections.observableArrayList();
@@ -59,6 +64,7 @@ public class StateManager {
 
     public StateManager() {
         activeGroups.bind(Bindings.valueAt(selectedGroups, activeDatabase.orElse(null)));
+        openDatabases.addListener((ListChangeListener<BibDatabaseContext>) change -> openDatabasesSnapshot = List.copyOf(openDatabases));
     }
 
     public CustomLocalDragboard getLocalDragboard() {
@@ -69,6 +75,14 @@ public class StateManager {
         return openDatabases;
     }
 
+    /**
+     * Returns the databases which are currently open. In contrast to {@link #getOpenDatabases()}, this method may be
+     * called from any thread.
+     */
+    public List<BibDatabaseContext> getOpenDatabasesSnapshot() {
+        return openDatabasesSnapshot;
+    }
+
     public OptionalObjectProperty<BibDatabaseContext> activeDatabaseProperty() {
         return activeDatabase;
     }
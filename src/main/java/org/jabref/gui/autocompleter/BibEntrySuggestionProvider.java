@@ -1,6 +1,8 @@
 package org.jabref.gui.autocompleter;
 
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.jabref.logic.bibtex.comparator.EntryComparator;
@@ -18,9 +20,18 @@ import org.controlsfx.control.textfield.AutoCompletionBinding;
 public class BibEntrySuggestionProvider extends SuggestionProvider<BibEntry> {
 
     private final BibDatabase database;
+    private final SuggestionIndex<BibEntry> index;
 
     public BibEntrySuggestionProvider(BibDatabase database) {
         this.database = database;
+        this.index = new SuggestionIndex<>(database, InternalField.KEY_FIELD::equals,
+                entry -> entry.hasCitationKey() ? List.of(entry) : List.of(),
+                entry -> entry.getCitationKey().orElse(""), getEquivalence(), List.of());
+    }
+
+    @Override
+    protected Optional<SuggestionIndex<BibEntry>> getIndex() {
+        return Optional.of(index);
     }
 
     @Override
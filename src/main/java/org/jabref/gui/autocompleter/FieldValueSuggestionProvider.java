@@ -1,6 +1,9 @@
 package org.jabref.gui.autocompleter;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.jabref.model.database.BibDatabase;
@@ -13,10 +16,25 @@ class FieldValueSuggestionProvider extends StringSuggestionProvider {
 
     private final Field field;
     private final BibDatabase database;
+    private final SuggestionIndex<String> index;
 
     FieldValueSuggestionProvider(Field field, BibDatabase database) {
+        this(field, database, List.of());
+    }
+
+    /**
+     * @param additionalValues values suggested in addition to the values of the library
+     */
+    FieldValueSuggestionProvider(Field field, BibDatabase database, Collection<String> additionalValues) {
         this.field = Objects.requireNonNull(field);
         this.database = database;
+        this.index = new SuggestionIndex<>(database, field::equals, entry -> entry.getField(field).map(List::of).orElse(List.of()),
+                value -> value, getEquivalence(), additionalValues);
+    }
+
+    @Override
+    protected Optional<SuggestionIndex<String>> getIndex() {
+        return Optional.of(index);
     }
 
     @Override
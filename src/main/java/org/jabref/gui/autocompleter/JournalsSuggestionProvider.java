@@ -13,7 +13,7 @@ public class JournalsSuggestionProvider extends FieldValueSuggestionProvider {
     private final JournalAbbreviationRepository repository;
 
     JournalsSuggestionProvider(Field field, BibDatabase database, JournalAbbreviationRepository repository) {
-        super(field, database);
+        super(field, database, repository.getFullNames());
 
         this.repository = repository;
     }
@@ -3,8 +3,11 @@ package org.jabref.gui.autocompleter;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jabref.model.database.BibDatabase;
@@ -24,6 +27,7 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
 
     private final Collection<Field> fields;
     private final BibDatabase database;
+    private final SuggestionIndex<Author> index;
 
     PersonNameSuggestionProvider(Field field, BibDatabase database) {
         this(Collections.singletonList(Objects.requireNonNull(field)), database);
@@ -34,6 +38,8 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
 
         this.fields = Objects.requireNonNull(fields);
         this.database = database;
+        this.index = new SuggestionIndex<>(database, fields::contains, entry -> getAuthors(entry).collect(Collectors.toList()),
+                author -> author.getLastFirst(false), getEquivalence(), List.of());
     }
 
     public Stream<Author> getAuthors(BibEntry entry) {
@@ -46,6 +52,11 @@ public class PersonNameSuggestionProvider extends SuggestionProvider<Author> {
                     .flatMap(authors -> authors.getAuthors().stream());
     }
 
+    @Override
+    protected Optional<SuggestionIndex<Author>> getIndex() {
+        return Optional.of(index);
+    }
+
     @Override
     protected Equivalence<Author> getEquivalence() {
         return Equivalence.equals().onResultOf(Author::getLastOnly);
@@ -0,0 +1,508 @@
+package org.jabref.gui.autocompleter;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.event.FieldChangedEvent;
+
+import com.google.common.base.Equivalence;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Stores the suggestions of the entries of a library in a prefix tree, so that the most frequent suggestions starting
+ * with the text typed by the user are found without looking at all entries.
+ * <p>
+ * The suggestions are indexed by their keys (e.g., the last and first name of an author) in lower case and without
+ * diacritics. Thus, "muller" finds "Müller". Each node of the tree knows the highest frequency of a suggestion below
+ * it, so that the most frequent suggestions are visited first. If there are fewer suggestions starting with the text
+ * than requested, suggestions containing the text are added. These are looked up in an index of the substrings of
+ * {@link #GRAM_LENGTH} characters of the keys, so shorter texts only find suggestions starting with them.
+ * <p>
+ * The index is built when the first suggestions are requested and kept up to date by listening to the changes of the
+ * library.
+ */
+public class SuggestionIndex<T> {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Predicate<Field> isIndexedField;
+    private final Function<BibEntry, Collection<T>> getSuggestions;
+    private final Function<T, String> getKey;
+    private final Equivalence<? super T> equivalence;
+    private final Collection<T> additionalSuggestions;
+
+    private final Node<T> root = new Node<>("");
+
+    /**
+     * The nodes storing suggestions by the substrings of {@link #GRAM_LENGTH} characters of their keys
+     */
+    private final Map<String, Set<Node<T>>> nodesByGram = new HashMap<>();
+
+    private final BibDatabase database;
+
+    /**
+     * The suggestions of each entry together with their keys, or null if the index has not been built yet. The keys
+     * are stored, because the key of an entry (e.g., its citation key) has already changed when the change is
+     * reported.
+     */
+    private Map<BibEntry, List<IndexedSuggestion<T>>> suggestionsByEntry;
+
+    /**
+     * @param database              the library whose entries provide the suggestions
+     * @param isIndexedField        decides which fields the suggestions of an entry depend on
+     * @param getSuggestions        returns the suggestions of an entry
+     * @param getKey                returns the text matched against the text typed by the user
+     * @param equivalence           decides which suggestions are duplicates of each other
+     * @param additionalSuggestions suggestions not depending on the library (e.g., journal names)
+     */
+    public SuggestionIndex(BibDatabase database, Predicate<Field> isIndexedField, Function<BibEntry, Collection<T>> getSuggestions,
+                           Function<T, String> getKey, Equivalence<? super T> equivalence, Collection<T> additionalSuggestions) {
+        this.database = database;
+        this.isIndexedField = isIndexedField;
+        this.getSuggestions = getSuggestions;
+        this.getKey = getKey;
+        this.equivalence = equivalence;
+        this.additionalSuggestions = additionalSuggestions;
+
+        database.registerListener(this);
+    }
+
+    /**
+     * Converts the text to lower case and removes all diacritics
+     */
+    static String fold(String text) {
+        boolean isAscii = text.chars().allMatch(character -> character < 128);
+        if (isAscii) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char character = decomposed.charAt(i);
+            if (Character.getType(character) != Character.NON_SPACING_MARK) {
+                folded.append(character);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the most frequent suggestions whose key starts with the given text. If there are fewer such suggestions
+     * than the given limit, suggestions whose key contains the given text are added (if the text has at least
+     * {@link #GRAM_LENGTH} characters). Duplicate suggestions are omitted.
+     */
+    public synchronized List<T> getSuggestions(String text, int limit) {
+        buildIfNeeded();
+
+        String foldedText = fold(text);
+        List<T> result = new ArrayList<>(limit);
+        Set<Equivalence.Wrapper<T>> added = new HashSet<>();
+        Node<T> prefixNode = findPrefixNode(foldedText);
+        if (prefixNode != null) {
+            addMostFrequent(prefixNode, limit, result, added);
+        }
+        if (result.size() < limit) {
+            addContaining(foldedText, limit, result, added);
+        }
+        return result;
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        if (suggestionsByEntry != null) {
+            event.getBibEntries().forEach(this::addEntry);
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        if (suggestionsByEntry != null) {
+            event.getBibEntries().forEach(this::removeEntry);
+        }
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        // Only entries of the library are reported by the library
+        if ((suggestionsByEntry != null) && isIndexedField.test(event.getField())) {
+            removeEntry(event.getBibEntry());
+            addEntry(event.getBibEntry());
+        }
+    }
+
+    private void buildIfNeeded() {
+        if (suggestionsByEntry != null) {
+            return;
+        }
+        suggestionsByEntry = new IdentityHashMap<>();
+        for (T suggestion : additionalSuggestions) {
+            add(new IndexedSuggestion<>(fold(getKey.apply(suggestion)), suggestion));
+        }
+        database.getEntries().forEach(this::addEntry);
+    }
+
+    private void addEntry(BibEntry entry) {
+        Collection<T> suggestions = getSuggestions.apply(entry);
+        if (suggestions.isEmpty()) {
+            return;
+        }
+        List<IndexedSuggestion<T>> indexedSuggestions = new ArrayList<>(suggestions.size());
+        for (T suggestion : suggestions) {
+            IndexedSuggestion<T> indexedSuggestion = new IndexedSuggestion<>(fold(getKey.apply(suggestion)), suggestion);
+            indexedSuggestions.add(indexedSuggestion);
+            add(indexedSuggestion);
+        }
+        suggestionsByEntry.put(entry, indexedSuggestions);
+    }
+
+    private void removeEntry(BibEntry entry) {
+        List<IndexedSuggestion<T>> indexedSuggestions = suggestionsByEntry.remove(entry);
+        if (indexedSuggestions != null) {
+            indexedSuggestions.forEach(this::remove);
+        }
+    }
+
+    private void add(IndexedSuggestion<T> suggestion) {
+        String key = suggestion.key;
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        int position = 0;
+        path.add(node);
+        while (position < key.length()) {
+            Node<T> child = node.getChild(key.charAt(position));
+            if (child == null) {
+                child = new Node<>(key.substring(position));
+                node.addChild(child);
+                position = key.length();
+            } else {
+                int commonLength = getCommonPrefixLength(child.label, key, position);
+                if (commonLength < child.label.length()) {
+                    child = node.split(child, commonLength);
+                }
+                position += commonLength;
+            }
+            node = child;
+            path.add(node);
+        }
+        if (node.key == null) {
+            Node<T> keyNode = node;
+            forEachGram(key, gram -> nodesByGram.computeIfAbsent(gram, k -> new HashSet<>()).add(keyNode));
+        }
+        node.addSuggestion(key, suggestion.value, equivalence);
+        updateMaxFrequencies(path);
+    }
+
+    private void remove(IndexedSuggestion<T> suggestion) {
+        String key = suggestion.key;
+        List<Node<T>> path = new ArrayList<>();
+        Node<T> node = root;
+        int position = 0;
+        path.add(node);
+        while (position < key.length()) {
+            Node<T> child = node.getChild(key.charAt(position));
+            if ((child == null) || !key.startsWith(child.label, position)) {
+                return;
+            }
+            position += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        if (!node.removeSuggestion(suggestion.value)) {
+            return;
+        }
+        if (node.key == null) {
+            Node<T> keyNode = node;
+            // A gram occurring several times in the key is visited several times, but only removed once
+            forEachGram(key, gram -> nodesByGram.computeIfPresent(gram, (k, nodes) -> {
+                nodes.remove(keyNode);
+                return nodes.isEmpty() ? null : nodes;
+            }));
+        }
+
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node<T> current = path.get(i);
+            if (current.isEmpty()) {
+                path.get(i - 1).removeChild(current);
+            }
+        }
+        updateMaxFrequencies(path);
+    }
+
+    private void updateMaxFrequencies(List<Node<T>> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).updateMaxFrequency();
+        }
+    }
+
+    private static void forEachGram(String key, Consumer<String> consumer) {
+        for (int i = 0; i <= (key.length() - GRAM_LENGTH); i++) {
+            consumer.accept(key.substring(i, i + GRAM_LENGTH));
+        }
+    }
+
+    private static int getCommonPrefixLength(String label, String key, int position) {
+        int length = 0;
+        while ((length < label.length()) && ((position + length) < key.length())
+                && (label.charAt(length) == key.charAt(position + length))) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the node containing all suggestions whose key starts with the given text, or null if there is none
+     */
+    private Node<T> findPrefixNode(String text) {
+        Node<T> node = root;
+        int position = 0;
+        while (position < text.length()) {
+            Node<T> child = node.getChild(text.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            int commonLength = getCommonPrefixLength(child.label, text, position);
+            if (((position + commonLength) < text.length()) && (commonLength < child.label.length())) {
+                // The text continues differently than the key
+                return null;
+            }
+            position += commonLength;
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Adds the most frequent suggestions below the given node by visiting the nodes with the most frequent suggestions
+     * first
+     */
+    private void addMostFrequent(Node<T> start, int limit, List<T> result, Set<Equivalence.Wrapper<T>> added) {
+        PriorityQueue<Candidate<T>> candidates = new PriorityQueue<>(Comparator.comparingInt((Candidate<T> candidate) -> candidate.frequency).reversed());
+        candidates.add(new Candidate<>(start.maxFrequency, start, null));
+        while (!candidates.isEmpty() && (result.size() < limit)) {
+            Candidate<T> candidate = candidates.remove();
+            if (candidate.node == null) {
+                if (added.add(equivalence.wrap(candidate.suggestion))) {
+                    result.add(candidate.suggestion);
+                }
+                continue;
+            }
+            for (Suggestion<T> suggestion : candidate.node.suggestions) {
+                candidates.add(new Candidate<>(suggestion.getFrequency(), null, suggestion.getValue()));
+            }
+            for (Node<T> child : candidate.node.children) {
+                candidates.add(new Candidate<>(child.maxFrequency, child, null));
+            }
+        }
+    }
+
+    /**
+     * Adds the most frequent suggestions whose key contains the given text. Only the nodes sharing the rarest substring
+     * of {@link #GRAM_LENGTH} characters with the text are looked at.
+     */
+    private void addContaining(String text, int limit, List<T> result, Set<Equivalence.Wrapper<T>> added) {
+        if (text.length() < GRAM_LENGTH) {
+            return;
+        }
+        Set<Node<T>> smallest = null;
+        for (int i = 0; i <= (text.length() - GRAM_LENGTH); i++) {
+            Set<Node<T>> nodes = nodesByGram.getOrDefault(text.substring(i, i + GRAM_LENGTH), Collections.emptySet());
+            if ((smallest == null) || (nodes.size() < smallest.size())) {
+                smallest = nodes;
+            }
+        }
+
+        List<Suggestion<T>> matches = new ArrayList<>();
+        for (Node<T> node : smallest) {
+            if (node.key.contains(text)) {
+                matches.addAll(node.suggestions);
+            }
+        }
+        matches.sort(Comparator.comparingInt((Suggestion<T> suggestion) -> suggestion.getFrequency()).reversed());
+        for (Suggestion<T> match : matches) {
+            if (result.size() >= limit) {
+                return;
+            }
+            if (added.add(equivalence.wrap(match.getValue()))) {
+                result.add(match.getValue());
+            }
+        }
+    }
+
+    /**
+     * A node of the prefix tree. The edge leading to the node is labeled with one or more characters.
+     */
+    private static class Node<T> {
+        private String label;
+        private final List<Node<T>> children = new ArrayList<>(1);
+        private final List<Suggestion<T>> suggestions = new ArrayList<>(1);
+
+        /**
+         * The key of the suggestions stored at this node, or null if there are none
+         */
+        private String key;
+
+        /**
+         * The highest frequency of a suggestion stored at this node or below
+         */
+        private int maxFrequency;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node<T> getChild(char firstCharacter) {
+            for (Node<T> child : children) {
+                if (child.label.charAt(0) == firstCharacter) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node<T> child) {
+            children.add(child);
+        }
+
+        void removeChild(Node<T> child) {
+            children.remove(child);
+        }
+
+        /**
+         * Splits the edge to the given child after the given number of characters
+         *
+         * @return the node inserted at the split position
+         */
+        Node<T> split(Node<T> child, int length) {
+            Node<T> middle = new Node<>(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            middle.children.add(child);
+            middle.maxFrequency = child.maxFrequency;
+            children.set(children.indexOf(child), middle);
+            return middle;
+        }
+
+        /**
+         * Adds the value to the suggestion it is equivalent to, or stores it as a new suggestion
+         */
+        void addSuggestion(String key, T value, Equivalence<? super T> equivalence) {
+            this.key = key;
+            for (Suggestion<T> suggestion : suggestions) {
+                if (equivalence.equivalent(suggestion.getValue(), value)) {
+                    suggestion.values.add(value);
+                    return;
+                }
+            }
+            suggestions.add(new Suggestion<>(value));
+        }
+
+        /**
+         * Removes the given value. The value is compared by identity, as it is the instance which has been added. Thus,
+         * an equivalent value of another entry (e.g., an entry with the same content) stays.
+         *
+         * @return true if the value was found
+         */
+        boolean removeSuggestion(T value) {
+            for (int i = 0; i < suggestions.size(); i++) {
+                Suggestion<T> suggestion = suggestions.get(i);
+                if (suggestion.removeValue(value)) {
+                    if (suggestion.values.isEmpty()) {
+                        suggestions.remove(i);
+                        if (suggestions.isEmpty()) {
+                            key = null;
+                        }
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return suggestions.isEmpty() && children.isEmpty();
+        }
+
+        void updateMaxFrequency() {
+            int max = 0;
+            for (Suggestion<T> suggestion : suggestions) {
+                max = Math.max(max, suggestion.getFrequency());
+            }
+            for (Node<T> child : children) {
+                max = Math.max(max, child.maxFrequency);
+            }
+            maxFrequency = max;
+        }
+    }
+
+    private static class IndexedSuggestion<T> {
+        private final String key;
+        private final T value;
+
+        IndexedSuggestion(String key, T value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Equivalent values stored at a node. The first value is suggested, the number of values is the frequency.
+     */
+    private static class Suggestion<T> {
+        private final List<T> values = new ArrayList<>(1);
+
+        Suggestion(T value) {
+            values.add(value);
+        }
+
+        T getValue() {
+            return values.get(0);
+        }
+
+        int getFrequency() {
+            return values.size();
+        }
+
+        boolean removeValue(T value) {
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) == value) {
+                    values.remove(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A node or a suggestion to be visited when searching the most frequent suggestions
+     */
+    private static class Candidate<T> {
+        private final int frequency;
+        private final Node<T> node;
+        private final T suggestion;
+
+        Candidate(int frequency, Node<T> node, T suggestion) {
+            this.frequency = frequency;
+            this.node = node;
+            this.suggestion = suggestion;
+        }
+    }
+}
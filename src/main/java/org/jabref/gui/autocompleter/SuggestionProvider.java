@@ -29,6 +29,8 @@ package org.jabref.gui.autocompleter;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +47,13 @@ public abstract class SuggestionProvider<T> {
     public final Collection<T> provideSuggestions(ISuggestionRequest request) {
         if (!request.getUserText().isEmpty()) {
             Comparator<T> comparator = getComparator();
+            Optional<SuggestionIndex<T>> index = getIndex();
+            if (index.isPresent()) {
+                List<T> suggestions = index.get().getSuggestions(request.getUserText(), 10);
+                suggestions.sort(comparator);
+                return suggestions;
+            }
+
             Equivalence<T> equivalence = getEquivalence();
             return getSource().filter(candidate -> isMatch(candidate, request))
                               .map(equivalence::wrap) // Need to do a bit of acrobatic as there is no distinctBy method
@@ -70,6 +79,13 @@ public abstract class SuggestionProvider<T> {
                           .collect(Collectors.toList());
     }
 
+    /**
+     * Get the index answering the suggestions. If there is none, the suggestions are searched in {@link #getSource()}.
+     */
+    protected Optional<SuggestionIndex<T>> getIndex() {
+        return Optional.empty();
+    }
+
     /**
      * Get the comparator to order the suggestions
      */
@@ -1,5 +1,7 @@
 package org.jabref.gui.autocompleter;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.jabref.logic.journals.JournalAbbreviationRepository;
@@ -15,6 +17,11 @@ public class SuggestionProviders {
     private JournalAbbreviationRepository abbreviationRepository;
     private AutoCompletePreferences autoCompletePreferences;
 
+    /**
+     * The providers keep an index of the library up to date. Thus, each provider is only created once.
+     */
+    private final Map<Field, SuggestionProvider<?>> providers = new HashMap<>();
+
     public SuggestionProviders(BibDatabase database, JournalAbbreviationRepository abbreviationRepository, AutoCompletePreferences autoCompletePreferences) {
         this.database = database;
         this.abbreviationRepository = abbreviationRepository;
@@ -32,6 +39,10 @@ public class SuggestionProviders {
             return new EmptySuggestionProvider();
         }
 
+        return providers.computeIfAbsent(field, this::createProvider);
+    }
+
+    private SuggestionProvider<?> createProvider(Field field) {
         Set<FieldProperty> fieldProperties = field.getProperties();
         if (fieldProperties.contains(FieldProperty.PERSON_NAMES)) {
             return new PersonNameSuggestionProvider(field, database);
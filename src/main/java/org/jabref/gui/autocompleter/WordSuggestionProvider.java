@@ -1,6 +1,8 @@
 package org.jabref.gui.autocompleter;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import org.jabref.model.database.BibDatabase;
@@ -13,10 +15,18 @@ public class WordSuggestionProvider extends StringSuggestionProvider {
 
     private final Field field;
     private final BibDatabase database;
+    private final SuggestionIndex<String> index;
 
     public WordSuggestionProvider(Field field, BibDatabase database) {
         this.field = Objects.requireNonNull(field);
         this.database = database;
+        this.index = new SuggestionIndex<>(database, field::equals, entry -> entry.getFieldAsWords(field),
+                word -> word, getEquivalence(), List.of());
+    }
+
+    @Override
+    protected Optional<SuggestionIndex<String>> getIndex() {
+        return Optional.of(index);
     }
 
     @Override
@@ -32,7 +32,7 @@ class StringChangeViewModel extends DatabaseChangeViewModel {
         String currentValue = string.getContent();
         String newValue = newString.getContent();
         string.setContent(newValue);
-        undoEdit.addEdit(new UndoableStringChange(string, false, currentValue, newValue));
+        undoEdit.addEdit(new UndoableStringChange(database.getDatabase(), string, false, currentValue, newValue));
     }
 
     @Override
@@ -36,8 +36,8 @@ class StringNameChangeViewModel extends DatabaseChangeViewModel {
 
         String currentName = string.getName();
         String newName = newString.getName();
-        string.setName(newName);
-        undoEdit.addEdit(new UndoableStringChange(string, true, currentName, newName));
+        database.getDatabase().renameString(string, newName);
+        undoEdit.addEdit(new UndoableStringChange(database.getDatabase(), string, true, currentName, newName));
     }
 
     @Override
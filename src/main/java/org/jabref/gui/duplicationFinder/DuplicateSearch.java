@@ -1,7 +1,6 @@
 package org.jabref.gui.duplicationFinder;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +28,7 @@ import org.jabref.gui.undo.UndoableInsertEntries;
 import org.jabref.gui.undo.UndoableRemoveEntries;
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.DefaultTaskExecutor;
+import org.jabref.logic.database.DuplicateCandidateIndex;
 import org.jabref.logic.database.DuplicateCheck;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.model.database.BibDatabaseContext;
@@ -82,25 +82,31 @@ public class DuplicateSearch extends SimpleCommand {
                       .executeWith(Globals.TASK_EXECUTOR);
     }
 
+    /**
+     * Only pairs of entries sharing a block of the {@link DuplicateCandidateIndex} are checked. The checks run in
+     * parallel and each duplicate is handed over to {@link #verifyDuplicates()} as soon as it is found.
+     */
     private void searchPossibleDuplicates(List<BibEntry> entries, BibDatabaseMode databaseMode) {
-        for (int i = 0; (i < (entries.size() - 1)); i++) {
-            for (int j = i + 1; (j < entries.size()); j++) {
-                if (Thread.interrupted()) {
-                    return;
-                }
+        Thread searchThread = Thread.currentThread();
+        DuplicateCheck duplicateCheck = new DuplicateCheck(Globals.entryTypesManager);
 
-                BibEntry first = entries.get(i);
-                BibEntry second = entries.get(j);
+        new DuplicateCandidateIndex(entries).getCandidatePairs()
+                                            .parallelStream()
+                                            .filter(pair -> !searchThread.isInterrupted())
+                                            .filter(pair -> duplicateCheck.isDuplicate(pair.get(0), pair.get(1), databaseMode))
+                                            .forEach(this::addPossibleDuplicate);
 
-                if (new DuplicateCheck(Globals.entryTypesManager).isDuplicate(first, second, databaseMode)) {
-                    duplicates.add(Arrays.asList(first, second));
-                    duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
-                }
-            }
+        if (searchThread.isInterrupted()) {
+            return;
         }
         libraryAnalyzed.set(true);
     }
 
+    private synchronized void addPossibleDuplicate(List<BibEntry> pair) {
+        duplicates.add(pair);
+        duplicateCountObservable.set(String.valueOf(duplicateCount.incrementAndGet()));
+    }
+
     private DuplicateSearchResult verifyDuplicates() {
         DuplicateSearchResult result = new DuplicateSearchResult();
 
@@ -5,6 +5,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -25,6 +26,7 @@ import org.jabref.logic.autosaveandbackup.AutosaveManager;
 import org.jabref.logic.autosaveandbackup.BackupManager;
 import org.jabref.logic.exporter.AtomicFileWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
+import org.jabref.logic.exporter.IncrementalBibtexDatabaseSaver;
 import org.jabref.logic.exporter.SaveException;
 import org.jabref.logic.exporter.SavePreferences;
 import org.jabref.logic.l10n.Encodings;
@@ -32,6 +34,7 @@ import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.shared.DatabaseLocation;
 import org.jabref.logic.shared.prefs.SharedDatabasePreferences;
 import org.jabref.logic.util.StandardFileType;
+import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.event.ChangePropagation;
 import org.jabref.model.entry.BibEntryTypesManager;
@@ -227,19 +230,28 @@ public class SaveDatabaseAction {
         SavePreferences preferences = this.preferences.getSavePreferences()
                                                       .withEncoding(encoding)
                                                       .withSaveType(saveType);
-        try (AtomicFileWriter fileWriter = new AtomicFileWriter(file, preferences.getEncoding(), preferences.shouldMakeBackup())) {
-            BibtexDatabaseWriter databaseWriter = new BibtexDatabaseWriter(fileWriter, preferences, entryTypesManager);
-
+        try {
+            List<FieldChange> saveActionsFieldChanges;
+            Set<Character> encodingProblems;
             if (selectedOnly) {
-                databaseWriter.savePartOfDatabase(libraryTab.getBibDatabaseContext(), libraryTab.getSelectedEntries());
+                try (AtomicFileWriter fileWriter = new AtomicFileWriter(file, preferences.getEncoding(), preferences.shouldMakeBackup())) {
+                    BibtexDatabaseWriter databaseWriter = new BibtexDatabaseWriter(fileWriter, preferences, entryTypesManager);
+                    databaseWriter.savePartOfDatabase(libraryTab.getBibDatabaseContext(), libraryTab.getSelectedEntries());
+                    saveActionsFieldChanges = databaseWriter.getSaveActionsFieldChanges();
+                    encodingProblems = fileWriter.getEncodingProblems();
+                }
             } else {
-                databaseWriter.saveDatabase(libraryTab.getBibDatabaseContext());
+                // only writes the entries changed since the last save
+                IncrementalBibtexDatabaseSaver saver = libraryTab.getBibDatabaseContext().getIncrementalSaver();
+                saver.save(file, preferences, entryTypesManager);
+                saveActionsFieldChanges = saver.getSaveActionsFieldChanges();
+                encodingProblems = saver.getEncodingProblems();
             }
 
-            libraryTab.registerUndoableChanges(databaseWriter.getSaveActionsFieldChanges());
+            libraryTab.registerUndoableChanges(saveActionsFieldChanges);
 
-            if (fileWriter.hasEncodingProblems()) {
-                saveWithDifferentEncoding(file, selectedOnly, preferences.getEncoding(), fileWriter.getEncodingProblems(), saveType);
+            if (!encodingProblems.isEmpty()) {
+                saveWithDifferentEncoding(file, selectedOnly, preferences.getEncoding(), encodingProblems, saveType);
             }
         } catch (UnsupportedCharsetException ex) {
             throw new SaveException(Localization.lang("Character encoding '%0' is not supported.", encoding.displayName()), ex);
@@ -7,6 +7,7 @@ import javax.swing.undo.UndoManager;
 import javafx.concurrent.Task;
 
 import org.jabref.gui.DialogService;
+import org.jabref.gui.Globals;
 import org.jabref.gui.StateManager;
 import org.jabref.gui.actions.SimpleCommand;
 import org.jabref.gui.externalfiletype.ExternalFileTypes;
@@ -49,8 +50,7 @@ public class AutoLinkFilesAction extends SimpleCommand {
         final BibDatabaseContext database = stateManager.getActiveDatabase().orElseThrow(() -> new NullPointerException("Database null"));
         final List<BibEntry> entries = stateManager.getSelectedEntries();
         final AutoSetFileLinksUtil util = new AutoSetFileLinksUtil(
-                database,
-                preferences.getFilePreferences(),
+                database.getFileDirectoryIndex(preferences.getFilePreferences(), Globals.getFileUpdateMonitor()),
                 preferences.getAutoLinkPreferences(),
                 ExternalFileTypes.getInstance());
         final NamedCompound nc = new NamedCompound(Localization.lang("Automatically set file links"));
@@ -1,7 +1,6 @@
 package org.jabref.gui.externalfiles;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +15,7 @@ import org.jabref.gui.undo.UndoableFieldChange;
 import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.bibtex.FileFieldWriter;
 import org.jabref.logic.util.io.AutoLinkPreferences;
+import org.jabref.logic.util.io.FileDirectoryIndex;
 import org.jabref.logic.util.io.FileFinder;
 import org.jabref.logic.util.io.FileFinders;
 import org.jabref.logic.util.io.FileUtil;
@@ -23,6 +23,7 @@ import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 import org.jabref.model.util.FileHelper;
 import org.jabref.preferences.FilePreferences;
 
@@ -53,17 +54,26 @@ public class AutoSetFileLinksUtil {
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoSetFileLinksUtil.class);
+    private final FileDirectoryIndex fileDirectoryIndex;
     private final List<Path> directories;
-    private final AutoLinkPreferences autoLinkPreferences;
+    private final FileFinder fileFinder;
     private final ExternalFileTypes externalFileTypes;
 
+    /**
+     * Creates a util which walks the file directories of the library once, i.e., the files found reflect the state of
+     * the directories on the first search.
+     */
     public AutoSetFileLinksUtil(BibDatabaseContext databaseContext, FilePreferences filePreferences, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
-        this(databaseContext.getFileDirectories(filePreferences), autoLinkPreferences, externalFileTypes);
+        this(new FileDirectoryIndex(databaseContext.getFileDirectories(filePreferences), new DummyFileUpdateMonitor()), autoLinkPreferences, externalFileTypes);
     }
 
-    private AutoSetFileLinksUtil(List<Path> directories, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
-        this.directories = directories;
-        this.autoLinkPreferences = autoLinkPreferences;
+    /**
+     * Creates a util which searches the files in the given index (see {@link BibDatabaseContext#getFileDirectoryIndex(FilePreferences, org.jabref.model.util.FileUpdateMonitor)})
+     */
+    public AutoSetFileLinksUtil(FileDirectoryIndex fileDirectoryIndex, AutoLinkPreferences autoLinkPreferences, ExternalFileTypes externalFileTypes) {
+        this.fileDirectoryIndex = fileDirectoryIndex;
+        this.directories = fileDirectoryIndex.getDirectories();
+        this.fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences);
         this.externalFileTypes = externalFileTypes;
     }
 
@@ -110,8 +120,7 @@ public class AutoSetFileLinksUtil {
         List<String> extensions = externalFileTypes.getExternalFileTypeSelection().stream().map(ExternalFileType::getExtension).collect(Collectors.toList());
 
         // Run the search operation
-        FileFinder fileFinder = FileFinders.constructFromConfiguration(autoLinkPreferences);
-        List<Path> result = fileFinder.findAssociatedFiles(entry, directories, extensions);
+        List<Path> result = fileFinder.findAssociatedFiles(entry, fileDirectoryIndex, extensions);
 
         // Collect the found files that are not yet linked
         for (Path foundFile : result) {
@@ -119,7 +128,7 @@ public class AutoSetFileLinksUtil {
                                              .map(file -> file.findIn(directories))
                                              .anyMatch(file -> {
                                                  try {
-                                                     return file.isPresent() && Files.isSameFile(file.get(), foundFile);
+                                                     return file.isPresent() && fileDirectoryIndex.isSameFile(file.get(), foundFile);
                                                  } catch (IOException e) {
                                                      LOGGER.error("Problem with isSameFile", e);
                                                  }
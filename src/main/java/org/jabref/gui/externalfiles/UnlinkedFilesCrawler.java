@@ -1,21 +1,25 @@
 package org.jabref.gui.externalfiles;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.DirectoryStream.Filter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import javafx.scene.control.CheckBoxTreeItem;
 
 import org.jabref.gui.util.BackgroundTask;
+import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.gui.util.FileNodeViewModel;
+import org.jabref.logic.l10n.Localization;
+import org.jabref.logic.util.OS;
+import org.jabref.logic.util.io.DirectorySnapshot;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.preferences.FilePreferences;
@@ -25,27 +29,92 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Util class for searching files on the file system which are not linked to a provided {@link BibDatabase}.
+ * <p>
+ * The contents of the searched directories are remembered in a {@link DirectorySnapshot} stored in the user data
+ * directory, so that searching the same directory again only lists the directories which changed. The subdirectories
+ * are searched in parallel.
  */
 public class UnlinkedFilesCrawler extends BackgroundTask<FileNodeViewModel> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UnlinkedFilesCrawler.class);
 
+    private static final Path SNAPSHOT_FILE = OS.getUserDataDirectory().resolve("unlinked-files.mv");
+
+    /**
+     * The minimal time (in milliseconds) between two partial results
+     */
+    private static final long PARTIAL_RESULT_INTERVAL = 500;
+
+    /**
+     * Listing directories mostly waits for the file system, thus more threads than processors are used
+     */
+    private static final int PARALLELISM = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
     private final Path directory;
     private final Filter<Path> fileFilter;
     private final BibDatabaseContext databaseContext;
     private final FilePreferences filePreferences;
+    private final Consumer<FileNodeViewModel> partialResultConsumer;
+
+    private long lastPartialResult;
 
     public UnlinkedFilesCrawler(Path directory, Filter<Path> fileFilter, BibDatabaseContext databaseContext, FilePreferences filePreferences) {
+        this(directory, fileFilter, databaseContext, filePreferences, partialResult -> {
+        });
+    }
+
+    /**
+     * @param partialResultConsumer is called in the JavaFX thread with the tree of the subdirectories searched so far
+     *                              while the search is running
+     */
+    public UnlinkedFilesCrawler(Path directory, Filter<Path> fileFilter, BibDatabaseContext databaseContext, FilePreferences filePreferences, Consumer<FileNodeViewModel> partialResultConsumer) {
         this.directory = directory;
         this.fileFilter = fileFilter;
         this.databaseContext = databaseContext;
         this.filePreferences = filePreferences;
+        this.partialResultConsumer = partialResultConsumer;
     }
 
     @Override
     protected FileNodeViewModel call() throws IOException {
+        if ((directory == null) || !Files.isDirectory(directory)) {
+            throw new IOException(String.format("Invalid directory for searching: %s", directory));
+        }
+
         UnlinkedPDFFileFilter unlinkedPDFFileFilter = new UnlinkedPDFFileFilter(fileFilter, databaseContext, filePreferences);
-        return searchDirectory(directory, unlinkedPDFFileFilter);
+        lastPartialResult = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        try (DirectorySnapshot snapshot = openSnapshot()) {
+            return pool.invoke(new SearchDirectoryTask(directory, unlinkedPDFFileFilter, snapshot, true));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static DirectorySnapshot openSnapshot() {
+        try {
+            return DirectorySnapshot.open(SNAPSHOT_FILE);
+        } catch (IOException e) {
+            LOGGER.warn("Could not open snapshot of directories, listing all directories", e);
+            return DirectorySnapshot.inMemory();
+        }
+    }
+
+    private void publishPartialResult(FileNodeViewModel parent, int fileCount) {
+        long now = System.currentTimeMillis();
+        if ((now - lastPartialResult) < PARTIAL_RESULT_INTERVAL) {
+            return;
+        }
+        lastPartialResult = now;
+
+        // The children of the parent are still changed by the search, thus a copy is handed out
+        FileNodeViewModel partialResult = new FileNodeViewModel(parent.getPath());
+        partialResult.getChildren().addAll(new ArrayList<>(parent.getChildren()));
+        partialResult.setFileCount(fileCount);
+        DefaultTaskExecutor.runInJavaFXThread(() -> {
+            updateMessage(Localization.lang("Found %0 results.", String.valueOf(fileCount)));
+            partialResultConsumer.accept(partialResult);
+        });
     }
 
     /**
@@ -56,47 +125,73 @@ public class UnlinkedFilesCrawler extends BackgroundTask<FileNodeViewModel> {
      * The result will be a tree structure of nodes of the type {@link CheckBoxTreeItem}. <br>
      * <br>
      * The user objects that are attached to the nodes is the {@link FileNodeViewModel}, which wraps the {@link
-     * File}-Object. <br>
+     * Path}-Object. <br>
      * <br>
-     * For ensuring the capability to cancel the work of this recursive method, the first position in the integer array
-     * 'state' must be set to 1, to keep the recursion running. When the states value changes, the method will resolve
-     * its recursion and return what it has saved so far.
-     *
-     * @throws IOException if directory is not a directory or empty
+     * If the crawler is canceled, the tasks return what they have found so far.
      */
-    private FileNodeViewModel searchDirectory(Path directory, UnlinkedPDFFileFilter fileFilter) throws IOException {
-        // Return null if the directory is not valid.
-        if ((directory == null) || !Files.isDirectory(directory)) {
-            throw new IOException(String.format("Invalid directory for searching: %s", directory));
+    private class SearchDirectoryTask extends RecursiveTask<FileNodeViewModel> {
+
+        private final Path directory;
+        private final UnlinkedPDFFileFilter fileFilter;
+        private final DirectorySnapshot snapshot;
+        private final boolean publishPartialResults;
+
+        SearchDirectoryTask(Path directory, UnlinkedPDFFileFilter fileFilter, DirectorySnapshot snapshot, boolean publishPartialResults) {
+            this.directory = directory;
+            this.fileFilter = fileFilter;
+            this.snapshot = snapshot;
+            this.publishPartialResults = publishPartialResults;
         }
 
-        FileNodeViewModel parent = new FileNodeViewModel(directory);
-        Map<Boolean, List<Path>> fileListPartition;
-
-        try (Stream<Path> filesStream = StreamSupport.stream(Files.newDirectoryStream(directory, fileFilter).spliterator(), false)) {
-            fileListPartition = filesStream.collect(Collectors.partitioningBy(Files::isDirectory));
-        } catch (IOException e) {
-            LOGGER.error(String.format("%s while searching files: %s", e.getClass().getName(), e.getMessage()));
-            return parent;
-        }
+        @Override
+        protected FileNodeViewModel compute() {
+            FileNodeViewModel parent = new FileNodeViewModel(directory);
+            if (isCanceled()) {
+                return parent;
+            }
 
-        List<Path> subDirectories = fileListPartition.get(true);
-        List<Path> files = new ArrayList<>(fileListPartition.get(false));
-        int fileCount = 0;
+            DirectorySnapshot.Listing listing;
+            try {
+                listing = snapshot.list(directory);
+            } catch (IOException e) {
+                LOGGER.error(String.format("%s while searching files: %s", e.getClass().getName(), e.getMessage()));
+                return parent;
+            }
 
-        for (Path subDirectory : subDirectories) {
-            FileNodeViewModel subRoot = searchDirectory(subDirectory, fileFilter);
+            List<SearchDirectoryTask> subTasks = listing.getSubdirectories(directory).stream()
+                                                        .map(subDirectory -> new SearchDirectoryTask(subDirectory, fileFilter, snapshot, false))
+                                                        .collect(Collectors.toList());
+            subTasks.forEach(ForkJoinTask::fork);
+
+            int fileCount = 0;
+            for (SearchDirectoryTask subTask : subTasks) {
+                FileNodeViewModel subRoot = subTask.join();
+
+                if (!subRoot.getChildren().isEmpty()) {
+                    fileCount += subRoot.getFileCount();
+                    parent.getChildren().add(subRoot);
+                    if (publishPartialResults) {
+                        publishPartialResult(parent, fileCount);
+                    }
+                }
+            }
 
-            if (!subRoot.getChildren().isEmpty()) {
-                fileCount += subRoot.getFileCount();
-                parent.getChildren().add(subRoot);
+            List<Path> files = new ArrayList<>();
+            for (Path file : listing.getFiles(directory)) {
+                try {
+                    if (fileFilter.acceptFile(file)) {
+                        files.add(file);
+                    }
+                } catch (IOException e) {
+                    LOGGER.error(String.format("%s while searching files: %s", e.getClass().getName(), e.getMessage()));
+                }
             }
-        }
 
-        parent.setFileCount(files.size() + fileCount);
-        parent.getChildren().addAll(files.stream()
-                                         .map(FileNodeViewModel::new)
-                                         .collect(Collectors.toList()));
-        return parent;
+            parent.setFileCount(files.size() + fileCount);
+            parent.getChildren().addAll(files.stream()
+                                             .map(FileNodeViewModel::new)
+                                             .collect(Collectors.toList()));
+            return parent;
+        }
     }
 }
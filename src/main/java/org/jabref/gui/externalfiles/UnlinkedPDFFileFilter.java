@@ -27,7 +27,8 @@ public class UnlinkedPDFFileFilter implements DirectoryStream.Filter<Path> {
 
     public UnlinkedPDFFileFilter(DirectoryStream.Filter<Path> fileFilter, BibDatabaseContext databaseContext, FilePreferences filePreferences) {
         this.fileFilter = fileFilter;
-        this.lookup = new DatabaseFileLookup(databaseContext, filePreferences);
+        this.lookup = databaseContext.getDatabaseFileLookup(filePreferences);
+        this.lookup.resolveMissingFiles();
     }
 
     @Override
@@ -36,7 +37,14 @@ public class UnlinkedPDFFileFilter implements DirectoryStream.Filter<Path> {
         if (Files.isDirectory(pathname)) {
             return true;
         } else {
-            return fileFilter.accept(pathname) && !lookup.lookupDatabase(pathname);
+            return acceptFile(pathname);
         }
     }
+
+    /**
+     * Checks the given path, which is known to be a file, without accessing the file system
+     */
+    public boolean acceptFile(Path file) throws IOException {
+        return fileFilter.accept(file) && !lookup.lookupDatabase(file);
+    }
 }
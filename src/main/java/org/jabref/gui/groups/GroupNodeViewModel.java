@@ -9,8 +9,10 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
 import javafx.beans.binding.Bindings;
 import javafx.beans.binding.BooleanBinding;
-import javafx.beans.binding.IntegerBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -27,6 +29,7 @@ import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.gui.util.DroppingMouseLocation;
 import org.jabref.gui.util.TaskExecutor;
 import org.jabref.logic.groups.DefaultGroupsFactory;
+import org.jabref.logic.groups.GroupMembershipIndex;
 import org.jabref.logic.layout.format.LatexToUnicodeFormatter;
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabaseContext;
@@ -50,13 +53,14 @@ public class GroupNodeViewModel {
     private final BibDatabaseContext databaseContext;
     private final StateManager stateManager;
     private final GroupTreeNode groupNode;
-    private final ObservableList<BibEntry> matchedEntries = FXCollections.observableArrayList();
+    private final IntegerProperty hits = new SimpleIntegerProperty();
     private final SimpleBooleanProperty hasChildren;
     private final SimpleBooleanProperty expandedProperty = new SimpleBooleanProperty();
     private final BooleanBinding anySelectedEntriesMatched;
     private final BooleanBinding allSelectedEntriesMatched;
     private final TaskExecutor taskExecutor;
     private final CustomLocalDragboard localDragBoard;
+    private final GroupMembershipIndex groupMembershipIndex;
     private final ObservableList<BibEntry> entriesList;
     private final PreferencesService preferencesService;
     private final InvalidationListener onInvalidatedGroup = (listener) -> refreshGroup();
@@ -87,10 +91,13 @@ public class GroupNodeViewModel {
         }
         hasChildren = new SimpleBooleanProperty();
         hasChildren.bind(Bindings.isNotEmpty(children));
-        updateMatchedEntries();
         expandedProperty.set(groupNode.getGroup().isExpanded());
         expandedProperty.addListener((observable, oldValue, newValue) -> groupNode.getGroup().setExpanded(newValue));
 
+        // The index has to be obtained before registering the listener on the entries, so that it is up to date when the listener is notified
+        groupMembershipIndex = databaseContext.getGroupMembershipIndex();
+        updateMatchedEntries();
+
         // Register listener
         // The wrapper created by the FXCollections will set a weak listener on the wrapped list. This weak listener gets garbage collected. Hence, we need to maintain a reference to this list.
         entriesList = databaseContext.getDatabase().getEntries();
@@ -161,8 +168,8 @@ public class GroupNodeViewModel {
         return groupNode.getGroup().getDescription().orElse("");
     }
 
-    public IntegerBinding getHits() {
-        return Bindings.size(matchedEntries);
+    public ReadOnlyIntegerProperty getHits() {
+        return hits;
     }
 
     @Override
@@ -188,7 +195,7 @@ public class GroupNodeViewModel {
                 ", children=" + children +
                 ", databaseContext=" + databaseContext +
                 ", groupNode=" + groupNode +
-                ", matchedEntries=" + matchedEntries +
+                ", hits=" + hits.get() +
                 '}';
     }
 
@@ -224,36 +231,14 @@ public class GroupNodeViewModel {
      * Gets invoked if an entry in the current database changes.
      */
     private void onDatabaseChanged(ListChangeListener.Change<? extends BibEntry> change) {
-        while (change.next()) {
-            if (change.wasPermutated()) {
-                // Nothing to do, as permutation doesn't change matched entries
-            } else if (change.wasUpdated()) {
-                for (BibEntry changedEntry : change.getList().subList(change.getFrom(), change.getTo())) {
-                    if (groupNode.matches(changedEntry)) {
-                        if (!matchedEntries.contains(changedEntry)) {
-                            matchedEntries.add(changedEntry);
-                        }
-                    } else {
-                        matchedEntries.remove(changedEntry);
-                    }
-                }
-            } else {
-                for (BibEntry removedEntry : change.getRemoved()) {
-                    matchedEntries.remove(removedEntry);
-                }
-                for (BibEntry addedEntry : change.getAddedSubList()) {
-                    if (groupNode.matches(addedEntry)) {
-                        if (!matchedEntries.contains(addedEntry)) {
-                            matchedEntries.add(addedEntry);
-                        }
-                    }
-                }
-            }
+        if (preferencesService.getDisplayGroupCount()) {
+            hits.set(groupMembershipIndex.getNumberOfMatches(groupNode));
         }
     }
 
     private void refreshGroup() {
         DefaultTaskExecutor.runInJavaFXThread(() -> {
+            groupMembershipIndex.invalidate(groupNode);
             updateMatchedEntries(); // Update the entries matched by the group
             // "Re-add" to the selected groups if it were selected, this refreshes the entries the user views
             ObservableList<GroupTreeNode> selectedGroups = this.stateManager.getSelectedGroup(this.databaseContext);
@@ -264,16 +249,11 @@ public class GroupNodeViewModel {
     }
 
     private void updateMatchedEntries() {
-        // We calculate the new hit value
-        // We could be more intelligent and try to figure out the new number of hits based on the entry change
-        // for example, a previously matched entry gets removed -> hits = hits - 1
+        // The first call scans the whole library, afterwards the index is updated incrementally
         if (preferencesService.getDisplayGroupCount()) {
             BackgroundTask
-                    .wrap(() -> groupNode.findMatches(databaseContext.getDatabase()))
-                    .onSuccess(entries -> {
-                        matchedEntries.clear();
-                        matchedEntries.addAll(entries);
-                    })
+                    .wrap(() -> groupMembershipIndex.getNumberOfMatches(groupNode))
+                    .onSuccess(hits::set)
                     .executeWith(taskExecutor);
         }
     }
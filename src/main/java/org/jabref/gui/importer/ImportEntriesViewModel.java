@@ -22,6 +22,7 @@ import org.jabref.gui.fieldeditors.LinkedFileViewModel;
 import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.TaskExecutor;
 import org.jabref.logic.database.DatabaseMerger;
+import org.jabref.logic.database.DuplicateCandidateIndex;
 import org.jabref.logic.database.DuplicateCheck;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.l10n.Localization;
@@ -51,6 +52,8 @@ public class ImportEntriesViewModel extends AbstractViewModel {
     private final ObservableList<BibEntry> entries;
     private final PreferencesService preferences;
     private final BibEntryTypesManager entryTypesManager;
+    private DuplicateCandidateIndex databaseDuplicateIndex;
+    private DuplicateCandidateIndex importedDuplicateIndex;
 
     /**
      * @param databaseContext the database to import into
@@ -103,7 +106,24 @@ public class ImportEntriesViewModel extends AbstractViewModel {
     public boolean hasDuplicate(BibEntry entry) {
         return findInternalDuplicate(entry).isPresent() ||
                 new DuplicateCheck(entryTypesManager)
-                .containsDuplicate(databaseContext.getDatabase(), entry, databaseContext.getMode()).isPresent();
+                .containsDuplicate(getDatabaseDuplicateIndex(), entry, databaseContext.getMode()).isPresent();
+    }
+
+    /**
+     * The duplicate indexes are built on first use, i.e., after the entries to import have been parsed
+     */
+    private synchronized DuplicateCandidateIndex getDatabaseDuplicateIndex() {
+        if (databaseDuplicateIndex == null) {
+            databaseDuplicateIndex = new DuplicateCandidateIndex(databaseContext.getEntries());
+        }
+        return databaseDuplicateIndex;
+    }
+
+    private synchronized DuplicateCandidateIndex getImportedDuplicateIndex() {
+        if ((importedDuplicateIndex == null) && (parserResult != null)) {
+            importedDuplicateIndex = new DuplicateCandidateIndex(entries);
+        }
+        return importedDuplicateIndex;
     }
 
     /**
@@ -188,7 +208,9 @@ public class ImportEntriesViewModel extends AbstractViewModel {
      * @return A possible duplicate, if any, or null if none were found.
      */
     private Optional<BibEntry> findInternalDuplicate(BibEntry entry) {
-        for (BibEntry othEntry : entries) {
+        DuplicateCandidateIndex importedIndex = getImportedDuplicateIndex();
+        List<BibEntry> candidates = importedIndex == null ? entries : importedIndex.getCandidates(entry);
+        for (BibEntry othEntry : candidates) {
             if (othEntry.equals(entry)) {
                 continue; // Don't compare the entry to itself
             }
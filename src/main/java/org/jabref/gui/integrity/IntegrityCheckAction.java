@@ -1,9 +1,10 @@
 package org.jabref.gui.integrity;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 
 import org.jabref.gui.DialogService;
@@ -22,6 +23,8 @@ import static org.jabref.gui.actions.ActionHelper.needsDatabase;
 
 public class IntegrityCheckAction extends SimpleCommand {
 
+    private static final int CHECK_BATCH_SIZE = 500;
+
     private final TaskExecutor taskExecutor;
     private final DialogService dialogService;
     private final JabRefFrame frame;
@@ -39,7 +42,7 @@ public class IntegrityCheckAction extends SimpleCommand {
     @Override
     public void execute() {
         BibDatabaseContext database = stateManager.getActiveDatabase().orElseThrow(() -> new NullPointerException("Database null"));
-        IntegrityCheck check = new IntegrityCheck(database,
+        IntegrityCheck check = database.getIntegrityCheck(
                 Globals.prefs.getFilePreferences(),
                 Globals.prefs.getCitationKeyPatternPreferences(),
                 Globals.journalAbbreviationRepository,
@@ -48,21 +51,20 @@ public class IntegrityCheckAction extends SimpleCommand {
         Task<List<IntegrityMessage>> task = new Task<>() {
             @Override
             protected List<IntegrityMessage> call() {
-                List<IntegrityMessage> result = new ArrayList<>();
+                List<IntegrityMessage> result = Collections.synchronizedList(new ArrayList<>());
 
-                ObservableList<BibEntry> entries = database.getDatabase().getEntries();
+                List<BibEntry> entries = new ArrayList<>(database.getDatabase().getEntries());
                 result.addAll(check.checkDatabase(database.getDatabase()));
-                for (int i = 0; i < entries.size(); i++) {
-                    if (isCancelled()) {
-                        break;
-                    }
-
-                    BibEntry entry = entries.get(i);
-                    result.addAll(check.checkEntry(entry));
-                    updateProgress(i, entries.size());
+                AtomicInteger checkedEntries = new AtomicInteger();
+                // The entries are checked in parallel, batch by batch to be able to cancel the check
+                for (int start = 0; (start < entries.size()) && !isCancelled(); start += CHECK_BATCH_SIZE) {
+                    check.checkEntries(entries.subList(start, Math.min(start + CHECK_BATCH_SIZE, entries.size())), messages -> {
+                        result.addAll(messages);
+                        updateProgress(checkedEntries.incrementAndGet(), entries.size());
+                    });
                 }
 
-                return result;
+                return new ArrayList<>(result);
             }
         };
         task.setOnSucceeded(value -> {
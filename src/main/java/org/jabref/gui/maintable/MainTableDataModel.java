@@ -1,30 +1,49 @@
 package org.jabref.gui.maintable;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.collections.transformation.SortedList;
 
 import org.jabref.gui.StateManager;
 import org.jabref.gui.groups.GroupViewMode;
+import org.jabref.gui.util.BackgroundTask;
 import org.jabref.gui.util.BindingsHelper;
+import org.jabref.gui.util.TaskExecutor;
+import org.jabref.logic.groups.GroupMembershipIndex;
+import org.jabref.logic.search.ParallelEntryMatcher;
 import org.jabref.logic.search.SearchQuery;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.groups.GroupTreeNode;
-import org.jabref.model.search.matchers.MatcherSet;
-import org.jabref.model.search.matchers.MatcherSets;
 import org.jabref.preferences.PreferencesService;
 
 import com.tobiasdiez.easybind.EasyBind;
 
+/**
+ * Provides the entries shown in the main table, i.e., the entries matched by the active groups and the active search
+ * query.
+ * <p>
+ * If the groups or the search query change, the entries are matched in a background task (see {@link FilterTask}) and
+ * the result is handed to the table in one change. A running task is canceled if the groups or the query change again.
+ * Entries which are added or changed after a task started are matched directly when the table asks for them.
+ */
 public class MainTableDataModel {
     private final FilteredList<BibEntryTableViewModel> entriesFiltered;
     private final SortedList<BibEntryTableViewModel> entriesSorted;
@@ -32,58 +51,115 @@ public class MainTableDataModel {
     private final ObjectProperty<MainTableFieldValueFormatter> fieldValueFormatter;
     private final PreferencesService preferencesService;
     private final BibDatabaseContext bibDatabaseContext;
+    private final GroupMembershipIndex groupMembershipIndex;
+    private final StateManager stateManager;
+    private final TaskExecutor taskExecutor;
+    private final ObservableList<BibEntry> allEntries;
 
-    public MainTableDataModel(BibDatabaseContext context, PreferencesService preferencesService, StateManager stateManager) {
+    /**
+     * The entries added or changed since the last filter task started
+     */
+    private Set<BibEntry> changedEntries = newIdentitySet();
+    private FilterTask filterTask;
+    private FilterResult filterResult;
+
+    public MainTableDataModel(BibDatabaseContext context, PreferencesService preferencesService, StateManager stateManager, TaskExecutor taskExecutor) {
         this.preferencesService = preferencesService;
         this.bibDatabaseContext = context;
+        this.stateManager = stateManager;
+        this.taskExecutor = taskExecutor;
         this.fieldValueFormatter = new SimpleObjectProperty<>(
                 new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
 
-        ObservableList<BibEntry> allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
+        // The index has to be obtained before listening to the entries, so that it is up to date when the filter is applied
+        this.groupMembershipIndex = context.getGroupMembershipIndex();
+        allEntries = BindingsHelper.forUI(context.getDatabase().getEntries());
+        // Changed entries have to be known before the filtered list asks whether they are matched
+        allEntries.addListener(this::onEntriesChanged);
         ObservableList<BibEntryTableViewModel> entriesViewModel = EasyBind.mapBacked(allEntries, entry ->
                 new BibEntryTableViewModel(entry, bibDatabaseContext, fieldValueFormatter));
 
         entriesFiltered = new FilteredList<>(entriesViewModel);
-        entriesFiltered.predicateProperty().bind(
-                EasyBind.combine(stateManager.activeGroupProperty(), stateManager.activeSearchQueryProperty(), (groups, query) -> entry -> isMatched(groups, query, entry))
-        );
+        groupViewMode = preferencesService.getGroupViewMode();
+        EasyBind.subscribe(stateManager.activeGroupProperty(), groups -> updateFilter());
+        EasyBind.subscribe(stateManager.activeSearchQueryProperty(), query -> updateFilter());
 
         IntegerProperty resultSize = new SimpleIntegerProperty();
         resultSize.bind(Bindings.size(entriesFiltered));
         stateManager.setActiveSearchResultSize(context, resultSize);
         // We need to wrap the list since otherwise sorting in the table does not work
         entriesSorted = new SortedList<>(entriesFiltered);
-        groupViewMode = preferencesService.getGroupViewMode();
+    }
 
+    private static Set<BibEntry> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
-    private boolean isMatched(ObservableList<GroupTreeNode> groups, Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return isMatchedByGroup(groups, entry) && isMatchedBySearch(query, entry);
+    private void updateFilter() {
+        if (filterTask != null) {
+            filterTask.cancel();
+            filterTask = null;
+        }
+
+        ObservableList<GroupTreeNode> activeGroups = stateManager.activeGroupProperty();
+        List<GroupTreeNode> groups = (activeGroups == null) ? List.of() : List.copyOf(activeGroups);
+        Optional<SearchQuery> query = stateManager.activeSearchQueryProperty().get();
+        changedEntries = newIdentitySet();
+        if (groups.isEmpty() && query.isEmpty()) {
+            // Show all entries
+            filterResult = null;
+            entriesFiltered.setPredicate(null);
+            return;
+        }
+
+        FilterTask task = new FilterTask(new ArrayList<>(allEntries), groups, query, changedEntries);
+        task.onSuccess(result -> {
+            if (filterTask == task) {
+                filterTask = null;
+                filterResult = result;
+                entriesFiltered.setPredicate(result);
+            }
+        });
+        filterTask = task;
+        task.executeWith(taskExecutor);
     }
 
-    private boolean isMatchedBySearch(Optional<SearchQuery> query, BibEntryTableViewModel entry) {
-        return query.map(matcher -> matcher.isMatch(entry.getEntry()))
-                    .orElse(true);
+    private void onEntriesChanged(ListChangeListener.Change<? extends BibEntry> change) {
+        while (change.next()) {
+            List<? extends BibEntry> changed;
+            if (change.wasUpdated()) {
+                changed = change.getList().subList(change.getFrom(), change.getTo());
+            } else {
+                changed = change.getAddedSubList();
+            }
+            changedEntries.addAll(changed);
+            if (filterResult != null) {
+                filterResult.changedEntries.addAll(changed);
+            }
+        }
     }
 
-    private boolean isMatchedByGroup(ObservableList<GroupTreeNode> groups, BibEntryTableViewModel entry) {
-        return createGroupMatcher(groups)
-                .map(matcher -> matcher.isMatch(entry.getEntry()))
-                .orElse(true);
+    private boolean isMatched(List<GroupTreeNode> groups, Optional<SearchQuery> query, BibEntry entry) {
+        return isMatchedByGroup(groups, entry) && isMatchedBySearch(query, entry);
     }
 
-    private Optional<MatcherSet> createGroupMatcher(List<GroupTreeNode> selectedGroups) {
-        if ((selectedGroups == null) || selectedGroups.isEmpty()) {
+    private boolean isMatchedBySearch(Optional<SearchQuery> query, BibEntry entry) {
+        // Matched directly, so that the JavaFX thread does not wait for the search index
+        return query.map(matcher -> matcher.isMatch(entry))
+                    .orElse(true);
+    }
+
+    private boolean isMatchedByGroup(List<GroupTreeNode> groups, BibEntry entry) {
+        if (groups.isEmpty()) {
             // No selected group, show all entries
-            return Optional.empty();
+            return true;
         }
 
-        final MatcherSet searchRules = MatcherSets.build(groupViewMode == GroupViewMode.INTERSECTION ? MatcherSets.MatcherType.AND : MatcherSets.MatcherType.OR);
-
-        for (GroupTreeNode node : selectedGroups) {
-            searchRules.addRule(node.getSearchMatcher());
+        if (groupViewMode == GroupViewMode.INTERSECTION) {
+            return groups.stream().allMatch(group -> groupMembershipIndex.isMatch(group, entry));
+        } else {
+            return groups.stream().anyMatch(group -> groupMembershipIndex.isMatch(group, entry));
         }
-        return Optional.of(searchRules);
     }
 
     public SortedList<BibEntryTableViewModel> getEntriesFilteredAndSorted() {
@@ -93,4 +169,88 @@ public class MainTableDataModel {
     public void refresh() {
         this.fieldValueFormatter.setValue(new MainTableFieldValueFormatter(preferencesService, bibDatabaseContext));
     }
+
+    /**
+     * Matches a copy of the entries against the groups and the search query. The matched entries of the groups and the
+     * candidates of the search index are fetched once, so that the combined matcher can be evaluated for the entries in
+     * parallel without locking the indexes.
+     */
+    private class FilterTask extends BackgroundTask<FilterResult> {
+
+        private final List<BibEntry> entries;
+        private final List<GroupTreeNode> groups;
+        private final Optional<SearchQuery> query;
+        private final Set<BibEntry> changedEntries;
+
+        FilterTask(List<BibEntry> entries, List<GroupTreeNode> groups, Optional<SearchQuery> query, Set<BibEntry> changedEntries) {
+            this.entries = entries;
+            this.groups = groups;
+            this.query = query;
+            this.changedEntries = changedEntries;
+        }
+
+        @Override
+        protected FilterResult call() {
+            Predicate<BibEntry> matcher = createGroupMatcher().and(createSearchMatcher());
+            BitSet matches = ParallelEntryMatcher.match(entries, matcher, this::isCanceled);
+
+            Map<BibEntry, Integer> positions = new IdentityHashMap<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                positions.put(entries.get(i), i);
+            }
+            return new FilterResult(positions, matches, entry -> isMatched(groups, query, entry), changedEntries);
+        }
+
+        private Predicate<BibEntry> createGroupMatcher() {
+            if (groups.isEmpty()) {
+                return entry -> true;
+            }
+            List<Set<BibEntry>> groupMatches = groups.stream()
+                                                     .map(groupMembershipIndex::getMatches)
+                                                     .collect(Collectors.toList());
+            if (groupViewMode == GroupViewMode.INTERSECTION) {
+                return entry -> groupMatches.stream().allMatch(matches -> matches.contains(entry));
+            } else {
+                return entry -> groupMatches.stream().anyMatch(matches -> matches.contains(entry));
+            }
+        }
+
+        private Predicate<BibEntry> createSearchMatcher() {
+            if (query.isEmpty()) {
+                return entry -> true;
+            }
+            SearchQuery searchQuery = query.get();
+            Optional<Set<BibEntry>> candidates = bibDatabaseContext.getSearchIndex().getCandidates(searchQuery);
+            return entry -> candidates.map(set -> set.contains(entry)).orElse(true) && searchQuery.isMatch(entry);
+        }
+    }
+
+    /**
+     * The entries matched by a filter task. Entries which were not matched by the task, because they were added or
+     * changed after the task started, are matched directly.
+     */
+    private static class FilterResult implements Predicate<BibEntryTableViewModel> {
+
+        private final Map<BibEntry, Integer> positions;
+        private final BitSet matches;
+        private final Predicate<BibEntry> matcher;
+        private final Set<BibEntry> changedEntries;
+
+        FilterResult(Map<BibEntry, Integer> positions, BitSet matches, Predicate<BibEntry> matcher, Set<BibEntry> changedEntries) {
+            this.positions = positions;
+            this.matches = matches;
+            this.matcher = matcher;
+            this.changedEntries = changedEntries;
+        }
+
+        @Override
+        public boolean test(BibEntryTableViewModel viewModel) {
+            BibEntry entry = viewModel.getEntry();
+            Integer position = positions.get(entry);
+            if ((position == null) || changedEntries.contains(entry)) {
+                return matcher.test(entry);
+            }
+            return matches.get(position);
+        }
+    }
 }
@@ -5,9 +5,11 @@ import java.util.List;
 import javafx.application.Platform;
 
 import org.jabref.cli.ArgumentProcessor;
+import org.jabref.gui.Globals;
 import org.jabref.gui.JabRefGUI;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.remote.server.MessageHandler;
+import org.jabref.model.database.BibDatabaseContext;
 
 import org.apache.commons.cli.ParseException;
 import org.slf4j.Logger;
@@ -34,4 +36,10 @@ public class JabRefMessageHandler implements MessageHandler {
             LOGGER.error("Error when parsing CLI args", e);
         }
     }
+
+    @Override
+    public List<BibDatabaseContext> getOpenLibraries() {
+        // The tabs may only be read on the JavaFX thread, the snapshot may be read on any thread
+        return Globals.stateManager.getOpenDatabasesSnapshot();
+    }
 }
@@ -17,6 +17,7 @@ import org.jabref.gui.entryeditor.EntryEditor;
 import org.jabref.gui.exporter.SaveDatabaseAction;
 import org.jabref.gui.mergeentries.MergeEntriesDialog;
 import org.jabref.gui.undo.UndoableRemoveEntries;
+import org.jabref.gui.util.DefaultTaskExecutor;
 import org.jabref.logic.importer.ParserResult;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.shared.DBMSConnection;
@@ -76,7 +77,11 @@ public class SharedDatabaseUIManager {
 
     @Subscribe
     public void listen(UpdateRefusedEvent updateRefusedEvent) {
+        // changes are pushed in the background, thus the event might not be posted on the JavaFX thread
+        DefaultTaskExecutor.runInJavaFXThread(() -> showUpdateRefusedDialog(updateRefusedEvent));
+    }
 
+    private void showUpdateRefusedDialog(UpdateRefusedEvent updateRefusedEvent) {
         jabRefFrame.getDialogService().notify(Localization.lang("Update refused."));
 
         BibEntry localBibEntry = updateRefusedEvent.getLocalBibEntry();
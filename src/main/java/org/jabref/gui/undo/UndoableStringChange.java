@@ -1,17 +1,20 @@
 package org.jabref.gui.undo;
 
 import org.jabref.logic.l10n.Localization;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.BibtexString;
 import org.jabref.model.strings.StringUtil;
 
 public class UndoableStringChange extends AbstractUndoableJabRefEdit {
 
+    private final BibDatabase base;
     private final BibtexString string;
     private final String oldValue;
     private final String newValue;
     private final boolean nameChange;
 
-    public UndoableStringChange(BibtexString string, boolean nameChange, String oldValue, String newValue) {
+    public UndoableStringChange(BibDatabase base, BibtexString string, boolean nameChange, String oldValue, String newValue) {
+        this.base = base;
         this.string = string;
         this.oldValue = oldValue;
         this.newValue = newValue;
@@ -32,7 +35,7 @@ public class UndoableStringChange extends AbstractUndoableJabRefEdit {
 
         // Revert the change.
         if (nameChange) {
-            string.setName(oldValue);
+            base.renameString(string, oldValue);
         } else {
             string.setContent(oldValue);
         }
@@ -44,7 +47,7 @@ public class UndoableStringChange extends AbstractUndoableJabRefEdit {
 
         // Redo the change.
         if (nameChange) {
-            string.setName(newValue);
+            base.renameString(string, newValue);
         } else {
             string.setContent(newValue);
         }
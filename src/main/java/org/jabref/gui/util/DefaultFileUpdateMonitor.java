@@ -8,6 +8,10 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -26,12 +30,18 @@ import org.slf4j.LoggerFactory;
  * FileUpdateListener}s.
  * <p>
  * Implementation based on https://stackoverflow.com/questions/16251273/can-i-watch-for-single-file-change-with-watchservice-not-the-whole-directory
+ * <p>
+ * The listeners are added and removed by other threads while the watcher thread notifies them, thus all access to the
+ * listeners and watch keys is guarded by the monitor of this object. A directory stays registered as long as a file or
+ * directory listener needs it.
  */
 public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultFileUpdateMonitor.class);
 
     private final Multimap<Path, FileUpdateListener> listeners = ArrayListMultimap.create(20, 4);
+    private final Multimap<Path, FileUpdateListener> directoryListeners = ArrayListMultimap.create();
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
     private volatile WatchService watcher;
     private final AtomicBoolean notShutdown = new AtomicBoolean(true);
     private Optional<JabRefException> filesystemMonitorFailure;
@@ -62,6 +72,9 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
                         WatchEvent<Path> ev = (WatchEvent<Path>) event;
                         Path path = ((Path) key.watchable()).resolve(ev.context());
                         notifyAboutChange(path);
+                        notifyAboutDirectoryChange((Path) key.watchable());
+                    } else if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+                        notifyAboutDirectoryChange((Path) key.watchable());
                     }
                     key.reset();
                 }
@@ -80,22 +93,72 @@ public class DefaultFileUpdateMonitor implements Runnable, FileUpdateMonitor {
     }
 
     private void notifyAboutChange(Path path) {
-        listeners.get(path).forEach(FileUpdateListener::fileUpdated);
+        getListeners(listeners, path).forEach(FileUpdateListener::fileUpdated);
+    }
+
+    private void notifyAboutDirectoryChange(Path directory) {
+        getListeners(directoryListeners, directory).forEach(FileUpdateListener::fileUpdated);
+    }
+
+    /**
+     * Copies the listeners, so that they are notified outside of the monitor and may add or remove listeners themselves
+     */
+    private synchronized List<FileUpdateListener> getListeners(Multimap<Path, FileUpdateListener> listenersByPath, Path path) {
+        return new ArrayList<>(listenersByPath.get(path));
     }
 
     @Override
-    public void addListenerForFile(Path file, FileUpdateListener listener) throws IOException {
+    public synchronized void addListenerForFile(Path file, FileUpdateListener listener) throws IOException {
         if (isActive()) {
             // We can't watch files directly, so monitor their parent directory for updates
             Path directory = file.toAbsolutePath().getParent();
-            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            register(directory);
             listeners.put(file, listener);
         }
     }
 
     @Override
-    public void removeListener(Path path, FileUpdateListener listener) {
-        listeners.remove(path, listener);
+    public synchronized void addListenerForDirectory(Path directory, FileUpdateListener listener) throws IOException {
+        if (isActive()) {
+            Path absoluteDirectory = directory.toAbsolutePath();
+            register(absoluteDirectory);
+            directoryListeners.put(absoluteDirectory, listener);
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        // Registering a directory again replaces the event kinds, thus always register all event kinds used by any listener
+        WatchKey key = directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        watchKeys.put(directory, key);
+    }
+
+    @Override
+    public synchronized void removeListener(Path path, FileUpdateListener listener) {
+        if (listeners.remove(path, listener)) {
+            unregisterIfUnused(path.toAbsolutePath().getParent());
+        }
+        Path absolutePath = path.toAbsolutePath();
+        if (directoryListeners.remove(absolutePath, listener)) {
+            unregisterIfUnused(absolutePath);
+        }
+    }
+
+    /**
+     * Cancels the watch of the given directory if neither a directory listener nor a listener of a file in it is left
+     */
+    private void unregisterIfUnused(Path directory) {
+        if (directoryListeners.containsKey(directory)) {
+            return;
+        }
+        boolean fileInDirectoryWatched = listeners.keySet().stream()
+                                                  .anyMatch(file -> directory.equals(file.toAbsolutePath().getParent()));
+        if (fileInDirectoryWatched) {
+            return;
+        }
+        WatchKey key = watchKeys.remove(directory);
+        if (key != null) {
+            key.cancel();
+        }
     }
 
     @Override
@@ -0,0 +1,293 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.entry.types.EntryTypeFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal of the changes to the entries of a library since the last snapshot written by the
+ * {@link BackupManager}. Restoring a backup means parsing the snapshot and replaying the journal on top of it.
+ * <p>
+ * The entries are referenced by numbers: the entries of the snapshot are numbered in the order they are written to the
+ * snapshot, the entries added afterwards get the following numbers. The journal is a UTF-8 text file. The first line
+ * identifies the snapshot by its size and checksum. Each further line is one record, its parts are separated by tabs:
+ * <ul>
+ *     <li><code>A number type</code>: an entry of the given type was added (followed by records for its fields)</li>
+ *     <li><code>R number</code>: the entry was removed</li>
+ *     <li><code>F number field value</code>: the field was set to the value or cleared if the value is missing</li>
+ * </ul>
+ * Tabs, line breaks and backslashes in the parts are escaped by a backslash. An incomplete last line (e.g., caused by
+ * a crash while writing) is ignored.
+ */
+class BackupJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackupJournal.class);
+
+    private static final String JOURNAL_FILE_EXTENSION = ".journal";
+    private static final String HEADER = "% JabRef backup journal";
+    private static final char SEPARATOR = '\t';
+    private static final String ENTRY_ADDED = "A";
+    private static final String ENTRY_REMOVED = "R";
+    private static final String FIELD_CHANGED = "F";
+
+    private final Map<BibEntry, Integer> entryNumbers = new IdentityHashMap<>();
+    private final StringBuilder pendingRecords = new StringBuilder();
+    private int nextEntryNumber;
+    private boolean snapshotRequired = true;
+
+    static Path getJournalPath(Path backupPath) {
+        return backupPath.resolveSibling(backupPath.getFileName() + JOURNAL_FILE_EXTENSION);
+    }
+
+    /**
+     * Starts a new journal for a snapshot containing the given entries in the given order. All pending records are
+     * discarded, because they are contained in the snapshot.
+     */
+    synchronized void startSnapshot(List<BibEntry> sortedEntries) {
+        entryNumbers.clear();
+        pendingRecords.setLength(0);
+        nextEntryNumber = 0;
+        for (BibEntry entry : sortedEntries) {
+            entryNumbers.put(entry, nextEntryNumber++);
+        }
+        snapshotRequired = false;
+    }
+
+    /**
+     * Marks that the changes cannot be expressed by the journal, e.g., because the snapshot could not be written or
+     * something besides the entries was changed.
+     */
+    synchronized void requireSnapshot() {
+        snapshotRequired = true;
+    }
+
+    synchronized boolean isSnapshotRequired() {
+        return snapshotRequired;
+    }
+
+    synchronized void entriesAdded(List<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            if (entryNumbers.containsKey(entry)) {
+                // the entry was added while starting the snapshot and thus is already part of it
+                continue;
+            }
+            int number = nextEntryNumber++;
+            entryNumbers.put(entry, number);
+            addRecord(ENTRY_ADDED, Integer.toString(number), entry.getType().getName());
+            for (Map.Entry<Field, String> field : entry.getFieldMap().entrySet()) {
+                addRecord(FIELD_CHANGED, Integer.toString(number), field.getKey().getName(), field.getValue());
+            }
+        }
+    }
+
+    synchronized void entriesRemoved(List<BibEntry> entries) {
+        for (BibEntry entry : entries) {
+            Integer number = entryNumbers.remove(entry);
+            if (number == null) {
+                snapshotRequired = true;
+            } else {
+                addRecord(ENTRY_REMOVED, number.toString());
+            }
+        }
+    }
+
+    synchronized void fieldChanged(BibEntry entry, Field field, String newValue) {
+        if (InternalField.INTERNAL_ID_FIELD.equals(field)) {
+            return;
+        }
+        Integer number = entryNumbers.get(entry);
+        if (number == null) {
+            snapshotRequired = true;
+        } else if (newValue == null) {
+            addRecord(FIELD_CHANGED, number.toString(), field.getName());
+        } else {
+            addRecord(FIELD_CHANGED, number.toString(), field.getName(), newValue);
+        }
+    }
+
+    /**
+     * Returns the records collected since the last call and forgets them
+     */
+    synchronized String takePendingRecords() {
+        String records = pendingRecords.toString();
+        pendingRecords.setLength(0);
+        return records;
+    }
+
+    private void addRecord(String... parts) {
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                pendingRecords.append(SEPARATOR);
+            }
+            escape(parts[i], pendingRecords);
+        }
+        pendingRecords.append('\n');
+    }
+
+    /**
+     * Creates a new, empty journal for the given snapshot
+     */
+    static void create(Path journalPath, Path snapshotPath) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8)) {
+            writer.write(getHeader(snapshotPath));
+            writer.write('\n');
+        }
+    }
+
+    static void append(Path journalPath, String records) throws IOException {
+        Files.writeString(journalPath, records, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Returns the complete records of the journal belonging to the given snapshot.
+     *
+     * @return empty if there is no journal or the journal belongs to another snapshot
+     */
+    static Optional<List<String>> readRecords(Path journalPath, Path snapshotPath) {
+        if (!Files.isRegularFile(journalPath) || !Files.isRegularFile(snapshotPath)) {
+            return Optional.empty();
+        }
+        try {
+            // a crash while appending might have left an incomplete character, thus decode leniently
+            String content = new String(Files.readAllBytes(journalPath), StandardCharsets.UTF_8);
+            int headerEnd = content.indexOf('\n');
+            if ((headerEnd < 0) || !content.substring(0, headerEnd).equals(getHeader(snapshotPath))) {
+                LOGGER.debug("Ignoring journal {}, because it does not belong to {}", journalPath, snapshotPath);
+                return Optional.empty();
+            }
+            List<String> records = new ArrayList<>();
+            int start = headerEnd + 1;
+            int end = content.indexOf('\n', start);
+            while (end >= 0) {
+                records.add(content.substring(start, end));
+                start = end + 1;
+                end = content.indexOf('\n', start);
+            }
+            return Optional.of(records);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read journal {}", journalPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Applies the given records to the database parsed from the snapshot
+     */
+    static void replay(List<String> records, BibDatabase database) {
+        List<BibEntry> entries = new ArrayList<>(database.getEntries());
+        for (String record : records) {
+            List<String> parts = split(record);
+            try {
+                String kind = parts.get(0);
+                int number = Integer.parseInt(parts.get(1));
+                if (ENTRY_ADDED.equals(kind)) {
+                    BibEntry entry = new BibEntry(EntryTypeFactory.parse(parts.get(2)));
+                    while (entries.size() <= number) {
+                        entries.add(null);
+                    }
+                    entries.set(number, entry);
+                    database.insertEntry(entry);
+                } else if (ENTRY_REMOVED.equals(kind)) {
+                    BibEntry entry = entries.set(number, null);
+                    if (entry != null) {
+                        database.removeEntry(entry);
+                    }
+                } else if (FIELD_CHANGED.equals(kind)) {
+                    BibEntry entry = entries.get(number);
+                    if (entry != null) {
+                        applyFieldChange(entry, FieldFactory.parseField(parts.get(2)), (parts.size() > 3) ? parts.get(3) : null);
+                    }
+                } else {
+                    LOGGER.warn("Ignoring unknown journal record {}", record);
+                }
+            } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+                LOGGER.warn("Ignoring invalid journal record {}", record, e);
+            }
+        }
+    }
+
+    private static void applyFieldChange(BibEntry entry, Field field, String value) {
+        if (InternalField.TYPE_HEADER.equals(field)) {
+            if (value != null) {
+                entry.setType(EntryTypeFactory.parse(value));
+            }
+        } else if (value == null) {
+            entry.clearField(field);
+        } else {
+            entry.setField(field, value);
+        }
+    }
+
+    private static String getHeader(Path snapshotPath) throws IOException {
+        CRC32 checksum = new CRC32();
+        long size = 0;
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream inputStream = Files.newInputStream(snapshotPath)) {
+            int read = inputStream.read(buffer);
+            while (read >= 0) {
+                checksum.update(buffer, 0, read);
+                size += read;
+                read = inputStream.read(buffer);
+            }
+        }
+        return HEADER + SEPARATOR + size + SEPARATOR + Long.toHexString(checksum.getValue());
+    }
+
+    private static void escape(String text, StringBuilder result) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> result.append("\\\\");
+                case '\t' -> result.append("\\t");
+                case '\n' -> result.append("\\n");
+                case '\r' -> result.append("\\r");
+                default -> result.append(c);
+            }
+        }
+    }
+
+    private static List<String> split(String record) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (c == SEPARATOR) {
+                parts.add(part.toString());
+                part.setLength(0);
+            } else if ((c == '\\') && ((i + 1) < record.length())) {
+                i++;
+                switch (record.charAt(i)) {
+                    case 't' -> part.append('\t');
+                    case 'n' -> part.append('\n');
+                    case 'r' -> part.append('\r');
+                    default -> part.append(record.charAt(i));
+                }
+            } else {
+                part.append(c);
+            }
+        }
+        parts.add(part.toString());
+        return Collections.unmodifiableList(parts);
+    }
+}
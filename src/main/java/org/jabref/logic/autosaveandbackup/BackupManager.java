@@ -5,7 +5,13 @@ import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
@@ -13,16 +19,27 @@ import java.util.concurrent.ExecutorService;
 
 import org.jabref.logic.bibtex.InvalidFieldValueException;
 import org.jabref.logic.exporter.AtomicFileWriter;
+import org.jabref.logic.exporter.BibDatabaseWriter;
 import org.jabref.logic.exporter.BibtexDatabaseWriter;
 import org.jabref.logic.exporter.SavePreferences;
+import org.jabref.logic.importer.ParserResult;
+import org.jabref.logic.importer.fileformat.BibtexImporter;
 import org.jabref.logic.util.CoarseChangeFilter;
 import org.jabref.logic.util.DelayTaskThrottler;
 import org.jabref.logic.util.io.FileUtil;
+import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.event.BibDatabaseContextChangedEvent;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.BibtexString;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 import org.jabref.preferences.PreferencesService;
 
+import com.google.common.collect.HashMultiset;
 import com.google.common.eventbus.Subscribe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +49,11 @@ import org.slf4j.LoggerFactory;
  * An intelligent {@link ExecutorService} with a {@link BlockingQueue} prevents a high load while making backups and
  * rejects all redundant backup tasks. This class does not manage the .bak file which is created when opening a
  * database.
+ * <p>
+ * The backup consists of a snapshot of the complete library (the .sav file) and a {@link BackupJournal} of the entry
+ * changes since then. Usually, a backup task only appends the changes to the journal. A new snapshot is written if
+ * something besides the entries changed (including the strings, the preamble and the epilog, which do not post
+ * events), the journal grew larger than the snapshot or the snapshot is older than {@link #SNAPSHOT_INTERVAL}.
  */
 public class BackupManager {
 
@@ -40,6 +62,9 @@ public class BackupManager {
     // This differs from org.jabref.logic.exporter.AtomicFileOutputStream.BACKUP_EXTENSION, which is used for copying the .bib away before overwriting on save.
     private static final String AUTOSAVE_FILE_EXTENSION = ".sav";
 
+    private static final Duration SNAPSHOT_INTERVAL = Duration.ofMinutes(10);
+    private static final long MINIMUM_JOURNAL_SIZE_FOR_SNAPSHOT = 1 << 16;
+
     private static Set<BackupManager> runningInstances = new HashSet<>();
 
     private final BibDatabaseContext bibDatabaseContext;
@@ -47,6 +72,14 @@ public class BackupManager {
     private final DelayTaskThrottler throttler;
     private final CoarseChangeFilter changeFilter;
     private final BibEntryTypesManager entryTypesManager;
+    private final BackupJournal journal = new BackupJournal();
+    private Instant lastSnapshot = Instant.MIN;
+    private long snapshotSize;
+
+    /**
+     * The strings, the preamble and the epilog contained in the last snapshot
+     */
+    private List<Object> snapshotNonEntryContent = List.of();
 
     private BackupManager(BibDatabaseContext bibDatabaseContext, BibEntryTypesManager entryTypesManager, PreferencesService preferences) {
         this.bibDatabaseContext = bibDatabaseContext;
@@ -88,20 +121,26 @@ public class BackupManager {
 
     /**
      * Checks whether a backup file exists for the given database file. If it exists, it is checked whether it is
-     * different from the original.
+     * different from the original. If the journal contains changes (e.g., the library was saved after the last snapshot),
+     * the library restored from the backup is compared with the original. Otherwise, the snapshot is compared with the
+     * original.
      *
      * @param originalPath Path to the file a backup should be checked for. Example: jabref.bib.
      * @return <code>true</code> if backup file exists AND differs from originalPath. <code>false</code> is the
      * "default" return value in the good case. In the case of an exception <code>true</code> is returned to ensure that
      * the user checks the output.
      */
-    public static boolean backupFileDiffers(Path originalPath) {
+    public static boolean backupFileDiffers(Path originalPath, PreferencesService preferences) {
         Path backupPath = getBackupPath(originalPath);
         if (!Files.exists(backupPath) || Files.isDirectory(backupPath)) {
             return false;
         }
 
         try {
+            Optional<List<String>> records = BackupJournal.readRecords(BackupJournal.getJournalPath(backupPath), backupPath);
+            if (records.isPresent() && !records.get().isEmpty()) {
+                return restoredBackupDiffers(originalPath, backupPath, records.get(), preferences);
+            }
             return Files.mismatch(originalPath, backupPath) != -1L;
         } catch (IOException e) {
             LOGGER.debug("Could not compare original file and backup file.", e);
@@ -111,36 +150,135 @@ public class BackupManager {
     }
 
     /**
-     * Restores the backup file by copying and overwriting the original one.
+     * Restores the backup by overwriting the original file. If the journal contains changes, they are applied to the
+     * snapshot. Otherwise, the snapshot is copied.
      *
      * @param originalPath Path to the file which should be equalized to the backup file.
      */
-    public static void restoreBackup(Path originalPath) {
+    public static void restoreBackup(Path originalPath, PreferencesService preferences, BibEntryTypesManager entryTypesManager) {
         Path backupPath = getBackupPath(originalPath);
         try {
-            Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+            Optional<List<String>> records = BackupJournal.readRecords(BackupJournal.getJournalPath(backupPath), backupPath);
+            if (records.isEmpty() || records.get().isEmpty()) {
+                Files.copy(backupPath, originalPath, StandardCopyOption.REPLACE_EXISTING);
+                return;
+            }
+
+            ParserResult parserResult = new BibtexImporter(preferences.getImportFormatPreferences(), new DummyFileUpdateMonitor())
+                    .importDatabase(backupPath, preferences.getDefaultEncoding());
+            BibDatabaseContext restoredContext = parserResult.getDatabaseContext();
+            BackupJournal.replay(records.get(), restoredContext.getDatabase());
+
+            Charset charset = restoredContext.getMetaData().getEncoding().orElse(preferences.getDefaultEncoding());
+            SavePreferences savePreferences = preferences.getSavePreferences()
+                                                         .withEncoding(charset)
+                                                         .withMakeBackup(false);
+            new BibtexDatabaseWriter(new AtomicFileWriter(originalPath, savePreferences.getEncoding()), savePreferences, entryTypesManager)
+                    .saveDatabase(restoredContext);
         } catch (IOException e) {
             LOGGER.error("Error while restoring the backup file.", e);
         }
     }
 
+    /**
+     * Compares the library restored from the snapshot and the journal with the original library. The order and the
+     * formatting of the entries are ignored, because the journal does not record them.
+     */
+    private static boolean restoredBackupDiffers(Path originalPath, Path backupPath, List<String> records, PreferencesService preferences) throws IOException {
+        BibtexImporter importer = new BibtexImporter(preferences.getImportFormatPreferences(), new DummyFileUpdateMonitor());
+        ParserResult restored = importer.importDatabase(backupPath, preferences.getDefaultEncoding());
+        BackupJournal.replay(records, restored.getDatabase());
+        ParserResult original = importer.importDatabase(originalPath, preferences.getDefaultEncoding());
+
+        return !HashMultiset.create(restored.getDatabase().getEntries()).equals(HashMultiset.create(original.getDatabase().getEntries()))
+                || !getNonEntryContent(restored.getDatabase()).equals(getNonEntryContent(original.getDatabase()))
+                || !restored.getMetaData().equals(original.getMetaData());
+    }
+
+    /**
+     * Returns the strings, the preamble and the epilog of the given database. Their changes do not post events, and
+     * thus are not recorded by the journal.
+     */
+    private static List<Object> getNonEntryContent(BibDatabase database) {
+        Map<String, String> strings = new HashMap<>();
+        for (BibtexString string : database.getStringValues()) {
+            strings.put(string.getName(), string.getContent());
+        }
+        return Arrays.asList(strings, database.getPreamble(), database.getEpilog());
+    }
+
     private Optional<Path> determineBackupPath() {
         return bibDatabaseContext.getDatabasePath().map(BackupManager::getBackupPath);
     }
 
     private void performBackup(Path backupPath) {
+        Path journalPath = BackupJournal.getJournalPath(backupPath);
+        if (isSnapshotRequired(backupPath, journalPath)) {
+            writeSnapshot(backupPath, journalPath);
+            return;
+        }
+
+        String records = journal.takePendingRecords();
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            BackupJournal.append(journalPath, records);
+        } catch (IOException e) {
+            LOGGER.error("Error while writing to the backup journal " + journalPath, e);
+            journal.requireSnapshot();
+        }
+    }
+
+    private boolean isSnapshotRequired(Path backupPath, Path journalPath) {
+        if (journal.isSnapshotRequired() || !Files.exists(backupPath) || !Files.exists(journalPath)
+                || Instant.now().isAfter(lastSnapshot.plus(SNAPSHOT_INTERVAL))
+                || !snapshotNonEntryContent.equals(getNonEntryContent())) {
+            return true;
+        }
+        try {
+            return Files.size(journalPath) > Math.max(MINIMUM_JOURNAL_SIZE_FOR_SNAPSHOT, snapshotSize);
+        } catch (IOException e) {
+            LOGGER.debug("Could not determine size of the backup journal", e);
+            return true;
+        }
+    }
+
+    private void writeSnapshot(Path backupPath, Path journalPath) {
         try {
             Charset charset = bibDatabaseContext.getMetaData().getEncoding().orElse(preferences.getDefaultEncoding());
             SavePreferences savePreferences = preferences.getSavePreferences()
                                                          .withEncoding(charset)
                                                          .withMakeBackup(false);
+            List<BibEntry> sortedEntries;
+            synchronized (this) {
+                sortedEntries = BibDatabaseWriter.getSortedEntries(bibDatabaseContext, bibDatabaseContext.getDatabase().getEntries(), savePreferences);
+                journal.startSnapshot(sortedEntries);
+            }
+            // Read before writing, so that a change during writing leads to another snapshot
+            List<Object> nonEntryContent = getNonEntryContent();
+            // the old journal does not fit to the new snapshot
+            Files.deleteIfExists(journalPath);
             new BibtexDatabaseWriter(new AtomicFileWriter(backupPath, savePreferences.getEncoding()), savePreferences, entryTypesManager)
-                    .saveDatabase(bibDatabaseContext);
+                    .saveSortedEntries(bibDatabaseContext, sortedEntries);
+            BackupJournal.create(journalPath, backupPath);
+            snapshotSize = Files.size(backupPath);
+            lastSnapshot = Instant.now();
+            snapshotNonEntryContent = nonEntryContent;
         } catch (IOException e) {
+            journal.requireSnapshot();
             logIfCritical(backupPath, e);
         }
     }
 
+    private List<Object> getNonEntryContent() {
+        BibDatabase database = bibDatabaseContext.getDatabase();
+        // The strings are changed while holding the lock of the database
+        synchronized (database) {
+            return getNonEntryContent(database);
+        }
+    }
+
     private void logIfCritical(Path backupPath, IOException e) {
         Throwable innermostCause = e;
         while (innermostCause.getCause() != null) {
@@ -155,7 +293,19 @@ public class BackupManager {
     }
 
     @Subscribe
-    public synchronized void listen(@SuppressWarnings("unused") BibDatabaseContextChangedEvent event) {
+    public synchronized void listen(BibDatabaseContextChangedEvent event) {
+        if (event instanceof FieldChangedEvent) {
+            FieldChangedEvent fieldChange = (FieldChangedEvent) event;
+            journal.fieldChanged(fieldChange.getBibEntry(), fieldChange.getField(), fieldChange.getNewValue());
+        } else if (event instanceof EntriesAddedEvent) {
+            journal.entriesAdded(((EntriesAddedEvent) event).getBibEntries());
+        } else if (event instanceof EntriesRemovedEvent) {
+            journal.entriesRemoved(((EntriesRemovedEvent) event).getBibEntries());
+        } else {
+            // groups or other meta data changed
+            journal.requireSnapshot();
+        }
+
         if (!event.isFilteredOut()) {
             startBackupTask();
         }
@@ -178,6 +328,7 @@ public class BackupManager {
 
     private void deleteBackupFile(Path backupPath) {
         try {
+            Files.deleteIfExists(BackupJournal.getJournalPath(backupPath));
             if (Files.exists(backupPath) && !Files.isDirectory(backupPath)) {
                 Files.delete(backupPath);
             }
@@ -1,7 +1,5 @@
 package org.jabref.logic.bst;
 
-import java.util.Stack;
-
 import org.jabref.logic.bst.VM.BstEntry;
 import org.jabref.logic.bst.VM.BstFunction;
 import org.jabref.model.entry.Author;
@@ -33,7 +31,7 @@ public class FormatNameFunction implements BstFunction {
 
     @Override
     public void execute(BstEntry context) {
-        Stack<Object> stack = vm.getStack();
+        OperandStack stack = vm.getStack();
 
         if (stack.size() < 3) {
             throw new VMException("Not enough operands on stack for operation format.name$");
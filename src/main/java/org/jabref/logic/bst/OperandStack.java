@@ -0,0 +1,46 @@
+package org.jabref.logic.bst;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * The operand stack of the {@link VM}. Holds strings and integers, identifiers of functions and variables, function
+ * literals, and null for missing fields.
+ * <p>
+ * In contrast to {@link java.util.Stack}, the stack is not synchronized, as a VM is used by one thread at a time.
+ */
+public class OperandStack {
+
+    private Object[] elements = new Object[16];
+
+    private int size;
+
+    public void push(Object element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, 2 * size);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * Removes the topmost element from the stack and returns it
+     *
+     * @throws EmptyStackException if the stack is empty
+     */
+    public Object pop() {
+        if (size == 0) {
+            throw new EmptyStackException();
+        }
+        Object element = elements[--size];
+        elements[size] = null;
+        return element;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
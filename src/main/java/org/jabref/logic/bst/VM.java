@@ -6,11 +6,13 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Stack;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -60,10 +62,28 @@ public class VM implements Warn {
 
     private Map<String, BstFunction> functions = new HashMap<>();
 
-    private Stack<Object> stack = new Stack<>();
+    private OperandStack stack = new OperandStack();
 
     private final Map<String, BstFunction> buildInFunctions;
 
+    /**
+     * The names of the fields and of the entry variables declared by the ENTRY command (and by READ for crossref)
+     */
+    private Set<String> entryFields = new HashSet<>();
+    private Set<String> entryStrings = new HashSet<>();
+    private Set<String> entryIntegers = new HashSet<>();
+
+    /**
+     * Incremented on every declaration. Identifiers resolved before a declaration are resolved again on their next
+     * execution (see {@link IdentifierReference}).
+     */
+    private int declarationVersion;
+
+    /**
+     * The compiled functions of the FUNCTION commands, kept across runs
+     */
+    private final Map<Tree, StackFunction> compiledFunctions = new IdentityHashMap<>();
+
     private File file;
 
     private final CommonTree tree;
@@ -364,8 +384,8 @@ public class VM implements Warn {
             Object f2 = stack.pop();
             Object i = stack.pop();
 
-            if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                    && ((f2 instanceof Identifier) || (f2 instanceof Tree)) && (i instanceof Integer)) {
+            if (!((f1 instanceof Identifier) || (f1 instanceof StackFunction))
+                    && ((f2 instanceof Identifier) || (f2 instanceof StackFunction)) && (i instanceof Integer)) {
                 throw new VMException("Expecting two functions and an integer for if$.");
             }
 
@@ -509,7 +529,7 @@ public class VM implements Warn {
          * designers while debugging.
          */
         buildInFunctions.put("stack$", context -> {
-            while (!stack.empty()) {
+            while (!stack.isEmpty()) {
                 LOGGER.debug("Stack entry {}", stack.pop());
             }
         });
@@ -709,8 +729,8 @@ public class VM implements Warn {
         Object f2 = stack.pop();
         Object f1 = stack.pop();
 
-        if (!((f1 instanceof Identifier) || (f1 instanceof Tree))
-                && ((f2 instanceof Identifier) || (f2 instanceof Tree))) {
+        if (!((f1 instanceof Identifier) || (f1 instanceof StackFunction))
+                && ((f2 instanceof Identifier) || (f2 instanceof StackFunction))) {
             throw new VMException("Expecting two functions for while$.");
         }
 
@@ -867,7 +887,12 @@ public class VM implements Warn {
         functions = new HashMap<>();
         functions.putAll(buildInFunctions);
 
-        stack = new Stack<>();
+        entryFields = new HashSet<>();
+        entryStrings = new HashSet<>();
+        entryIntegers = new HashSet<>();
+        declarationVersion++;
+
+        stack = new OperandStack();
 
         // Create entries
         entries = new ArrayList<>(bibEntries.size());
@@ -963,6 +988,8 @@ public class VM implements Warn {
                 e.fields.put(StandardField.CROSSREF.getName(), null);
             }
         }
+        entryFields.add(StandardField.CROSSREF.getName());
+        declarationVersion++;
     }
 
     /**
@@ -976,6 +1003,7 @@ public class VM implements Warn {
         String name = child.getChild(0).getText();
         String replacement = child.getChild(1).getText();
         functions.put(name, new MacroFunction(replacement));
+        declarationVersion++;
     }
 
     public class MacroFunction implements BstFunction {
@@ -1009,6 +1037,7 @@ public class VM implements Warn {
             for (BstEntry entry : entries) {
                 entry.fields.put(name, null);
             }
+            entryFields.add(name);
         }
 
         // Integers
@@ -1020,6 +1049,7 @@ public class VM implements Warn {
             for (BstEntry entry : entries) {
                 entry.localIntegers.put(name, 0);
             }
+            entryIntegers.add(name);
         }
         // Strings
         t = child.getChild(2);
@@ -1029,10 +1059,13 @@ public class VM implements Warn {
             for (BstEntry entry : entries) {
                 entry.localStrings.put(name, null);
             }
+            entryStrings.add(name);
         }
         for (BstEntry entry : entries) {
             entry.localStrings.put("sort.key$", null);
         }
+        entryStrings.add("sort.key$");
+        declarationVersion++;
     }
 
     private void reverse(Tree child) {
@@ -1061,9 +1094,8 @@ public class VM implements Warn {
     }
 
     private void executeInContext(Object o, BstEntry context) {
-        if (o instanceof Tree) {
-            Tree t = (Tree) o;
-            new StackFunction(t).execute(context);
+        if (o instanceof StackFunction) {
+            ((StackFunction) o).execute(context);
         } else if (o instanceof Identifier) {
             execute(((Identifier) o).getName(), context);
         }
@@ -1073,12 +1105,39 @@ public class VM implements Warn {
         execute(child.getChild(0).getText(), null);
     }
 
+    /**
+     * A function defined by a FUNCTION command or a function literal ({...}) pushed on the stack. The body is compiled
+     * once into a sequence of functions: literals are converted when compiling, nested function literals are compiled
+     * as well, and identifiers are resolved when they are executed the first time.
+     */
     public class StackFunction implements BstFunction {
 
         private final Tree localTree;
 
+        private final BstFunction[] instructions;
+
         public StackFunction(Tree stack) {
             localTree = stack;
+            instructions = new BstFunction[stack.getChildCount()];
+            for (int i = 0; i < instructions.length; i++) {
+                instructions[i] = compile(stack.getChild(i));
+            }
+        }
+
+        private BstFunction compile(Tree c) {
+            switch (c.getType()) {
+                case BstParser.STRING:
+                    String s = c.getText();
+                    return pushing(s.substring(1, s.length() - 1));
+                case BstParser.INTEGER:
+                    return pushing(Integer.parseInt(c.getText().substring(1)));
+                case BstParser.QUOTED:
+                    return pushing(new Identifier(c.getText().substring(1)));
+                case BstParser.STACK:
+                    return pushing(new StackFunction(c));
+                default:
+                    return new IdentifierReference(c.getText());
+            }
         }
 
         public Tree getTree() {
@@ -1087,45 +1146,96 @@ public class VM implements Warn {
 
         @Override
         public void execute(BstEntry context) {
+            int i = 0;
+            try {
+                for (; i < instructions.length; i++) {
+                    instructions[i].execute(context);
+                }
+            } catch (VMException e) {
+                Tree c = localTree.getChild(i);
+                if (file == null) {
+                    LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
+                } else {
+                    LOGGER.error("ERROR " + e.getMessage() + " (" + file.getPath() + ":"
+                            + c.getLine() + ")");
+                }
+                throw e;
+            }
+        }
+    }
 
-            for (int i = 0; i < localTree.getChildCount(); i++) {
+    private BstFunction pushing(Object literal) {
+        return context -> stack.push(literal);
+    }
 
-                Tree c = localTree.getChild(i);
-                try {
-
-                    switch (c.getType()) {
-                        case BstParser.STRING:
-                            String s = c.getText();
-                            push(s.substring(1, s.length() - 1));
-                            break;
-                        case BstParser.INTEGER:
-                            push(Integer.parseInt(c.getText().substring(1)));
-                            break;
-                        case BstParser.QUOTED:
-                            push(new Identifier(c.getText().substring(1)));
-                            break;
-                        case BstParser.STACK:
-                            push(c);
-                            break;
-                        default:
-                            VM.this.execute(c.getText(), context);
-                            break;
-                    }
-                } catch (VMException e) {
-                    if (file == null) {
-                        LOGGER.error("ERROR " + e.getMessage() + " (" + c.getLine() + ")");
-                    } else {
-                        LOGGER.error("ERROR " + e.getMessage() + " (" + file.getPath() + ":"
-                                + c.getLine() + ")");
-                    }
-                    throw e;
+    /**
+     * An identifier in the body of a {@link StackFunction}. The variable or function the identifier refers to is looked
+     * up on the first execution and only looked up again if something was declared since then. As the variable lookup
+     * depends on whether there is an entry, the lookups with and without entry are kept apart.
+     */
+    private class IdentifierReference implements BstFunction {
+
+        private final String name;
+
+        private BstFunction resolvedForEntry;
+        private int resolvedForEntryVersion = -1;
+
+        private BstFunction resolvedWithoutEntry;
+        private int resolvedWithoutEntryVersion = -1;
+
+        IdentifierReference(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void execute(BstEntry context) {
+            if (context == null) {
+                if (resolvedWithoutEntryVersion != declarationVersion) {
+                    resolvedWithoutEntry = resolve(name, false);
+                    resolvedWithoutEntryVersion = declarationVersion;
+                }
+                resolvedWithoutEntry.execute(null);
+            } else {
+                if (resolvedForEntryVersion != declarationVersion) {
+                    resolvedForEntry = resolve(name, true);
+                    resolvedForEntryVersion = declarationVersion;
                 }
+                resolvedForEntry.execute(context);
             }
         }
     }
 
-    private void push(Tree t) {
-        stack.push(t);
+    /**
+     * Looks up what the given identifier refers to, in the same order as {@link #execute(String, BstEntry)}
+     */
+    private BstFunction resolve(String name, boolean hasEntry) {
+        if (hasEntry) {
+            if (entryFields.contains(name)) {
+                return context -> stack.push(context.fields.get(name));
+            }
+            if (entryStrings.contains(name)) {
+                return context -> stack.push(context.localStrings.get(name));
+            }
+            if (entryIntegers.contains(name)) {
+                return context -> stack.push(context.localIntegers.get(name));
+            }
+        }
+        if (strings.containsKey(name)) {
+            return context -> stack.push(strings.get(name));
+        }
+        if (integers.containsKey(name)) {
+            return context -> stack.push(integers.get(name));
+        }
+
+        BstFunction function = functions.get(name);
+        if (function != null) {
+            // OK to have a null context
+            return function;
+        }
+
+        return context -> {
+            throw new VMException("No matching identifier found: " + name);
+        };
     }
 
     private void execute(String name, BstEntry context) {
@@ -1166,7 +1276,8 @@ public class VM implements Warn {
     private void function(Tree child) {
         String name = child.getChild(0).getText();
         Tree localStack = child.getChild(1);
-        functions.put(name, new StackFunction(localStack));
+        functions.put(name, compiledFunctions.computeIfAbsent(localStack, StackFunction::new));
+        declarationVersion++;
     }
 
     /**
@@ -1181,6 +1292,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             integers.put(name, 0);
         }
+        declarationVersion++;
     }
 
     /**
@@ -1196,6 +1308,7 @@ public class VM implements Warn {
             String name = t.getChild(i).getText();
             strings.put(name, null);
         }
+        declarationVersion++;
     }
 
     public static class BstEntry {
@@ -1214,18 +1327,10 @@ public class VM implements Warn {
         }
     }
 
-    private void push(Integer integer) {
-        stack.push(integer);
-    }
-
     private void push(String string) {
         stack.push(string);
     }
 
-    private void push(Identifier identifier) {
-        stack.push(identifier);
-    }
-
     public Map<String, String> getStrings() {
         return strings;
     }
@@ -1242,7 +1347,7 @@ public class VM implements Warn {
         return functions;
     }
 
-    public Stack<Object> getStack() {
+    public OperandStack getStack() {
         return stack;
     }
 
@@ -4,7 +4,6 @@ import java.math.BigInteger;
 import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
@@ -13,6 +12,8 @@ import java.util.Optional;
 import java.util.Scanner;
 import java.util.StringJoiner;
 import java.util.StringTokenizer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
@@ -29,6 +30,7 @@ import org.jabref.model.entry.AuthorList;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.Keyword;
 import org.jabref.model.entry.KeywordList;
+import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
@@ -74,6 +76,41 @@ public class BracketedPattern {
      */
     private static final Pattern DEPARTMENTS = Pattern.compile("^d[ei]p.*", Pattern.CASE_INSENSITIVE);
     private static final Pattern WHITESPACE = Pattern.compile("\\p{javaWhitespace}");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final Pattern STARTS_WITH_NON_DIGIT = Pattern.compile("^\\D+.*$");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    /**
+     * Matches the characters removed before abbreviating
+     */
+    private static final Pattern ABBREVIATION_REMOVED_CHARACTERS = Pattern.compile("[\\{\\}']");
+    /**
+     * Matches the characters separating the words to abbreviate
+     */
+    private static final Pattern ABBREVIATION_WORD_SEPARATORS = Pattern.compile("[\\(\\) \r\n\"]");
+
+    private static final Pattern AUTH_INI_N = Pattern.compile("authIni[\\d]+");
+    private static final Pattern AUTH_N_OF_MTH = Pattern.compile("auth[\\d]+_[\\d]+");
+    private static final Pattern AUTH_N = Pattern.compile("auth\\d+");
+    private static final Pattern AUTHORS_N = Pattern.compile("authors\\d+");
+    private static final Pattern EDTR_INI_N = Pattern.compile("edtrIni[\\d]+");
+    private static final Pattern EDTR_N_OF_MTH = Pattern.compile("edtr[\\d]+_[\\d]+");
+    private static final Pattern EDTR_N = Pattern.compile("edtr\\d+");
+    private static final Pattern KEYWORD_N = Pattern.compile("keyword\\d+");
+    private static final Pattern KEYWORDS_N = Pattern.compile("keywords\\d*");
+
+    /**
+     * Evaluates a field marker (such as auth or year) for an entry
+     */
+    @FunctionalInterface
+    interface FieldValueExtractor {
+        /**
+         * @param entry            The entry to get the field value from
+         * @param keywordDelimiter The keyword delimiter to use
+         * @param database         The database to use for field resolving. May be null.
+         * @return the evaluation result. Empty string if the marker cannot be resolved.
+         */
+        String getValue(BibEntry entry, Character keywordDelimiter, BibDatabase database);
+    }
 
     private enum Institution {
         SCHOOL,
@@ -218,28 +255,39 @@ public class BracketedPattern {
     public static String expandBrackets(String pattern, Function<String, String> bracketContentHandler) {
         Objects.requireNonNull(pattern);
         StringBuilder expandedPattern = new StringBuilder();
+        parseBrackets(pattern, expandedPattern::append, fieldMarker -> expandedPattern.append(bracketContentHandler.apply(fieldMarker)));
+        return expandedPattern.toString();
+    }
+
+    /**
+     * Splits a pattern into the text outside of brackets and the content of the bracketed expressions.
+     *
+     * @param pattern               The pattern to split
+     * @param textHandler           Receives the (unescaped) text outside of brackets
+     * @param bracketContentHandler Receives the string representation of the content of each bracketed expression
+     */
+    static void parseBrackets(String pattern, Consumer<String> textHandler, Consumer<String> bracketContentHandler) {
         StringTokenizer parsedPattern = new StringTokenizer(pattern, "\\[]\"", true);
 
         while (parsedPattern.hasMoreTokens()) {
             String token = parsedPattern.nextToken();
             switch (token) {
-                case "\"" -> appendQuote(expandedPattern, parsedPattern);
-                case "[" -> {
-                    String fieldMarker = contentBetweenBrackets(parsedPattern, pattern);
-                    expandedPattern.append(bracketContentHandler.apply(fieldMarker));
+                case "\"" -> {
+                    StringBuilder quote = new StringBuilder();
+                    appendQuote(quote, parsedPattern);
+                    textHandler.accept(quote.toString());
                 }
+                case "[" -> bracketContentHandler.accept(contentBetweenBrackets(parsedPattern, pattern));
                 case "\\" -> {
                     if (parsedPattern.hasMoreTokens()) {
-                        expandedPattern.append(parsedPattern.nextToken());
+                        textHandler.accept(parsedPattern.nextToken());
                     } else {
                         LOGGER.warn("Found a \"\\\" that is not part of an escape sequence");
                     }
                 }
-                default -> expandedPattern.append(token);
+                default -> textHandler.accept(token);
             }
         }
-
-        return expandedPattern.toString();
     }
 
     /**
@@ -300,140 +348,81 @@ public class BracketedPattern {
      * @return String containing the evaluation result. Empty string if the pattern cannot be resolved.
      */
     public static String getFieldValue(BibEntry entry, String pattern, Character keywordDelimiter, BibDatabase database) {
-        try {
-            if (pattern.startsWith("auth") || pattern.startsWith("pureauth")) {
-                // result the author
-                String unparsedAuthors = entry.getResolvedFieldOrAlias(StandardField.AUTHOR, database).orElse("");
+        return compileFieldMarker(pattern).getValue(entry, keywordDelimiter, database);
+    }
+
+    /**
+     * Resolves the given field marker (such as auth, pureauth, authorLast) to the function evaluating it, so that the
+     * marker does not need to be interpreted again for every entry.
+     *
+     * @param pattern A pattern string (such as auth, pureauth, authorLast)
+     * @return the function evaluating the pattern. It returns the empty string if the pattern cannot be resolved.
+     */
+    static FieldValueExtractor compileFieldMarker(String pattern) {
+        FieldValueExtractor extractor = createFieldValueExtractor(pattern);
+        return (entry, keywordDelimiter, database) -> {
+            try {
+                return extractor.getValue(entry, keywordDelimiter, database);
+            } catch (NullPointerException ex) {
+                LOGGER.debug("Problem making expanding bracketed expression", ex);
+                return "";
+            }
+        };
+    }
 
-                if (pattern.startsWith("pure")) {
-                    // "pure" is used in the context of authors to resolve to authors only and not fallback to editors
-                    // The other functionality of the pattern "ForeIni", ... is the same
-                    // Thus, remove the "pure" prefix so the remaining code in this section functions correctly
-                    //
-                    pattern = pattern.substring(4);
-                } else if (unparsedAuthors.isEmpty()) {
+    private static FieldValueExtractor createFieldValueExtractor(String pattern) {
+        if (pattern.startsWith("auth") || pattern.startsWith("pureauth")) {
+            // "pure" is used in the context of authors to resolve to authors only and not fallback to editors
+            // The other functionality of the pattern "ForeIni", ... is the same
+            // Thus, remove the "pure" prefix so the remaining code in this section functions correctly
+            boolean pure = pattern.startsWith("pure");
+            String authorPattern = pure ? pattern.substring(4) : pattern;
+
+            Optional<Function<AuthorList, String>> authorFormatter = getAuthorFormatter(authorPattern);
+            if (authorFormatter.isEmpty()) {
+                // This "auth" business was a dead end, so just
+                // use it literally:
+                return fieldExtractor(FieldFactory.parseField(authorPattern));
+            }
+            Function<AuthorList, String> formatter = authorFormatter.get();
+            return (entry, keywordDelimiter, database) -> {
+                String unparsedAuthors = entry.getResolvedFieldOrAlias(StandardField.AUTHOR, database).orElse("");
+                if (!pure && unparsedAuthors.isEmpty()) {
                     // special feature: A pattern starting with "auth" falls back to the editor
                     unparsedAuthors = entry.getResolvedFieldOrAlias(StandardField.EDITOR, database).orElse("");
                 }
-
-                AuthorList authorList = createAuthorList(unparsedAuthors);
-
-                // Gather all author-related checks, so we don't
-                // have to check all the time.
-                switch (pattern) {
-                    case "auth":
-                        return firstAuthor(authorList);
-                    case "authForeIni":
-                        return firstAuthorForenameInitials(authorList);
-                    case "authFirstFull":
-                        return firstAuthorVonAndLast(authorList);
-                    case "authors":
-                        return allAuthors(authorList);
-                    case "authorsAlpha":
-                        return authorsAlpha(authorList);
-                    case "authorLast":
-                        return lastAuthor(authorList);
-                    case "authorLastForeIni":
-                        return lastAuthorForenameInitials(authorList);
-                    case "authorIni":
-                        return oneAuthorPlusInitials(authorList);
-                    case "auth.auth.ea":
-                        return authAuthEa(authorList);
-                    case "auth.etal":
-                        return authEtal(authorList, ".", ".etal");
-                    case "authEtAl":
-                        return authEtal(authorList, "", "EtAl");
-                    case "authshort":
-                        return authshort(authorList);
-                }
-
-                if (pattern.matches("authIni[\\d]+")) {
-                    int num = Integer.parseInt(pattern.substring(7));
-                    return authIniN(authorList, num);
-                } else if (pattern.matches("auth[\\d]+_[\\d]+")) {
-                    String[] nums = pattern.substring(4).split("_");
-                    return authNofMth(authorList, Integer.parseInt(nums[0]),
-                            Integer.parseInt(nums[1]));
-                } else if (pattern.matches("auth\\d+")) {
-                    // authN. First N chars of the first author's last name.
-                    int num = Integer.parseInt(pattern.substring(4));
-                    return authN(authorList, num);
-                } else if (pattern.matches("authors\\d+")) {
-                    return nAuthors(authorList, Integer.parseInt(pattern.substring(7)));
-                } else {
-                    // This "auth" business was a dead end, so just
-                    // use it literally:
-                    return entry.getResolvedFieldOrAlias(FieldFactory.parseField(pattern), database).orElse("");
-                }
-            } else if (pattern.startsWith("ed")) {
-                // Gather all markers starting with "ed" here, so we
-                // don't have to check all the time.
-                String unparsedEditors = entry.getResolvedFieldOrAlias(StandardField.EDITOR, database).orElse("");
-                AuthorList editorList = createAuthorList(unparsedEditors);
-
-                switch (pattern) {
-                    case "edtr":
-                        return firstAuthor(editorList);
-                    case "edtrForeIni":
-                        return firstAuthorForenameInitials(editorList);
-                    case "editors":
-                        return allAuthors(editorList);
-                    case "editorLast":
-                        return lastAuthor(editorList); // Last author's last name
-                    case "editorLastForeIni":
-                        return lastAuthorForenameInitials(editorList);
-                    case "editorIni":
-                        return oneAuthorPlusInitials(editorList);
-                    case "edtr.edtr.ea":
-                        return authAuthEa(editorList);
-                    case "edtrshort":
-                        return authshort(editorList);
-                }
-
-                if (pattern.matches("edtrIni[\\d]+")) {
-                    int num = Integer.parseInt(pattern.substring(7));
-                    return authIniN(editorList, num);
-                } else if (pattern.matches("edtr[\\d]+_[\\d]+")) {
-                    String[] nums = pattern.substring(4).split("_");
-                    return authNofMth(editorList,
-                            Integer.parseInt(nums[0]),
-                            Integer.parseInt(nums[1]) - 1);
-                } else if (pattern.matches("edtr\\d+")) {
-                    String fa = firstAuthor(editorList);
-                    int num = Integer.parseInt(pattern.substring(4));
-                    if (num > fa.length()) {
-                        num = fa.length();
-                    }
-                    return fa.substring(0, num);
-                } else {
-                    // This "ed" business was a dead end, so just
-                    // use it literally:
-                    return entry.getResolvedFieldOrAlias(FieldFactory.parseField(pattern), database).orElse("");
-                }
-            } else if ("firstpage".equals(pattern)) {
-                return firstPage(entry.getResolvedFieldOrAlias(StandardField.PAGES, database).orElse(""));
-            } else if ("pageprefix".equals(pattern)) {
-                return pagePrefix(entry.getResolvedFieldOrAlias(StandardField.PAGES, database).orElse(""));
-            } else if ("lastpage".equals(pattern)) {
-                return lastPage(entry.getResolvedFieldOrAlias(StandardField.PAGES, database).orElse(""));
-            } else if ("title".equals(pattern)) {
-                return camelizeSignificantWordsInTitle(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse(""));
-            } else if ("fulltitle".equals(pattern)) {
-                return entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("");
-            } else if ("shorttitle".equals(pattern)) {
-                return getTitleWords(3,
-                        removeSmallWords(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("")));
-            } else if ("shorttitleINI".equals(pattern)) {
-                return keepLettersAndDigitsOnly(
-                        applyModifiers(getTitleWordsWithSpaces(3, entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("")),
-                                Collections.singletonList("abbr"), 0));
-            } else if ("veryshorttitle".equals(pattern)) {
-                return getTitleWords(1,
-                        removeSmallWords(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse("")));
-            } else if ("camel".equals(pattern)) {
-                return getCamelizedTitle(entry.getResolvedFieldOrAlias(StandardField.TITLE, database).orElse(""));
-            } else if ("shortyear".equals(pattern)) {
-                String yearString = entry.getResolvedFieldOrAlias(StandardField.YEAR, database).orElse("");
+                return formatter.apply(createAuthorList(unparsedAuthors));
+            };
+        } else if (pattern.startsWith("ed")) {
+            Optional<Function<AuthorList, String>> editorFormatter = getEditorFormatter(pattern);
+            if (editorFormatter.isEmpty()) {
+                // This "ed" business was a dead end, so just
+                // use it literally:
+                return fieldExtractor(FieldFactory.parseField(pattern));
+            }
+            Function<AuthorList, String> formatter = editorFormatter.get();
+            return (entry, keywordDelimiter, database) ->
+                    formatter.apply(createAuthorList(entry.getResolvedFieldOrAlias(StandardField.EDITOR, database).orElse("")));
+        } else if ("firstpage".equals(pattern)) {
+            return fieldExtractor(StandardField.PAGES, BracketedPattern::firstPage);
+        } else if ("pageprefix".equals(pattern)) {
+            return fieldExtractor(StandardField.PAGES, BracketedPattern::pagePrefix);
+        } else if ("lastpage".equals(pattern)) {
+            return fieldExtractor(StandardField.PAGES, BracketedPattern::lastPage);
+        } else if ("title".equals(pattern)) {
+            return fieldExtractor(StandardField.TITLE, BracketedPattern::camelizeSignificantWordsInTitle);
+        } else if ("fulltitle".equals(pattern)) {
+            return fieldExtractor(StandardField.TITLE);
+        } else if ("shorttitle".equals(pattern)) {
+            return fieldExtractor(StandardField.TITLE, title -> getTitleWords(3, removeSmallWords(title)));
+        } else if ("shorttitleINI".equals(pattern)) {
+            return fieldExtractor(StandardField.TITLE, title -> keepLettersAndDigitsOnly(abbreviate(getTitleWordsWithSpaces(3, title))));
+        } else if ("veryshorttitle".equals(pattern)) {
+            return fieldExtractor(StandardField.TITLE, title -> getTitleWords(1, removeSmallWords(title)));
+        } else if ("camel".equals(pattern)) {
+            return fieldExtractor(StandardField.TITLE, BracketedPattern::getCamelizedTitle);
+        } else if ("shortyear".equals(pattern)) {
+            return fieldExtractor(StandardField.YEAR, yearString -> {
                 if (yearString.isEmpty()) {
                     return yearString;
                     // In press/in preparation/submitted
@@ -444,11 +433,13 @@ public class BracketedPattern {
                 } else {
                     return yearString;
                 }
-            } else if ("entrytype".equals(pattern)) {
-                return entry.getResolvedFieldOrAlias(InternalField.TYPE_HEADER, database).orElse("");
-            } else if (pattern.matches("keyword\\d+")) {
-                // according to LabelPattern.php, it returns keyword number n
-                int num = Integer.parseInt(pattern.substring(7));
+            });
+        } else if ("entrytype".equals(pattern)) {
+            return fieldExtractor(InternalField.TYPE_HEADER);
+        } else if (KEYWORD_N.matcher(pattern).matches()) {
+            // according to LabelPattern.php, it returns keyword number n
+            int num = Integer.parseInt(pattern.substring(7));
+            return (entry, keywordDelimiter, database) -> {
                 KeywordList separatedKeywords = entry.getResolvedKeywords(keywordDelimiter, database);
                 if (separatedKeywords.size() < num) {
                     // not enough keywords
@@ -457,20 +448,22 @@ public class BracketedPattern {
                     // num counts from 1 to n, but index in arrayList count from 0 to n-1
                     return separatedKeywords.get(num - 1).toString();
                 }
-            } else if (pattern.matches("keywords\\d*")) {
-                // return all keywords, not separated
-                int num;
-                if (pattern.length() > 8) {
-                    num = Integer.parseInt(pattern.substring(8));
-                } else {
-                    num = Integer.MAX_VALUE;
-                }
+            };
+        } else if (KEYWORDS_N.matcher(pattern).matches()) {
+            // return all keywords, not separated
+            int num;
+            if (pattern.length() > 8) {
+                num = Integer.parseInt(pattern.substring(8));
+            } else {
+                num = Integer.MAX_VALUE;
+            }
+            return (entry, keywordDelimiter, database) -> {
                 KeywordList separatedKeywords = entry.getResolvedKeywords(keywordDelimiter, database);
                 StringBuilder sb = new StringBuilder();
                 int i = 0;
                 for (Keyword keyword : separatedKeywords) {
                     // remove all spaces
-                    sb.append(keyword.toString().replaceAll("\\s+", ""));
+                    sb.append(WHITESPACES.matcher(keyword.toString()).replaceAll(""));
 
                     i++;
                     if (i >= num) {
@@ -478,16 +471,120 @@ public class BracketedPattern {
                     }
                 }
                 return sb.toString();
-            } else {
-                // we haven't seen any special demands
-                return entry.getResolvedFieldOrAlias(FieldFactory.parseField(pattern), database).orElse("");
-            }
-        } catch (NullPointerException ex) {
-            LOGGER.debug("Problem making expanding bracketed expression", ex);
-            return "";
+            };
+        } else {
+            // we haven't seen any special demands
+            return fieldExtractor(FieldFactory.parseField(pattern));
+        }
+    }
+
+    /**
+     * Gathers all author-related markers, so that they only need to be resolved once.
+     *
+     * @param pattern an author marker without the "pure" prefix
+     * @return the function formatting the authors, or an empty optional if the marker is not an author marker
+     */
+    private static Optional<Function<AuthorList, String>> getAuthorFormatter(String pattern) {
+        switch (pattern) {
+            case "auth":
+                return Optional.of(BracketedPattern::firstAuthor);
+            case "authForeIni":
+                return Optional.of(BracketedPattern::firstAuthorForenameInitials);
+            case "authFirstFull":
+                return Optional.of(BracketedPattern::firstAuthorVonAndLast);
+            case "authors":
+                return Optional.of(BracketedPattern::allAuthors);
+            case "authorsAlpha":
+                return Optional.of(BracketedPattern::authorsAlpha);
+            case "authorLast":
+                return Optional.of(BracketedPattern::lastAuthor);
+            case "authorLastForeIni":
+                return Optional.of(BracketedPattern::lastAuthorForenameInitials);
+            case "authorIni":
+                return Optional.of(BracketedPattern::oneAuthorPlusInitials);
+            case "auth.auth.ea":
+                return Optional.of(BracketedPattern::authAuthEa);
+            case "auth.etal":
+                return Optional.of(authorList -> authEtal(authorList, ".", ".etal"));
+            case "authEtAl":
+                return Optional.of(authorList -> authEtal(authorList, "", "EtAl"));
+            case "authshort":
+                return Optional.of(BracketedPattern::authshort);
+        }
+
+        if (AUTH_INI_N.matcher(pattern).matches()) {
+            int num = Integer.parseInt(pattern.substring(7));
+            return Optional.of(authorList -> authIniN(authorList, num));
+        } else if (AUTH_N_OF_MTH.matcher(pattern).matches()) {
+            String[] nums = pattern.substring(4).split("_");
+            int n = Integer.parseInt(nums[0]);
+            int m = Integer.parseInt(nums[1]);
+            return Optional.of(authorList -> authNofMth(authorList, n, m));
+        } else if (AUTH_N.matcher(pattern).matches()) {
+            // authN. First N chars of the first author's last name.
+            int num = Integer.parseInt(pattern.substring(4));
+            return Optional.of(authorList -> authN(authorList, num));
+        } else if (AUTHORS_N.matcher(pattern).matches()) {
+            int num = Integer.parseInt(pattern.substring(7));
+            return Optional.of(authorList -> nAuthors(authorList, num));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gathers all markers starting with "ed", so that they only need to be resolved once.
+     *
+     * @param pattern a marker starting with "ed"
+     * @return the function formatting the editors, or an empty optional if the marker is not an editor marker
+     */
+    private static Optional<Function<AuthorList, String>> getEditorFormatter(String pattern) {
+        switch (pattern) {
+            case "edtr":
+                return Optional.of(BracketedPattern::firstAuthor);
+            case "edtrForeIni":
+                return Optional.of(BracketedPattern::firstAuthorForenameInitials);
+            case "editors":
+                return Optional.of(BracketedPattern::allAuthors);
+            case "editorLast":
+                return Optional.of(BracketedPattern::lastAuthor); // Last author's last name
+            case "editorLastForeIni":
+                return Optional.of(BracketedPattern::lastAuthorForenameInitials);
+            case "editorIni":
+                return Optional.of(BracketedPattern::oneAuthorPlusInitials);
+            case "edtr.edtr.ea":
+                return Optional.of(BracketedPattern::authAuthEa);
+            case "edtrshort":
+                return Optional.of(BracketedPattern::authshort);
+        }
+
+        if (EDTR_INI_N.matcher(pattern).matches()) {
+            int num = Integer.parseInt(pattern.substring(7));
+            return Optional.of(editorList -> authIniN(editorList, num));
+        } else if (EDTR_N_OF_MTH.matcher(pattern).matches()) {
+            String[] nums = pattern.substring(4).split("_");
+            int n = Integer.parseInt(nums[0]);
+            int m = Integer.parseInt(nums[1]) - 1;
+            return Optional.of(editorList -> authNofMth(editorList, n, m));
+        } else if (EDTR_N.matcher(pattern).matches()) {
+            int num = Integer.parseInt(pattern.substring(4));
+            return Optional.of(editorList -> {
+                String fa = firstAuthor(editorList);
+                return fa.substring(0, Math.min(num, fa.length()));
+            });
+        } else {
+            return Optional.empty();
         }
     }
 
+    private static FieldValueExtractor fieldExtractor(Field field) {
+        return (entry, keywordDelimiter, database) -> entry.getResolvedFieldOrAlias(field, database).orElse("");
+    }
+
+    private static FieldValueExtractor fieldExtractor(Field field, Function<String, String> formatter) {
+        return (entry, keywordDelimiter, database) -> formatter.apply(entry.getResolvedFieldOrAlias(field, database).orElse(""));
+    }
+
     /**
      * Parses the provided string to an {@link AuthorList}, which are then formatted by {@link LatexToUnicodeAdapter}.
      * Afterward, any institutions are formatted into an institution key.
@@ -535,29 +632,35 @@ public class BracketedPattern {
      * @return The modified label.
      */
     static String applyModifiers(final String label, final List<String> parts, final int offset) {
-        String resultingLabel = label;
+        return compileModifiers(parts, offset).apply(label);
+    }
+
+    /**
+     * Resolves the given modifiers to a function applying them one after another, so that the modifiers do not need to
+     * be looked up again for every label.
+     *
+     * @param parts  String array containing the modifiers.
+     * @param offset The number of initial items in the modifiers array to skip.
+     * @return the function modifying a label
+     */
+    static Function<String, String> compileModifiers(final List<String> parts, final int offset) {
+        // Each modifier gets the label generated based on the field marker and the label modified so far
+        List<BinaryOperator<String>> modifiers = new ArrayList<>();
         for (int j = offset; j < parts.size(); j++) {
             String modifier = parts.get(j);
 
             if ("abbr".equals(modifier)) {
-                // Abbreviate - that is,
-                StringBuilder abbreviateSB = new StringBuilder();
-                String[] words = resultingLabel.replaceAll("[\\{\\}']", "")
-                                               .split("[\\(\\) \r\n\"]");
-                for (String word : words) {
-                    if (!word.isEmpty()) {
-                        abbreviateSB.append(word.charAt(0));
-                    }
-                }
-                resultingLabel = abbreviateSB.toString();
+                modifiers.add((label, resultingLabel) -> abbreviate(resultingLabel));
             } else {
                 Optional<Formatter> formatter = Formatters.getFormatterForModifier(modifier);
                 if (formatter.isPresent()) {
-                    resultingLabel = formatter.get().format(resultingLabel);
+                    Formatter modifierFormatter = formatter.get();
+                    modifiers.add((label, resultingLabel) -> modifierFormatter.format(resultingLabel));
                 } else if (!modifier.isEmpty() && (modifier.length() >= 2) && (modifier.charAt(0) == '(') && modifier.endsWith(")")) {
                     // Alternate text modifier in parentheses. Should be inserted if the label is empty
-                    if (label.isEmpty() && (modifier.length() > 2)) {
-                        resultingLabel = modifier.substring(1, modifier.length() - 1);
+                    if (modifier.length() > 2) {
+                        String alternateText = modifier.substring(1, modifier.length() - 1);
+                        modifiers.add((label, resultingLabel) -> label.isEmpty() ? alternateText : resultingLabel);
                     }
                 } else {
                     LOGGER.warn("Key generator warning: unknown modifier '{}'.", modifier);
@@ -565,7 +668,30 @@ public class BracketedPattern {
             }
         }
 
-        return resultingLabel;
+        if (modifiers.isEmpty()) {
+            return Function.identity();
+        }
+        return label -> {
+            String resultingLabel = label;
+            for (BinaryOperator<String> modifier : modifiers) {
+                resultingLabel = modifier.apply(label, resultingLabel);
+            }
+            return resultingLabel;
+        };
+    }
+
+    /**
+     * Abbreviates the given label, i.e., keeps the first character of each word
+     */
+    private static String abbreviate(String label) {
+        StringBuilder abbreviateSB = new StringBuilder();
+        String[] words = ABBREVIATION_WORD_SEPARATORS.split(ABBREVIATION_REMOVED_CHARACTERS.matcher(label).replaceAll(""));
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                abbreviateSB.append(word.charAt(0));
+            }
+        }
+        return abbreviateSB.toString();
     }
 
     /**
@@ -783,8 +909,8 @@ public class BracketedPattern {
                 authorList.getNumberOfAuthors() : (MAX_ALPHA_AUTHORS - 1);
 
         if (authorList.getNumberOfAuthors() == 1) {
-            String[] firstAuthor = authorList.getAuthor(0).getLastOnly()
-                                             .replaceAll("\\s+", " ").trim().split(" ");
+            String[] firstAuthor = WHITESPACES.matcher(authorList.getAuthor(0).getLastOnly())
+                                              .replaceAll(" ").trim().split(" ");
             // take first letter of any "prefixes" (e.g. van der Aalst -> vd)
             for (int j = 0; j < (firstAuthor.length - 1); j++) {
                 alphaStyle.append(firstAuthor[j], 0, 1);
@@ -799,7 +925,7 @@ public class BracketedPattern {
             for (String vonAndLast : vonAndLastNames) {
                 // replace all whitespaces by " "
                 // split the lastname at " "
-                String[] nameParts = vonAndLast.replaceAll("\\s+", " ").trim().split(" ");
+                String[] nameParts = WHITESPACES.matcher(vonAndLast).replaceAll(" ").trim().split(" ");
                 for (String part : nameParts) {
                     // use first character of each part of lastname
                     alphaStyle.append(part, 0, 1);
@@ -1040,8 +1166,8 @@ public class BracketedPattern {
      * @throws NullPointerException if pages is null.
      */
     public static String pagePrefix(String pages) {
-        if (pages.matches("^\\D+.*$")) {
-            return (pages.split("\\d+"))[0];
+        if (STARTS_WITH_NON_DIGIT.matcher(pages).matches()) {
+            return DIGITS.split(pages)[0];
         } else {
             return "";
         }
@@ -1,17 +1,22 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.types.EntryType;
 import org.jabref.model.strings.StringUtil;
 
@@ -30,10 +35,17 @@ public class CitationKeyGenerator extends BracketedPattern {
     private static final Logger LOGGER = LoggerFactory.getLogger(CitationKeyGenerator.class);
     // Source of disallowed characters : https://tex.stackexchange.com/a/408548/9075
     private static final List<Character> DISALLOWED_CHARACTERS = Arrays.asList('{', '}', '(', ')', ',', '=', '\\', '"', '#', '%', '~', '\'');
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
     private final AbstractCitationKeyPattern citeKeyPattern;
     private final BibDatabase database;
     private final CitationKeyPatternPreferences citationKeyPatternPreferences;
     private final String unwantedCharacters;
+    private final Optional<Pattern> keyPatternRegex;
+
+    /**
+     * The key pattern of each entry type, compiled on first use. An empty optional denotes an empty key pattern.
+     */
+    private final Map<EntryType, Optional<CompiledBracketedPattern>> compiledKeyPatterns = new ConcurrentHashMap<>();
 
     public CitationKeyGenerator(BibDatabaseContext bibDatabaseContext, CitationKeyPatternPreferences citationKeyPatternPreferences) {
         this(bibDatabaseContext.getMetaData().getCiteKeyPattern(citationKeyPatternPreferences.getKeyPattern()),
@@ -46,6 +58,7 @@ public class CitationKeyGenerator extends BracketedPattern {
         this.database = Objects.requireNonNull(database);
         this.citationKeyPatternPreferences = Objects.requireNonNull(citationKeyPatternPreferences);
         this.unwantedCharacters = citationKeyPatternPreferences.getUnwantedCharacters();
+        this.keyPatternRegex = compileKeyPatternRegex(citationKeyPatternPreferences.getKeyPatternRegex());
     }
 
     @Deprecated
@@ -71,6 +84,19 @@ public class CitationKeyGenerator extends BracketedPattern {
         return new CitationKeyGenerator(keyPattern, database, patternPreferences).generateKey(entry);
     }
 
+    private static Optional<Pattern> compileKeyPatternRegex(String regex) {
+        // Remove Regular Expressions while generating Keys
+        if ((regex == null) || regex.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Pattern.compile(regex));
+        } catch (PatternSyntaxException e) {
+            LOGGER.warn("There is a syntax error in the regular expression \"{}\" used to generate a citation key", regex, e);
+            return Optional.empty();
+        }
+    }
+
     /**
      * Computes an appendix to a citation key that could make it unique. We use a-z for numbers 0-25, and then aa-az, ba-bz, etc.
      *
@@ -104,7 +130,7 @@ public class CitationKeyGenerator extends BracketedPattern {
     }
 
     public static String cleanKey(String key, String unwantedCharacters) {
-        return removeUnwantedCharacters(key, unwantedCharacters).replaceAll("\\s", "");
+        return WHITESPACE.matcher(removeUnwantedCharacters(key, unwantedCharacters)).replaceAll("");
     }
 
     /**
@@ -115,14 +141,25 @@ public class CitationKeyGenerator extends BracketedPattern {
      */
     public String generateKey(BibEntry entry) {
         Objects.requireNonNull(entry);
-        String currentKey = entry.getCitationKey().orElse(null);
+        return makeUnique(entry, createBaseKey(entry));
+    }
 
-        String newKey = createCitationKeyFromPattern(entry);
-        newKey = replaceWithRegex(newKey);
-        newKey = appendLettersToKey(newKey, currentKey);
+    /**
+     * Appends letters to the given key if needed (see {@link #appendLettersToKey(String, String)}) and cleans it.
+     */
+    private String makeUnique(BibEntry entry, String baseKey) {
+        String currentKey = entry.getCitationKey().orElse(null);
+        String newKey = appendLettersToKey(baseKey, currentKey);
         return cleanKey(newKey, unwantedCharacters);
     }
 
+    /**
+     * Creates the key from the pattern, without making it unique.
+     */
+    private String createBaseKey(BibEntry entry) {
+        return replaceWithRegex(createCitationKeyFromPattern(entry));
+    }
+
     /**
      * A letter will be appended to the key based on the user's preferences, either always or to prevent duplicated keys.
      *
@@ -171,52 +208,43 @@ public class CitationKeyGenerator extends BracketedPattern {
      * @return the citation key where matches to the regex are replaced
      */
     private String replaceWithRegex(String key) {
-        // Remove Regular Expressions while generating Keys
-        String regex = citationKeyPatternPreferences.getKeyPatternRegex();
-        if ((regex != null) && !regex.trim().isEmpty()) {
-            String replacement = citationKeyPatternPreferences.getKeyPatternReplacement();
-            try {
-                key = key.replaceAll(regex, replacement);
-            } catch (PatternSyntaxException e) {
-                LOGGER.warn("There is a syntax error in the regular expression \"{}\" used to generate a citation key", regex, e);
-            }
-        }
-        return key;
+        return keyPatternRegex.map(regex -> regex.matcher(key).replaceAll(citationKeyPatternPreferences.getKeyPatternReplacement()))
+                              .orElse(key);
     }
 
     private String createCitationKeyFromPattern(BibEntry entry) {
-        // get the type of entry
-        EntryType entryType = entry.getType();
+        return compiledKeyPatterns.computeIfAbsent(entry.getType(), this::compileKeyPattern)
+                                  .map(keyPattern -> keyPattern.expand(expression -> expandBracketedExpression(entry, expression)))
+                                  .orElse("");
+    }
+
+    /**
+     * Compiles the key pattern of the given entry type
+     *
+     * @return the compiled pattern or an empty optional if there is no key pattern for the entry type
+     */
+    private Optional<CompiledBracketedPattern> compileKeyPattern(EntryType entryType) {
         // Get the arrayList corresponding to the type
         List<String> citationKeyPattern = citeKeyPattern.getValue(entryType);
         if (citationKeyPattern.isEmpty()) {
-            return "";
+            return Optional.empty();
         }
-        return expandBrackets(citationKeyPattern.get(0), expandBracketContent(entry));
+        return Optional.of(CompiledBracketedPattern.compile(citationKeyPattern.get(0)));
     }
 
     /**
-     * A helper method to create a {@link Function} that takes a single bracketed expression, expands it, and cleans the key.
+     * Expands a single bracketed expression and cleans the result.
      *
-     * @param entry the {@link BibEntry} that a citation key is generated for
-     * @return a cleaned citation key for the given {@link BibEntry}
+     * @param entry      the {@link BibEntry} that a citation key is generated for
+     * @param expression the bracketed expression to expand
+     * @return a cleaned part of the citation key for the given {@link BibEntry}
      */
-    private Function<String, String> expandBracketContent(BibEntry entry) {
+    private String expandBracketedExpression(BibEntry entry, CompiledBracketedPattern.BracketedExpression expression) {
         Character keywordDelimiter = citationKeyPatternPreferences.getKeywordDelimiter();
-
-        return (String bracket) -> {
-            String expandedPattern;
-            List<String> fieldParts = parseFieldAndModifiers(bracket);
-
-            expandedPattern = removeUnwantedCharacters(getFieldValue(entry, fieldParts.get(0), keywordDelimiter, database), unwantedCharacters);
-            // check whether there is a modifier on the end such as
-            // ":lower":
-            if (fieldParts.size() > 1) {
-                // apply modifiers:
-                expandedPattern = applyModifiers(expandedPattern, fieldParts, 1);
-            }
-            return cleanKey(expandedPattern, unwantedCharacters);
-        };
+        String expandedPattern = removeUnwantedCharacters(expression.getFieldValue(entry, keywordDelimiter, database), unwantedCharacters);
+        // apply modifiers such as ":lower"
+        expandedPattern = expression.applyModifiers(expandedPattern);
+        return cleanKey(expandedPattern, unwantedCharacters);
     }
 
     /**
@@ -229,4 +257,29 @@ public class CitationKeyGenerator extends BracketedPattern {
         String newKey = generateKey(entry);
         return entry.setCitationKey(newKey);
     }
+
+    /**
+     * Generates citation keys for the given entries, and sets the keys. The result is the same as calling {@link
+     * #generateAndSetKey(BibEntry)} for each entry in the given order.
+     * <p>
+     * The keys are generated from the key patterns in parallel. Afterwards, the letters making the keys unique are
+     * appended in one pass over the entries, because they depend on the keys set before. The key of an entry having a
+     * crossref is generated in that pass, too, as it might depend on the key of the referenced entry.
+     *
+     * @param entries the entries to generate the keys for
+     * @return the changes to the keys (only the keys which were changed)
+     */
+    public List<FieldChange> generateAndSetKeys(List<BibEntry> entries) {
+        List<Optional<String>> baseKeys = entries.parallelStream()
+                                                 .map(entry -> entry.hasField(StandardField.CROSSREF) ? Optional.<String>empty() : Optional.of(createBaseKey(entry)))
+                                                 .collect(Collectors.toList());
+
+        List<FieldChange> changes = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BibEntry entry = entries.get(i);
+            String baseKey = baseKeys.get(i).orElseGet(() -> createBaseKey(entry));
+            entry.setCitationKey(makeUnique(entry, baseKey)).ifPresent(changes::add);
+        }
+        return changes;
+    }
 }
@@ -0,0 +1,105 @@
+package org.jabref.logic.citationkeypattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+
+/**
+ * A bracketed pattern (such as [auth][year]) which is parsed once and can then be expanded for many entries. The field
+ * markers and modifiers of the bracketed expressions are resolved when compiling, so that expanding the pattern only
+ * evaluates the resolved functions. A compiled pattern is immutable and can be expanded concurrently.
+ * <p>
+ * Expanding a compiled pattern yields the same result as {@link BracketedPattern#expandBrackets(String, Character,
+ * BibEntry, BibDatabase)}.
+ */
+public class CompiledBracketedPattern {
+
+    /**
+     * The text outside of brackets. The i-th text precedes the i-th bracketed expression, the last one follows the last
+     * bracketed expression.
+     */
+    private final List<String> texts;
+    private final List<BracketedExpression> expressions;
+
+    private CompiledBracketedPattern(List<String> texts, List<BracketedExpression> expressions) {
+        this.texts = Collections.unmodifiableList(texts);
+        this.expressions = Collections.unmodifiableList(expressions);
+    }
+
+    public static CompiledBracketedPattern compile(String pattern) {
+        Objects.requireNonNull(pattern);
+        List<String> texts = new ArrayList<>();
+        List<BracketedExpression> expressions = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        BracketedPattern.parseBrackets(pattern, text::append, bracketContent -> {
+            texts.add(text.toString());
+            text.setLength(0);
+            expressions.add(new BracketedExpression(bracketContent));
+        });
+        texts.add(text.toString());
+        return new CompiledBracketedPattern(texts, expressions);
+    }
+
+    /**
+     * Expands this pattern using the given entry, keyword delimiter, and database.
+     *
+     * @param entry            The entry to use for expansion
+     * @param keywordDelimiter The keyword delimiter to use
+     * @param database         The database for field resolving. May be null.
+     * @return The expanded pattern. Not null.
+     */
+    public String expand(BibEntry entry, Character keywordDelimiter, BibDatabase database) {
+        Objects.requireNonNull(entry);
+        return expand(expression -> expression.expand(entry, keywordDelimiter, database));
+    }
+
+    /**
+     * Expands this pattern.
+     *
+     * @param expressionHandler A function expanding a bracketed expression
+     * @return The expanded pattern. Not null.
+     */
+    public String expand(Function<BracketedExpression, String> expressionHandler) {
+        StringBuilder expandedPattern = new StringBuilder(texts.get(0));
+        for (int i = 0; i < expressions.size(); i++) {
+            expandedPattern.append(expressionHandler.apply(expressions.get(i)))
+                           .append(texts.get(i + 1));
+        }
+        return expandedPattern.toString();
+    }
+
+    /**
+     * A bracketed expression consisting of a field marker and optional modifiers, such as [auth:lower]
+     */
+    public static class BracketedExpression {
+
+        private final BracketedPattern.FieldValueExtractor fieldValueExtractor;
+        private final Function<String, String> modifiers;
+
+        private BracketedExpression(String bracketContent) {
+            List<String> fieldParts = BracketedPattern.parseFieldAndModifiers(bracketContent);
+            this.fieldValueExtractor = BracketedPattern.compileFieldMarker(fieldParts.get(0));
+            this.modifiers = BracketedPattern.compileModifiers(fieldParts, 1);
+        }
+
+        /**
+         * Evaluates the field marker of this expression without applying the modifiers
+         */
+        public String getFieldValue(BibEntry entry, Character keywordDelimiter, BibDatabase database) {
+            return fieldValueExtractor.getValue(entry, keywordDelimiter, database);
+        }
+
+        public String applyModifiers(String label) {
+            return modifiers.apply(label);
+        }
+
+        public String expand(BibEntry entry, Character keywordDelimiter, BibDatabase database) {
+            return applyModifiers(getFieldValue(entry, keywordDelimiter, database));
+        }
+    }
+}
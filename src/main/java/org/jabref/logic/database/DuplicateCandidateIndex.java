@@ -0,0 +1,193 @@
+package org.jabref.logic.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jabref.model.entry.AuthorList;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.StandardField;
+
+/**
+ * Blocking stage for the duplicate detection. Comparing all pairs of entries with
+ * {@link DuplicateCheck#isDuplicate} is quadratic, thus the entries are grouped into blocks and only entries sharing
+ * at least one block are considered as candidates.
+ * <p>
+ * An entry is put into the following blocks:
+ * <ul>
+ *     <li>one block per identifier field (DOI, eprint, PMID) with the raw value</li>
+ *     <li>the normalized DOI and the normalized ISBN</li>
+ *     <li>the last name of the first author (or editor) together with the year</li>
+ *     <li>the bands of a MinHash signature of the character trigrams of the normalized title (locality sensitive
+ *     hashing), so that entries with similar titles share a block with high probability</li>
+ * </ul>
+ * <p>
+ * The index is a snapshot of the given entries and is not updated afterwards.
+ */
+public class DuplicateCandidateIndex {
+
+    private static final int SHINGLE_LENGTH = 3;
+    private static final int MIN_HASH_BANDS = 8;
+    private static final int MIN_HASH_ROWS = 2;
+    private static final long[] MIN_HASH_SEEDS = new long[MIN_HASH_BANDS * MIN_HASH_ROWS];
+
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < MIN_HASH_SEEDS.length; i++) {
+            seed = mix(seed + i);
+            MIN_HASH_SEEDS[i] = seed;
+        }
+    }
+
+    private final List<BibEntry> entries;
+    private final Map<String, List<Integer>> blocks = new HashMap<>();
+
+    public DuplicateCandidateIndex(Collection<BibEntry> entries) {
+        this.entries = new ArrayList<>(entries);
+        for (int i = 0; i < this.entries.size(); i++) {
+            for (String key : getBlockingKeys(this.entries.get(i))) {
+                blocks.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed entries which might be duplicates of the given entry in the order they were given to the
+     * index. The given entry itself is not part of the result.
+     */
+    public List<BibEntry> getCandidates(BibEntry entry) {
+        Set<Integer> positions = new TreeSet<>();
+        for (String key : getBlockingKeys(entry)) {
+            positions.addAll(blocks.getOrDefault(key, Collections.emptyList()));
+        }
+
+        List<BibEntry> candidates = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            BibEntry candidate = entries.get(position);
+            if (candidate != entry) {
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns all pairs of indexed entries sharing at least one block. Each pair is returned once, the first entry of
+     * a pair is the one given earlier to the index. The pairs are sorted by the positions of their entries.
+     */
+    public List<List<BibEntry>> getCandidatePairs() {
+        Set<Long> pairs = new HashSet<>();
+        for (List<Integer> block : blocks.values()) {
+            for (int i = 0; i < (block.size() - 1); i++) {
+                for (int j = i + 1; j < block.size(); j++) {
+                    pairs.add(((long) block.get(i) << 32) | block.get(j));
+                }
+            }
+        }
+
+        long[] sortedPairs = pairs.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sortedPairs);
+
+        List<List<BibEntry>> result = new ArrayList<>(sortedPairs.length);
+        for (long pair : sortedPairs) {
+            result.add(Arrays.asList(entries.get((int) (pair >>> 32)), entries.get((int) pair)));
+        }
+        return result;
+    }
+
+    static Set<String> getBlockingKeys(BibEntry entry) {
+        Set<String> keys = new HashSet<>();
+
+        for (Field field : FieldFactory.getIdentifierFieldNames()) {
+            entry.getField(field).ifPresent(value -> keys.add("id:" + field.getName() + ':' + value));
+        }
+        entry.getDOI().ifPresent(doi -> keys.add("doi:" + doi.getDOI().toLowerCase(Locale.ENGLISH)));
+        entry.getISBN().ifPresent(isbn -> keys.add("isbn:" + isbn.getNormalized().toLowerCase(Locale.ENGLISH)));
+
+        Optional<String> firstAuthor = getFirstAuthorLastName(entry);
+        Optional<String> year = entry.getFieldOrAlias(StandardField.YEAR);
+        if (firstAuthor.isPresent() && year.isPresent()) {
+            keys.add("author:" + firstAuthor.get() + ':' + year.get().trim());
+        }
+
+        entry.getField(StandardField.TITLE)
+             .map(DuplicateCandidateIndex::normalize)
+             .filter(title -> !title.isEmpty())
+             .ifPresent(title -> {
+                 long[] signature = getMinHashSignature(title);
+                 for (int band = 0; band < MIN_HASH_BANDS; band++) {
+                     long bandHash = band;
+                     for (int row = 0; row < MIN_HASH_ROWS; row++) {
+                         bandHash = mix(bandHash ^ signature[(band * MIN_HASH_ROWS) + row]);
+                     }
+                     keys.add("title:" + band + ':' + bandHash);
+                 }
+             });
+
+        return keys;
+    }
+
+    private static Optional<String> getFirstAuthorLastName(BibEntry entry) {
+        Optional<String> persons = entry.getField(StandardField.AUTHOR).or(() -> entry.getField(StandardField.EDITOR));
+        if (persons.isEmpty()) {
+            return Optional.empty();
+        }
+        AuthorList authors = AuthorList.parse(persons.get());
+        if (authors.isEmpty()) {
+            return Optional.empty();
+        }
+        return authors.getAuthor(0).getLast()
+                      .map(DuplicateCandidateIndex::normalize)
+                      .filter(lastName -> !lastName.isEmpty());
+    }
+
+    /**
+     * Lower cases the text and removes everything except letters, digits and single spaces
+     */
+    private static String normalize(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                result.append(Character.toLowerCase(c));
+            } else if (Character.isWhitespace(c) && (result.length() > 0) && (result.charAt(result.length() - 1) != ' ')) {
+                result.append(' ');
+            }
+        }
+        return result.toString().trim();
+    }
+
+    private static long[] getMinHashSignature(String text) {
+        long[] signature = new long[MIN_HASH_SEEDS.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        int shingles = Math.max(1, (text.length() - SHINGLE_LENGTH) + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingleHash = text.substring(start, Math.min(text.length(), start + SHINGLE_LENGTH)).hashCode();
+            for (int i = 0; i < MIN_HASH_SEEDS.length; i++) {
+                signature[i] = Math.min(signature[i], mix(shingleHash ^ MIN_HASH_SEEDS[i]));
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Finalizer of SplitMix64, a fast hash function with good avalanche properties
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
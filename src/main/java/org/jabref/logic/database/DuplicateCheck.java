@@ -361,4 +361,18 @@ public class DuplicateCheck {
 
         return database.getEntries().stream().filter(other -> isDuplicate(entry, other, bibDatabaseMode)).findFirst();
     }
+
+    /**
+     * Checks whether one of the entries of the given index is a duplicate of the given entry. Only the candidates of
+     * the index are compared with the entry, which makes this method suitable to be called for many entries.
+     *
+     * @param index The index of the entries to search.
+     * @param entry The entry of which we are looking for duplicates.
+     * @return The first duplicate entry found. Empty Optional if no duplicates are found.
+     */
+    public Optional<BibEntry> containsDuplicate(final DuplicateCandidateIndex index,
+                                                final BibEntry entry,
+                                                final BibDatabaseMode bibDatabaseMode) {
+        return index.getCandidates(entry).stream().filter(other -> isDuplicate(entry, other, bibDatabaseMode)).findFirst();
+    }
 }
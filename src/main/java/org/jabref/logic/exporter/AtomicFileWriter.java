@@ -1,6 +1,7 @@
 package org.jabref.logic.exporter;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
@@ -30,6 +31,14 @@ public class AtomicFileWriter extends OutputStreamWriter {
         encoder = encoding.newEncoder();
     }
 
+    /**
+     * Creates a writer on top of the given stream, which has to pass the data on to an {@link AtomicFileOutputStream}
+     */
+    AtomicFileWriter(OutputStream outputStream, Charset encoding) {
+        super(outputStream, encoding);
+        encoder = encoding.newEncoder();
+    }
+
     @Override
     public void write(String str) throws IOException {
         super.write(str);
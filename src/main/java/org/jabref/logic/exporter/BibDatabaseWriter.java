@@ -86,6 +86,13 @@ public abstract class BibDatabaseWriter {
         return applySaveActions(Collections.singletonList(entry), metaData);
     }
 
+    /**
+     * Returns the comparator defining the order of the entries in the saved file
+     */
+    static Comparator<BibEntry> getSaveComparator(MetaData metaData, SavePreferences preferences) {
+        return new FieldComparatorStack<>(getSaveComparators(metaData, preferences));
+    }
+
     private static List<Comparator<BibEntry>> getSaveComparators(MetaData metaData, SavePreferences preferences) {
         List<Comparator<BibEntry>> comparators = new ArrayList<>();
         Optional<SaveOrderConfig> saveOrder = getSaveOrder(metaData, preferences);
@@ -124,15 +131,12 @@ public abstract class BibDatabaseWriter {
             return new LinkedList<>(entriesToSort);
         }
 
-        List<Comparator<BibEntry>> comparators = getSaveComparators(bibDatabaseContext.getMetaData(), preferences);
-        FieldComparatorStack<BibEntry> comparatorStack = new FieldComparatorStack<>(comparators);
-
         List<BibEntry> sorted = new ArrayList<>(entriesToSort);
-        sorted.sort(comparatorStack);
+        sorted.sort(getSaveComparator(bibDatabaseContext.getMetaData(), preferences));
         return sorted;
     }
 
-    private static Optional<SaveOrderConfig> getSaveOrder(MetaData metaData, SavePreferences preferences) {
+    static Optional<SaveOrderConfig> getSaveOrder(MetaData metaData, SavePreferences preferences) {
         /* three options:
          * 1. original order
          * 2. order specified in metaData
@@ -165,15 +169,38 @@ public abstract class BibDatabaseWriter {
      * Saves the database, including only the specified entries.
      */
     public void savePartOfDatabase(BibDatabaseContext bibDatabaseContext, List<BibEntry> entries) throws IOException {
+        saveSortedEntries(bibDatabaseContext, getSortedEntries(bibDatabaseContext, entries, preferences));
+    }
+
+    /**
+     * Saves the database, including only the specified entries in the given order. The entries are expected to be
+     * sorted by {@link #getSortedEntries(BibDatabaseContext, List, SavePreferences)}.
+     */
+    public void saveSortedEntries(BibDatabaseContext bibDatabaseContext, List<BibEntry> sortedEntries) throws IOException {
+        writeDatabaseHead(bibDatabaseContext);
+
+        // Write database entries.
+        prepareEntriesForSave(bibDatabaseContext, sortedEntries);
+
+        for (BibEntry entry : sortedEntries) {
+            writeEntry(entry, bibDatabaseContext.getMode());
+        }
+
+        writeDatabaseTail(bibDatabaseContext, getTypesToWrite(sortedEntries, bibDatabaseContext.getMode()));
+
+        writer.close();
+    }
+
+    /**
+     * Writes everything in front of the entries: the shared database id, the prelogue, the preamble and the strings.
+     */
+    void writeDatabaseHead(BibDatabaseContext bibDatabaseContext) throws IOException {
         Optional<String> sharedDatabaseIDOptional = bibDatabaseContext.getDatabase().getSharedDatabaseID();
         if (sharedDatabaseIDOptional.isPresent()) {
             // may throw an IOException. Thus, we do not use "ifPresent", but the "old" isPresent way
             writeDatabaseID(sharedDatabaseIDOptional.get());
         }
 
-        // Map to collect entry type definitions that we must save along with entries using them.
-        Set<BibEntryType> typesToWrite = new TreeSet<>();
-
         // Some file formats write something at the start of the file (like the encoding)
         if (preferences.getSaveType() != SavePreferences.DatabaseSaveType.PLAIN_BIBTEX) {
             writePrelogue(bibDatabaseContext, preferences.getEncoding());
@@ -184,29 +211,42 @@ public abstract class BibDatabaseWriter {
 
         // Write strings if there are any.
         writeStrings(bibDatabaseContext.getDatabase());
+    }
 
-        // Write database entries.
-        List<BibEntry> sortedEntries = getSortedEntries(bibDatabaseContext, entries, preferences);
-        List<FieldChange> saveActionChanges = applySaveActions(sortedEntries, bibDatabaseContext.getMetaData());
+    /**
+     * Applies the save actions to the given entries and generates the missing citation keys, if configured.
+     */
+    void prepareEntriesForSave(BibDatabaseContext bibDatabaseContext, List<BibEntry> entries) {
+        List<FieldChange> saveActionChanges = applySaveActions(entries, bibDatabaseContext.getMetaData());
         saveActionsFieldChanges.addAll(saveActionChanges);
         if (preferences.getCitationKeyPatternPreferences().shouldGenerateCiteKeysBeforeSaving()) {
-            List<FieldChange> keyChanges = generateCitationKeys(bibDatabaseContext, sortedEntries);
+            List<FieldChange> keyChanges = generateCitationKeys(bibDatabaseContext, entries);
             saveActionsFieldChanges.addAll(keyChanges);
         }
+    }
 
-        for (BibEntry entry : sortedEntries) {
+    /**
+     * Collects the entry type definitions that we must save along with the given entries
+     */
+    Set<BibEntryType> getTypesToWrite(List<BibEntry> entries, BibDatabaseMode mode) {
+        Set<BibEntryType> typesToWrite = new TreeSet<>();
+        for (BibEntry entry : entries) {
             // Check if we must write the type definition for this
             // entry, as well. Our criterion is that all non-standard
             // types (*not* all customized standard types) must be written.
-            if (entryTypesManager.isCustomType(entry.getType(), bibDatabaseContext.getMode())) {
+            if (entryTypesManager.isCustomType(entry.getType(), mode)) {
                 // If user-defined entry type, then add it
                 // Otherwise (enrich returns empty optional) it is a completely unknown entry type, so ignore it
-                entryTypesManager.enrich(entry.getType(), bibDatabaseContext.getMode()).ifPresent(typesToWrite::add);
+                entryTypesManager.enrich(entry.getType(), mode).ifPresent(typesToWrite::add);
             }
-
-            writeEntry(entry, bibDatabaseContext.getMode());
         }
+        return typesToWrite;
+    }
 
+    /**
+     * Writes everything after the entries: the meta data, the entry type definitions and the epilogue.
+     */
+    void writeDatabaseTail(BibDatabaseContext bibDatabaseContext, Set<BibEntryType> typesToWrite) throws IOException {
         if (preferences.getSaveType() != SavePreferences.DatabaseSaveType.PLAIN_BIBTEX) {
             // Write meta data.
             writeMetaData(bibDatabaseContext.getMetaData(), preferences.getCitationKeyPatternPreferences().getKeyPattern());
@@ -217,8 +257,6 @@ public abstract class BibDatabaseWriter {
 
         // finally write whatever remains of the file, but at least a concluding newline
         writeEpilogue(bibDatabaseContext.getDatabase().getEpilog());
-
-        writer.close();
     }
 
     protected abstract void writePrelogue(BibDatabaseContext bibDatabaseContext, Charset encoding) throws IOException;
@@ -319,15 +357,10 @@ public abstract class BibDatabaseWriter {
      * Generate keys for all entries that are lacking keys.
      */
     protected List<FieldChange> generateCitationKeys(BibDatabaseContext databaseContext, List<BibEntry> entries) {
-        List<FieldChange> changes = new ArrayList<>();
+        List<BibEntry> entriesWithoutKey = entries.stream()
+                                                  .filter(entry -> StringUtil.isBlank(entry.getCitationKey()))
+                                                  .collect(Collectors.toList());
         CitationKeyGenerator keyGenerator = new CitationKeyGenerator(databaseContext, preferences.getCitationKeyPatternPreferences());
-        for (BibEntry bes : entries) {
-            Optional<String> oldKey = bes.getCitationKey();
-            if (StringUtil.isBlank(oldKey)) {
-                Optional<FieldChange> change = keyGenerator.generateAndSetKey(bes);
-                change.ifPresent(changes::add);
-            }
-        }
-        return changes;
+        return keyGenerator.generateAndSetKeys(entriesWithoutKey);
     }
 }
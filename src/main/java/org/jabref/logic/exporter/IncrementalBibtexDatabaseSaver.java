@@ -0,0 +1,391 @@
+package org.jabref.logic.exporter;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jabref.logic.bibtex.FieldWriterPreferences;
+import org.jabref.model.FieldChange;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.metadata.MetaData;
+
+import com.google.common.eventbus.Subscribe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Saves a library to its BIB file and remembers the byte range each entry occupies in the written file. On the next
+ * save to the same file, only the entries which were changed, added or removed in the meantime are serialized again.
+ * All other entries are copied from the previous file, consecutive entries in one go. The part in front of the entries
+ * (preamble, strings) and the part after them (meta data, epilog) are small and always written anew.
+ * <p>
+ * The changed entries are put at their place in the save order of the previous save. A complete save is done if there
+ * is no previous save of the file, the file was modified by someone else, a setting influencing the serialization or
+ * the save order changed, or a changed entry cannot be placed unambiguously.
+ * <p>
+ * The written file is the same as the one written by {@link BibtexDatabaseWriter#saveDatabase(BibDatabaseContext)}.
+ */
+public class IncrementalBibtexDatabaseSaver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalBibtexDatabaseSaver.class);
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final BibDatabaseContext bibDatabaseContext;
+    private final Set<BibEntry> changedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<FieldChange> saveActionsFieldChanges = new ArrayList<>();
+    private Set<Character> encodingProblems = Collections.emptySet();
+    private SavedFile savedFile;
+
+    public IncrementalBibtexDatabaseSaver(BibDatabaseContext bibDatabaseContext) {
+        this.bibDatabaseContext = bibDatabaseContext;
+        bibDatabaseContext.getDatabase().registerListener(this);
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        markChanged(event.getBibEntries());
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        markChanged(event.getBibEntries());
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        markChanged(Collections.singletonList(event.getBibEntry()));
+    }
+
+    private void markChanged(Collection<BibEntry> entries) {
+        synchronized (changedEntries) {
+            changedEntries.addAll(entries);
+        }
+    }
+
+    private Set<BibEntry> takeChangedEntries() {
+        synchronized (changedEntries) {
+            Set<BibEntry> entries = Collections.newSetFromMap(new IdentityHashMap<>());
+            entries.addAll(changedEntries);
+            changedEntries.clear();
+            return entries;
+        }
+    }
+
+    /**
+     * Saves the complete library to the given file.
+     */
+    public synchronized void save(Path file, SavePreferences preferences, BibEntryTypesManager entryTypesManager) throws IOException {
+        saveActionsFieldChanges.clear();
+        encodingProblems = Collections.emptySet();
+
+        // entries changed by the save actions are changed entries for the next save
+        Set<BibEntry> changed = takeChangedEntries();
+        List<Object> configuration = getConfiguration(preferences, entryTypesManager);
+        Optional<EntryOrder> incrementalOrder = Optional.empty();
+        if (isUnchangedSinceLastSave(file, configuration)) {
+            incrementalOrder = getIncrementalOrder(changed, BibDatabaseWriter.getSaveComparator(bibDatabaseContext.getMetaData(), preferences));
+        }
+
+        AtomicFileOutputStream fileStream = new AtomicFileOutputStream(file, preferences.shouldMakeBackup());
+        PositionTrackingOutputStream outputStream = new PositionTrackingOutputStream(new BufferedOutputStream(fileStream, BUFFER_SIZE));
+        AtomicFileWriter fileWriter;
+        EntryOrder order;
+        long[] offsets;
+        try {
+            fileWriter = new AtomicFileWriter(outputStream, preferences.getEncoding());
+            BibtexDatabaseWriter databaseWriter = new BibtexDatabaseWriter(fileWriter, preferences, entryTypesManager);
+            databaseWriter.writeDatabaseHead(bibDatabaseContext);
+
+            if (incrementalOrder.isPresent()) {
+                order = incrementalOrder.get();
+                databaseWriter.prepareEntriesForSave(bibDatabaseContext, order.getChangedEntries());
+                offsets = writeEntriesIncrementally(order, databaseWriter, fileWriter, outputStream, file);
+            } else {
+                LOGGER.debug("Saving all entries of {}", file);
+                List<BibEntry> sortedEntries = BibDatabaseWriter.getSortedEntries(bibDatabaseContext, bibDatabaseContext.getDatabase().getEntries(), preferences);
+                order = new EntryOrder(sortedEntries);
+                databaseWriter.prepareEntriesForSave(bibDatabaseContext, sortedEntries);
+                offsets = writeEntries(order, databaseWriter, fileWriter, outputStream);
+            }
+
+            databaseWriter.writeDatabaseTail(bibDatabaseContext, databaseWriter.getTypesToWrite(order.entries, bibDatabaseContext.getMode()));
+            fileWriter.flush();
+
+            saveActionsFieldChanges.addAll(databaseWriter.getSaveActionsFieldChanges());
+            encodingProblems = Collections.unmodifiableSet(new TreeSet<>(fileWriter.getEncodingProblems()));
+        } catch (IOException | RuntimeException e) {
+            savedFile = null;
+            fileStream.abort();
+            throw e;
+        }
+
+        try {
+            fileWriter.close();
+        } catch (IOException e) {
+            savedFile = null;
+            throw e;
+        }
+        savedFile = new SavedFile(file, Files.size(file), Files.getLastModifiedTime(file), configuration, order.entries, offsets);
+    }
+
+    private long[] writeEntries(EntryOrder order, BibtexDatabaseWriter databaseWriter, AtomicFileWriter fileWriter, PositionTrackingOutputStream outputStream) throws IOException {
+        BibDatabaseMode mode = bibDatabaseContext.getMode();
+        long[] offsets = new long[order.entries.size() + 1];
+        for (int i = 0; i < order.entries.size(); i++) {
+            offsets[i] = getPosition(fileWriter, outputStream);
+            databaseWriter.writeEntry(order.entries.get(i), mode);
+        }
+        offsets[order.entries.size()] = getPosition(fileWriter, outputStream);
+        return offsets;
+    }
+
+    private long[] writeEntriesIncrementally(EntryOrder order, BibtexDatabaseWriter databaseWriter, AtomicFileWriter fileWriter, PositionTrackingOutputStream outputStream, Path file) throws IOException {
+        BibDatabaseMode mode = bibDatabaseContext.getMode();
+        long[] offsets = new long[order.entries.size() + 1];
+        long[] previousOffsets = savedFile.offsets;
+
+        try (FileChannel previousFile = FileChannel.open(file, StandardOpenOption.READ)) {
+            int i = 0;
+            while (i < order.entries.size()) {
+                int previousIndex = order.previousIndexes.get(i);
+                if (previousIndex < 0) {
+                    offsets[i] = getPosition(fileWriter, outputStream);
+                    databaseWriter.writeEntry(order.entries.get(i), mode);
+                    i++;
+                    continue;
+                }
+
+                // copy all entries which are stored one after the other in the previous file at once
+                int runEnd = i + 1;
+                while ((runEnd < order.entries.size()) && (order.previousIndexes.get(runEnd) == (order.previousIndexes.get(runEnd - 1) + 1))) {
+                    runEnd++;
+                }
+                long start = previousOffsets[previousIndex];
+                long end = previousOffsets[order.previousIndexes.get(runEnd - 1) + 1];
+                long position = getPosition(fileWriter, outputStream);
+                for (int j = i; j < runEnd; j++) {
+                    offsets[j] = (position + previousOffsets[order.previousIndexes.get(j)]) - start;
+                }
+                copy(previousFile, start, end - start, outputStream);
+                i = runEnd;
+            }
+        }
+
+        offsets[order.entries.size()] = getPosition(fileWriter, outputStream);
+        return offsets;
+    }
+
+    private static void copy(FileChannel source, long start, long length, OutputStream target) throws IOException {
+        WritableByteChannel targetChannel = Channels.newChannel(target);
+        long copied = 0;
+        while (copied < length) {
+            long transferred = source.transferTo(start + copied, length - copied, targetChannel);
+            if (transferred <= 0) {
+                throw new IOException("File was truncated during save");
+            }
+            copied += transferred;
+        }
+    }
+
+    private static long getPosition(AtomicFileWriter fileWriter, PositionTrackingOutputStream outputStream) throws IOException {
+        // pass the buffered characters to the stream, so that they are counted
+        fileWriter.flush();
+        return outputStream.getPosition();
+    }
+
+    /**
+     * Determines the order of the entries by removing the changed entries from the order of the previous save and
+     * inserting the changed entries still present at their place according to the save order.
+     *
+     * @return empty if a changed entry is equal to another entry with respect to the save order. In that case, the
+     * complete sort decides on the order of these entries.
+     */
+    private Optional<EntryOrder> getIncrementalOrder(Set<BibEntry> changed, Comparator<BibEntry> comparator) {
+        EntryOrder order = new EntryOrder(savedFile.entries.size() + changed.size());
+        for (int i = 0; i < savedFile.entries.size(); i++) {
+            BibEntry entry = savedFile.entries.get(i);
+            if (!changed.contains(entry)) {
+                order.add(order.entries.size(), entry, i);
+            }
+        }
+
+        BibDatabase database = bibDatabaseContext.getDatabase();
+        for (BibEntry entry : changed) {
+            if (!database.containsEntryWithId(entry.getId())) {
+                continue;
+            }
+            int index = Collections.binarySearch(order.entries, entry, comparator);
+            if (index >= 0) {
+                return Optional.empty();
+            }
+            order.add(-index - 1, entry, -1);
+        }
+        return Optional.of(order);
+    }
+
+    private boolean isUnchangedSinceLastSave(Path file, List<Object> configuration) {
+        if ((savedFile == null) || !savedFile.file.equals(file) || !savedFile.configuration.equals(configuration)) {
+            return false;
+        }
+        try {
+            return (Files.size(file) == savedFile.size) && Files.getLastModifiedTime(file).equals(savedFile.lastModified);
+        } catch (IOException e) {
+            LOGGER.debug("Could not read attributes of {}", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * Collects everything (besides the entries) influencing how the entries are serialized and sorted
+     */
+    private List<Object> getConfiguration(SavePreferences preferences, BibEntryTypesManager entryTypesManager) {
+        MetaData metaData = bibDatabaseContext.getMetaData();
+        BibDatabaseMode mode = bibDatabaseContext.getMode();
+        FieldWriterPreferences fieldWriterPreferences = preferences.getFieldWriterPreferences();
+        return Arrays.asList(
+                preferences.getEncoding(),
+                preferences.getSaveType(),
+                preferences.shouldReformatFile(),
+                BibDatabaseWriter.getSaveOrder(metaData, preferences),
+                mode,
+                fieldWriterPreferences.isResolveStringsAllFields(),
+                fieldWriterPreferences.getDoNotResolveStringsFor(),
+                fieldWriterPreferences.getFieldContentFormatterPreferences().getNonWrappableFields(),
+                entryTypesManager.getAllCustomTypes(mode),
+                metaData.getSaveActions(),
+                preferences.getCitationKeyPatternPreferences().shouldGenerateCiteKeysBeforeSaving(),
+                metaData.getCiteKeyPattern(preferences.getCitationKeyPatternPreferences().getKeyPattern()));
+    }
+
+    public List<FieldChange> getSaveActionsFieldChanges() {
+        return Collections.unmodifiableList(saveActionsFieldChanges);
+    }
+
+    public boolean hasEncodingProblems() {
+        return !encodingProblems.isEmpty();
+    }
+
+    public Set<Character> getEncodingProblems() {
+        return encodingProblems;
+    }
+
+    public void shutdown() {
+        bibDatabaseContext.getDatabase().unregisterListener(this);
+    }
+
+    /**
+     * The entries in the order they are saved together with their position in the previous save (or -1 if they are
+     * serialized again)
+     */
+    private static class EntryOrder {
+        private final List<BibEntry> entries;
+        private final List<Integer> previousIndexes;
+
+        EntryOrder(int capacity) {
+            entries = new ArrayList<>(capacity);
+            previousIndexes = new ArrayList<>(capacity);
+        }
+
+        EntryOrder(List<BibEntry> sortedEntries) {
+            this(sortedEntries.size());
+            for (BibEntry entry : sortedEntries) {
+                add(entries.size(), entry, -1);
+            }
+        }
+
+        void add(int index, BibEntry entry, int previousIndex) {
+            entries.add(index, entry);
+            previousIndexes.add(index, previousIndex);
+        }
+
+        List<BibEntry> getChangedEntries() {
+            List<BibEntry> changed = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                if (previousIndexes.get(i) < 0) {
+                    changed.add(entries.get(i));
+                }
+            }
+            return changed;
+        }
+    }
+
+    private static class SavedFile {
+        private final Path file;
+        private final long size;
+        private final FileTime lastModified;
+        private final List<Object> configuration;
+        private final List<BibEntry> entries;
+        /**
+         * The byte offset of each entry in the file followed by the offset of the end of the last entry
+         */
+        private final long[] offsets;
+
+        SavedFile(Path file, long size, FileTime lastModified, List<Object> configuration, List<BibEntry> entries, long[] offsets) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.configuration = configuration;
+            this.entries = entries;
+            this.offsets = offsets;
+        }
+    }
+
+    /**
+     * Counts the bytes written. Flushes are not passed on, so that the position can be determined after each entry
+     * without writing to the disk each time. The underlying stream is flushed when closing.
+     */
+    private static class PositionTrackingOutputStream extends FilterOutputStream {
+        private long position;
+
+        PositionTrackingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+
+        @Override
+        public void flush() {
+            // see class comment
+        }
+
+        long getPosition() {
+            return position;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.Writer;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
@@ -14,6 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.layout.Layout;
 import org.jabref.logic.layout.LayoutFormatterPreferences;
@@ -33,7 +35,11 @@ import org.slf4j.LoggerFactory;
  */
 public class TemplateExporter extends Exporter {
 
-    private static final String BLANK_LINE_PATTERN = "\\r\\n|\\n";
+    /**
+     * The number of entries rendered in parallel before they are written. Limits the memory needed for the rendered
+     * entries, as these are written in the order of the export.
+     */
+    private static final int RENDER_BATCH_SIZE = 1000;
     private static final String LAYOUT_PREFIX = "/resource/layout/";
     private static final String LAYOUT_EXTENSION = ".layout";
     private static final String FORMATTERS_EXTENSION = ".formatters";
@@ -245,21 +251,14 @@ public class TemplateExporter extends Exporter {
                 }
             }
             Map<EntryType, Layout> layouts = new HashMap<>();
-            Layout layout;
-
-            ExporterFactory.entryNumber = 0;
             for (BibEntry entry : sorted) {
-                ExporterFactory.entryNumber++; // Increment entry counter.
-                // Get the layout
                 EntryType type = entry.getType();
-                if (layouts.containsKey(type)) {
-                    layout = layouts.get(type);
-                } else {
+                if (!layouts.containsKey(type)) {
+                    Layout layout;
                     try (Reader reader = getReader(lfFileName + '.' + type.getName() + LAYOUT_EXTENSION)) {
                         // We try to get a type-specific layout for this entry.
                         layoutHelper = new LayoutHelper(reader, layoutPreferences);
                         layout = layoutHelper.getLayoutFromText();
-                        layouts.put(type, layout);
                         if (layout != null) {
                             missingFormatters.addAll(layout.getMissingFormatters());
                         }
@@ -269,19 +268,34 @@ public class TemplateExporter extends Exporter {
                         // go with the default one.
                         layout = defLayout;
                     }
+                    layouts.put(type, layout);
                 }
+            }
 
-                // Write the entry
-                if (layout != null) {
-                    if (blankLineBehaviour == BlankLineBehaviour.DELETE_BLANKS) {
-                        String[] lines = layout.doLayout(entry, databaseContext.getDatabase()).split(BLANK_LINE_PATTERN);
-                        for (String line : lines) {
-                            if (!line.isBlank() && !line.isEmpty()) {
-                                ps.write(line + OS.NEWLINE);
-                            }
-                        }
-                    } else {
-                        ps.write(layout.doLayout(entry, databaseContext.getDatabase()));
+            // Write the entries
+            ExporterFactory.entryNumber = 0;
+            boolean dependsOnEntryOrder = layouts.values().stream().anyMatch(layout -> (layout != null) && layout.dependsOnEntryOrder());
+            if (dependsOnEntryOrder) {
+                StringBuilder builder = new StringBuilder(1024);
+                for (BibEntry entry : sorted) {
+                    ExporterFactory.entryNumber++; // Increment entry counter.
+                    builder.setLength(0);
+                    Layout layout = layouts.get(entry.getType());
+                    if (layout != null) {
+                        layout.doLayout(entry, databaseContext.getDatabase(), builder);
+                    }
+                    writeEntry(ps, builder);
+                }
+            } else {
+                // The entries are rendered in parallel, batch by batch, and written in the order of the export
+                for (int start = 0; start < sorted.size(); start += RENDER_BATCH_SIZE) {
+                    List<StringBuilder> renderedEntries = sorted.subList(start, Math.min(start + RENDER_BATCH_SIZE, sorted.size()))
+                                                                .parallelStream()
+                                                                .map(entry -> renderEntry(layouts.get(entry.getType()), entry, databaseContext))
+                                                                .collect(Collectors.toList());
+                    for (StringBuilder renderedEntry : renderedEntries) {
+                        ExporterFactory.entryNumber++; // Increment entry counter.
+                        writeEntry(ps, renderedEntry);
                     }
                 }
             }
@@ -315,6 +329,49 @@ public class TemplateExporter extends Exporter {
         }
     }
 
+    private static StringBuilder renderEntry(Layout layout, BibEntry entry, BibDatabaseContext databaseContext) {
+        StringBuilder builder = new StringBuilder(1024);
+        if (layout != null) {
+            layout.doLayout(entry, databaseContext.getDatabase(), builder);
+        }
+        return builder;
+    }
+
+    private void writeEntry(Writer writer, StringBuilder renderedEntry) throws IOException {
+        if (blankLineBehaviour == BlankLineBehaviour.DELETE_BLANKS) {
+            // Write all non-blank lines, the lines being separated by \r\n or \n
+            int lineStart = 0;
+            while (lineStart < renderedEntry.length()) {
+                int lineEnd = renderedEntry.indexOf("\n", lineStart);
+                int nextLineStart;
+                if (lineEnd < 0) {
+                    lineEnd = renderedEntry.length();
+                    nextLineStart = lineEnd;
+                } else {
+                    nextLineStart = lineEnd + 1;
+                    if ((lineEnd > lineStart) && (renderedEntry.charAt(lineEnd - 1) == '\r')) {
+                        lineEnd--;
+                    }
+                }
+                if (!isBlank(renderedEntry, lineStart, lineEnd)) {
+                    writer.append(renderedEntry, lineStart, lineEnd).write(OS.NEWLINE);
+                }
+                lineStart = nextLineStart;
+            }
+        } else {
+            writer.append(renderedEntry);
+        }
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * See if there is a name formatter file bundled with this export format.
      * If so, read all the name formatters so they can be used by the filter layouts.
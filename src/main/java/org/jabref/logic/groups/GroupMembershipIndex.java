@@ -0,0 +1,192 @@
+package org.jabref.logic.groups;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.groups.AbstractGroup;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.event.GroupUpdatedEvent;
+import org.jabref.model.search.SearchMatcher;
+
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Incremental index of the entries matched by the groups of one library.
+ * <p>
+ * Every entry of the library gets a fixed slot number. For each group, the index keeps a {@link BitSet} of the slots of
+ * the matched entries. The bit set of a group is computed by one scan of the library when it is used the first time.
+ * Afterwards, only the added, removed and changed entries are matched against the groups, i.e., a change of an entry
+ * costs one match per group instead of one scan of the library per group. The bit sets are discarded if the group tree
+ * changes (see {@link GroupUpdatedEvent}) and are computed again on their next use.
+ * <p>
+ * The index observes the list of entries of the {@link BibDatabase} instead of the entry events, because the list
+ * notifies its listeners before the events are posted. The listeners of the list are notified in the order they were
+ * registered. Thus, a listener relying on an up-to-date index (e.g., a filtered list of entries) has to get the index
+ * before registering itself.
+ */
+public class GroupMembershipIndex {
+
+    private final ObservableList<BibEntry> entries;
+    private final Map<BibEntry, Integer> slots = new IdentityHashMap<>();
+    private final BitSet usedSlots = new BitSet();
+
+    /**
+     * The groups are compared by identity and are only weakly referenced, because view models create group nodes on the
+     * fly (e.g., for the subgroups of automatic groups).
+     */
+    private final Map<GroupTreeNode, Membership> memberships = new MapMaker().weakKeys().makeMap();
+
+    public GroupMembershipIndex(BibDatabase database) {
+        // Keep a reference to the list, because the list returned by the database only weakly listens to the entries
+        entries = database.getEntries();
+        entries.addListener(this::onEntriesChanged);
+        synchronized (this) {
+            entries.forEach(this::addEntry);
+        }
+    }
+
+    /**
+     * Returns the number of entries matched by the given group, taking the group hierarchy into account
+     */
+    public synchronized int getNumberOfMatches(GroupTreeNode group) {
+        return getMembership(group).size;
+    }
+
+    /**
+     * Checks whether the given group (taking the group hierarchy into account) matches the given entry
+     */
+    public synchronized boolean isMatch(GroupTreeNode group, BibEntry entry) {
+        Integer slot = slots.get(entry);
+        if (slot == null) {
+            // not an entry of the library
+            return group.matches(entry);
+        }
+        return getMembership(group).members.get(slot);
+    }
+
+    /**
+     * Returns the entries matched by the given group, taking the group hierarchy into account. The entries are compared
+     * by identity. The returned set is a copy, so it can be used while the library changes (e.g., by a background
+     * task).
+     */
+    public synchronized Set<BibEntry> getMatches(GroupTreeNode group) {
+        BitSet members = getMembership(group).members;
+        Set<BibEntry> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        slots.forEach((entry, slot) -> {
+            if (members.get(slot)) {
+                matches.add(entry);
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * Discards the entries matched by the given group. Has to be called if the group matches other entries for a reason
+     * not reflected by the entries or the group tree (e.g., a changed aux file of a {@link
+     * org.jabref.model.groups.TexGroup}).
+     */
+    public synchronized void invalidate(GroupTreeNode group) {
+        memberships.remove(group);
+    }
+
+    /**
+     * Discards the entries matched by all groups
+     */
+    public synchronized void invalidateAll() {
+        memberships.clear();
+    }
+
+    @Subscribe
+    public void listen(GroupUpdatedEvent event) {
+        // The group tree changed, thus the hierarchical matchers of all groups might have changed
+        invalidateAll();
+    }
+
+    private Membership getMembership(GroupTreeNode group) {
+        Membership membership = memberships.get(group);
+        if ((membership == null) || (membership.group != group.getGroup())) {
+            membership = new Membership(group);
+            for (Map.Entry<BibEntry, Integer> slot : slots.entrySet()) {
+                membership.update(slot.getValue(), slot.getKey());
+            }
+            memberships.put(group, membership);
+        }
+        return membership;
+    }
+
+    private synchronized void onEntriesChanged(ListChangeListener.Change<? extends BibEntry> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                // Nothing to do, as permutation doesn't change matched entries
+            } else if (change.wasUpdated()) {
+                for (BibEntry changedEntry : change.getList().subList(change.getFrom(), change.getTo())) {
+                    Integer slot = slots.get(changedEntry);
+                    if (slot != null) {
+                        memberships.values().forEach(membership -> membership.update(slot, changedEntry));
+                    }
+                }
+            } else {
+                change.getRemoved().forEach(this::removeEntry);
+                change.getAddedSubList().forEach(this::addEntry);
+            }
+        }
+    }
+
+    private void addEntry(BibEntry entry) {
+        if (slots.containsKey(entry)) {
+            return;
+        }
+        int slot = usedSlots.nextClearBit(0);
+        usedSlots.set(slot);
+        slots.put(entry, slot);
+        memberships.values().forEach(membership -> membership.update(slot, entry));
+    }
+
+    private void removeEntry(BibEntry entry) {
+        Integer slot = slots.remove(entry);
+        if (slot == null) {
+            return;
+        }
+        usedSlots.clear(slot);
+        memberships.values().forEach(membership -> membership.remove(slot));
+    }
+
+    /**
+     * The entries matched by one group
+     */
+    private static class Membership {
+        private final AbstractGroup group;
+        private final SearchMatcher matcher;
+        private final BitSet members = new BitSet();
+        private int size;
+
+        Membership(GroupTreeNode node) {
+            this.group = node.getGroup();
+            this.matcher = node.getSearchMatcher();
+        }
+
+        void update(int slot, BibEntry entry) {
+            boolean matched = matcher.isMatch(entry);
+            if (matched != members.get(slot)) {
+                members.set(slot, matched);
+                size += matched ? 1 : -1;
+            }
+        }
+
+        void remove(int slot) {
+            if (members.get(slot)) {
+                members.clear(slot);
+                size--;
+            }
+        }
+    }
+}
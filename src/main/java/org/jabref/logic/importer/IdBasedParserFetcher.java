@@ -61,7 +61,7 @@ public interface IdBasedParserFetcher extends IdBasedFetcher {
             return Optional.empty();
         }
 
-        try (InputStream stream = getUrlDownload(getUrlForIdentifier(identifier)).asInputStream()) {
+        try (InputStream stream = getCachedInputStream(getUrlForIdentifier(identifier))) {
             List<BibEntry> fetchedEntries = getParser().parseEntries(stream);
 
             if (fetchedEntries.isEmpty()) {
@@ -42,7 +42,7 @@ public interface SearchBasedParserFetcher extends SearchBasedFetcher {
     }
 
     private List<BibEntry> getBibEntries(URL urlForQuery) throws FetcherException {
-        try (InputStream stream = getUrlDownload(urlForQuery).asInputStream()) {
+        try (InputStream stream = getCachedInputStream(urlForQuery)) {
             List<BibEntry> fetchedEntries = getParser().parseEntries(stream);
             fetchedEntries.forEach(this::doPostCleanup);
             return fetchedEntries;
@@ -1,5 +1,7 @@
 package org.jabref.logic.importer;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.Optional;
 
@@ -34,4 +36,14 @@ public interface WebFetcher {
     default URLDownload getUrlDownload(URL url) {
         return new URLDownload(url);
     }
+
+    /**
+     * Downloads the content of the given URL using {@link #getUrlDownload(URL)}. GET requests are answered from the
+     * response cache, if possible.
+     */
+    default InputStream getCachedInputStream(URL url) throws IOException {
+        URLDownload download = getUrlDownload(url);
+        download.setUseResponseCache(true);
+        return download.asInputStream();
+    }
 }
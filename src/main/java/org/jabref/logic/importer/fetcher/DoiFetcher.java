@@ -76,6 +76,7 @@ public class DoiFetcher implements IdBasedFetcher, EntryBasedFetcher {
                 // BibTeX data
                 URLDownload download = getUrlDownload(doiURL);
                 download.addHeader("Accept", MediaTypes.APPLICATION_BIBTEX);
+                download.setUseResponseCache(true);
                 String bibtexString = download.asString();
 
                 // BibTeX entry
@@ -127,6 +128,7 @@ public class DoiFetcher implements IdBasedFetcher, EntryBasedFetcher {
         Optional<String> agency = Optional.empty();
         try {
             URLDownload download = getUrlDownload(new URL(DOI.AGENCY_RESOLVER + "/" + doi.getDOI()));
+            download.setUseResponseCache(true);
             JSONObject response = new JSONArray(download.asString()).getJSONObject(0);
             if (response != null) {
                 agency = Optional.ofNullable(response.optString("RA"));
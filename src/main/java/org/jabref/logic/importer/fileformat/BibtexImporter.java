@@ -70,7 +70,7 @@ public class BibtexImporter extends Importer {
 
     @Override
     public ParserResult importDatabase(BufferedReader reader) throws IOException {
-        return new BibtexParser(importFormatPreferences, fileMonitor).parse(reader);
+        return new BibtexParser(importFormatPreferences, fileMonitor).parseParallel(reader);
     }
 
     @Override
@@ -4,20 +4,26 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
+import java.io.InterruptedIOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import org.jabref.logic.bibtex.FieldContentFormatter;
@@ -60,26 +66,43 @@ import org.slf4j.LoggerFactory;
  * ParserResult result = BibtexParser.parse(reader);
  * <p>
  * Can be used stand-alone.
+ * <p>
+ * The input is read in blocks into a character buffer. The text belonging to the element currently parsed (the
+ * parsed serialization) is kept as offset into that buffer, so that only the current element and a small lookahead
+ * have to be held in memory. Using {@link #parse(Reader, Consumer)}, the entries are handed out as soon as they are
+ * parsed instead of being collected in a database.
  */
 public class BibtexParser implements Parser {
     private static final Logger LOGGER = LoggerFactory.getLogger(BibtexParser.class);
 
-    private static final Integer LOOKAHEAD = 64;
+    private static final int LOOKAHEAD = 64;
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final int MINIMUM_CHUNK_SIZE = 1 << 18;
     private final FieldContentFormatter fieldContentFormatter;
-    private final Deque<Character> pureTextFromFile = new LinkedList<>();
     private final ImportFormatPreferences importFormatPreferences;
-    private PushbackReader pushbackReader;
+    private Reader reader;
+    private char[] buffer;
+    // position of the next character to read from the buffer
+    private int position;
+    // number of valid characters in the buffer
+    private int limit;
+    // start of the text read since the last call of dumpTextReadSoFarToString
+    private int serializationStart;
+    private boolean endOfInput;
+    private Consumer<BibEntry> entryConsumer;
     private BibDatabase database;
     private Set<BibEntryType> entryTypes;
     private boolean eof;
     private int line = 1;
     private ParserResult parserResult;
     private final MetaDataParser metaDataParser;
+    private final FileUpdateMonitor fileMonitor;
 
     public BibtexParser(ImportFormatPreferences importFormatPreferences, FileUpdateMonitor fileMonitor) {
         this.importFormatPreferences = Objects.requireNonNull(importFormatPreferences);
         fieldContentFormatter = new FieldContentFormatter(importFormatPreferences.getFieldContentFormatterPreferences());
         metaDataParser = new MetaDataParser(fileMonitor);
+        this.fileMonitor = fileMonitor;
     }
 
     /**
@@ -130,16 +153,267 @@ public class BibtexParser implements Parser {
      */
     public ParserResult parse(Reader in) throws IOException {
         Objects.requireNonNull(in);
-        pushbackReader = new PushbackReader(in, BibtexParser.LOOKAHEAD);
 
         // Bibtex related contents.
         initializeParserResult();
 
+        return parseContent(in, entry -> database.insertEntry(entry));
+    }
+
+    /**
+     * Parses the BibTeX data found when reading from reader and passes each entry to the given consumer as soon as it
+     * is parsed. The entries are not added to the database of the returned result, which only contains the strings,
+     * the preamble, the epilog and the meta data. Thus, the memory needed is independent of the number of entries.
+     * <p>
+     * The reader will be consumed.
+     *
+     * @param entryConsumer receives the parsed entries in the order they appear in the input
+     * @return ParserResult without entries
+     */
+    public ParserResult parse(Reader in, Consumer<BibEntry> entryConsumer) throws IOException {
+        Objects.requireNonNull(in);
+        Objects.requireNonNull(entryConsumer);
+
+        initializeParserResult();
+
+        return parseContent(in, entryConsumer);
+    }
+
+    /**
+     * Same as {@link #parse(Reader)}, but large inputs are split into chunks which are parsed in parallel on the
+     * common fork-join pool. The input is read completely into memory first.
+     *
+     * @see #parseParallel(Reader, ForkJoinPool)
+     */
+    public ParserResult parseParallel(Reader in) throws IOException {
+        return parseParallel(in, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #parse(Reader)}, but large inputs are split into chunks which are parsed in parallel on the given
+     * pool. The input is read completely into memory first.
+     * <p>
+     * A pre-scan splits the input after entries, strings and preambles which are followed by a top-level
+     * <code>@</code>. The chunks are parsed independently and merged in file order. If a chunk reports any problem or
+     * does not end exactly at its boundary, the whole input is parsed sequentially again, so that the result (including
+     * the warnings and their line numbers) is always the same as the one of {@link #parse(Reader)}.
+     */
+    public ParserResult parseParallel(Reader in, ForkJoinPool pool) throws IOException {
+        Objects.requireNonNull(in);
+        Objects.requireNonNull(pool);
+
+        StringWriter content = new StringWriter();
+        in.transferTo(content);
+        int chunkSize = Math.max(MINIMUM_CHUNK_SIZE, content.getBuffer().length() / (4 * pool.getParallelism()));
+        return parseParallel(content.toString(), pool, chunkSize);
+    }
+
+    ParserResult parseParallel(String content, ForkJoinPool pool, int chunkSize) throws IOException {
+        List<Integer> boundaries = findChunkBoundaries(content, chunkSize);
+        if (boundaries.size() <= 2) {
+            return parse(new StringReader(content));
+        }
+
+        List<ForkJoinTask<ParsedChunk>> tasks = new ArrayList<>(boundaries.size() - 1);
+        for (int i = 0; i < (boundaries.size() - 1); i++) {
+            String chunk = content.substring(boundaries.get(i), boundaries.get(i + 1));
+            tasks.add(pool.submit(() -> new BibtexParser(importFormatPreferences, fileMonitor).parseChunk(chunk)));
+        }
+
+        List<ParsedChunk> chunks = new ArrayList<>(tasks.size());
+        try {
+            for (ForkJoinTask<ParsedChunk> task : tasks) {
+                chunks.add(task.get());
+            }
+        } catch (InterruptedException e) {
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Parsing interrupted");
+        } catch (ExecutionException e) {
+            LOGGER.debug("Could not parse chunk, parsing sequentially", e);
+            return parse(new StringReader(content));
+        }
+
+        if (!mergeChunks(chunks)) {
+            LOGGER.debug("Chunks could not be merged, parsing sequentially");
+            return parse(new StringReader(content));
+        }
+        return parserResult;
+    }
+
+    /**
+     * Parses a chunk of the input. In contrast to {@link #parse(Reader)}, the meta data is not interpreted and the text
+     * after the last element is kept as is.
+     */
+    private ParsedChunk parseChunk(String chunk) throws IOException {
+        initializeParserResult();
+        ParsedChunk parsedChunk = new ParsedChunk(parserResult);
+        parseElements(new StringReader(chunk), parsedChunk.entries::add, parsedChunk.meta);
+        parsedChunk.remainingContent = dumpTextReadSoFarToString();
+        return parsedChunk;
+    }
+
+    /**
+     * Merges the parsed chunks in file order into a fresh parser result.
+     *
+     * @return false if the chunks do not yield the same result as a sequential parse
+     */
+    private boolean mergeChunks(List<ParsedChunk> chunks) {
+        initializeParserResult();
+        Map<String, String> meta = new HashMap<>();
+        List<BibEntry> entries = new ArrayList<>();
+
+        for (int i = 0; i < chunks.size(); i++) {
+            ParsedChunk chunk = chunks.get(i);
+            boolean isLastChunk = i == (chunks.size() - 1);
+            // warnings and their line numbers are only reported correctly by the sequential parse
+            if (chunk.parserResult.hasWarnings() || (!isLastChunk && !chunk.remainingContent.isEmpty())) {
+                return false;
+            }
+
+            BibDatabase chunkDatabase = chunk.parserResult.getDatabase();
+            if (i == 0) {
+                chunkDatabase.getSharedDatabaseID().ifPresent(database::setSharedDatabaseID);
+            }
+            for (BibtexString string : chunkDatabase.getStringValues()) {
+                try {
+                    database.addString(string);
+                } catch (KeyCollisionException ex) {
+                    return false;
+                }
+            }
+            chunkDatabase.getPreamble().ifPresent(database::setPreamble);
+            entryTypes.addAll(chunk.parserResult.getEntryTypes());
+            entries.addAll(chunk.entries);
+            meta.putAll(chunk.meta);
+        }
+        database.insertEntries(entries);
+
+        parseMetaData(meta);
+        database.setEpilog(chunks.get(chunks.size() - 1).remainingContent.trim());
+        checkEpilog();
+        return true;
+    }
+
+    /**
+     * Determines the positions at which the content can be split into chunks of at least the given size. A chunk ends
+     * after an entry, a string or a preamble enclosed in braces (including the line break consumed by the parser).
+     *
+     * @return the boundaries of the chunks, starting with 0 and ending with the length of the content
+     */
+    static List<Integer> findChunkBoundaries(String content, int chunkSize) {
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(0);
+
+        int start = content.indexOf('@');
+        while (start >= 0) {
+            int position = skipWhitespace(content, start + 1);
+            int typeStart = position;
+            while ((position < content.length()) && isTextTokenCharacter(content.charAt(position))) {
+                position++;
+            }
+            boolean isComment = "comment".equals(content.substring(typeStart, position).toLowerCase(Locale.ROOT));
+            if (!isComment) {
+                position = skipWhitespace(content, position);
+            }
+            if ((position >= content.length()) || (content.charAt(position) != '{')) {
+                // unbracketed or enclosed in parentheses: not a safe place to split
+                start = content.indexOf('@', start + 1);
+                continue;
+            }
+
+            int closingBrace = findClosingBrace(content, position);
+            if (closingBrace < 0) {
+                break;
+            }
+
+            int end = closingBrace + 1;
+            if (!isComment) {
+                // the parser consumes spaces and one line break after the element
+                while ((end < content.length()) && (content.charAt(end) == ' ')) {
+                    end++;
+                }
+                if ((end < content.length()) && (content.charAt(end) == '\r')) {
+                    end++;
+                }
+                if ((end < content.length()) && (content.charAt(end) == '\n')) {
+                    end++;
+                }
+                if (((end - boundaries.get(boundaries.size() - 1)) >= chunkSize) && (end < content.length())) {
+                    boundaries.add(end);
+                }
+            }
+            start = content.indexOf('@', end);
+        }
+
+        boundaries.add(content.length());
+        return boundaries;
+    }
+
+    private static int skipWhitespace(String content, int position) {
+        int current = position;
+        while ((current < content.length()) && Character.isWhitespace(content.charAt(current))) {
+            current++;
+        }
+        return current;
+    }
+
+    private static boolean isTextTokenCharacter(char character) {
+        return Character.isLetterOrDigit(character) || (":-_*+./'".indexOf(character) >= 0);
+    }
+
+    /**
+     * Finds the brace closing the one at the given position the same way as {@link #parseBracketedTextExactly()}
+     *
+     * @return the position of the closing brace or -1 if there is none
+     */
+    private static int findClosingBrace(String content, int openingBrace) {
+        int brackets = 0;
+        char lastCharacter = '\0';
+        for (int i = openingBrace + 1; i < content.length(); i++) {
+            char character = content.charAt(i);
+            boolean isClosingBracket = (character == '}') && (lastCharacter != '\\');
+            if (isClosingBracket && (brackets == 0)) {
+                return i;
+            } else if ((character == '{') && !isEscapeSymbol(lastCharacter)) {
+                brackets++;
+            } else if (isClosingBracket) {
+                brackets--;
+            }
+            lastCharacter = character;
+        }
+        return -1;
+    }
+
+    private ParserResult parseContent(Reader in, Consumer<BibEntry> consumer) throws IOException {
+        Map<String, String> meta = new HashMap<>();
+        parseElements(in, consumer, meta);
+
+        parseMetaData(meta);
+
+        parseRemainingContent();
+
+        checkEpilog();
+
+        return parserResult;
+    }
+
+    private void parseElements(Reader in, Consumer<BibEntry> consumer, Map<String, String> meta) throws IOException {
+        reader = in;
+        buffer = new char[INITIAL_BUFFER_SIZE];
+        position = 0;
+        limit = 0;
+        serializationStart = 0;
+        endOfInput = false;
+        eof = false;
+        line = 1;
+        entryConsumer = consumer;
+
         parseDatabaseID();
 
         skipWhitespace();
 
-        return parseFileContent();
+        parseFileContent(meta);
     }
 
     private void initializeParserResult() {
@@ -169,9 +443,7 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private ParserResult parseFileContent() throws IOException {
-        Map<String, String> meta = new HashMap<>();
-
+    private void parseFileContent(Map<String, String> meta) throws IOException {
         while (!eof) {
             boolean found = consumeUncritically('@');
             if (!found) {
@@ -200,19 +472,15 @@ public class BibtexParser implements Parser {
 
             skipWhitespace();
         }
+    }
 
+    private void parseMetaData(Map<String, String> meta) {
         // Instantiate meta data:
         try {
             parserResult.setMetaData(metaDataParser.parse(meta, importFormatPreferences.getKeywordSeparator()));
         } catch (ParseException exception) {
             parserResult.addException(exception);
         }
-
-        parseRemainingContent();
-
-        checkEpilog();
-
-        return parserResult;
     }
 
     private void checkEpilog() {
@@ -240,7 +508,7 @@ public class BibtexParser implements Parser {
             // store complete parsed serialization (comments, type definition + type contents)
             entry.setParsedSerialization(commentsAndEntryTypeDefinition + dumpTextReadSoFarToString());
 
-            database.insertEntry(entry);
+            entryConsumer.accept(entry);
         } catch (IOException ex) {
             // Trying to make the parser more robust.
             // If an exception is thrown when parsing an entry, drop the entry and try to resume parsing.
@@ -349,12 +617,9 @@ public class BibtexParser implements Parser {
     }
 
     private String getPureTextFromFile() {
-        StringBuilder entry = new StringBuilder();
-        while (!pureTextFromFile.isEmpty()) {
-            entry.append(pureTextFromFile.pollFirst());
-        }
-
-        return entry.toString();
+        String text = new String(buffer, serializationStart, position - serializationStart);
+        serializationStart = position;
+        return text;
     }
 
     /**
@@ -365,7 +630,7 @@ public class BibtexParser implements Parser {
     private String purgeEOFCharacters(String input) {
 
         StringBuilder remainingText = new StringBuilder();
-        for (Character character : input.toCharArray()) {
+        for (char character : input.toCharArray()) {
             if (!(isEOFCharacter(character))) {
                 remainingText.append(character);
             }
@@ -457,11 +722,11 @@ public class BibtexParser implements Parser {
     }
 
     private int read() throws IOException {
-        int character = pushbackReader.read();
-
-        if (!isEOFCharacter(character)) {
-            pureTextFromFile.offerLast((char) character);
+        if ((position == limit) && !fillBuffer()) {
+            return -1;
         }
+
+        char character = buffer[position++];
         if (character == '\n') {
             line++;
         }
@@ -469,13 +734,56 @@ public class BibtexParser implements Parser {
     }
 
     private void unread(int character) throws IOException {
+        if (isEOFCharacter(character) && (position == limit) && endOfInput) {
+            // nothing was consumed when reaching the end of the input
+            return;
+        }
+        if (position == 0) {
+            throw new IOException("Error in line " + line + ": Lookahead exceeded");
+        }
         if (character == '\n') {
             line--;
         }
-        pushbackReader.unread(character);
-        if (pureTextFromFile.getLast() == character) {
-            pureTextFromFile.pollLast();
+        buffer[--position] = (char) character;
+        if (position < serializationStart) {
+            serializationStart = position;
+        }
+    }
+
+    /**
+     * Reads the next block of the input into the buffer. Only the text since the last call of
+     * {@link #dumpTextReadSoFarToString()} and the lookahead needed for {@link #unread(int)} are kept, everything
+     * before is dropped.
+     *
+     * @return false if the end of the input is reached
+     */
+    private boolean fillBuffer() throws IOException {
+        if (endOfInput) {
+            return false;
+        }
+
+        int keepFrom = Math.min(serializationStart, Math.max(0, position - LOOKAHEAD));
+        if (keepFrom > 0) {
+            System.arraycopy(buffer, keepFrom, buffer, 0, limit - keepFrom);
+            position -= keepFrom;
+            limit -= keepFrom;
+            serializationStart -= keepFrom;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int charactersRead;
+        do {
+            charactersRead = reader.read(buffer, limit, buffer.length - limit);
+        } while (charactersRead == 0);
+
+        if (charactersRead < 0) {
+            endOfInput = true;
+            return false;
         }
+        limit += charactersRead;
+        return true;
     }
 
     private BibtexString parseString() throws IOException {
@@ -622,7 +930,7 @@ public class BibtexParser implements Parser {
                 return token.toString();
             }
 
-            if (Character.isLetterOrDigit((char) character) || (":-_*+./'".indexOf(character) >= 0)) {
+            if (isTextTokenCharacter((char) character)) {
                 token.append((char) character);
             } else {
                 unread(character);
@@ -869,7 +1177,7 @@ public class BibtexParser implements Parser {
         }
     }
 
-    private boolean isEscapeSymbol(char character) {
+    private static boolean isEscapeSymbol(char character) {
         return '\\' == character;
     }
 
@@ -930,4 +1238,18 @@ public class BibtexParser implements Parser {
                     + " but received " + (char) character);
         }
     }
+
+    /**
+     * Result of parsing a chunk of the input in {@link #parseParallel(String, ForkJoinPool, int)}
+     */
+    private static class ParsedChunk {
+        private final ParserResult parserResult;
+        private final List<BibEntry> entries = new ArrayList<>();
+        private final Map<String, String> meta = new HashMap<>();
+        private String remainingContent;
+
+        ParsedChunk(ParserResult parserResult) {
+            this.parserResult = parserResult;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.jabref.logic.citationkeypattern.CitationKeyGenerator;
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
@@ -12,14 +13,20 @@ import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.InternalField;
 
+import com.google.common.base.Suppliers;
+
 public class CitationKeyDeviationChecker implements EntryChecker {
 
     private final BibDatabaseContext bibDatabaseContext;
     private final CitationKeyPatternPreferences citationKeyPatternPreferences;
 
+    // Created on first use and then shared by all checked entries, so that the key patterns are compiled only once
+    private final Supplier<CitationKeyGenerator> keyGenerator;
+
     public CitationKeyDeviationChecker(BibDatabaseContext bibDatabaseContext, CitationKeyPatternPreferences citationKeyPatternPreferences) {
         this.bibDatabaseContext = Objects.requireNonNull(bibDatabaseContext);
         this.citationKeyPatternPreferences = Objects.requireNonNull(citationKeyPatternPreferences);
+        this.keyGenerator = Suppliers.memoize(() -> new CitationKeyGenerator(this.bibDatabaseContext, this.citationKeyPatternPreferences));
     }
 
     @Override
@@ -32,7 +39,7 @@ public class CitationKeyDeviationChecker implements EntryChecker {
         String key = valuekey.get();
 
         // generate new key
-        String generatedKey = new CitationKeyGenerator(bibDatabaseContext, citationKeyPatternPreferences).generateKey(entry);
+        String generatedKey = keyGenerator.get().generateKey(entry);
 
         if (!Objects.equals(key, generatedKey)) {
             return Collections.singletonList(new IntegrityMessage(
@@ -1,42 +1,89 @@
 package org.jabref.logic.integrity;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
 import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.BibDatabaseMode;
+import org.jabref.model.database.event.EntriesRemovedEvent;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.preferences.FilePreferences;
 
+import com.google.common.collect.MapMaker;
+import com.google.common.eventbus.Subscribe;
+
 public class IntegrityCheck {
 
     private final BibDatabaseContext bibDatabaseContext;
-    private final FieldCheckers fieldCheckers;
+    private final List<FieldChecker> fieldCheckers;
     private final List<EntryChecker> entryCheckers;
 
+    /**
+     * Checkers of the linked files. Their result depends on the file system instead of the entry only. Thus, their
+     * results are not kept by {@link #checkEntries(List, Consumer)}.
+     */
+    private final List<FieldChecker> fileCheckers;
+
+    /**
+     * Checkers comparing an entry with other entries of the library. A change of one entry can change their result for
+     * other entries. Thus, their results are not kept by {@link #checkEntries(List, Consumer)}.
+     */
+    private volatile List<EntryChecker> libraryCheckers;
+
+    // The settings the field and entry checkers were created with
+    private final BibDatabaseMode mode;
+    private final List<Path> fileDirectories;
+    private final JournalAbbreviationRepository journalAbbreviationRepository;
+    private final boolean allowIntegerEdition;
+
+    /**
+     * The messages of the field and entry checkers per entry, together with the version of the entry they were
+     * computed for. The entries are compared by identity.
+     */
+    private final Map<BibEntry, CheckedEntry> checkedEntries = new MapMaker().weakKeys().makeMap();
+
+    /**
+     * The number of changes of each entry since the changes are tracked. Entries without change are not contained.
+     */
+    private final Map<BibEntry, Integer> entryVersions = new MapMaker().weakKeys().makeMap();
+
+    private boolean trackingChanges;
+
     public IntegrityCheck(BibDatabaseContext bibDatabaseContext,
                           FilePreferences filePreferences,
                           CitationKeyPatternPreferences citationKeyPatternPreferences,
                           JournalAbbreviationRepository journalAbbreviationRepository,
                           boolean allowIntegerEdition) {
         this.bibDatabaseContext = bibDatabaseContext;
+        this.mode = bibDatabaseContext.getMode();
+        this.fileDirectories = bibDatabaseContext.getFileDirectories(filePreferences);
+        this.journalAbbreviationRepository = journalAbbreviationRepository;
+        this.allowIntegerEdition = allowIntegerEdition;
 
-        fieldCheckers = new FieldCheckers(bibDatabaseContext,
+        Map<Boolean, List<FieldChecker>> checkersByFileField = new FieldCheckers(bibDatabaseContext,
                 filePreferences,
                 journalAbbreviationRepository,
-                allowIntegerEdition);
+                allowIntegerEdition).getAll()
+                                    .stream()
+                                    .collect(Collectors.partitioningBy(checker -> checker.field == StandardField.FILE));
+        fieldCheckers = checkersByFileField.get(false);
+        fileCheckers = checkersByFileField.get(true);
 
         entryCheckers = new ArrayList<>(List.of(
                 new CitationKeyChecker(),
                 new TypeChecker(),
                 new BibStringChecker(),
-                new HTMLCharacterChecker(),
-                new EntryLinkChecker(bibDatabaseContext.getDatabase()),
-                new CitationKeyDeviationChecker(bibDatabaseContext, citationKeyPatternPreferences),
-                new CitationKeyDuplicationChecker(bibDatabaseContext.getDatabase())
+                new HTMLCharacterChecker()
         ));
         if (bibDatabaseContext.isBiblatexMode()) {
             entryCheckers.addAll(List.of(
@@ -51,6 +98,33 @@ public class IntegrityCheck {
                     new BibTeXEntryTypeChecker())
             );
         }
+
+        setCitationKeyPatternPreferences(citationKeyPatternPreferences);
+    }
+
+    /**
+     * Checks whether the field and entry checkers of this integrity check were created with the given settings and for
+     * the current mode of the library, i.e., whether the kept results are still valid
+     */
+    public boolean isCheckingWith(FilePreferences filePreferences,
+                                  JournalAbbreviationRepository journalAbbreviationRepository,
+                                  boolean allowIntegerEdition) {
+        return (mode == bibDatabaseContext.getMode())
+                && fileDirectories.equals(bibDatabaseContext.getFileDirectories(filePreferences))
+                && (this.journalAbbreviationRepository == journalAbbreviationRepository)
+                && (this.allowIntegerEdition == allowIntegerEdition);
+    }
+
+    /**
+     * Sets the key patterns the citation keys are compared with. As the results of the checks comparing an entry with
+     * other entries are not kept, the kept results remain valid.
+     */
+    public void setCitationKeyPatternPreferences(CitationKeyPatternPreferences citationKeyPatternPreferences) {
+        libraryCheckers = List.of(
+                new EntryLinkChecker(bibDatabaseContext.getDatabase()),
+                new CitationKeyDeviationChecker(bibDatabaseContext, citationKeyPatternPreferences),
+                new CitationKeyDuplicationChecker(bibDatabaseContext.getDatabase())
+        );
     }
 
     List<IntegrityMessage> check() {
@@ -72,7 +146,85 @@ public class IntegrityCheck {
             return result;
         }
 
-        for (FieldChecker fieldChecker : fieldCheckers.getAll()) {
+        result.addAll(checkEntryItself(entry));
+        result.addAll(checkEntryFiles(entry));
+        result.addAll(checkEntryInLibrary(entry));
+
+        return result;
+    }
+
+    /**
+     * Checks the given entries of the library in parallel. The messages of an entry are passed to the given consumer as
+     * soon as the entry is checked, i.e., the consumer is called from several threads.
+     * <p>
+     * The results of the checks which only look at the entry itself are kept. Later calls only run these checks again
+     * for entries changed in the meantime (see {@link FieldChangedEvent}). The checks of the linked files and the checks
+     * comparing an entry with other entries (e.g., for duplicate citation keys) run for all given entries. To notice the changes, the integrity check
+     * listens to the library starting with the first call. Hence, the integrity check of a library should be shared
+     * (see {@link BibDatabaseContext#getIntegrityCheck(FilePreferences, CitationKeyPatternPreferences,
+     * JournalAbbreviationRepository, boolean)}). Call {@link #shutdown()} if the integrity check is not used anymore.
+     */
+    public void checkEntries(List<BibEntry> entries, Consumer<List<IntegrityMessage>> messagesConsumer) {
+        trackChanges();
+        entries.parallelStream().forEach(entry -> {
+            List<IntegrityMessage> messages = new ArrayList<>(getEntryMessages(entry));
+            messages.addAll(checkEntryFiles(entry));
+            messages.addAll(checkEntryInLibrary(entry));
+            messagesConsumer.accept(messages);
+        });
+    }
+
+    public List<IntegrityMessage> checkDatabase(BibDatabase database) {
+        return new DoiDuplicationChecker().check(database);
+    }
+
+    /**
+     * Stops listening to the changes of the library and discards the kept results
+     */
+    public synchronized void shutdown() {
+        if (trackingChanges) {
+            bibDatabaseContext.getDatabase().unregisterListener(this);
+            trackingChanges = false;
+        }
+        checkedEntries.clear();
+        entryVersions.clear();
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        entryVersions.merge(event.getBibEntry(), 1, Integer::sum);
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        for (BibEntry entry : event.getBibEntries()) {
+            checkedEntries.remove(entry);
+        }
+    }
+
+    private synchronized void trackChanges() {
+        if (!trackingChanges) {
+            bibDatabaseContext.getDatabase().registerListener(this);
+            trackingChanges = true;
+        }
+    }
+
+    private List<IntegrityMessage> getEntryMessages(BibEntry entry) {
+        // Read the version before checking. If the entry changes while being checked, the messages are outdated and
+        // the version does not match anymore.
+        int version = entryVersions.getOrDefault(entry, 0);
+        CheckedEntry checkedEntry = checkedEntries.get(entry);
+        if ((checkedEntry == null) || (checkedEntry.version != version)) {
+            checkedEntry = new CheckedEntry(version, checkEntryItself(entry));
+            checkedEntries.put(entry, checkedEntry);
+        }
+        return checkedEntry.messages;
+    }
+
+    private List<IntegrityMessage> checkEntryItself(BibEntry entry) {
+        List<IntegrityMessage> result = new ArrayList<>();
+
+        for (FieldChecker fieldChecker : fieldCheckers) {
             result.addAll(fieldChecker.check(entry));
         }
 
@@ -83,7 +235,29 @@ public class IntegrityCheck {
         return result;
     }
 
-    public List<IntegrityMessage> checkDatabase(BibDatabase database) {
-        return new DoiDuplicationChecker().check(database);
+    private List<IntegrityMessage> checkEntryFiles(BibEntry entry) {
+        List<IntegrityMessage> result = new ArrayList<>();
+        for (FieldChecker fileChecker : fileCheckers) {
+            result.addAll(fileChecker.check(entry));
+        }
+        return result;
+    }
+
+    private List<IntegrityMessage> checkEntryInLibrary(BibEntry entry) {
+        List<IntegrityMessage> result = new ArrayList<>();
+        for (EntryChecker entryChecker : libraryCheckers) {
+            result.addAll(entryChecker.check(entry));
+        }
+        return result;
+    }
+
+    private static class CheckedEntry {
+        private final int version;
+        private final List<IntegrityMessage> messages;
+
+        CheckedEntry(int version, List<IntegrityMessage> messages) {
+            this.version = version;
+            this.messages = Collections.unmodifiableList(messages);
+        }
     }
 }
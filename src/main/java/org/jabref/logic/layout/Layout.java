@@ -12,6 +12,10 @@ import org.jabref.model.entry.BibEntry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A parsed layout, such as the layout of an export filter or of the entry preview. A layout is parsed once and can then
+ * render many entries. Unless {@link #dependsOnEntryOrder()}, entries can be rendered concurrently.
+ */
 public class Layout {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Layout.class);
@@ -67,7 +71,7 @@ public class Layout {
             }
         }
 
-        layoutEntries = new ArrayList<>(tmpEntries);
+        layoutEntries = List.copyOf(tmpEntries);
 
         for (LayoutEntry layoutEntry : layoutEntries) {
             missingFormatters.addAll(layoutEntry.getInvalidFormatters());
@@ -80,6 +84,14 @@ public class Layout {
         }
     }
 
+    /**
+     * Returns whether the output for an entry depends on the entries rendered before. Such a layout has to render the
+     * entries one after another in the order of the export.
+     */
+    public boolean dependsOnEntryOrder() {
+        return layoutEntries.stream().anyMatch(LayoutEntry::dependsOnEntryOrder);
+    }
+
     public String getText() {
         return layoutEntries.stream().map(LayoutEntry::getText).collect(Collectors.joining("\n"));
     }
@@ -92,20 +104,21 @@ public class Layout {
      */
     public String doLayout(BibEntry bibtex, BibDatabase database) {
         StringBuilder builder = new StringBuilder(100);
+        doLayout(bibtex, database, builder);
+        return builder.toString();
+    }
 
+    /**
+     * Appends the processed bibtex entry to the given builder.
+     *
+     * @see #doLayout(BibEntry, BibDatabase)
+     */
+    public void doLayout(BibEntry bibtex, BibDatabase database, StringBuilder builder) {
         for (LayoutEntry layoutEntry : layoutEntries) {
-            String fieldText = layoutEntry.doLayout(bibtex, database);
-
-            // The following change means we treat null fields as "". This is to fix the
+            // We treat skipped fields as "". This is to fix the
             // problem of whitespace disappearing after missing fields.
-            if (fieldText == null) {
-                fieldText = "";
-            }
-
-            builder.append(fieldText);
+            layoutEntry.doLayout(bibtex, database, builder);
         }
-
-        return builder.toString();
     }
 
     /**
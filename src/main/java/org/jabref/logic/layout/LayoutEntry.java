@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.jabref.logic.formatter.bibtexfields.HtmlToLatexFormatter;
 import org.jabref.logic.formatter.bibtexfields.UnicodeToLatexFormatter;
@@ -84,6 +85,7 @@ import org.jabref.logic.openoffice.OOPreFormatter;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
 import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.UnknownField;
@@ -92,9 +94,18 @@ import org.jabref.model.strings.StringUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * One element of a {@link Layout}. The field names, the field conditions of field and group blocks, and the formatters
+ * are resolved when the layout is parsed, so that rendering an entry only reads the fields of the entry and applies
+ * the formatters. Apart from the post formatter, an entry does not change after its construction.
+ */
 class LayoutEntry {
     private static final Logger LOGGER = LoggerFactory.getLogger(LayoutEntry.class);
 
+    private static final Pattern CONJUNCTION_PATTERN = Pattern.compile(".*(;|(\\&+)).*");
+    private static final Pattern CONJUNCTION_SEPARATOR = Pattern.compile("\\s*(;|(\\&+))\\s*");
+    private static final Pattern DISJUNCTION_SEPARATOR = Pattern.compile("\\s*(\\|+)\\s*");
+
     private List<LayoutFormatter> option;
 
     // Formatter to be run after other formatters:
@@ -102,6 +113,26 @@ class LayoutEntry {
 
     private String text;
 
+    /**
+     * The field referenced by a simple command ({@code \field}) or by an option field ({@code \format[...]{\field}})
+     */
+    private Field parsedField;
+
+    /**
+     * Whether the text of an option field may contain string references ({@code #string#})
+     */
+    private boolean containsStringReference;
+
+    /**
+     * The fields checked by a field or group block
+     */
+    private List<FieldCondition> fieldConditions;
+
+    /**
+     * Whether all conditions of a field block have to hold ({@code \begin{a&b}}) or any of them ({@code \begin{a|b}})
+     */
+    private boolean conjunction;
+
     private List<LayoutEntry> layoutEntries;
 
     private final int type;
@@ -119,9 +150,14 @@ class LayoutEntry {
                 break;
             case LayoutHelper.IS_SIMPLE_COMMAND:
                 text = si.s.trim();
+                parsedField = FieldFactory.parseField(text);
                 break;
             case LayoutHelper.IS_OPTION_FIELD:
                 doOptionField(si.s);
+                if (text.startsWith("\\")) {
+                    parsedField = FieldFactory.parseField(text.substring(1));
+                }
+                containsStringReference = text.indexOf('#') >= 0;
                 break;
             case LayoutHelper.IS_FIELD_START:
             case LayoutHelper.IS_FIELD_END:
@@ -142,6 +178,7 @@ class LayoutEntry {
 
         type = layoutType;
         text = blockEnd;
+        fieldConditions = parseFieldConditions();
         List<StringInt> blockEntries = null;
         for (StringInt parsedEntry : parsedEntries.subList(1, parsedEntries.size() - 1)) {
             switch (parsedEntry.i) {
@@ -178,44 +215,89 @@ class LayoutEntry {
             }
         }
 
-        layoutEntries = new ArrayList<>(tmpEntries);
+        layoutEntries = List.copyOf(tmpEntries);
 
         for (LayoutEntry layoutEntry : layoutEntries) {
             invalidFormatter.addAll(layoutEntry.getInvalidFormatters());
         }
     }
 
+    private List<FieldCondition> parseFieldConditions() {
+        if (type == LayoutHelper.IS_GROUP_START) {
+            return List.of(new FieldCondition(FieldFactory.parseField(text), false));
+        }
+
+        // split the strings along &, && or ; for AND formatter, and along |, || for OR formatter
+        conjunction = CONJUNCTION_PATTERN.matcher(text).matches();
+        String[] parts = (conjunction ? CONJUNCTION_SEPARATOR : DISJUNCTION_SEPARATOR).split(text);
+        List<FieldCondition> conditions = new ArrayList<>(parts.length);
+        for (String part : parts) {
+            boolean negated = part.startsWith("!");
+            conditions.add(new FieldCondition(FieldFactory.parseField(negated ? part.substring(1).trim() : part), negated));
+        }
+        return List.copyOf(conditions);
+    }
+
     public void setPostFormatter(LayoutFormatter formatter) {
         this.postFormatter = formatter;
     }
 
+    /**
+     * Returns whether the output for an entry depends on the entries rendered before, i.e., whether the entries have to
+     * be rendered one after another in the order of the export. This is the case for group blocks, which are only
+     * printed if the group differs from the one of the previous entry, and for the {@link Number} formatter, which
+     * prints the position of the entry.
+     */
+    public boolean dependsOnEntryOrder() {
+        if (type == LayoutHelper.IS_GROUP_START) {
+            return true;
+        }
+        if ((option != null) && option.stream().anyMatch(formatter -> formatter instanceof Number)) {
+            return true;
+        }
+        return (layoutEntries != null) && layoutEntries.stream().anyMatch(LayoutEntry::dependsOnEntryOrder);
+    }
+
     public String doLayout(BibEntry bibtex, BibDatabase database) {
+        StringBuilder builder = new StringBuilder(100);
+        return doLayout(bibtex, database, builder) ? builder.toString() : null;
+    }
+
+    /**
+     * Appends the processed entry to the given builder.
+     *
+     * @return false if nothing was appended because a field or group block does not apply to the entry, true otherwise
+     */
+    public boolean doLayout(BibEntry bibtex, BibDatabase database, StringBuilder builder) {
         switch (type) {
             case LayoutHelper.IS_LAYOUT_TEXT:
-                return text;
+                builder.append(text);
+                return true;
             case LayoutHelper.IS_SIMPLE_COMMAND:
-                String value = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(text), database).orElse("");
+                String value = bibtex.getResolvedFieldOrAlias(parsedField, database).orElse("");
 
                 // If a post formatter has been set, call it:
                 if (postFormatter != null) {
                     value = postFormatter.format(value);
                 }
-                return value;
+                return append(builder, value);
             case LayoutHelper.IS_FIELD_START:
             case LayoutHelper.IS_GROUP_START:
-                return handleFieldOrGroupStart(bibtex, database);
+                return handleFieldOrGroupStart(bibtex, database, builder);
             case LayoutHelper.IS_FIELD_END:
             case LayoutHelper.IS_GROUP_END:
-                return "";
+                return true;
             case LayoutHelper.IS_OPTION_FIELD:
-                return handleOptionField(bibtex, database);
+                return append(builder, handleOptionField(bibtex, database));
             case LayoutHelper.IS_ENCODING_NAME:
                 // Printing the encoding name is not supported in entry layouts, only
                 // in begin/end layouts. This prevents breakage if some users depend
                 // on a field called "encoding". We simply return this field instead:
-                return bibtex.getResolvedFieldOrAlias(new UnknownField("encoding"), database).orElse(null);
+                Optional<String> encoding = bibtex.getResolvedFieldOrAlias(new UnknownField("encoding"), database);
+                encoding.ifPresent(builder::append);
+                return encoding.isPresent();
             default:
-                return "";
+                return true;
         }
     }
 
@@ -229,13 +311,12 @@ class LayoutEntry {
                     + "' is an obsolete name for the entry type. Please update your layout to use '"
                     + InternalField.TYPE_HEADER + "' instead.");
             fieldEntry = bibtex.getType().getDisplayName();
+        } else if (parsedField != null) {
+            // resolve field (recognized by leading backslash)
+            fieldEntry = bibtex.getResolvedFieldOrAlias(parsedField, database).orElse("");
         } else {
-            // changed section begin - arudert
-            // resolve field (recognized by leading backslash) or text
-            fieldEntry = text.startsWith("\\") ? bibtex
-                    .getResolvedFieldOrAlias(FieldFactory.parseField(text.substring(1)), database)
-                    .orElse("") : BibDatabase.getText(text, database);
-            // changed section end - arudert
+            // text without string references is printed as is
+            fieldEntry = containsStringReference ? BibDatabase.getText(text, database) : text;
         }
 
         if (option != null) {
@@ -252,82 +333,74 @@ class LayoutEntry {
         return fieldEntry;
     }
 
-    private String handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database) {
-        Optional<String> field;
+    private boolean handleFieldOrGroupStart(BibEntry bibtex, BibDatabase database, StringBuilder builder) {
+        Optional<String> value = Optional.empty();
         boolean negated = false;
-        if (type == LayoutHelper.IS_GROUP_START) {
-            field = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(text), database);
-        } else if (text.matches(".*(;|(\\&+)).*")) {
-            // split the strings along &, && or ; for AND formatter
-            String[] parts = text.split("\\s*(;|(\\&+))\\s*");
-            field = Optional.empty();
-            for (String part : parts) {
-                negated = part.startsWith("!");
-                field = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(negated ? part.substring(1).trim() : part), database);
-                if (field.isPresent() == negated) {
-                    break;
-                }
-            }
-        } else {
-            // split the strings along |, ||  for OR formatter
-            String[] parts = text.split("\\s*(\\|+)\\s*");
-            field = Optional.empty();
-            for (String part : parts) {
-                negated = part.startsWith("!");
-                field = bibtex.getResolvedFieldOrAlias(FieldFactory.parseField(negated ? part.substring(1).trim() : part), database);
-                if (field.isPresent() ^ negated) {
-                    break;
-                }
+        for (FieldCondition condition : fieldConditions) {
+            negated = condition.negated;
+            value = bibtex.getResolvedFieldOrAlias(condition.field, database);
+            if (conjunction ? (value.isPresent() == negated) : (value.isPresent() ^ negated)) {
+                break;
             }
         }
 
-        if ((field.isPresent() == negated) || ((type == LayoutHelper.IS_GROUP_START)
-                && field.get().equalsIgnoreCase(LayoutHelper.getCurrentGroup()))) {
-            return null;
-        } else {
-            if (type == LayoutHelper.IS_GROUP_START) {
-                LayoutHelper.setCurrentGroup(field.get());
-            }
-            StringBuilder sb = new StringBuilder(100);
-            String fieldText;
-            boolean previousSkipped = false;
+        if ((value.isPresent() == negated) || ((type == LayoutHelper.IS_GROUP_START)
+                && value.get().equalsIgnoreCase(LayoutHelper.getCurrentGroup()))) {
+            return false;
+        }
 
-            for (int i = 0; i < layoutEntries.size(); i++) {
-                fieldText = layoutEntries.get(i).doLayout(bibtex, database);
+        if (type == LayoutHelper.IS_GROUP_START) {
+            LayoutHelper.setCurrentGroup(value.get());
+        }
+        boolean previousSkipped = false;
 
-                if (fieldText == null) {
-                    if ((i + 1) < layoutEntries.size()) {
-                        if (layoutEntries.get(i + 1).doLayout(bibtex, database).trim().isEmpty()) {
-                            i++;
-                            previousSkipped = true;
-                            continue;
-                        }
+        for (int i = 0; i < layoutEntries.size(); i++) {
+            int start = builder.length();
+            if (!layoutEntries.get(i).doLayout(bibtex, database, builder)) {
+                if ((i + 1) < layoutEntries.size()) {
+                    // skip the following entry if it is blank
+                    i++;
+                    layoutEntries.get(i).doLayout(bibtex, database, builder);
+                    if (isBlank(builder, start)) {
+                        builder.setLength(start);
+                        previousSkipped = true;
+                        continue;
                     }
-                } else {
+                }
+            } else if (previousSkipped) {
+                // if previous was skipped --> remove leading line breaks
+                int eol = start;
+                while ((eol < builder.length()) && ((builder.charAt(eol) == '\n') || (builder.charAt(eol) == '\r'))) {
+                    eol++;
+                }
+                builder.delete(start, eol);
+            }
 
-                    // if previous was skipped --> remove leading line
-                    // breaks
-                    if (previousSkipped) {
-                        int eol = 0;
+            previousSkipped = false;
+        }
 
-                        while ((eol < fieldText.length())
-                                && ((fieldText.charAt(eol) == '\n') || (fieldText.charAt(eol) == '\r'))) {
-                            eol++;
-                        }
+        return true;
+    }
 
-                        if (eol < fieldText.length()) {
-                            sb.append(fieldText.substring(eol));
-                        }
-                    } else {
-                        sb.append(fieldText);
-                    }
-                }
+    /**
+     * Appends the given text. A formatter returning null is treated like a block not applying to the entry.
+     */
+    private static boolean append(StringBuilder builder, String text) {
+        if (text == null) {
+            return false;
+        }
+        builder.append(text);
+        return true;
+    }
 
-                previousSkipped = false;
+    private static boolean isBlank(StringBuilder builder, int start) {
+        // same notion of blank as String#trim
+        for (int i = start; i < builder.length(); i++) {
+            if (builder.charAt(i) > ' ') {
+                return false;
             }
-
-            return sb.toString();
         }
+        return true;
     }
 
     /**
@@ -613,4 +686,14 @@ class LayoutEntry {
     public String getText() {
         return text;
     }
+
+    private static class FieldCondition {
+        private final Field field;
+        private final boolean negated;
+
+        FieldCondition(Field field, boolean negated) {
+            this.field = field;
+            this.negated = negated;
+        }
+    }
 }
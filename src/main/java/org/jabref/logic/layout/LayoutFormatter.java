@@ -8,6 +8,11 @@ package org.jabref.logic.layout;
  * Example:
  * <p>
  * "John von Neumann" => "von Neumann, John"
+ * <p>
+ * A formatter of a layout is called concurrently when several entries are rendered at once (see {@link Layout}). Hence,
+ * {@link #format(String)} must not change the state of the formatter. Formatters whose output depends on the previously
+ * formatted entries (e.g., {@link org.jabref.logic.layout.format.Number}) are handled by
+ * {@link LayoutEntry#dependsOnEntryOrder()}.
  */
 @FunctionalInterface
 public interface LayoutFormatter {
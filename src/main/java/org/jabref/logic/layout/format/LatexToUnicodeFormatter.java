@@ -3,7 +3,7 @@ package org.jabref.logic.layout.format;
 import org.jabref.logic.cleanup.Formatter;
 import org.jabref.logic.l10n.Localization;
 import org.jabref.logic.layout.LayoutFormatter;
-import org.jabref.model.strings.LatexToUnicodeAdapter;
+import org.jabref.model.strings.LatexToUnicodeConverter;
 
 /**
  * This formatter converts LaTeX character sequences their equivalent unicode characters,
@@ -23,7 +23,7 @@ public class LatexToUnicodeFormatter extends Formatter implements LayoutFormatte
 
     @Override
     public String format(String inField) {
-        return LatexToUnicodeAdapter.format(inField);
+        return LatexToUnicodeConverter.format(inField);
     }
 
     @Override
@@ -0,0 +1,69 @@
+package org.jabref.logic.net;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A response stored by {@link HttpResponseCache}. The body is stored in a file.
+ */
+class CachedResponse {
+
+    private final String eTag;
+    private final String lastModified;
+    private final Instant expires;
+    private final long size;
+    private final Path body;
+
+    CachedResponse(String eTag, String lastModified, Instant expires, long size, Path body) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.expires = expires;
+        this.size = size;
+        this.body = body;
+    }
+
+    Optional<String> getETag() {
+        return Optional.ofNullable(eTag);
+    }
+
+    Optional<String> getLastModified() {
+        return Optional.ofNullable(lastModified);
+    }
+
+    Instant getExpires() {
+        return expires;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    Path getBody() {
+        return body;
+    }
+
+    /**
+     * Checks whether the response may be used without asking the server
+     */
+    boolean isFresh(Instant now) {
+        return now.isBefore(expires);
+    }
+
+    /**
+     * Returns the request headers asking the server whether the response has changed. The headers are empty if the
+     * server did not send an ETag or a modification date.
+     */
+    Map<String, String> getValidationHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        getETag().ifPresent(value -> headers.put("If-None-Match", value));
+        getLastModified().ifPresent(value -> headers.put("If-Modified-Since", value));
+        return headers;
+    }
+
+    CachedResponse withExpires(Instant newExpires) {
+        return new CachedResponse(eTag, lastModified, newExpires, size, body);
+    }
+}
@@ -0,0 +1,341 @@
+package org.jabref.logic.net;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the responses to HTTP GET requests on disk, so that repeated requests (e.g., looking up the same DOI twice
+ * during an import) do not need the network.
+ * <p>
+ * A response is used without asking the server for the time given by the server in the Cache-Control or Expires header.
+ * If the server does not specify this time, but tells when the resource was last modified, the response is used for a
+ * tenth of the time since the modification (at most for the maximum heuristic time to live). Responses without both
+ * (e.g., most search results) are not used without asking the server. Afterwards, the server is asked whether the
+ * response has changed, if the server sent an ETag or a modification date. Otherwise, the response is downloaded again.
+ * As soon as the stored responses exceed the maximum size, the least recently used ones are removed.
+ * <p>
+ * Use {@link URLDownload#setResponseCache(HttpResponseCache)} to make downloads use the cache.
+ */
+public class HttpResponseCache {
+
+    public static final long DEFAULT_MAX_SIZE = 50L * 1024 * 1024;
+    public static final Duration MAX_HEURISTIC_TIME_TO_LIVE = Duration.ofDays(1);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpResponseCache.class);
+
+    private static final String BODY_EXTENSION = ".body";
+    private static final String METADATA_EXTENSION = ".properties";
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d{1,9})");
+
+    private final Path directory;
+    private final long maxSize;
+    private final Duration maxHeuristicTimeToLive;
+
+    /**
+     * The stored responses ordered by their last use
+     */
+    private final Map<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private boolean isLoaded;
+
+    public HttpResponseCache(Path directory) {
+        this(directory, DEFAULT_MAX_SIZE, MAX_HEURISTIC_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param directory              the directory storing the responses
+     * @param maxSize                the maximum number of bytes of all stored responses
+     * @param maxHeuristicTimeToLive the maximum time a response is used without asking the server, if the server does
+     *                               not specify it
+     */
+    public HttpResponseCache(Path directory, long maxSize, Duration maxHeuristicTimeToLive) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.maxHeuristicTimeToLive = maxHeuristicTimeToLive;
+    }
+
+    /**
+     * Returns the key of the response to a GET request of the given URL with the given request headers
+     */
+    static String getKey(URL url, Map<String, String> headers) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(url.toString(), StandardCharsets.UTF_8);
+        for (Map.Entry<String, String> header : new TreeMap<>(headers).entrySet()) {
+            hasher.putString("\n" + header.getKey() + ": " + header.getValue(), StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Checks whether the server allows to store the response of the given connection
+     */
+    static boolean isStorable(URLConnection connection) {
+        String cacheControl = connection.getHeaderField("Cache-Control");
+        return (cacheControl == null) || !cacheControl.toLowerCase(Locale.ROOT).contains("no-store");
+    }
+
+    synchronized Optional<CachedResponse> get(String key) {
+        loadIfNeeded();
+        return Optional.ofNullable(responses.get(key));
+    }
+
+    /**
+     * Opens the body of the stored response. The body is opened while holding the lock, so that it is not removed or
+     * replaced in the meantime. An opened body stays readable after it has been removed from the cache.
+     *
+     * @return the body, or an empty optional if the response is not stored or cannot be read
+     */
+    synchronized Optional<ProgressInputStream> open(String key) {
+        loadIfNeeded();
+        CachedResponse response = responses.get(key);
+        if (response == null) {
+            return Optional.empty();
+        }
+        ProgressInputStream body;
+        try {
+            body = new ProgressInputStream(new BufferedInputStream(Files.newInputStream(response.getBody())), response.getSize());
+        } catch (IOException e) {
+            LOGGER.debug("Could not read cached response {}", key, e);
+            remove(key);
+            return Optional.empty();
+        }
+        try {
+            // The modification time of the body records the last use across restarts
+            Files.setLastModifiedTime(response.getBody(), FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            LOGGER.debug("Could not record use of cached response {}", key, e);
+        }
+        return Optional.of(body);
+    }
+
+    /**
+     * Stores the response of the given connection and opens the stored body. The given body is read completely, but not
+     * closed. If the response cannot be stored, the returned body is read from a temporary file.
+     */
+    ProgressInputStream put(String key, URLConnection connection, InputStream body) throws IOException {
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, key, ".tmp");
+        long bodySize;
+        try {
+            bodySize = Files.copy(body, temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+
+        synchronized (this) {
+            loadIfNeeded();
+            Path bodyFile = directory.resolve(key + BODY_EXTENSION);
+            try {
+                Files.move(temporaryFile, bodyFile, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                // E.g., the previous body is still read on Windows
+                LOGGER.debug("Could not store response {}", key, e);
+                return new ProgressInputStream(new BufferedInputStream(Files.newInputStream(temporaryFile, StandardOpenOption.DELETE_ON_CLOSE)), bodySize);
+            }
+            ProgressInputStream storedBody = new ProgressInputStream(new BufferedInputStream(Files.newInputStream(bodyFile)), bodySize);
+
+            CachedResponse response = new CachedResponse(connection.getHeaderField("ETag"),
+                    connection.getHeaderField("Last-Modified"), getExpires(connection), bodySize, bodyFile);
+            CachedResponse previous = responses.put(key, response);
+            if (previous != null) {
+                size -= previous.getSize();
+            }
+            size += bodySize;
+            try {
+                writeMetadata(key, response);
+            } catch (IOException e) {
+                LOGGER.debug("Could not store response {}", key, e);
+                remove(key);
+                return storedBody;
+            }
+            removeLeastRecentlyUsed(key);
+            return storedBody;
+        }
+    }
+
+    /**
+     * Records that the server confirmed that the given response is still up to date
+     *
+     * @param connection the connection answered by "304 Not Modified"
+     */
+    synchronized CachedResponse refresh(String key, CachedResponse response, URLConnection connection) {
+        CachedResponse refreshed = response.withExpires(getExpires(connection));
+        if (responses.containsKey(key)) {
+            responses.put(key, refreshed);
+            try {
+                writeMetadata(key, refreshed);
+            } catch (IOException e) {
+                LOGGER.debug("Could not update cached response {}", key, e);
+            }
+        }
+        return refreshed;
+    }
+
+    /**
+     * Returns the number of bytes of all stored responses
+     */
+    synchronized long getSize() {
+        loadIfNeeded();
+        return size;
+    }
+
+    private void remove(String key) {
+        CachedResponse response = responses.remove(key);
+        if (response != null) {
+            size -= response.getSize();
+        }
+        deleteFiles(key);
+    }
+
+    private Instant getExpires(URLConnection connection) {
+        Instant now = Instant.now();
+        String cacheControl = Optional.ofNullable(connection.getHeaderField("Cache-Control")).orElse("").toLowerCase(Locale.ROOT);
+        if (cacheControl.contains("no-cache")) {
+            return now;
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        if (maxAge.find()) {
+            return now.plusSeconds(Long.parseLong(maxAge.group(1)));
+        }
+        long expiration = connection.getExpiration();
+        if (expiration > 0) {
+            return Instant.ofEpochMilli(expiration);
+        }
+        long lastModified = connection.getLastModified();
+        if (lastModified > 0) {
+            long date = (connection.getDate() > 0) ? connection.getDate() : now.toEpochMilli();
+            Duration timeToLive = Duration.ofMillis(Math.max(0, date - lastModified) / 10);
+            return now.plus((timeToLive.compareTo(maxHeuristicTimeToLive) < 0) ? timeToLive : maxHeuristicTimeToLive);
+        }
+        return now;
+    }
+
+    /**
+     * Removes the least recently used responses until the stored responses do not exceed the maximum size
+     *
+     * @param keptKey the key of a response, which is not removed, or null
+     */
+    private void removeLeastRecentlyUsed(String keptKey) {
+        Iterator<Map.Entry<String, CachedResponse>> iterator = responses.entrySet().iterator();
+        while ((size > maxSize) && iterator.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = iterator.next();
+            if (entry.getKey().equals(keptKey)) {
+                continue;
+            }
+            iterator.remove();
+            size -= entry.getValue().getSize();
+            deleteFiles(entry.getKey());
+        }
+    }
+
+    private void deleteFiles(String key) {
+        try {
+            Files.deleteIfExists(directory.resolve(key + METADATA_EXTENSION));
+            Files.deleteIfExists(directory.resolve(key + BODY_EXTENSION));
+        } catch (IOException e) {
+            LOGGER.debug("Could not delete cached response {}", key, e);
+        }
+    }
+
+    private void writeMetadata(String key, CachedResponse response) throws IOException {
+        Properties metadata = new Properties();
+        response.getETag().ifPresent(value -> metadata.setProperty("etag", value));
+        response.getLastModified().ifPresent(value -> metadata.setProperty("lastModified", value));
+        metadata.setProperty("expires", String.valueOf(response.getExpires().toEpochMilli()));
+        metadata.setProperty("size", String.valueOf(response.getSize()));
+
+        Path temporaryFile = Files.createTempFile(directory, key, ".tmp");
+        try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+            metadata.store(output, null);
+        }
+        Files.move(temporaryFile, directory.resolve(key + METADATA_EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Optional<CachedResponse> readMetadata(String key, Path bodyFile) {
+        Path metadataFile = directory.resolve(key + METADATA_EXTENSION);
+        Properties metadata = new Properties();
+        try (InputStream input = Files.newInputStream(metadataFile)) {
+            metadata.load(input);
+            long bodySize = Long.parseLong(metadata.getProperty("size"));
+            if (bodySize != Files.size(bodyFile)) {
+                return Optional.empty();
+            }
+            Instant expires = Instant.ofEpochMilli(Long.parseLong(metadata.getProperty("expires")));
+            return Optional.of(new CachedResponse(metadata.getProperty("etag"), metadata.getProperty("lastModified"),
+                    expires, bodySize, bodyFile));
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.debug("Could not read cached response {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the responses stored by previous runs
+     */
+    private void loadIfNeeded() {
+        if (isLoaded) {
+            return;
+        }
+        isLoaded = true;
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        Map<Path, FileTime> lastUses = new LinkedHashMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(BODY_EXTENSION)).collect(Collectors.toList())) {
+                lastUses.put(file, Files.getLastModifiedTime(file));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not read response cache {}", directory, e);
+            return;
+        }
+
+        List<Path> bodyFiles = new ArrayList<>(lastUses.keySet());
+        bodyFiles.sort(Comparator.comparing(lastUses::get));
+        for (Path bodyFile : bodyFiles) {
+            String fileName = bodyFile.getFileName().toString();
+            String key = fileName.substring(0, fileName.length() - BODY_EXTENSION.length());
+            Optional<CachedResponse> response = readMetadata(key, bodyFile);
+            if (response.isPresent()) {
+                responses.put(key, response.get());
+                size += response.get().getSize();
+            } else {
+                deleteFiles(key);
+            }
+        }
+        removeLeastRecentlyUsed(null);
+    }
+}
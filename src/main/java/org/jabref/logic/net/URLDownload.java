@@ -7,6 +7,7 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
@@ -27,11 +28,13 @@ import java.nio.file.StandardCopyOption;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.HttpsURLConnection;
@@ -59,7 +62,11 @@ import org.slf4j.LoggerFactory;
  * String contentType = dl.getMimeType();
  * </code>
  *
- * Each call to a public method creates a new HTTP connection. Nothing is cached.
+ * Each call to a public method sends a new request. Connections to the same host are reused by
+ * {@link HttpURLConnection}, as long as the responses are read completely.
+ * <p>
+ * {@link #asInputStream()} answers GET requests from the {@link HttpResponseCache}, if a cache is set by
+ * {@link #setResponseCache(HttpResponseCache)} and the download uses it (see {@link #setUseResponseCache(boolean)}).
  */
 public class URLDownload {
 
@@ -67,10 +74,13 @@ public class URLDownload {
     private static final Logger LOGGER = LoggerFactory.getLogger(URLDownload.class);
     private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
 
+    private static volatile HttpResponseCache responseCache;
+
     private final URL source;
     private final Map<String, String> parameters = new HashMap<>();
     private String postData = "";
     private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private boolean useResponseCache;
 
     /**
      * @param source the URL to download from
@@ -147,6 +157,15 @@ public class URLDownload {
         }
     }
 
+    /**
+     * Sets the cache used by all downloads using a response cache
+     *
+     * @param cache the cache, or null to disable caching
+     */
+    public static void setResponseCache(HttpResponseCache cache) {
+        responseCache = cache;
+    }
+
     public URL getSource() {
         return source;
     }
@@ -227,6 +246,14 @@ public class URLDownload {
         }
     }
 
+    /**
+     * Determines whether {@link #asInputStream()} and {@link #asString()} use the response cache. Only GET requests are
+     * cached.
+     */
+    public void setUseResponseCache(boolean useResponseCache) {
+        this.useResponseCache = useResponseCache;
+    }
+
     /**
      * Downloads the web resource to a String.
      *
@@ -234,7 +261,11 @@ public class URLDownload {
      * @return the downloaded string
      */
     public String asString(Charset encoding) throws IOException {
-        try (InputStream input = new BufferedInputStream(this.openConnection().getInputStream());
+        HttpResponseCache cache = responseCache;
+        InputStream body = (useResponseCache && (cache != null) && postData.isEmpty())
+                ? asCachedInputStream(cache, false)
+                : this.openConnection().getInputStream();
+        try (InputStream input = new BufferedInputStream(body);
              Writer output = new StringWriter()) {
             copy(input, output, encoding);
             return output.toString();
@@ -284,16 +315,77 @@ public class URLDownload {
      * Takes the web resource as the source for a monitored input stream.
      */
     public ProgressInputStream asInputStream() throws IOException {
-        HttpURLConnection urlConnection = (HttpURLConnection) this.openConnection();
+        HttpResponseCache cache = responseCache;
+        if (useResponseCache && (cache != null) && postData.isEmpty()) {
+            return asCachedInputStream(cache, true);
+        }
+        return asInputStream((HttpURLConnection) this.openConnection(Collections.emptyMap()));
+    }
 
+    private ProgressInputStream asInputStream(HttpURLConnection urlConnection) throws IOException {
         if ((urlConnection.getResponseCode() == HttpURLConnection.HTTP_NOT_FOUND) || (urlConnection.getResponseCode() == HttpURLConnection.HTTP_BAD_REQUEST)) {
             LOGGER.error("Response message {} returned for url {}", urlConnection.getResponseMessage(), urlConnection.getURL());
+            discardResponse(urlConnection);
             return new ProgressInputStream(new ByteArrayInputStream(new byte[0]), 0);
         }
         long fileSize = urlConnection.getContentLengthLong();
         return new ProgressInputStream(new BufferedInputStream(urlConnection.getInputStream()), fileSize);
     }
 
+    /**
+     * Answers the request from the cache. If the cached response is outdated, the server is asked whether it has
+     * changed. If the cache cannot be read or written, the response is downloaded without the cache.
+     *
+     * @param emptyOnError whether a "not found" or "bad request" response results in an empty stream (as by {@link
+     *                     #asInputStream()}) instead of an exception (as by {@link #asString()})
+     */
+    private ProgressInputStream asCachedInputStream(HttpResponseCache cache, boolean emptyOnError) throws IOException {
+        String key = HttpResponseCache.getKey(source, parameters);
+        Optional<CachedResponse> cachedResponse = cache.get(key);
+        if (cachedResponse.isPresent() && cachedResponse.get().isFresh(Instant.now())) {
+            Optional<ProgressInputStream> body = cache.open(key);
+            if (body.isPresent()) {
+                return body.get();
+            }
+            cachedResponse = Optional.empty();
+        }
+
+        Map<String, String> validationHeaders = cachedResponse.map(CachedResponse::getValidationHeaders).orElse(Collections.emptyMap());
+        URLConnection connection = this.openConnection(validationHeaders);
+        if (!(connection instanceof HttpURLConnection)) {
+            return new ProgressInputStream(new BufferedInputStream(connection.getInputStream()), connection.getContentLengthLong());
+        }
+
+        HttpURLConnection urlConnection = (HttpURLConnection) connection;
+        int status = urlConnection.getResponseCode();
+        if (cachedResponse.isPresent() && (status == HttpURLConnection.HTTP_NOT_MODIFIED)) {
+            discardResponse(urlConnection);
+            cache.refresh(key, cachedResponse.get(), urlConnection);
+            Optional<ProgressInputStream> body = cache.open(key);
+            if (body.isPresent()) {
+                return body.get();
+            }
+            // The response was removed in the meantime
+            return asUncachedInputStream((HttpURLConnection) this.openConnection(Collections.emptyMap()), emptyOnError);
+        }
+        if ((status == HttpURLConnection.HTTP_OK) && HttpResponseCache.isStorable(urlConnection)) {
+            try (InputStream body = urlConnection.getInputStream()) {
+                return cache.put(key, urlConnection, body);
+            } catch (IOException e) {
+                LOGGER.debug("Could not store response of {}", source, e);
+                return asUncachedInputStream((HttpURLConnection) this.openConnection(Collections.emptyMap()), emptyOnError);
+            }
+        }
+        return asUncachedInputStream(urlConnection, emptyOnError);
+    }
+
+    private ProgressInputStream asUncachedInputStream(HttpURLConnection urlConnection, boolean emptyOnError) throws IOException {
+        if (emptyOnError) {
+            return asInputStream(urlConnection);
+        }
+        return new ProgressInputStream(new BufferedInputStream(urlConnection.getInputStream()), urlConnection.getContentLengthLong());
+    }
+
     /**
      * Downloads the web resource to a temporary file.
      *
@@ -332,12 +424,35 @@ public class URLDownload {
         }
     }
 
+    /**
+     * Reads the rest of the response, so that the connection can be reused for the next request to the same host
+     */
+    private static void discardResponse(HttpURLConnection connection) {
+        try (InputStream input = (connection.getResponseCode() >= HttpURLConnection.HTTP_BAD_REQUEST) ? connection.getErrorStream() : connection.getInputStream()) {
+            if (input != null) {
+                input.transferTo(OutputStream.nullOutputStream());
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not read response of {}", connection.getURL(), e);
+        }
+    }
+
     private URLConnection openConnection() throws IOException {
+        return openConnection(Collections.emptyMap());
+    }
+
+    /**
+     * @param additionalHeaders headers sent in addition to the headers of this download
+     */
+    private URLConnection openConnection(Map<String, String> additionalHeaders) throws IOException {
         URLConnection connection = this.source.openConnection();
         connection.setConnectTimeout((int) connectTimeout.toMillis());
         for (Entry<String, String> entry : this.parameters.entrySet()) {
             connection.setRequestProperty(entry.getKey(), entry.getValue());
         }
+        for (Entry<String, String> entry : additionalHeaders.entrySet()) {
+            connection.setRequestProperty(entry.getKey(), entry.getValue());
+        }
         if (!this.postData.isEmpty()) {
             connection.setDoOutput(true);
             try (DataOutputStream wr = new DataOutputStream(connection.getOutputStream())) {
@@ -354,6 +469,7 @@ public class URLDownload {
                         || (status == HttpURLConnection.HTTP_SEE_OTHER)) {
                     // get redirect url from "location" header field
                     String newUrl = connection.getHeaderField("location");
+                    discardResponse((HttpURLConnection) connection);
                     // open the new connnection again
                     connection = new URLDownload(newUrl).openConnection();
                 }
@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.jabref.logic.l10n.Localization;
 
@@ -25,6 +26,14 @@ public class ProtectedTermsLoader {
 
     private final List<ProtectedTermsList> mainList = new ArrayList<>();
 
+    private ProtectedTermsMatcher matcher;
+
+    /**
+     * The number of terms of each list when the matcher was built, or -1 for disabled lists. Used to notice changes of
+     * the lists made without the loader (e.g., enabling a list or adding a term).
+     */
+    private List<Integer> matchedTermCounts = List.of();
+
     static {
         INTERNAL_LISTS.put("/protectedterms/months_weekdays.terms", () -> Localization.lang("Months and weekdays in English"));
         INTERNAL_LISTS.put("/protectedterms/countries_territories.terms", () -> Localization.lang("Countries and territories in English"));
@@ -39,8 +48,9 @@ public class ProtectedTermsLoader {
         return new ArrayList<>(INTERNAL_LISTS.keySet());
     }
 
-    public void update(ProtectedTermsPreferences preferences) {
+    public synchronized void update(ProtectedTermsPreferences preferences) {
         mainList.clear();
+        matcher = null;
 
         // Read internal lists
         for (String filename : preferences.getEnabledInternalTermLists()) {
@@ -92,12 +102,13 @@ public class ProtectedTermsLoader {
         }
     }
 
-    public void reloadProtectedTermsList(ProtectedTermsList list) {
+    public synchronized void reloadProtectedTermsList(ProtectedTermsList list) {
         try {
             ProtectedTermsList newList = readProtectedTermsListFromFile(new File(list.getLocation()), list.isEnabled());
             int index = mainList.indexOf(list);
             if (index >= 0) {
                 mainList.set(index, newList);
+                matcher = null;
             } else {
                 LOGGER.warn("Problem reloading protected terms file");
             }
@@ -110,7 +121,7 @@ public class ProtectedTermsLoader {
         return mainList;
     }
 
-    public List<String> getProtectedTerms() {
+    public synchronized List<String> getProtectedTerms() {
         Set<String> result = new HashSet<>();
         for (ProtectedTermsList list : mainList) {
             if (list.isEnabled()) {
@@ -121,9 +132,24 @@ public class ProtectedTermsLoader {
         return new ArrayList<>(result);
     }
 
-    public void addProtectedTermsListFromFile(String fileName, boolean enabled) {
+    /**
+     * Returns the matcher for the terms of the enabled lists. The matcher is only built again if the lists changed.
+     */
+    public synchronized ProtectedTermsMatcher getProtectedTermsMatcher() {
+        List<Integer> termCounts = mainList.stream()
+                                           .map(list -> list.isEnabled() ? list.getTermList().size() : -1)
+                                           .collect(Collectors.toList());
+        if ((matcher == null) || !termCounts.equals(matchedTermCounts)) {
+            matcher = new ProtectedTermsMatcher(getProtectedTerms());
+            matchedTermCounts = termCounts;
+        }
+        return matcher;
+    }
+
+    public synchronized void addProtectedTermsListFromFile(String fileName, boolean enabled) {
         try {
             mainList.add(readProtectedTermsListFromFile(new File(fileName), enabled));
+            matcher = null;
         } catch (FileNotFoundException e) {
             // The file couldn't be found...
             LOGGER.warn("Cannot find protected terms file " + fileName, e);
@@ -143,18 +169,20 @@ public class ProtectedTermsLoader {
         return parser.getProtectTermsList(enabled, false);
     }
 
-    public boolean removeProtectedTermsList(ProtectedTermsList termList) {
+    public synchronized boolean removeProtectedTermsList(ProtectedTermsList termList) {
         termList.setEnabled(false);
+        matcher = null;
         return mainList.remove(termList);
     }
 
-    public ProtectedTermsList addNewProtectedTermsList(String newDescription, String newLocation, boolean enabled) {
+    public synchronized ProtectedTermsList addNewProtectedTermsList(String newDescription, String newLocation, boolean enabled) {
         Objects.requireNonNull(newDescription);
         Objects.requireNonNull(newLocation);
         ProtectedTermsList resultingList = new ProtectedTermsList(newDescription, new ArrayList<>(), newLocation);
         resultingList.setEnabled(enabled);
         resultingList.createAndWriteHeading(newDescription);
         mainList.add(resultingList);
+        matcher = null;
         return resultingList;
     }
 
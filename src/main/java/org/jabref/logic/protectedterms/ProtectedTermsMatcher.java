@@ -0,0 +1,140 @@
+package org.jabref.logic.protectedterms;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Finds protected terms in a text and encloses them in braces.
+ * <p>
+ * The terms are stored in an Aho-Corasick automaton, which finds all occurrences of all terms in one pass over the text.
+ * Thus, the time needed to protect the terms of a text does not depend on the number of terms.
+ * <p>
+ * A term is only protected if the character before it is a space, -, /, (, [, ", or } (or the term is at the start of
+ * the text) and the character after it is neither a letter nor a } (or the term is at the end of the text). If several
+ * terms start at the same position, the longest one is protected. Overlapping terms are protected from left to right.
+ * The terms are matched literally and case-sensitively.
+ */
+public class ProtectedTermsMatcher {
+
+    private static final String CHARACTERS_BEFORE_TERM = "- /[(}\"";
+
+    private final Node root = new Node();
+
+    public ProtectedTermsMatcher(Collection<String> terms) {
+        for (String term : terms) {
+            if (!term.isEmpty()) {
+                addTerm(term);
+            }
+        }
+        computeFailureLinks();
+    }
+
+    /**
+     * Encloses all protected terms contained in the given text in braces
+     */
+    public String protectTerms(String text) {
+        // The length of the longest term starting at each position, which is not followed by a letter or a }
+        int[] longestTermAt = null;
+
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            node = node.next(text.charAt(i), root);
+            if (!canFollowTerm(text, i + 1)) {
+                continue;
+            }
+            for (Node match = (node.termLength > 0) ? node : node.output; match != null; match = match.output) {
+                if (longestTermAt == null) {
+                    longestTermAt = new int[text.length()];
+                }
+                int start = (i + 1) - match.termLength;
+                longestTermAt[start] = Math.max(longestTermAt[start], match.termLength);
+            }
+        }
+        if (longestTermAt == null) {
+            return text;
+        }
+
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        int i = 0;
+        while (i < text.length()) {
+            int termLength = longestTermAt[i];
+            // The character before a term is taken from the result, as a protected term ends with }
+            if ((termLength > 0) && ((result.length() == 0) || (CHARACTERS_BEFORE_TERM.indexOf(result.charAt(result.length() - 1)) >= 0))) {
+                result.append('{').append(text, i, i + termLength).append('}');
+                i += termLength;
+            } else {
+                result.append(text.charAt(i));
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    private static boolean canFollowTerm(String text, int position) {
+        if (position == text.length()) {
+            return true;
+        }
+        char character = text.charAt(position);
+        return !(((character >= 'a') && (character <= 'z')) || ((character >= 'A') && (character <= 'Z')) || (character == '}'));
+    }
+
+    private void addTerm(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), character -> new Node());
+        }
+        node.termLength = term.length();
+    }
+
+    /**
+     * Computes the failure links (pointing to the node of the longest proper suffix contained in the automaton) and the
+     * output links (pointing to the node of the longest proper suffix which is a term) in breadth-first order
+     */
+    private void computeFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        for (Node child : root.children.values()) {
+            child.failure = root;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.remove();
+            for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                Node failure = node.failure.next(child.getKey(), root);
+                child.getValue().failure = failure;
+                child.getValue().output = (failure.termLength > 0) ? failure : failure.output;
+                queue.add(child.getValue());
+            }
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private Node failure;
+        private Node output;
+
+        /**
+         * The length of the term ending at this node, or 0 if no term ends here
+         */
+        private int termLength;
+
+        /**
+         * Returns the node reached by reading the given character in this node
+         */
+        private Node next(char character, Node root) {
+            Node node = this;
+            while (true) {
+                Node child = node.children.get(character);
+                if (child != null) {
+                    return child;
+                }
+                if (node == root) {
+                    return root;
+                }
+                node = node.failure;
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.jabref.logic.remote.client;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
 
 import javafx.util.Pair;
 
@@ -19,6 +21,11 @@ public class RemoteClient {
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteClient.class);
 
     private static final int TIMEOUT = 200;
+
+    /**
+     * Answering a query may take longer than the other messages, e.g., formatting a citation
+     */
+    private static final int QUERY_TIMEOUT = 5000;
     private final int port;
 
     public RemoteClient(int port) {
@@ -61,9 +68,58 @@ public class RemoteClient {
         }
     }
 
+    /**
+     * Searches the libraries opened in the running JabRef instance.
+     *
+     * @param query the search query, using the same syntax as the search bar
+     * @return the citation keys of the matching entries, or an empty optional if the query could not be answered
+     */
+    public Optional<List<String>> searchLibraries(String query) {
+        return query(RemoteMessage.SEARCH_LIBRARIES, query).map(citationKeys -> List.of((String[]) citationKeys));
+    }
+
+    /**
+     * Gets an entry of the libraries opened in the running JabRef instance.
+     *
+     * @return the entry in BibTeX format, or an empty optional if there is no entry with the given citation key
+     */
+    public Optional<String> getEntry(String citationKey) {
+        return query(RemoteMessage.GET_ENTRY, citationKey).map(String.class::cast);
+    }
+
+    /**
+     * Formats the citation of an entry of the libraries opened in the running JabRef instance using the default
+     * citation style.
+     *
+     * @return the citation as plain text, or an empty optional if there is no entry with the given citation key
+     */
+    public Optional<String> formatCitation(String citationKey) {
+        return query(RemoteMessage.FORMAT_CITATION, citationKey).map(String.class::cast);
+    }
+
+    private Optional<Object> query(RemoteMessage type, String argument) {
+        try (Protocol protocol = openNewConnection(QUERY_TIMEOUT)) {
+            protocol.sendMessage(type, argument);
+            Pair<RemoteMessage, Object> response = protocol.receiveMessage();
+            if (response.getKey() == RemoteMessage.RESULT) {
+                return Optional.ofNullable(response.getValue());
+            } else {
+                LOGGER.debug("Server at port " + port + " could not answer " + type + " " + argument + ": " + response.getValue());
+                return Optional.empty();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not send " + type + " " + argument + " to the server at port " + port, e);
+            return Optional.empty();
+        }
+    }
+
     private Protocol openNewConnection() throws IOException {
+        return openNewConnection(TIMEOUT);
+    }
+
+    private Protocol openNewConnection(int readTimeout) throws IOException {
         Socket socket = new Socket();
-        socket.setSoTimeout(TIMEOUT);
+        socket.setSoTimeout(readTimeout);
         socket.connect(new InetSocketAddress(RemotePreferences.getIpAddress(), port), TIMEOUT);
         return new Protocol(socket);
     }
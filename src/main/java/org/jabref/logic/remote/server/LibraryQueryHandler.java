@@ -0,0 +1,99 @@
+package org.jabref.logic.remote.server;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.jabref.logic.bibtex.BibEntryWriter;
+import org.jabref.logic.bibtex.FieldWriter;
+import org.jabref.logic.bibtex.FieldWriterPreferences;
+import org.jabref.logic.citationstyle.CitationStyle;
+import org.jabref.logic.citationstyle.CitationStyleGenerator;
+import org.jabref.logic.citationstyle.CitationStyleOutputFormat;
+import org.jabref.logic.search.DatabaseSearcher;
+import org.jabref.logic.search.SearchQuery;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+
+/**
+ * Answers the read-only queries of remote clients using the libraries which are currently open.
+ * <p>
+ * The queries are answered on the thread handling the connection, i.e., outside of the JavaFX thread. The libraries are
+ * searched using their {@link org.jabref.logic.search.SearchIndex}, so that repeated queries do not scan all entries.
+ * The library can be changed while answering a query.
+ */
+public class LibraryQueryHandler {
+
+    private final Supplier<List<BibDatabaseContext>> openLibraries;
+    private final BibEntryWriter entryWriter = new BibEntryWriter(new FieldWriter(new FieldWriterPreferences()), new BibEntryTypesManager());
+
+    public LibraryQueryHandler(Supplier<List<BibDatabaseContext>> openLibraries) {
+        this.openLibraries = Objects.requireNonNull(openLibraries);
+    }
+
+    /**
+     * Searches all open libraries.
+     *
+     * @param query the search query, using the same syntax as the search bar
+     * @return the citation keys of the matching entries, in ascending order. Entries without citation key are omitted.
+     */
+    public List<String> findCitationKeys(String query) {
+        SearchQuery searchQuery = new SearchQuery(query, false, false);
+        Set<String> citationKeys = new TreeSet<>();
+        for (BibDatabaseContext library : openLibraries.get()) {
+            for (BibEntry entry : new DatabaseSearcher(searchQuery, library).getMatches()) {
+                entry.getCitationKey().ifPresent(citationKeys::add);
+            }
+        }
+        return new ArrayList<>(citationKeys);
+    }
+
+    /**
+     * Returns the entry with the given citation key in BibTeX format. If several open libraries contain such an entry,
+     * the entry of the library opened first is returned.
+     */
+    public Optional<String> getEntryAsBibtex(String citationKey) {
+        return findEntry(citationKey, (library, entry) -> {
+            StringWriter writer = new StringWriter();
+            try {
+                entryWriter.writeWithoutPrependedNewlines(entry, writer, library.getMode());
+            } catch (IOException e) {
+                // Cannot happen, as a StringWriter does not throw
+                throw new IllegalStateException(e);
+            }
+            return writer.toString();
+        });
+    }
+
+    /**
+     * Formats the citation of the entry with the given citation key using the default citation style.
+     *
+     * @return the citation as plain text
+     */
+    public Optional<String> formatCitation(String citationKey) {
+        return findEntry(citationKey, (library, entry) ->
+                CitationStyleGenerator.generateCitation(entry, CitationStyle.getDefault().getSource(), CitationStyleOutputFormat.TEXT));
+    }
+
+    /**
+     * Applies the given function to the entry with the given citation key of the first open library containing such an
+     * entry. The entry is looked up only once, as it may be removed from the library at any time.
+     */
+    private <T> Optional<T> findEntry(String citationKey, BiFunction<BibDatabaseContext, BibEntry, T> function) {
+        for (BibDatabaseContext library : openLibraries.get()) {
+            Optional<BibEntry> entry = library.getDatabase().getEntryByCitationKey(citationKey);
+            if (entry.isPresent()) {
+                return Optional.of(function.apply(library, entry.get()));
+            }
+        }
+        return Optional.empty();
+    }
+}
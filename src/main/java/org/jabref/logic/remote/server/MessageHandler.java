@@ -1,7 +1,21 @@
 package org.jabref.logic.remote.server;
 
+import java.util.Collections;
+import java.util.List;
+
+import org.jabref.model.database.BibDatabaseContext;
+
 @FunctionalInterface
 public interface MessageHandler {
 
     void handleCommandLineArguments(String[] message);
+
+    /**
+     * Returns the libraries which are currently open. These libraries are used to answer the queries of remote clients
+     * (see {@link LibraryQueryHandler}). This method is called on the threads handling the connections, thus it must not
+     * require to run on the JavaFX thread.
+     */
+    default List<BibDatabaseContext> getOpenLibraries() {
+        return Collections.emptyList();
+    }
 }
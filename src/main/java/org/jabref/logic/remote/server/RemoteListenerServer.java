@@ -4,6 +4,10 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javafx.util.Pair;
 
@@ -14,31 +18,54 @@ import org.jabref.logic.remote.shared.RemoteMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Accepts the connections of remote clients and handles each connection on a thread of a pool, so that several clients
+ * are served at the same time. Command line arguments are handled one after another, because they change the state of
+ * the application. The read-only queries are answered concurrently (see {@link LibraryQueryHandler}).
+ */
 public class RemoteListenerServer implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteListenerServer.class);
 
-    private static final int BACKLOG = 1;
+    private static final int BACKLOG = 50;
 
     private static final int TIMEOUT = 1000;
 
+    /**
+     * The maximal number of connections handled at the same time. Further connections wait until a thread is free.
+     */
+    private static final int MAX_CONNECTIONS = 8;
+
     private final MessageHandler messageHandler;
+    private final LibraryQueryHandler queryHandler;
     private final ServerSocket serverSocket;
+    private final ThreadPoolExecutor connectionExecutor;
 
     public RemoteListenerServer(MessageHandler messageHandler, int port) throws IOException {
         this.serverSocket = new ServerSocket(port, BACKLOG, RemotePreferences.getIpAddress());
         this.messageHandler = messageHandler;
+        this.queryHandler = new LibraryQueryHandler(messageHandler::getOpenLibraries);
+        this.connectionExecutor = new ThreadPoolExecutor(MAX_CONNECTIONS, MAX_CONNECTIONS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("JabRef - Remote Listener Connection on port " + port);
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Do not keep idle threads, as remote clients connect only rarely
+        this.connectionExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Override
     public void run() {
         try {
             while (!Thread.interrupted()) {
-                try (Socket socket = serverSocket.accept()) {
-                    socket.setSoTimeout(TIMEOUT);
-
-                    try (Protocol protocol = new Protocol(socket)) {
-                        Pair<RemoteMessage, Object> input = protocol.receiveMessage();
-                        handleMessage(protocol, input.getKey(), input.getValue());
+                try {
+                    Socket socket = serverSocket.accept();
+                    try {
+                        connectionExecutor.execute(() -> handleConnection(socket));
+                    } catch (RejectedExecutionException e) {
+                        // The server was closed in the meantime
+                        socket.close();
+                        return;
                     }
                 } catch (SocketException ex) {
                     return;
@@ -51,6 +78,25 @@ public class RemoteListenerServer implements Runnable {
         }
     }
 
+    private void handleConnection(Socket socket) {
+        try (socket) {
+            socket.setSoTimeout(TIMEOUT);
+
+            try (Protocol protocol = new Protocol(socket)) {
+                Pair<RemoteMessage, Object> input = protocol.receiveMessage();
+                try {
+                    handleMessage(protocol, input.getKey(), input.getValue());
+                } catch (RuntimeException e) {
+                    // Answer the client instead of letting it wait for the timeout
+                    LOGGER.warn("Could not handle message of remote client", e);
+                    protocol.sendMessage(RemoteMessage.ERROR, "Could not handle " + input.getKey() + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not handle message of remote client", e);
+        }
+    }
+
     private void handleMessage(Protocol protocol, RemoteMessage type, Object argument) throws IOException {
         switch (type) {
             case PING:
@@ -58,18 +104,53 @@ public class RemoteListenerServer implements Runnable {
                 break;
             case SEND_COMMAND_LINE_ARGUMENTS:
                 if (argument instanceof String[]) {
-                    messageHandler.handleCommandLineArguments((String[]) argument);
+                    synchronized (messageHandler) {
+                        messageHandler.handleCommandLineArguments((String[]) argument);
+                    }
                     protocol.sendMessage(RemoteMessage.OK);
                 } else {
                     throw new IOException("Argument for 'SEND_COMMAND_LINE_ARGUMENTS' is not of type String[]. Got " + argument);
                 }
                 break;
+            case SEARCH_LIBRARIES:
+            case GET_ENTRY:
+            case FORMAT_CITATION:
+                if (argument instanceof String) {
+                    answerQuery(protocol, type, (String) argument);
+                } else {
+                    throw new IOException("Argument for '" + type + "' is not of type String. Got " + argument);
+                }
+                break;
             default:
                 throw new IOException("Unhandled message to server " + type);
         }
     }
 
+    private void answerQuery(Protocol protocol, RemoteMessage type, String argument) throws IOException {
+        Object result;
+        switch (type) {
+            case SEARCH_LIBRARIES:
+                result = queryHandler.findCitationKeys(argument).toArray(new String[0]);
+                break;
+            case GET_ENTRY:
+                result = queryHandler.getEntryAsBibtex(argument).orElse(null);
+                break;
+            case FORMAT_CITATION:
+                result = queryHandler.formatCitation(argument).orElse(null);
+                break;
+            default:
+                throw new IOException("Unhandled query to server " + type);
+        }
+
+        if (result == null) {
+            protocol.sendMessage(RemoteMessage.ERROR, "No entry with citation key " + argument);
+        } else {
+            protocol.sendMessage(RemoteMessage.RESULT, result);
+        }
+    }
+
     public void closeServerSocket() {
+        connectionExecutor.shutdownNow();
         try {
             serverSocket.close();
         } catch (IOException ignored) {
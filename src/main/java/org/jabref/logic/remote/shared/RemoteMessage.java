@@ -16,5 +16,30 @@ public enum RemoteMessage {
     /**
      * Request server to identify itself. No message content.
      */
-    PING
+    PING,
+    /**
+     * Search the open libraries. The message content is the search query of type {@code String}. Answered by {@link
+     * #RESULT} with the citation keys of the matching entries of type {@code String[]}.
+     */
+    SEARCH_LIBRARIES,
+    /**
+     * Request an entry of the open libraries. The message content is the citation key of type {@code String}. Answered
+     * by {@link #RESULT} with the entry in BibTeX format of type {@code String}.
+     */
+    GET_ENTRY,
+    /**
+     * Request the citation of an entry of the open libraries in the default citation style. The message content is the
+     * citation key of type {@code String}. Answered by {@link #RESULT} with the citation as plain text of type {@code
+     * String}.
+     */
+    FORMAT_CITATION,
+    /**
+     * Response to a query. The type of the message content depends on the query.
+     */
+    RESULT,
+    /**
+     * Response signaling that a query could not be answered. The message content is a description of type {@code
+     * String}.
+     */
+    ERROR
 }
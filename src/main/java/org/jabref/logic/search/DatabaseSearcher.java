@@ -6,6 +6,7 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.BibDatabases;
 import org.jabref.model.entry.BibEntry;
 
@@ -18,10 +19,21 @@ public class DatabaseSearcher {
     private final SearchQuery query;
 
     private final BibDatabase database;
+    private final SearchIndex searchIndex;
 
     public DatabaseSearcher(SearchQuery query, BibDatabase database) {
         this.query = Objects.requireNonNull(query);
         this.database = Objects.requireNonNull(database);
+        this.searchIndex = null;
+    }
+
+    /**
+     * Searches the library of the given context using its {@link SearchIndex}
+     */
+    public DatabaseSearcher(SearchQuery query, BibDatabaseContext databaseContext) {
+        this.query = Objects.requireNonNull(query);
+        this.database = databaseContext.getDatabase();
+        this.searchIndex = databaseContext.getSearchIndex();
     }
 
     public List<BibEntry> getMatches() {
@@ -32,7 +44,12 @@ public class DatabaseSearcher {
             return Collections.emptyList();
         }
 
-        List<BibEntry> matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
+        List<BibEntry> matchEntries;
+        if (searchIndex == null) {
+            matchEntries = database.getEntries().stream().filter(query::isMatch).collect(Collectors.toList());
+        } else {
+            matchEntries = searchIndex.getMatches(query);
+        }
         return BibDatabases.purgeEmptyEntries(matchEntries);
     }
 }
@@ -0,0 +1,52 @@
+package org.jabref.logic.search;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.jabref.model.entry.BibEntry;
+
+/**
+ * Evaluates a matcher for a list of entries in parallel.
+ * <p>
+ * The entries are split into chunks of {@link #CHUNK_SIZE} entries, which are matched in parallel. As the chunk size is
+ * a multiple of 64, every chunk writes distinct words of the resulting bit set, so the chunks do not need to be
+ * synchronized.
+ */
+public class ParallelEntryMatcher {
+
+    private static final int CHUNK_SIZE = 64 * 16;
+
+    private ParallelEntryMatcher() {
+    }
+
+    /**
+     * Evaluates the given matcher for all given entries. The matcher has to be thread-safe.
+     *
+     * @param isCanceled checked between two chunks. If it returns true, the matching is stopped.
+     * @return the positions of the matched entries in the given list
+     * @throws CancellationException if the matching was canceled
+     */
+    public static BitSet match(List<BibEntry> entries, Predicate<BibEntry> matcher, BooleanSupplier isCanceled) {
+        long[] words = new long[(entries.size() + 63) / 64];
+        int chunks = (entries.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            if (isCanceled.getAsBoolean()) {
+                return;
+            }
+            int end = Math.min(entries.size(), (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                if (matcher.test(entries.get(i))) {
+                    words[i / 64] |= 1L << (i % 64);
+                }
+            }
+        });
+        if (isCanceled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+        return BitSet.valueOf(words);
+    }
+}
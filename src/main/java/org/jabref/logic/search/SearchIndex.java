@@ -0,0 +1,435 @@
+package org.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.Field;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.search.rules.ContainBasedSearchRule;
+import org.jabref.model.search.rules.GrammarBasedSearchRule;
+import org.jabref.model.search.rules.SentenceAnalyzer;
+import org.jabref.search.SearchBaseVisitor;
+import org.jabref.search.SearchParser;
+
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Incremental inverted index over the LaTeX-free field values of one library.
+ * <p>
+ * Every field value is split into terms (maximal runs of letters and digits, case folded). For each field the index
+ * keeps the entries containing a term, and for each term all its substrings of up to {@link #GRAM_LENGTH} characters
+ * are indexed. A query word matches an entry only if every term of the word is a substring of a term of that entry,
+ * so the index can hand out a (small) superset of the matching entries without looking at the other entries. The
+ * candidates are then verified by the {@link SearchQuery} itself, which keeps the results identical to a full scan.
+ * <p>
+ * The index is kept up to date by listening to the events of the {@link BibDatabase}. The listeners only record the
+ * changed entries (holding a lock for a moment), and the changes are applied to the index by the next query. Thus,
+ * changing an entry on the JavaFX thread never waits for a query running in the background.
+ */
+public class SearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private enum ChangeType {
+        ADDED, CHANGED, REMOVED
+    }
+
+    private final BibDatabase database;
+
+    private final Map<Field, Map<String, Set<BibEntry>>> postings = new HashMap<>();
+    private final Map<BibEntry, Map<Field, Set<String>>> termsByEntry = new IdentityHashMap<>();
+    private final Map<String, Integer> termOccurrences = new HashMap<>();
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+
+    /**
+     * Insertion number of each indexed entry. The library only appends entries, so ordering by this number yields the
+     * library order without looking at the other entries.
+     */
+    private final Map<BibEntry, Long> positions = new IdentityHashMap<>();
+
+    /**
+     * The changes not yet applied to the index. Guarded by its own monitor (and not by the monitor of the index), see
+     * {@link #recordChange(BibEntry, ChangeType)}.
+     */
+    private final Map<BibEntry, PendingChange> pendingChanges = new IdentityHashMap<>();
+    private long nextPosition;
+
+    public SearchIndex(BibDatabase database) {
+        this.database = Objects.requireNonNull(database);
+        // The library cannot change in between, so no entry is missed or recorded twice
+        synchronized (database) {
+            database.registerListener(this);
+            database.getEntries().forEach(entry -> recordChange(entry, ChangeType.ADDED));
+        }
+    }
+
+    /**
+     * Returns all entries of the library matching the given query. The returned list is in library order.
+     */
+    public synchronized List<BibEntry> getMatches(SearchQuery query) {
+        Optional<Set<BibEntry>> candidates = getCandidates(query);
+        if (candidates.isEmpty()) {
+            List<BibEntry> entries;
+            // The library may be changed by another thread, thus copy the entries while holding its lock
+            synchronized (database) {
+                entries = new ArrayList<>(database.getEntries());
+            }
+            return entries.stream()
+                          .filter(query::isMatch)
+                          .collect(Collectors.toList());
+        }
+        return candidates.get().stream()
+                         .filter(positions::containsKey)
+                         .sorted(Comparator.comparingLong(positions::get))
+                         .filter(query::isMatch)
+                         .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a superset of the entries matched by the given query, or an empty optional if the index cannot narrow
+     * down the query (e.g., for regular expressions or negations). In the latter case, all entries are candidates.
+     */
+    public synchronized Optional<Set<BibEntry>> getCandidates(SearchQuery query) {
+        applyPendingChanges();
+        if (!query.isValid() || query.isRegularExpression()) {
+            return Optional.empty();
+        }
+        if (query.getRule() instanceof ContainBasedSearchRule) {
+            return getCandidatesForWords(query.getQuery());
+        }
+        if (query.getRule() instanceof GrammarBasedSearchRule) {
+            GrammarBasedSearchRule rule = (GrammarBasedSearchRule) query.getRule();
+            return new CandidateVisitor(rule.isCaseSensitiveSearch()).visit(rule.getTree());
+        }
+        return Optional.empty();
+    }
+
+    @Subscribe
+    public void listen(EntriesAddedEvent event) {
+        event.getBibEntries().forEach(entry -> recordChange(entry, ChangeType.ADDED));
+    }
+
+    @Subscribe
+    public void listen(EntriesRemovedEvent event) {
+        event.getBibEntries().forEach(entry -> recordChange(entry, ChangeType.REMOVED));
+    }
+
+    @Subscribe
+    public void listen(FieldChangedEvent event) {
+        Field field = event.getField();
+        if ((field == InternalField.INTERNAL_ID_FIELD) || (field == InternalField.TYPE_HEADER)) {
+            return;
+        }
+        recordChange(event.getBibEntry(), ChangeType.CHANGED);
+    }
+
+    /**
+     * Records a change of the library. Added entries get their position right away, because the library appends them
+     * in the order of the events. A change does not replace an earlier addition or removal of the same entry, as the
+     * entry is indexed from scratch (or removed) anyway.
+     */
+    private void recordChange(BibEntry entry, ChangeType type) {
+        synchronized (pendingChanges) {
+            if (type == ChangeType.CHANGED) {
+                pendingChanges.putIfAbsent(entry, new PendingChange(type, -1));
+            } else {
+                long position = (type == ChangeType.ADDED) ? nextPosition++ : -1;
+                pendingChanges.put(entry, new PendingChange(type, position));
+            }
+        }
+    }
+
+    /**
+     * Brings the index up to date with the recorded changes. Has to be called while holding the monitor of the index.
+     */
+    private void applyPendingChanges() {
+        Map<BibEntry, PendingChange> changes;
+        synchronized (pendingChanges) {
+            if (pendingChanges.isEmpty()) {
+                return;
+            }
+            changes = new IdentityHashMap<>(pendingChanges);
+            pendingChanges.clear();
+        }
+
+        changes.forEach((entry, change) -> {
+            switch (change.type) {
+                case ADDED -> addEntry(entry, change.position);
+                case REMOVED -> removeEntry(entry);
+                case CHANGED -> {
+                    // Entries which are not part of the library are not indexed
+                    Long position = positions.get(entry);
+                    if (position != null) {
+                        addEntry(entry, position);
+                    }
+                }
+            }
+        });
+    }
+
+    private void addEntry(BibEntry entry, long position) {
+        removeEntry(entry);
+        Map<Field, Set<String>> entryTerms = new HashMap<>();
+        termsByEntry.put(entry, entryTerms);
+        positions.put(entry, position);
+        for (Field field : entry.getFields()) {
+            addField(entry, field, entryTerms);
+        }
+    }
+
+    private void removeEntry(BibEntry entry) {
+        Map<Field, Set<String>> entryTerms = termsByEntry.remove(entry);
+        if (entryTerms == null) {
+            return;
+        }
+        positions.remove(entry);
+        entryTerms.forEach((field, terms) -> removeField(entry, field, terms));
+    }
+
+    private void addField(BibEntry entry, Field field, Map<Field, Set<String>> entryTerms) {
+        Optional<String> value = entry.getLatexFreeField(field);
+        if (value.isEmpty()) {
+            return;
+        }
+        Set<String> terms = Set.copyOf(tokenize(value.get()));
+        entryTerms.put(field, terms);
+        Map<String, Set<BibEntry>> fieldPostings = postings.computeIfAbsent(field, key -> new HashMap<>());
+        for (String term : terms) {
+            fieldPostings.computeIfAbsent(term, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(entry);
+            if (termOccurrences.merge(term, 1, Integer::sum) == 1) {
+                forEachGram(term, gram -> termsByGram.computeIfAbsent(gram, key -> new HashSet<>()).add(term));
+            }
+        }
+    }
+
+    private void removeField(BibEntry entry, Field field, Set<String> terms) {
+        if (terms == null) {
+            return;
+        }
+        Map<String, Set<BibEntry>> fieldPostings = postings.get(field);
+        for (String term : terms) {
+            Set<BibEntry> entries = fieldPostings.get(term);
+            entries.remove(entry);
+            if (entries.isEmpty()) {
+                fieldPostings.remove(term);
+            }
+            if (termOccurrences.merge(term, -1, Integer::sum) == 0) {
+                termOccurrences.remove(term);
+                forEachGram(term, gram -> {
+                    Set<String> gramTerms = termsByGram.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        termsByGram.remove(gram);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Candidates for a contain-based search: all words have to occur somewhere in the entry.
+     */
+    private Optional<Set<BibEntry>> getCandidatesForWords(String query) {
+        Optional<Set<BibEntry>> result = Optional.empty();
+        for (String word : new SentenceAnalyzer(query).getWords()) {
+            result = intersect(result, getCandidatesForValue(postings.keySet(), word));
+        }
+        return result;
+    }
+
+    /**
+     * Candidates containing the given value as substring in one of the given fields
+     */
+    private Optional<Set<BibEntry>> getCandidatesForValue(Collection<Field> fields, String value) {
+        Optional<Set<BibEntry>> result = Optional.empty();
+        for (String piece : tokenize(value)) {
+            Set<BibEntry> entries = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (String term : getTermsContaining(piece)) {
+                for (Field field : fields) {
+                    Set<BibEntry> fieldEntries = postings.getOrDefault(field, Collections.emptyMap()).get(term);
+                    if (fieldEntries != null) {
+                        entries.addAll(fieldEntries);
+                    }
+                }
+            }
+            result = intersect(result, Optional.of(entries));
+        }
+        return result;
+    }
+
+    private Collection<String> getTermsContaining(String piece) {
+        if (piece.length() <= GRAM_LENGTH) {
+            return termsByGram.getOrDefault(piece, Collections.emptySet());
+        }
+
+        Set<String> smallest = null;
+        for (int i = 0; i <= (piece.length() - GRAM_LENGTH); i++) {
+            Set<String> gramTerms = termsByGram.getOrDefault(piece.substring(i, i + GRAM_LENGTH), Collections.emptySet());
+            if ((smallest == null) || (gramTerms.size() < smallest.size())) {
+                smallest = gramTerms;
+            }
+        }
+        return smallest.stream().filter(term -> term.contains(piece)).collect(Collectors.toList());
+    }
+
+    private Collection<Field> getFieldsByName(String name, boolean caseSensitive) {
+        if ("anyfield".equalsIgnoreCase(name)) {
+            return postings.keySet();
+        }
+        return postings.keySet().stream()
+                       .filter(field -> caseSensitive ? field.getName().equals(name) : field.getName().equalsIgnoreCase(name))
+                       .collect(Collectors.toList());
+    }
+
+    /**
+     * An empty optional stands for "all entries"
+     */
+    private static Optional<Set<BibEntry>> intersect(Optional<Set<BibEntry>> first, Optional<Set<BibEntry>> second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        if (second.isEmpty()) {
+            return first;
+        }
+        Set<BibEntry> smaller = first.get().size() <= second.get().size() ? first.get() : second.get();
+        Set<BibEntry> larger = smaller == first.get() ? second.get() : first.get();
+        Set<BibEntry> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BibEntry entry : smaller) {
+            if (larger.contains(entry)) {
+                result.add(entry);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private static Optional<Set<BibEntry>> union(Optional<Set<BibEntry>> first, Optional<Set<BibEntry>> second) {
+        if (first.isEmpty() || second.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<BibEntry> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.addAll(first.get());
+        result.addAll(second.get());
+        return Optional.of(result);
+    }
+
+    private static void forEachGram(String term, Consumer<String> consumer) {
+        for (int start = 0; start < term.length(); start++) {
+            for (int end = start + 1; (end <= term.length()) && (end - start <= GRAM_LENGTH); end++) {
+                consumer.accept(term.substring(start, end));
+            }
+        }
+    }
+
+    /**
+     * Splits the text into terms consisting of letters and digits only. The characters are folded one by one (and not
+     * by {@link String#toLowerCase()}) so that a substring of a text is always folded to a substring of the folded text.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(Character.toUpperCase(c)));
+            } else if (term.length() > 0) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (term.length() > 0) {
+            terms.add(term.toString());
+        }
+        return terms;
+    }
+
+    private static class PendingChange {
+
+        private final ChangeType type;
+        private final long position;
+
+        PendingChange(ChangeType type, long position) {
+            this.type = type;
+            this.position = position;
+        }
+    }
+
+    /**
+     * Computes the candidates of a query of the advanced search mode. Negations and regular expressions cannot be
+     * narrowed down and yield an empty optional ("all entries").
+     */
+    private class CandidateVisitor extends SearchBaseVisitor<Optional<Set<BibEntry>>> {
+
+        private final boolean caseSensitive;
+
+        CandidateVisitor(boolean caseSensitive) {
+            this.caseSensitive = caseSensitive;
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitStart(SearchParser.StartContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitComparison(SearchParser.ComparisonContext context) {
+            String right = context.right.getText();
+            if (right.startsWith("\"") && right.endsWith("\"")) {
+                right = right.substring(1, right.length() - 1);
+            }
+
+            if (context.left == null) {
+                return getCandidatesForWords(right);
+            }
+
+            String field = context.left.getText();
+            GrammarBasedSearchRule.ComparisonOperator operator = GrammarBasedSearchRule.ComparisonOperator.build(context.operator.getText());
+            if ((operator == GrammarBasedSearchRule.ComparisonOperator.DOES_NOT_CONTAIN)
+                    || InternalField.TYPE_HEADER.getName().equalsIgnoreCase(field)
+                    || "anykeyword".equalsIgnoreCase(field)) {
+                return Optional.empty();
+            }
+            return getCandidatesForValue(getFieldsByName(field, caseSensitive), right);
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitUnaryExpression(SearchParser.UnaryExpressionContext ctx) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitParenExpression(SearchParser.ParenExpressionContext ctx) {
+            return visit(ctx.expression());
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitAtomExpression(SearchParser.AtomExpressionContext ctx) {
+            return visit(ctx.comparison());
+        }
+
+        @Override
+        public Optional<Set<BibEntry>> visitBinaryExpression(SearchParser.BinaryExpressionContext ctx) {
+            if ("AND".equalsIgnoreCase(ctx.operator.getText())) {
+                return intersect(visit(ctx.left), visit(ctx.right));
+            } else {
+                return union(visit(ctx.left), visit(ctx.right));
+            }
+        }
+    }
+}
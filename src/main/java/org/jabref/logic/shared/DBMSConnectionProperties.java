@@ -148,6 +148,12 @@ public class DBMSConnectionProperties implements DatabaseConnectionProperties {
         if (allowPublicKeyRetrieval) {
             props.setProperty("allowPublicKeyRetrieval", Boolean.toString(allowPublicKeyRetrieval));
         }
+        // let the driver send a JDBC batch as multi-row statements, see DBMSProcessor#updateEntries
+        if (type == DBMSType.MYSQL) {
+            props.setProperty("rewriteBatchedStatements", "true");
+        } else if (type == DBMSType.POSTGRESQL) {
+            props.setProperty("reWriteBatchedInserts", "true");
+        }
         return props;
     }
 
@@ -31,6 +31,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Processes all incoming or outgoing bib data to external SQL Database and manages its structure.
+ * <p>
+ * The processor is used by several threads (e.g., pushing local changes and pulling shared ones), which share one
+ * connection. A transaction spans several calls on the connection, thus all methods using the connection hold the
+ * monitor of the processor. Otherwise, a commit or rollback of one thread would end the transaction of another one.
  */
 public abstract class DBMSProcessor {
 
@@ -38,10 +42,50 @@ public abstract class DBMSProcessor {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(DBMSProcessor.class);
 
+    /**
+     * Upper bound of the number of parameters of one statement. Oracle does not allow more than 1000 expressions in an
+     * IN list.
+     */
+    private static final int MAX_PARAMETERS_PER_STATEMENT = 500;
+    private static final int MAX_STATEMENTS_PER_BATCH = 1000;
+
+    /**
+     * Number of rows fetched per round trip when reading entries. Bounds the memory needed for large result sets.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * The row of the ENTRY_CHANGE table holding the last assigned change number. Shared IDs start with 1.
+     */
+    private static final int CHANGE_COUNTER_ID = 0;
+
+    /**
+     * The key of the row of the METADATA table holding the version of the structure of the shared database. The row is
+     * not part of the meta data of the library.
+     */
+    static final String STRUCTURE_VERSION_KEY = "VersionDBStructure";
+
+    /**
+     * From this structure version on, all clients record their changes in the ENTRY_CHANGE table. Shared databases
+     * without structure version were created by older versions of JabRef, whose clients may still change entries
+     * without recording the changes.
+     * <p>
+     * Existing shared databases are deliberately not upgraded: a client cannot tell whether clients of older versions
+     * are still connected. Thus, only shared databases created with this version fetch the changes.
+     */
+    static final int ENTRY_CHANGE_STRUCTURE_VERSION = 1;
+
     protected final Connection connection;
 
     protected DatabaseConnectionProperties connectionProperties;
 
+    private boolean entryChangeTableAvailable;
+
+    /**
+     * Whether all clients record their changes, so that the changes can be fetched instead of comparing all entries
+     */
+    private boolean entryChangesComplete;
+
     protected DBMSProcessor(DatabaseConnection dbmsConnection) {
         this.connection = dbmsConnection.getConnection();
         this.connectionProperties = dbmsConnection.getProperties();
@@ -53,7 +97,7 @@ public abstract class DBMSProcessor {
      * @return <code>true</code> if the structure matches the requirements, <code>false</code> if not.
      * @throws SQLException
      */
-    public boolean checkBaseIntegrity() throws SQLException {
+    public synchronized boolean checkBaseIntegrity() throws SQLException {
         return checkTableAvailability("ENTRY", "FIELD", "METADATA");
     }
 
@@ -62,7 +106,7 @@ public abstract class DBMSProcessor {
      *
      * @return <code>true</code> if the structure is old, else <code>false</code>.
      */
-    public boolean databaseIsAtMostJabRef35() throws SQLException {
+    public synchronized boolean databaseIsAtMostJabRef35() throws SQLException {
         return checkTableAvailability(
                 "ENTRIES",
                 "ENTRY_GROUP",
@@ -102,15 +146,114 @@ public abstract class DBMSProcessor {
      *
      * @throws SQLException
      */
-    public void setupSharedDatabase() throws SQLException {
+    public synchronized void setupSharedDatabase() throws SQLException {
+        boolean isNewDatabase = !checkTableAvailability("ENTRY");
         setUp();
 
         if (!checkBaseIntegrity()) {
             // can only happen with users direct intervention on shared database
             LOGGER.error("Corrupt_shared_database_structure.");
         }
+        if (isNewDatabase) {
+            // Clients of older versions did not use this database, thus every change will be recorded
+            setStructureVersion(ENTRY_CHANGE_STRUCTURE_VERSION);
+        }
+        setUpEntryChangeTable();
+    }
+
+    /**
+     * Returns the version of the structure of the shared database, or 0 if the database was created by an older version
+     * of JabRef
+     */
+    synchronized int getStructureVersion() throws SQLException {
+        StringBuilder selectQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("VALUE"))
+                .append(" FROM ")
+                .append(escape("METADATA"))
+                .append(" WHERE ")
+                .append(escape("KEY"))
+                .append(" = ?");
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectQuery.toString())) {
+            preparedStatement.setString(1, STRUCTURE_VERSION_KEY);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return 0;
+                }
+                try {
+                    return Integer.parseInt(resultSet.getString("VALUE").trim());
+                } catch (NumberFormatException e) {
+                    LOGGER.warn("Invalid structure version of the shared database", e);
+                    return 0;
+                }
+            }
+        }
+    }
+
+    private void setStructureVersion(int version) throws SQLException {
+        setSharedMetaData(Map.of(STRUCTURE_VERSION_KEY, String.valueOf(version)));
+    }
+
+    /**
+     * Creates the ENTRY_CHANGE table if needed. Shared databases created by older versions of JabRef do not have it.
+     * <p>
+     * The table maps each shared ID to the number of the last change of the entry (including its removal). Change
+     * numbers increase monotonically, thus clients can fetch the changes since their last synchronization (see {@link
+     * #getSharedEntryChanges(int)}) instead of comparing all entries. If the table cannot be created, changes are not
+     * recorded and clients have to compare all entries.
+     * <p>
+     * Changes are always recorded, but only fetched if the structure version of the database guarantees that all
+     * clients record their changes (see {@link #ENTRY_CHANGE_STRUCTURE_VERSION}). Otherwise, clients of older versions
+     * may be connected, and all entries are compared.
+     */
+    public synchronized void setUpEntryChangeTable() {
+        try {
+            if (!checkTableAvailability("ENTRY_CHANGE")) {
+                createEntryChangeTable();
+            }
+            if (getLatestChangeNumberFromTable() < 0) {
+                StringBuilder insertCounterQuery = new StringBuilder()
+                        .append("INSERT INTO ")
+                        .append(escape("ENTRY_CHANGE"))
+                        .append("(")
+                        .append(escape("SHARED_ID"))
+                        .append(", ")
+                        .append(escape("CHANGE_NUMBER"))
+                        .append(") VALUES(?, 0)");
+                try (PreparedStatement preparedStatement = connection.prepareStatement(insertCounterQuery.toString())) {
+                    preparedStatement.setInt(1, CHANGE_COUNTER_ID);
+                    preparedStatement.executeUpdate();
+                }
+            }
+            entryChangeTableAvailable = true;
+        } catch (SQLException e) {
+            // another client might have set up the table at the same time
+            try {
+                entryChangeTableAvailable = getLatestChangeNumberFromTable() >= 0;
+            } catch (SQLException exception) {
+                entryChangeTableAvailable = false;
+            }
+            if (!entryChangeTableAvailable) {
+                LOGGER.warn("Could not set up the ENTRY_CHANGE table. Synchronizing all entries instead.", e);
+            }
+        }
+
+        try {
+            entryChangesComplete = entryChangeTableAvailable && (getStructureVersion() >= ENTRY_CHANGE_STRUCTURE_VERSION);
+        } catch (SQLException e) {
+            LOGGER.warn("Could not read the structure version of the shared database. Synchronizing all entries instead.", e);
+            entryChangesComplete = false;
+        }
+        if (entryChangeTableAvailable && !entryChangesComplete) {
+            LOGGER.info("The shared database was created by an older version of JabRef, whose clients do not record their changes. Synchronizing all entries.");
+        }
     }
 
+    /**
+     * Creates the ENTRY_CHANGE table and an index on its CHANGE_NUMBER column according to the database type.
+     */
+    protected abstract void createEntryChangeTable() throws SQLException;
+
     /**
      * Creates and sets up the needed tables and columns according to the database type.
      *
@@ -134,7 +277,7 @@ public abstract class DBMSProcessor {
      *
      * @param bibEntry {@link BibEntry} to be inserted.
      */
-    public void insertEntry(BibEntry bibEntry) {
+    public synchronized void insertEntry(BibEntry bibEntry) {
         insertEntries(Collections.singletonList(bibEntry));
     }
 
@@ -143,13 +286,28 @@ public abstract class DBMSProcessor {
      *
      * @param bibEntries List of {@link BibEntry} to be inserted
      */
-    public void insertEntries(List<BibEntry> bibEntries) {
+    public synchronized void insertEntries(List<BibEntry> bibEntries) {
         List<BibEntry> notYetExistingEntries = getNotYetExistingEntries(bibEntries);
         if (notYetExistingEntries.isEmpty()) {
             return;
         }
-        insertIntoEntryTable(notYetExistingEntries);
-        insertIntoFieldTable(notYetExistingEntries);
+        try {
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+            try {
+                int changeNumber = lockNextChangeNumber();
+                insertIntoEntryTable(notYetExistingEntries);
+                insertIntoFieldTable(notYetExistingEntries);
+                recordChanges(getSharedIDs(notYetExistingEntries), changeNumber);
+                connection.commit(); // apply all changes in current transaction
+            } catch (SQLException e) {
+                connection.rollback(); // undo changes made in current transaction
+                throw e;
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
+            }
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error: ", e);
+        }
     }
 
     /**
@@ -287,10 +445,11 @@ public abstract class DBMSProcessor {
      * @param localBibEntry {@link BibEntry} affected by changes
      * @throws SQLException
      */
-    public void updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
+    public synchronized void updateEntry(BibEntry localBibEntry) throws OfflineLockException, SQLException {
         connection.setAutoCommit(false); // disable auto commit due to transaction
 
         try {
+            int changeNumber = lockNextChangeNumber();
             Optional<BibEntry> sharedEntryOptional = getSharedEntry(localBibEntry.getSharedBibEntryData().getSharedID());
 
             if (!sharedEntryOptional.isPresent()) {
@@ -327,6 +486,7 @@ public abstract class DBMSProcessor {
                     preparedUpdateEntryTypeStatement.setInt(2, localBibEntry.getSharedBibEntryData().getSharedID());
                     preparedUpdateEntryTypeStatement.executeUpdate();
                 }
+                recordChanges(Collections.singletonList(localBibEntry.getSharedBibEntryData().getSharedID()), changeNumber);
 
                 connection.commit(); // apply all changes in current transaction
             } else {
@@ -340,6 +500,220 @@ public abstract class DBMSProcessor {
         }
     }
 
+    /**
+     * Updates the given {@link BibEntry}s on the shared database in one transaction. The statements are sent as JDBC
+     * batches, thus the number of round trips does not depend on the number of entries and fields.
+     * <p>
+     * As in {@link #updateEntry(BibEntry)}, an entry is only updated if its local version is not older than the shared
+     * one or if both entries are equal. The shared versions are locked until the transaction is committed. After the
+     * update, the local versions are set to the new shared versions.
+     *
+     * @param localBibEntries {@link BibEntry}s affected by changes
+     * @return the refused updates of entries which were changed on the shared database in the meantime
+     */
+    public synchronized List<OfflineLockException> updateEntries(List<BibEntry> localBibEntries) throws SQLException {
+        Objects.requireNonNull(localBibEntries);
+        List<OfflineLockException> refusedUpdates = new ArrayList<>();
+        if (localBibEntries.isEmpty()) {
+            return refusedUpdates;
+        }
+
+        connection.setAutoCommit(false); // disable auto commit due to transaction
+        try {
+            // Lock the change counter first to always acquire the locks in the same order
+            int changeNumber = lockNextChangeNumber();
+            Map<Integer, Integer> sharedVersions = getSharedVersionsForUpdate(localBibEntries);
+
+            List<BibEntry> entriesToUpdate = new ArrayList<>();
+            List<BibEntry> outdatedEntries = new ArrayList<>();
+            for (BibEntry localBibEntry : localBibEntries) {
+                Integer sharedVersion = sharedVersions.get(localBibEntry.getSharedBibEntryData().getSharedID());
+                if (sharedVersion == null) {
+                    continue;
+                }
+                if (localBibEntry.getSharedBibEntryData().getVersion() >= sharedVersion) {
+                    entriesToUpdate.add(localBibEntry);
+                } else {
+                    outdatedEntries.add(localBibEntry);
+                }
+            }
+
+            if (!outdatedEntries.isEmpty()) {
+                // outdated entries are updated if they are equal to the shared ones anyway
+                Map<Integer, BibEntry> sharedEntries = new HashMap<>();
+                for (BibEntry sharedEntry : getSharedEntries(getSharedIDs(outdatedEntries))) {
+                    sharedEntries.put(sharedEntry.getSharedBibEntryData().getSharedID(), sharedEntry);
+                }
+                for (BibEntry localBibEntry : outdatedEntries) {
+                    BibEntry sharedBibEntry = sharedEntries.get(localBibEntry.getSharedBibEntryData().getSharedID());
+                    if (localBibEntry.equals(sharedBibEntry)) {
+                        entriesToUpdate.add(localBibEntry);
+                    } else if (sharedBibEntry != null) {
+                        refusedUpdates.add(new OfflineLockException(localBibEntry, sharedBibEntry));
+                    }
+                }
+            }
+
+            if (!entriesToUpdate.isEmpty()) {
+                removeFieldsOfEntries(entriesToUpdate);
+                insertFieldsOfEntries(entriesToUpdate);
+                updateTypesAndVersions(entriesToUpdate);
+                recordChanges(getSharedIDs(entriesToUpdate), changeNumber);
+            }
+
+            connection.commit(); // apply all changes in current transaction
+
+            for (BibEntry localBibEntry : entriesToUpdate) {
+                int sharedID = localBibEntry.getSharedBibEntryData().getSharedID();
+                localBibEntry.getSharedBibEntryData().setVersion(sharedVersions.get(sharedID) + 1);
+            }
+        } catch (SQLException e) {
+            connection.rollback(); // undo changes made in current transaction
+            throw e;
+        } finally {
+            connection.setAutoCommit(true); // enable auto commit mode again
+        }
+        return refusedUpdates;
+    }
+
+    /**
+     * Helping method. Returns the shared versions of the given entries and locks them until the end of the transaction.
+     */
+    private Map<Integer, Integer> getSharedVersionsForUpdate(List<BibEntry> bibEntries) throws SQLException {
+        Map<Integer, Integer> sharedVersions = new HashMap<>();
+        List<Integer> sharedIDs = getSharedIDs(bibEntries);
+        for (int start = 0; start < sharedIDs.size(); start += MAX_PARAMETERS_PER_STATEMENT) {
+            List<Integer> chunk = sharedIDs.subList(start, Math.min(sharedIDs.size(), start + MAX_PARAMETERS_PER_STATEMENT));
+            StringBuilder selectVersionQuery = new StringBuilder()
+                    .append("SELECT ")
+                    .append(escape("SHARED_ID"))
+                    .append(", ")
+                    .append(escape("VERSION"))
+                    .append(" FROM ")
+                    .append(escape("ENTRY"))
+                    .append(" WHERE ")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (")
+                    .append("?, ".repeat(chunk.size() - 1))
+                    .append("?) FOR UPDATE");
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(selectVersionQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedStatement.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        sharedVersions.put(resultSet.getInt("SHARED_ID"), resultSet.getInt("VERSION"));
+                    }
+                }
+            }
+        }
+        return sharedVersions;
+    }
+
+    /**
+     * Helping method. Removes all shared fields of the given entries.
+     */
+    private void removeFieldsOfEntries(List<BibEntry> bibEntries) throws SQLException {
+        List<Integer> sharedIDs = getSharedIDs(bibEntries);
+        for (int start = 0; start < sharedIDs.size(); start += MAX_PARAMETERS_PER_STATEMENT) {
+            List<Integer> chunk = sharedIDs.subList(start, Math.min(sharedIDs.size(), start + MAX_PARAMETERS_PER_STATEMENT));
+            StringBuilder deleteFieldQuery = new StringBuilder()
+                    .append("DELETE FROM ")
+                    .append(escape("FIELD"))
+                    .append(" WHERE ")
+                    .append(escape("ENTRY_SHARED_ID"))
+                    .append(" IN (")
+                    .append("?, ".repeat(chunk.size() - 1))
+                    .append("?)");
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(deleteFieldQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedStatement.setInt(i + 1, chunk.get(i));
+                }
+                preparedStatement.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Helping method. Inserts all local fields of the given entries using a JDBC batch.
+     */
+    private void insertFieldsOfEntries(List<BibEntry> bibEntries) throws SQLException {
+        StringBuilder insertFieldQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("FIELD"))
+                .append("(")
+                .append(escape("ENTRY_SHARED_ID"))
+                .append(", ")
+                .append(escape("NAME"))
+                .append(", ")
+                .append(escape("VALUE"))
+                .append(") VALUES(?, ?, ?)");
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insertFieldQuery.toString())) {
+            int batchSize = 0;
+            for (BibEntry bibEntry : bibEntries) {
+                for (Map.Entry<Field, String> field : bibEntry.getFieldMap().entrySet()) {
+                    preparedStatement.setInt(1, bibEntry.getSharedBibEntryData().getSharedID());
+                    preparedStatement.setString(2, field.getKey().getName());
+                    preparedStatement.setString(3, field.getValue());
+                    preparedStatement.addBatch();
+                    batchSize++;
+                    if (batchSize == MAX_STATEMENTS_PER_BATCH) {
+                        preparedStatement.executeBatch();
+                        batchSize = 0;
+                    }
+                }
+            }
+            if (batchSize > 0) {
+                preparedStatement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Helping method. Updates the entry types and increments the versions of the given entries using a JDBC batch.
+     */
+    private void updateTypesAndVersions(List<BibEntry> bibEntries) throws SQLException {
+        StringBuilder updateEntryTypeQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("ENTRY"))
+                .append(" SET ")
+                .append(escape("TYPE"))
+                .append(" = ?, ")
+                .append(escape("VERSION"))
+                .append(" = ")
+                .append(escape("VERSION"))
+                .append(" + 1 WHERE ")
+                .append(escape("SHARED_ID"))
+                .append(" = ?");
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(updateEntryTypeQuery.toString())) {
+            int batchSize = 0;
+            for (BibEntry bibEntry : bibEntries) {
+                preparedStatement.setString(1, bibEntry.getType().getName());
+                preparedStatement.setInt(2, bibEntry.getSharedBibEntryData().getSharedID());
+                preparedStatement.addBatch();
+                batchSize++;
+                if (batchSize == MAX_STATEMENTS_PER_BATCH) {
+                    preparedStatement.executeBatch();
+                    batchSize = 0;
+                }
+            }
+            if (batchSize > 0) {
+                preparedStatement.executeBatch();
+            }
+        }
+    }
+
+    private static List<Integer> getSharedIDs(List<BibEntry> bibEntries) {
+        return bibEntries.stream()
+                         .map(bibEntry -> bibEntry.getSharedBibEntryData().getSharedID())
+                         .distinct()
+                         .collect(Collectors.toList());
+    }
+
     /**
      * Helping method. Removes shared fields which do not exist locally
      */
@@ -442,7 +816,7 @@ public abstract class DBMSProcessor {
      *
      * @param bibEntries {@link BibEntry} to be deleted
      */
-    public void removeEntries(List<BibEntry> bibEntries) {
+    public synchronized void removeEntries(List<BibEntry> bibEntries) {
         Objects.requireNonNull(bibEntries);
         if (bibEntries.isEmpty()) {
             return;
@@ -456,11 +830,22 @@ public abstract class DBMSProcessor {
         query.append("?, ".repeat(bibEntries.size() - 1));
         query.append("?)");
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
-            for (int j = 0; j < bibEntries.size(); j++) {
-                preparedStatement.setInt(j + 1, bibEntries.get(j).getSharedBibEntryData().getSharedID());
+        try {
+            connection.setAutoCommit(false); // disable auto commit due to transaction
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+                int changeNumber = lockNextChangeNumber();
+                for (int j = 0; j < bibEntries.size(); j++) {
+                    preparedStatement.setInt(j + 1, bibEntries.get(j).getSharedBibEntryData().getSharedID());
+                }
+                preparedStatement.executeUpdate();
+                recordChanges(getSharedIDs(bibEntries), changeNumber);
+                connection.commit(); // apply all changes in current transaction
+            } catch (SQLException e) {
+                connection.rollback(); // undo changes made in current transaction
+                throw e;
+            } finally {
+                connection.setAutoCommit(true); // enable auto commit mode again
             }
-            preparedStatement.executeUpdate();
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
         }
@@ -470,7 +855,7 @@ public abstract class DBMSProcessor {
      * @param sharedID Entry ID
      * @return instance of {@link BibEntry}
      */
-    public Optional<BibEntry> getSharedEntry(int sharedID) {
+    public synchronized Optional<BibEntry> getSharedEntry(int sharedID) {
         List<BibEntry> sharedEntries = getSharedEntries(Collections.singletonList(sharedID));
         if (sharedEntries.isEmpty()) {
             return Optional.empty();
@@ -484,7 +869,7 @@ public abstract class DBMSProcessor {
      *
      * @param sharedIDs the list of Ids to filter. If list is empty, then no filter is applied
      */
-    public List<BibEntry> getSharedEntries(List<Integer> sharedIDs) {
+    public synchronized List<BibEntry> getSharedEntries(List<Integer> sharedIDs) {
         Objects.requireNonNull(sharedIDs);
 
         List<BibEntry> sharedEntries = new ArrayList<>();
@@ -516,6 +901,7 @@ public abstract class DBMSProcessor {
              .append(escape("SHARED_ID"));
 
         try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+            preparedStatement.setFetchSize(FETCH_SIZE);
             for (int i = 0; i < sharedIDs.size(); i++) {
                 preparedStatement.setInt(i + 1, sharedIDs.get(i));
             }
@@ -551,14 +937,14 @@ public abstract class DBMSProcessor {
         return sharedEntries;
     }
 
-    public List<BibEntry> getSharedEntries() {
+    public synchronized List<BibEntry> getSharedEntries() {
         return getSharedEntries(Collections.emptyList());
     }
 
     /**
      * Retrieves a mapping between the columns SHARED_ID and VERSION.
      */
-    public Map<Integer, Integer> getSharedIDVersionMapping() {
+    public synchronized Map<Integer, Integer> getSharedIDVersionMapping() {
         Map<Integer, Integer> sharedIDVersionMapping = new HashMap<>();
         StringBuilder selectEntryQuery = new StringBuilder()
                 .append("SELECT * FROM ")
@@ -577,15 +963,221 @@ public abstract class DBMSProcessor {
         return sharedIDVersionMapping;
     }
 
+    /**
+     * Returns the number of the latest change of the shared entries. Pass it to {@link #getSharedEntryChanges(int)} to
+     * fetch the changes made afterwards.
+     *
+     * @return the latest change number or -1 if changes are not recorded by the shared database
+     */
+    public synchronized int getLatestChangeNumber() {
+        if (!entryChangeTableAvailable) {
+            return -1;
+        }
+        try {
+            return getLatestChangeNumberFromTable();
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            return -1;
+        }
+    }
+
+    private int getLatestChangeNumberFromTable() throws SQLException {
+        StringBuilder selectCounterQuery = new StringBuilder()
+                .append("SELECT ")
+                .append(escape("CHANGE_NUMBER"))
+                .append(" FROM ")
+                .append(escape("ENTRY_CHANGE"))
+                .append(" WHERE ")
+                .append(escape("SHARED_ID"))
+                .append(" = ?");
+        try (PreparedStatement preparedStatement = connection.prepareStatement(selectCounterQuery.toString())) {
+            preparedStatement.setInt(1, CHANGE_COUNTER_ID);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt("CHANGE_NUMBER") : -1;
+            }
+        }
+    }
+
+    /**
+     * Helping method. Increments the change counter and returns the new change number. Has to be called in a
+     * transaction. The counter stays locked until the transaction ends, thus the transactions recording changes are
+     * serialized and the change numbers become visible in ascending order. Hence, a client fetching the changes after
+     * the highest change number it has seen does not miss any change.
+     *
+     * @return the change number to record the changes of the current transaction with or -1 if changes are not
+     * recorded
+     */
+    private int lockNextChangeNumber() throws SQLException {
+        if (!entryChangeTableAvailable) {
+            return -1;
+        }
+        StringBuilder updateCounterQuery = new StringBuilder()
+                .append("UPDATE ")
+                .append(escape("ENTRY_CHANGE"))
+                .append(" SET ")
+                .append(escape("CHANGE_NUMBER"))
+                .append(" = ")
+                .append(escape("CHANGE_NUMBER"))
+                .append(" + 1 WHERE ")
+                .append(escape("SHARED_ID"))
+                .append(" = ?");
+        try (PreparedStatement preparedStatement = connection.prepareStatement(updateCounterQuery.toString())) {
+            preparedStatement.setInt(1, CHANGE_COUNTER_ID);
+            preparedStatement.executeUpdate();
+        }
+        return getLatestChangeNumberFromTable();
+    }
+
+    /**
+     * Helping method. Records that the entries with the given shared IDs were inserted, updated or removed with the
+     * given change number (see {@link #lockNextChangeNumber()}).
+     */
+    private void recordChanges(List<Integer> sharedIDs, int changeNumber) throws SQLException {
+        if (!entryChangeTableAvailable || sharedIDs.isEmpty()) {
+            return;
+        }
+        for (int start = 0; start < sharedIDs.size(); start += MAX_PARAMETERS_PER_STATEMENT) {
+            List<Integer> chunk = sharedIDs.subList(start, Math.min(sharedIDs.size(), start + MAX_PARAMETERS_PER_STATEMENT));
+            StringBuilder deleteChangeQuery = new StringBuilder()
+                    .append("DELETE FROM ")
+                    .append(escape("ENTRY_CHANGE"))
+                    .append(" WHERE ")
+                    .append(escape("SHARED_ID"))
+                    .append(" IN (")
+                    .append("?, ".repeat(chunk.size() - 1))
+                    .append("?)");
+            try (PreparedStatement preparedStatement = connection.prepareStatement(deleteChangeQuery.toString())) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    preparedStatement.setInt(i + 1, chunk.get(i));
+                }
+                preparedStatement.executeUpdate();
+            }
+        }
+
+        StringBuilder insertChangeQuery = new StringBuilder()
+                .append("INSERT INTO ")
+                .append(escape("ENTRY_CHANGE"))
+                .append("(")
+                .append(escape("SHARED_ID"))
+                .append(", ")
+                .append(escape("CHANGE_NUMBER"))
+                .append(") VALUES(?, ?)");
+        try (PreparedStatement preparedStatement = connection.prepareStatement(insertChangeQuery.toString())) {
+            int batchSize = 0;
+            for (int sharedID : sharedIDs) {
+                preparedStatement.setInt(1, sharedID);
+                preparedStatement.setInt(2, changeNumber);
+                preparedStatement.addBatch();
+                batchSize++;
+                if (batchSize == MAX_STATEMENTS_PER_BATCH) {
+                    preparedStatement.executeBatch();
+                    batchSize = 0;
+                }
+            }
+            if (batchSize > 0) {
+                preparedStatement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Fetches the entries inserted, updated or removed after the given change number. The entries and their fields are
+     * read by one query and the rows are streamed in chunks of {@link #FETCH_SIZE}.
+     *
+     * @param changeNumber the latest change number known by the client, see {@link #getLatestChangeNumber()}
+     * @return empty if changes are not recorded by the shared database or not by all of its clients
+     */
+    public synchronized Optional<SharedEntryChanges> getSharedEntryChanges(int changeNumber) {
+        if (!entryChangesComplete) {
+            return Optional.empty();
+        }
+
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT ")
+             .append("C.").append(escape("SHARED_ID")).append(", ")
+             .append("C.").append(escape("CHANGE_NUMBER")).append(", ")
+             .append("E.").append(escape("TYPE")).append(", ")
+             .append("E.").append(escape("VERSION")).append(", ")
+             .append("F.").append(escape("NAME")).append(", ")
+             .append("F.").append(escape("VALUE"))
+             .append(" FROM ")
+             .append(escape("ENTRY_CHANGE"))
+             // Removed entries do not have a row in the ENTRY table
+             .append(" C left outer join ")
+             .append(escape("ENTRY"))
+             .append(" E on C.").append(escape("SHARED_ID"))
+             .append(" = E.").append(escape("SHARED_ID"))
+             .append(" left outer join ")
+             .append(escape("FIELD"))
+             .append(" F on E.").append(escape("SHARED_ID"))
+             .append(" = F.").append(escape("ENTRY_SHARED_ID"))
+             .append(" where C.").append(escape("CHANGE_NUMBER")).append(" > ?")
+             .append(" and C.").append(escape("SHARED_ID")).append(" <> ?")
+             .append(" order by C.").append(escape("SHARED_ID"));
+
+        List<BibEntry> changedEntries = new ArrayList<>();
+        List<Integer> removedSharedIDs = new ArrayList<>();
+        int latestChangeNumber = changeNumber;
+        try {
+            // PostgreSQL only honors the fetch size inside of a transaction
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+                preparedStatement.setFetchSize(FETCH_SIZE);
+                preparedStatement.setInt(1, changeNumber);
+                preparedStatement.setInt(2, CHANGE_COUNTER_ID);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    BibEntry bibEntry = null;
+                    int lastId = -1;
+                    while (resultSet.next()) {
+                        int sharedID = resultSet.getInt("SHARED_ID");
+                        if (sharedID != lastId) {
+                            lastId = sharedID;
+                            latestChangeNumber = Math.max(latestChangeNumber, resultSet.getInt("CHANGE_NUMBER"));
+                            String type = resultSet.getString("TYPE");
+                            if (type == null) {
+                                bibEntry = null;
+                                removedSharedIDs.add(sharedID);
+                                continue;
+                            }
+                            bibEntry = new BibEntry();
+                            bibEntry.getSharedBibEntryData().setSharedID(sharedID);
+                            bibEntry.setType(EntryTypeFactory.parse(type));
+                            bibEntry.getSharedBibEntryData().setVersion(resultSet.getInt("VERSION"));
+                            changedEntries.add(bibEntry);
+                        }
+
+                        String value = resultSet.getString("VALUE");
+                        if ((bibEntry != null) && (value != null)) {
+                            bibEntry.setField(FieldFactory.parseField(resultSet.getString("NAME")), value, EntriesEventSource.SHARED);
+                        }
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit); // ends the transaction if auto commit was enabled
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Executed >{}<", query.toString());
+            LOGGER.error("SQL Error", e);
+            return Optional.empty();
+        }
+
+        return Optional.of(new SharedEntryChanges(changedEntries, removedSharedIDs, latestChangeNumber));
+    }
+
     /**
      * Fetches and returns all shared meta data.
      */
-    public Map<String, String> getSharedMetaData() {
+    public synchronized Map<String, String> getSharedMetaData() {
         Map<String, String> data = new HashMap<>();
 
         try (ResultSet resultSet = connection.createStatement().executeQuery("SELECT * FROM " + escape("METADATA"))) {
             while (resultSet.next()) {
-                data.put(resultSet.getString("KEY"), resultSet.getString("VALUE"));
+                String key = resultSet.getString("KEY");
+                if (!STRUCTURE_VERSION_KEY.equals(key)) {
+                    data.put(key, resultSet.getString("VALUE"));
+                }
             }
         } catch (SQLException e) {
             LOGGER.error("SQL Error", e);
@@ -599,7 +1191,7 @@ public abstract class DBMSProcessor {
      *
      * @param data JabRef meta data as map
      */
-    public void setSharedMetaData(Map<String, String> data) throws SQLException {
+    public synchronized void setSharedMetaData(Map<String, String> data) throws SQLException {
         StringBuilder updateQuery = new StringBuilder()
                 .append("UPDATE ")
                 .append(escape("METADATA"))
@@ -654,6 +1246,13 @@ public abstract class DBMSProcessor {
         return null; // can never happen except new types were added without updating this method.
     }
 
+    /**
+     * Checks whether the connection to the shared database is still valid
+     */
+    public synchronized boolean isConnectionValid() throws SQLException {
+        return connection.isValid(0);
+    }
+
     public DatabaseConnectionProperties getDBMSConnectionProperties() {
         return this.connectionProperties;
     }
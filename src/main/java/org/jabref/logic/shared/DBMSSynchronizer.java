@@ -3,6 +3,9 @@ package org.jabref.logic.shared;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -19,6 +22,7 @@ import org.jabref.logic.shared.event.ConnectionLostEvent;
 import org.jabref.logic.shared.event.SharedEntriesNotPresentEvent;
 import org.jabref.logic.shared.event.UpdateRefusedEvent;
 import org.jabref.logic.shared.exception.OfflineLockException;
+import org.jabref.logic.util.DelayTaskThrottler;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.database.event.EntriesAddedEvent;
@@ -39,11 +43,21 @@ import org.slf4j.LoggerFactory;
 /**
  * Synchronizes the shared or local databases with their opposite side. Local changes are pushed by {@link EntriesEvent}
  * using Google's Guava EventBus.
+ * <p>
+ * Field changes are not pushed one by one: the changed entries are collected and pushed together in one batch after
+ * {@link #PUSH_DELAY} milliseconds without further changes (write-behind). Thus, bulk operations like a cleanup of many
+ * entries lead to a few round trips only. Before local changes are pulled, the collected changes are pushed.
+ * <p>
+ * When pulling, only the entries changed since the last pull are fetched (see {@link
+ * DBMSProcessor#getSharedEntryChanges(int)}). All entries are compared only initially and if the shared database does
+ * not record changes or clients of older versions, which do not record their changes, may use it.
  */
 public class DBMSSynchronizer implements DatabaseSynchronizer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DBMSSynchronizer.class);
 
+    private static final int PUSH_DELAY = 300;
+
     private DBMSProcessor dbmsProcessor;
     private String dbName;
     private final BibDatabaseContext bibDatabaseContext;
@@ -54,7 +68,11 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     private final Character keywordSeparator;
     private final GlobalCitationKeyPattern globalCiteKeyPattern;
     private final FileUpdateMonitor fileMonitor;
-    private Optional<BibEntry> lastEntryChanged;
+    private final Set<BibEntry> changedEntries = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final DelayTaskThrottler pushThrottler = new DelayTaskThrottler(PUSH_DELAY);
+
+    private final Object changeNumberLock = new Object();
+    private int lastChangeNumber = -1;
 
     public DBMSSynchronizer(BibDatabaseContext bibDatabaseContext, Character keywordSeparator,
                             GlobalCitationKeyPattern globalCiteKeyPattern, FileUpdateMonitor fileMonitor) {
@@ -65,7 +83,6 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         this.eventBus = new EventBus();
         this.keywordSeparator = keywordSeparator;
         this.globalCiteKeyPattern = Objects.requireNonNull(globalCiteKeyPattern);
-        this.lastEntryChanged = Optional.empty();
     }
 
     /**
@@ -79,16 +96,17 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         // In this case DBSynchronizer should not try to insert the bibEntry entry again (but it would not harm).
         if (isEventSourceAccepted(event) && checkCurrentConnection()) {
             synchronizeLocalMetaData();
-            pullWithLastEntry();
             synchronizeLocalDatabase();
             dbmsProcessor.insertEntries(event.getBibEntries());
-            // Reset last changed entry because it just has already been synchronized -> Why necessary?
-            lastEntryChanged = Optional.empty();
+            // The fields of the new entries were inserted completely
+            synchronized (changedEntries) {
+                changedEntries.removeAll(event.getBibEntries());
+            }
         }
     }
 
     /**
-     * Listening method. Updates an existing shared {@link BibEntry}.
+     * Listening method. Remembers the changed {@link BibEntry} to update it on the shared database with the next push.
      *
      * @param event {@link FieldChangedEvent} object
      */
@@ -97,14 +115,21 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         BibEntry bibEntry = event.getBibEntry();
         // While synchronizing the local database (see synchronizeLocalDatabase() below), some EntriesEvents may be posted.
         // In this case DBSynchronizer should not try to update the bibEntry entry again (but it would not harm).
-        if (isPresentLocalBibEntry(bibEntry) && isEventSourceAccepted(event) && checkCurrentConnection() && !event.isFilteredOut()) {
-            synchronizeLocalMetaData();
-            pullWithLastEntry();
-            synchronizeSharedEntry(bibEntry);
-            synchronizeLocalDatabase(); // Pull changes for the case that there were some
-        } else {
-            // Set new BibEntry that has been changed last
-            lastEntryChanged = Optional.of(bibEntry);
+        if (isPresentLocalBibEntry(bibEntry) && isEventSourceAccepted(event)) {
+            List<BibEntry> entries;
+            synchronized (changedEntries) {
+                changedEntries.add(bibEntry);
+                entries = new ArrayList<>(changedEntries);
+            }
+            // Minor changes (e.g., typing) are pushed together with the next major change
+            if (!event.isFilteredOut()) {
+                // The save actions change the entries, thus they are applied on the thread changing the entries and
+                // not on the thread pushing them
+                for (BibEntry entry : entries) {
+                    BibDatabaseWriter.applySaveActions(entry, metaData);
+                }
+                pushThrottler.schedule(this::pushChanges);
+            }
         }
     }
 
@@ -120,7 +145,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         // In this case DBSynchronizer should not try to delete the bibEntry entry again (but it would not harm).
         if (isEventSourceAccepted(event) && checkCurrentConnection()) {
             synchronizeLocalMetaData();
-            pullWithLastEntry();
+            pushChanges();
             dbmsProcessor.removeEntries(event.getBibEntries());
             synchronizeLocalDatabase();
         }
@@ -159,6 +184,8 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
 
                 // Calling dbmsProcessor.setupSharedDatabase() lets dbmsProcessor.checkBaseIntegrity() be true.
                 dbmsProcessor.setupSharedDatabase();
+            } else {
+                dbmsProcessor.setUpEntryChangeTable();
             }
         } catch (SQLException e) {
             LOGGER.error("Could not check intergrity", e);
@@ -180,42 +207,42 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
             return;
         }
 
+        // Local changes have to be pushed first, otherwise they would be overwritten
+        pushChanges();
+
+        int changeNumber = getLastChangeNumber();
+        if (changeNumber >= 0) {
+            Optional<SharedEntryChanges> changes = dbmsProcessor.getSharedEntryChanges(changeNumber);
+            if (changes.isPresent()) {
+                applySharedEntryChanges(changes.get());
+                return;
+            }
+        }
+        synchronizeAllEntries();
+    }
+
+    /**
+     * Compares all local entries with the shared ones and fetches the outdated and missing entries
+     */
+    private void synchronizeAllEntries() {
+        // Changes made while comparing are fetched again with the next pull, which does not harm
+        updateLastChangeNumber(dbmsProcessor.getLatestChangeNumber());
+
         List<BibEntry> localEntries = bibDatabase.getEntries();
         Map<Integer, Integer> idVersionMap = dbmsProcessor.getSharedIDVersionMapping();
 
         // remove old entries locally
         removeNotSharedEntries(localEntries, idVersionMap.keySet());
+        Map<Integer, BibEntry> localEntriesBySharedID = getLocalEntriesBySharedID();
         List<Integer> entriesToInsertIntoLocalDatabase = new ArrayList<>();
         // compare versions and update local entry if needed
         for (Map.Entry<Integer, Integer> idVersionEntry : idVersionMap.entrySet()) {
-            boolean remoteEntryMatchingOneLocalEntryFound = false;
-            for (BibEntry localEntry : localEntries) {
-                if (idVersionEntry.getKey().equals(localEntry.getSharedBibEntryData().getSharedID())) {
-                    remoteEntryMatchingOneLocalEntryFound = true;
-                    if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
-                        Optional<BibEntry> sharedEntry = dbmsProcessor.getSharedEntry(idVersionEntry.getKey());
-                        if (sharedEntry.isPresent()) {
-                            // update fields
-                            localEntry.setType(sharedEntry.get().getType(), EntriesEventSource.SHARED);
-                            localEntry.getSharedBibEntryData()
-                                      .setVersion(sharedEntry.get().getSharedBibEntryData().getVersion());
-                            sharedEntry.get().getFieldMap().forEach(
-                                    // copy remote values to local entry
-                                    (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
-                            );
-
-                            // locally remove not existing fields
-                            localEntry.getFields().stream()
-                                      .filter(field -> !sharedEntry.get().hasField(field))
-                                      .forEach(
-                                              field -> localEntry.clearField(field, EntriesEventSource.SHARED)
-                                      );
-                        }
-                    }
-                }
-            }
-            if (!remoteEntryMatchingOneLocalEntryFound) {
+            BibEntry localEntry = localEntriesBySharedID.get(idVersionEntry.getKey());
+            if (localEntry == null) {
                 entriesToInsertIntoLocalDatabase.add(idVersionEntry.getKey());
+            } else if (idVersionEntry.getValue() > localEntry.getSharedBibEntryData().getVersion()) {
+                dbmsProcessor.getSharedEntry(idVersionEntry.getKey())
+                             .ifPresent(sharedEntry -> updateLocalEntry(localEntry, sharedEntry));
             }
         }
 
@@ -225,6 +252,82 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         }
     }
 
+    /**
+     * Applies the changes fetched since the last pull to the local database
+     */
+    private void applySharedEntryChanges(SharedEntryChanges changes) {
+        Map<Integer, BibEntry> localEntriesBySharedID = getLocalEntriesBySharedID();
+
+        List<BibEntry> entriesToRemove = changes.getRemovedSharedIDs().stream()
+                                                .map(localEntriesBySharedID::get)
+                                                .filter(Objects::nonNull)
+                                                .collect(Collectors.toList());
+        if (!entriesToRemove.isEmpty()) {
+            eventBus.post(new SharedEntriesNotPresentEvent(entriesToRemove));
+            // remove all non-shared entries without triggering listeners
+            bibDatabase.removeEntries(entriesToRemove, EntriesEventSource.SHARED);
+        }
+
+        List<BibEntry> entriesToInsert = new ArrayList<>();
+        for (BibEntry sharedEntry : changes.getChangedEntries()) {
+            BibEntry localEntry = localEntriesBySharedID.get(sharedEntry.getSharedBibEntryData().getSharedID());
+            if (localEntry == null) {
+                entriesToInsert.add(sharedEntry);
+            } else if (sharedEntry.getSharedBibEntryData().getVersion() > localEntry.getSharedBibEntryData().getVersion()) {
+                updateLocalEntry(localEntry, sharedEntry);
+            }
+        }
+        if (!entriesToInsert.isEmpty()) {
+            bibDatabase.insertEntries(entriesToInsert, EntriesEventSource.SHARED);
+        }
+
+        updateLastChangeNumber(changes.getLatestChangeNumber());
+    }
+
+    private int getLastChangeNumber() {
+        synchronized (changeNumberLock) {
+            return lastChangeNumber;
+        }
+    }
+
+    /**
+     * Remembers the given change number, unless a concurrent pull has already fetched newer changes
+     */
+    private void updateLastChangeNumber(int changeNumber) {
+        synchronized (changeNumberLock) {
+            lastChangeNumber = Math.max(lastChangeNumber, changeNumber);
+        }
+    }
+
+    private Map<Integer, BibEntry> getLocalEntriesBySharedID() {
+        Map<Integer, BibEntry> localEntriesBySharedID = new HashMap<>();
+        for (BibEntry localEntry : bibDatabase.getEntries()) {
+            localEntriesBySharedID.put(localEntry.getSharedBibEntryData().getSharedID(), localEntry);
+        }
+        return localEntriesBySharedID;
+    }
+
+    /**
+     * Copies the type, version and fields of the shared entry to the local one
+     */
+    private void updateLocalEntry(BibEntry localEntry, BibEntry sharedEntry) {
+        // update fields
+        localEntry.setType(sharedEntry.getType(), EntriesEventSource.SHARED);
+        localEntry.getSharedBibEntryData()
+                  .setVersion(sharedEntry.getSharedBibEntryData().getVersion());
+        sharedEntry.getFieldMap().forEach(
+                // copy remote values to local entry
+                (field, value) -> localEntry.setField(field, value, EntriesEventSource.SHARED)
+        );
+
+        // locally remove not existing fields
+        localEntry.getFields().stream()
+                  .filter(field -> !sharedEntry.hasField(field))
+                  .forEach(
+                          field -> localEntry.clearField(field, EntriesEventSource.SHARED)
+                  );
+    }
+
     /**
      * Removes all local entries which are not present on shared database.
      *
@@ -261,6 +364,46 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         }
     }
 
+    /**
+     * Pushes the changes of the entries changed since the last push to the shared database in one batch. The save
+     * actions have already been applied when the entries were changed (see {@link #listen(FieldChangedEvent)}).
+     * <p>
+     * The pushes are serialized by the {@link DBMSProcessor}, so that an entry changed during a push is not written with
+     * an outdated version.
+     */
+    public void pushChanges() {
+        List<OfflineLockException> refusedUpdates;
+        List<BibEntry> entries;
+        synchronized (changedEntries) {
+            entries = new ArrayList<>(changedEntries);
+        }
+        entries.removeIf(bibEntry -> !isPresentLocalBibEntry(bibEntry));
+        if (entries.isEmpty() || !checkCurrentConnection()) {
+            return;
+        }
+
+        // Changes made from now on are pushed with the next push
+        synchronized (changedEntries) {
+            changedEntries.removeAll(entries);
+        }
+
+        try {
+            refusedUpdates = dbmsProcessor.updateEntries(entries);
+        } catch (SQLException e) {
+            LOGGER.error("SQL Error", e);
+            // The transaction was rolled back, thus the entries have to be pushed again
+            synchronized (changedEntries) {
+                changedEntries.addAll(entries);
+            }
+            return;
+        }
+
+        // Post after the update, because listeners might wait for other threads using this synchronizer
+        for (OfflineLockException exception : refusedUpdates) {
+            eventBus.post(new UpdateRefusedEvent(bibDatabaseContext, exception.getLocalBibEntry(), exception.getSharedBibEntry()));
+        }
+    }
+
     /**
      * Synchronizes all meta data locally.
      */
@@ -322,32 +465,11 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
         if (!checkCurrentConnection()) {
             return;
         }
-        // First synchronize entry, then synchronize database
-        pullWithLastEntry();
+        // First push the local changes, then synchronize database
         synchronizeLocalDatabase();
         synchronizeLocalMetaData();
     }
 
-    // Synchronizes local BibEntries only if last entry changes still remain
-    public void pullLastEntryChanges() {
-        if (!lastEntryChanged.isEmpty()) {
-            if (!checkCurrentConnection()) {
-                return;
-            }
-            synchronizeLocalMetaData();
-            pullWithLastEntry();
-            synchronizeLocalDatabase(); // Pull changes for the case that there were some
-        }
-    }
-
-    // Synchronizes local BibEntries and pulls remaining last entry changes
-    private void pullWithLastEntry() {
-        if (!lastEntryChanged.isEmpty() && isPresentLocalBibEntry(lastEntryChanged.get())) {
-            synchronizeSharedEntry(lastEntryChanged.get());
-        }
-        lastEntryChanged = Optional.empty();
-    }
-
     /**
      * Checks whether the current SQL connection is valid. In case that the connection is not valid a new {@link
      * ConnectionLostEvent} is going to be sent.
@@ -356,7 +478,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
      */
     public boolean checkCurrentConnection() {
         try {
-            boolean isValid = currentConnection.isValid(0);
+            boolean isValid = dbmsProcessor.isConnectionValid();
             if (!isValid) {
                 LOGGER.warn("Lost SQL connection.");
                 eventBus.post(new ConnectionLostEvent(bibDatabaseContext));
@@ -391,7 +513,8 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     @Override
     public void closeSharedDatabase() {
         // Submit remaining entry changes
-        pullLastEntryChanges();
+        pushThrottler.shutdown();
+        pushChanges();
         try {
             dbmsProcessor.stopNotificationListener();
             currentConnection.close();
@@ -401,7 +524,7 @@ public class DBMSSynchronizer implements DatabaseSynchronizer {
     }
 
     private boolean isPresentLocalBibEntry(BibEntry bibEntry) {
-        return bibDatabase.getEntries().contains(bibEntry);
+        return bibDatabase.containsEntryWithId(bibEntry.getId());
     }
 
     @Override
@@ -37,6 +37,15 @@ public class MySQLProcessor extends DBMSProcessor {
                         "`VALUE` text NOT NULL)");
     }
 
+    @Override
+    protected void createEntryChangeTable() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS `ENTRY_CHANGE` (" +
+                        "`SHARED_ID` INT(11) NOT NULL PRIMARY KEY, " +
+                        "`CHANGE_NUMBER` INT(11) NOT NULL, " +
+                        "INDEX `ENTRY_CHANGE_NUMBER` (`CHANGE_NUMBER`))");
+    }
+
     @Override
     String escape(String expression) {
         return "`" + expression + "`";
@@ -65,13 +65,25 @@ public class OracleProcessor extends DBMSProcessor {
                         "\"VALUE\"  CLOB NOT NULL)");
     }
 
+    @Override
+    protected void createEntryChangeTable() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE \"ENTRY_CHANGE\" (" +
+                        "\"SHARED_ID\" NUMBER NOT NULL, " +
+                        "\"CHANGE_NUMBER\" NUMBER NOT NULL, " +
+                        "CONSTRAINT \"ENTRY_CHANGE_PK\" PRIMARY KEY (\"SHARED_ID\"))");
+
+        connection.createStatement().executeUpdate(
+                "CREATE INDEX \"ENTRY_CHANGE_NUMBER\" ON \"ENTRY_CHANGE\" (\"CHANGE_NUMBER\")");
+    }
+
     @Override
     String escape(String expression) {
         return expression;
     }
 
     @Override
-    public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
+    public synchronized void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
 
         this.listener = new OracleNotificationListener(dbmsSynchronizer);
 
@@ -173,7 +185,7 @@ public class OracleProcessor extends DBMSProcessor {
     }
 
     @Override
-    public void stopNotificationListener() {
+    public synchronized void stopNotificationListener() {
         try {
             oracleConnection.unregisterDatabaseChangeNotification(databaseChangeRegistration);
             oracleConnection.close();
@@ -48,6 +48,17 @@ public class PostgreSQLProcessor extends DBMSProcessor {
                         + "\"VALUE\" TEXT)");
     }
 
+    @Override
+    protected void createEntryChangeTable() throws SQLException {
+        connection.createStatement().executeUpdate(
+                "CREATE TABLE IF NOT EXISTS \"ENTRY_CHANGE\" (" +
+                        "\"SHARED_ID\" INTEGER PRIMARY KEY, " +
+                        "\"CHANGE_NUMBER\" INTEGER NOT NULL)");
+
+        connection.createStatement().executeUpdate(
+                "CREATE INDEX IF NOT EXISTS \"ENTRY_CHANGE_NUMBER\" ON \"ENTRY_CHANGE\" (\"CHANGE_NUMBER\")");
+    }
+
     @Override
     protected void insertIntoEntryTable(List<BibEntry> bibEntries) {
         StringBuilder insertIntoEntryQuery = new StringBuilder()
@@ -89,7 +100,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    public void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
+    public synchronized void startNotificationListener(DBMSSynchronizer dbmsSynchronizer) {
         // Disable cleanup output of ThreadedHousekeeper
         // Logger.getLogger(ThreadedHousekeeper.class.getName()).setLevel(Level.SEVERE);
         try {
@@ -97,7 +108,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
             // Do not use `new PostgresSQLNotificationListener(...)` as the object has to exist continuously!
             // Otherwise the listener is going to be deleted by GC.
             PGConnection pgConnection = connection.unwrap(PGConnection.class);
-            listener = new PostgresSQLNotificationListener(dbmsSynchronizer, pgConnection);
+            listener = new PostgresSQLNotificationListener(dbmsSynchronizer, pgConnection, this);
             JabRefExecutorService.INSTANCE.execute(listener);
         } catch (SQLException e) {
             LOGGER.error("SQL Error: ", e);
@@ -105,7 +116,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    public void stopNotificationListener() {
+    public synchronized void stopNotificationListener() {
         try {
             listener.stop();
             connection.close();
@@ -115,7 +126,7 @@ public class PostgreSQLProcessor extends DBMSProcessor {
     }
 
     @Override
-    public void notifyClients() {
+    public synchronized void notifyClients() {
         try {
             connection.createStatement().execute("NOTIFY jabrefLiveUpdate, '" + PROCESSOR_ID + "';");
         } catch (SQLException e) {
@@ -0,0 +1,40 @@
+package org.jabref.logic.shared;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+
+/**
+ * The changes of the shared entries since a given change number, see {@link DBMSProcessor#getSharedEntryChanges(int)}
+ */
+public class SharedEntryChanges {
+
+    private final List<BibEntry> changedEntries;
+    private final List<Integer> removedSharedIDs;
+    private final int latestChangeNumber;
+
+    public SharedEntryChanges(List<BibEntry> changedEntries, List<Integer> removedSharedIDs, int latestChangeNumber) {
+        this.changedEntries = Collections.unmodifiableList(changedEntries);
+        this.removedSharedIDs = Collections.unmodifiableList(removedSharedIDs);
+        this.latestChangeNumber = latestChangeNumber;
+    }
+
+    /**
+     * Returns the inserted or updated entries with all their fields
+     */
+    public List<BibEntry> getChangedEntries() {
+        return changedEntries;
+    }
+
+    public List<Integer> getRemovedSharedIDs() {
+        return removedSharedIDs;
+    }
+
+    /**
+     * Returns the change number to fetch the next changes with
+     */
+    public int getLatestChangeNumber() {
+        return latestChangeNumber;
+    }
+}
@@ -19,11 +19,16 @@ public class PostgresSQLNotificationListener implements Runnable {
 
     private final DBMSSynchronizer dbmsSynchronizer;
     private final PGConnection pgConnection;
+    /**
+     * Guards the connection, which is shared with the {@link DBMSProcessor}
+     */
+    private final Object connectionLock;
     private volatile boolean stop;
 
-    public PostgresSQLNotificationListener(DBMSSynchronizer dbmsSynchronizer, PGConnection pgConnection) {
+    public PostgresSQLNotificationListener(DBMSSynchronizer dbmsSynchronizer, PGConnection pgConnection, Object connectionLock) {
         this.dbmsSynchronizer = dbmsSynchronizer;
         this.pgConnection = pgConnection;
+        this.connectionLock = connectionLock;
     }
 
     @Override
@@ -32,7 +37,10 @@ public class PostgresSQLNotificationListener implements Runnable {
         try {
             // noinspection InfiniteLoopStatement
             while (!stop) {
-                PGNotification notifications[] = pgConnection.getNotifications();
+                PGNotification notifications[];
+                synchronized (connectionLock) {
+                    notifications = pgConnection.getNotifications();
+                }
 
                 if (notifications != null) {
                     for (PGNotification notification : notifications) {
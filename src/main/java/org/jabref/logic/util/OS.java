@@ -1,5 +1,6 @@
 package org.jabref.logic.util;
 
+import java.nio.file.Path;
 import java.util.Locale;
 
 /***
@@ -22,4 +23,27 @@ public class OS {
 
     private OS() {
     }
+
+    /**
+     * Returns the directory where JabRef stores data which are neither preferences nor libraries, e.g., caches. The
+     * directory might not exist yet.
+     */
+    public static Path getUserDataDirectory() {
+        String userHome = System.getProperty("user.home");
+        if (WINDOWS) {
+            String localAppData = System.getenv("LOCALAPPDATA");
+            if (localAppData != null) {
+                return Path.of(localAppData, "JabRef");
+            }
+            return Path.of(userHome, "AppData", "Local", "JabRef");
+        } else if (OS_X) {
+            return Path.of(userHome, "Library", "Application Support", "JabRef");
+        } else {
+            String dataHome = System.getenv("XDG_DATA_HOME");
+            if ((dataHome != null) && !dataHome.isBlank()) {
+                return Path.of(dataHome, "jabref");
+            }
+            return Path.of(userHome, ".local", "share", "jabref");
+        }
+    }
 }
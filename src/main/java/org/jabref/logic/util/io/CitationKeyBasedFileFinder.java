@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -41,13 +42,35 @@ class CitationKeyBasedFileFinder implements FileFinder {
         }
         String citeKey = citeKeyOptional.get();
 
-        List<Path> result = new ArrayList<>();
-
         // First scan directories
         Set<Path> filesWithExtension = findFilesByExtension(directories, extensions);
 
-        // Now look for keys
-        for (Path file : filesWithExtension) {
+        return filterByCitationKey(filesWithExtension, citeKey);
+    }
+
+    @Override
+    public List<Path> findAssociatedFiles(BibEntry entry, FileDirectoryIndex index, List<String> extensions) throws IOException {
+        Objects.requireNonNull(index);
+        Objects.requireNonNull(entry);
+        Objects.requireNonNull(extensions, "Extensions must not be null!");
+
+        Optional<String> citeKeyOptional = entry.getCitationKey();
+        if (StringUtil.isBlank(citeKeyOptional)) {
+            return Collections.emptyList();
+        }
+        String citeKey = citeKeyOptional.get();
+
+        // Both exact and non-exact matches start with the key
+        List<Path> filesWithExtension = index.getFilesStartingWith(citeKey).stream()
+                                             .filter(file -> extensions.contains(FileHelper.getFileExtension(file).orElse("")))
+                                             .collect(Collectors.toList());
+
+        return filterByCitationKey(filesWithExtension, citeKey);
+    }
+
+    private List<Path> filterByCitationKey(Collection<Path> files, String citeKey) {
+        List<Path> result = new ArrayList<>();
+        for (Path file : files) {
             String name = file.getFileName().toString();
             String nameWithoutExtension = FileUtil.getBaseName(name);
 
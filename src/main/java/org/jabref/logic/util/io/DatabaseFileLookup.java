@@ -3,8 +3,10 @@ package org.jabref.logic.util.io;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -12,33 +14,69 @@ import java.util.stream.Collectors;
 
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.database.event.EntriesAddedEvent;
+import org.jabref.model.database.event.EntriesRemovedEvent;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
+import org.jabref.model.entry.event.FieldChangedEvent;
+import org.jabref.model.entry.field.StandardField;
 import org.jabref.preferences.FilePreferences;
 
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.eventbus.Subscribe;
+
 /**
  * Search class for files. <br>
  * <br>
  * This class provides some functionality to search in a {@link BibDatabase} for files. <br>
+ * <br>
+ * The linked files are resolved once when the lookup is created. Afterwards, the lookup listens to the events of the
+ * {@link BibDatabase} and only resolves the linked files of added and changed entries. Thus, an instance should be
+ * shared (see {@link BibDatabaseContext#getDatabaseFileLookup(FilePreferences)}) or {@link #close() closed} after use.
  */
 public class DatabaseFileLookup {
 
-    private final Set<Path> fileCache = new HashSet<>();
-
+    private final BibDatabase database;
     private final List<Path> possibleFilePaths;
 
+    /**
+     * The linked files of each entry
+     */
+    private final Map<BibEntry, List<Path>> filesByEntry = new IdentityHashMap<>();
+
+    /**
+     * The linked files of all entries. A file linked by several entries is contained several times.
+     */
+    private final Multiset<Path> fileCache = HashMultiset.create();
+
+    /**
+     * The entries linking files which did not exist when the linked files were resolved
+     */
+    private final Set<BibEntry> entriesWithMissingFiles = Collections.newSetFromMap(new IdentityHashMap<>());
+
     /**
      * Creates an instance by passing a {@link BibDatabase} which will be used for the searches.
      */
     public DatabaseFileLookup(BibDatabaseContext databaseContext, FilePreferences filePreferences) {
         Objects.requireNonNull(databaseContext);
+        database = databaseContext.getDatabase();
         possibleFilePaths = Optional.ofNullable(databaseContext.getFileDirectories(filePreferences))
                                     .orElse(new ArrayList<>());
 
-        for (BibEntry entry : databaseContext.getDatabase().getEntries()) {
-            fileCache.addAll(parseFileField(entry));
+        database.registerListener(this);
+        synchronized (this) {
+            database.getEntries().forEach(this::addEntry);
         }
     }
 
+    /**
+     * Returns the directories the linked files are resolved against
+     */
+    public List<Path> getFileDirectories() {
+        return possibleFilePaths;
+    }
+
     /**
      * Returns whether the File <code>file</code> is present in the database
      * as an attached File to an {@link BibEntry}. <br>
@@ -52,18 +90,63 @@ public class DatabaseFileLookup {
      * @return <code>true</code>, if the file Object is stored in at least one
      * entry in the database, otherwise <code>false</code>.
      */
-    public boolean lookupDatabase(Path pathname) {
+    public synchronized boolean lookupDatabase(Path pathname) {
         return fileCache.contains(pathname);
     }
 
-    private List<Path> parseFileField(BibEntry entry) {
-        Objects.requireNonNull(entry);
+    /**
+     * Resolves the linked files which did not exist before again, e.g., because they were downloaded in the meantime.
+     * Should be called before a batch of lookups.
+     */
+    public synchronized void resolveMissingFiles() {
+        List.copyOf(entriesWithMissingFiles).forEach(this::addEntry);
+    }
+
+    /**
+     * Stops listening to the changes of the database
+     */
+    public void close() {
+        database.unregisterListener(this);
+    }
+
+    @Subscribe
+    public synchronized void listen(EntriesAddedEvent event) {
+        event.getBibEntries().forEach(this::addEntry);
+    }
 
-        return entry.getFiles().stream()
-                    .filter(file -> !file.isOnlineLink()) // Do not query external file links (huge performance leak)
-                    .map(file -> file.findIn(possibleFilePaths))
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .collect(Collectors.toList());
+    @Subscribe
+    public synchronized void listen(EntriesRemovedEvent event) {
+        event.getBibEntries().forEach(this::removeEntry);
+    }
+
+    @Subscribe
+    public synchronized void listen(FieldChangedEvent event) {
+        if (event.getField() == StandardField.FILE) {
+            addEntry(event.getBibEntry());
+        }
+    }
+
+    private void addEntry(BibEntry entry) {
+        removeEntry(entry);
+        List<LinkedFile> linkedFiles = entry.getFiles().stream()
+                                            .filter(file -> !file.isOnlineLink()) // Do not query external file links (huge performance leak)
+                                            .collect(Collectors.toList());
+        List<Path> files = linkedFiles.stream()
+                                      .map(file -> file.findIn(possibleFilePaths))
+                                      .flatMap(Optional::stream)
+                                      .collect(Collectors.toList());
+        filesByEntry.put(entry, files);
+        fileCache.addAll(files);
+        if (files.size() < linkedFiles.size()) {
+            entriesWithMissingFiles.add(entry);
+        }
+    }
+
+    private void removeEntry(BibEntry entry) {
+        List<Path> files = filesByEntry.remove(entry);
+        if (files != null) {
+            files.forEach(fileCache::remove);
+        }
+        entriesWithMissingFiles.remove(entry);
     }
 }
@@ -0,0 +1,156 @@
+package org.jabref.logic.util.io;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers the contents of directories, so that a directory tree can be walked again without listing directories which
+ * did not change.
+ * <p>
+ * Creating, deleting, or renaming a file changes the modification time of the directory containing the file. Thus, the
+ * recorded listing of a directory is reused as long as the modification time of the directory is the same as when it
+ * was listed. The modification times of the parent directories do not change, so the subdirectories of a directory
+ * still have to be checked, which costs one access to the file attributes per directory instead of one per file.
+ * <p>
+ * The size and the modification time of the files are not recorded, as changing the contents of a file does not change
+ * whether it is linked to an entry.
+ */
+public class DirectorySnapshot implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectorySnapshot.class);
+
+    /**
+     * A directory which was modified less than this time (in milliseconds) before it was listed might be modified again
+     * without changing its modification time, because file systems store the modification time with a limited
+     * precision. The listings of such directories are not recorded.
+     */
+    private static final long MODIFICATION_TIME_PRECISION = 2000;
+
+    private final MVStore store;
+    private final MVMap<String, Listing> listings;
+
+    private DirectorySnapshot(MVStore store) {
+        this.store = store;
+        this.listings = store.openMap("Listings");
+    }
+
+    /**
+     * Opens the snapshot stored in the given file. The file is created if it does not exist.
+     */
+    public static DirectorySnapshot open(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try {
+            return new DirectorySnapshot(new MVStore.Builder().fileName(file.toAbsolutePath().toString()).compress().open());
+        } catch (IllegalStateException e) {
+            // Thrown if the file is corrupt or used by another instance of JabRef
+            throw new IOException("Could not open directory snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Creates a snapshot which is not stored, i.e., which only avoids listing directories twice while it is used
+     */
+    public static DirectorySnapshot inMemory() {
+        return new DirectorySnapshot(new MVStore.Builder().open());
+    }
+
+    /**
+     * Returns the contents of the given directory. The directory is only listed if it was modified since it was listed
+     * the last time.
+     */
+    public Listing list(Path directory) throws IOException {
+        String key = directory.toAbsolutePath().normalize().toString();
+        long lastModified = Files.getLastModifiedTime(directory).toMillis();
+
+        Listing listing = getListing(key);
+        if ((listing != null) && (listing.lastModified == lastModified)) {
+            return listing;
+        }
+
+        listing = Listing.read(directory, lastModified);
+        if ((System.currentTimeMillis() - lastModified) >= MODIFICATION_TIME_PRECISION) {
+            listings.put(key, listing);
+        } else {
+            listings.remove(key);
+        }
+        return listing;
+    }
+
+    private Listing getListing(String key) {
+        try {
+            return listings.get(key);
+        } catch (IllegalStateException e) {
+            // The stored listing cannot be read, e.g., because it was written by an incompatible version of JabRef
+            LOGGER.debug("Could not read listing of {}", key, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    /**
+     * The names of the subdirectories and files of a directory, in the order returned by the file system
+     */
+    public static class Listing implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long lastModified;
+        private final String[] subdirectories;
+        private final String[] files;
+
+        private Listing(long lastModified, String[] subdirectories, String[] files) {
+            this.lastModified = lastModified;
+            this.subdirectories = subdirectories;
+            this.files = files;
+        }
+
+        private static Listing read(Path directory, long lastModified) throws IOException {
+            List<String> subdirectories = new ArrayList<>();
+            List<String> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    if (Files.isDirectory(path)) {
+                        subdirectories.add(path.getFileName().toString());
+                    } else {
+                        files.add(path.getFileName().toString());
+                    }
+                }
+            }
+            return new Listing(lastModified, subdirectories.toArray(String[]::new), files.toArray(String[]::new));
+        }
+
+        /**
+         * @param directory the listed directory
+         */
+        public List<Path> getSubdirectories(Path directory) {
+            return resolve(directory, subdirectories);
+        }
+
+        /**
+         * @param directory the listed directory
+         */
+        public List<Path> getFiles(Path directory) {
+            return resolve(directory, files);
+        }
+
+        private static List<Path> resolve(Path directory, String[] names) {
+            return Arrays.stream(names).map(directory::resolve).collect(Collectors.toList());
+        }
+    }
+}
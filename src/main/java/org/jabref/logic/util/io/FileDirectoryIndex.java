@@ -0,0 +1,203 @@
+package org.jabref.logic.util.io;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jabref.model.util.FileUpdateListener;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the files contained in a list of directories (including their subdirectories).
+ * <p>
+ * The directories are walked once when the index is used the first time. Afterwards, the files are looked up by name
+ * without accessing the disk. Thus, finding the files of many entries costs one walk of the directories
+ * instead of one walk per entry.
+ * <p>
+ * If the given {@link FileUpdateMonitor} is active, the index listens to changes of the indexed directories and walks
+ * the directories again on its next use after a change. Otherwise, the index reflects the state of the directories when
+ * it was used the first time, so it should only be used for one batch of lookups.
+ * <p>
+ * Each watched directory uses up a watch of the operating system, which are limited (e.g., by {@code
+ * fs.inotify.max_user_watches} on Linux). Thus, at most {@link #MAX_WATCHED_DIRECTORIES} directories are watched. If
+ * there are more directories or a directory cannot be watched, the index stops watching and walks the directories
+ * again on each use.
+ */
+public class FileDirectoryIndex implements FileUpdateListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileDirectoryIndex.class);
+
+    private static final int MAX_WATCHED_DIRECTORIES = 1000;
+
+    private final List<Path> directories;
+    private final FileUpdateMonitor fileUpdateMonitor;
+    private final int maxWatchedDirectories;
+    private final Set<Path> watchedDirectories = new HashSet<>();
+
+    private volatile boolean outdated = true;
+
+    /**
+     * False if changes of some directories are not noticed, so that the directories have to be walked on each use
+     */
+    private boolean isWatchingAllDirectories = true;
+
+    /**
+     * The files sorted by their name. Several files in different directories may have the same name.
+     */
+    private final NavigableMap<String, List<Path>> filesByName = new TreeMap<>();
+
+    /**
+     * The file keys (e.g., the inode) of the files, which allow to check whether two paths denote the same file
+     */
+    private final Map<Path, Object> fileKeys = new HashMap<>();
+
+    public FileDirectoryIndex(List<Path> directories, FileUpdateMonitor fileUpdateMonitor) {
+        this(directories, fileUpdateMonitor, MAX_WATCHED_DIRECTORIES);
+    }
+
+    FileDirectoryIndex(List<Path> directories, FileUpdateMonitor fileUpdateMonitor, int maxWatchedDirectories) {
+        this.directories = List.copyOf(directories);
+        this.fileUpdateMonitor = Objects.requireNonNull(fileUpdateMonitor);
+        this.maxWatchedDirectories = maxWatchedDirectories;
+    }
+
+    public List<Path> getDirectories() {
+        return directories;
+    }
+
+    /**
+     * Returns the files whose name starts with the given prefix, in ascending order of their names
+     */
+    public synchronized List<Path> getFilesStartingWith(String prefix) throws IOException {
+        update();
+        List<Path> result = new ArrayList<>();
+        for (List<Path> files : filesByName.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            result.addAll(files);
+        }
+        return result;
+    }
+
+    /**
+     * Returns all files, in ascending order of their names
+     */
+    public synchronized List<Path> getFiles() throws IOException {
+        update();
+        List<Path> result = new ArrayList<>(fileKeys.size());
+        filesByName.values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Checks whether the two paths denote the same file. Uses the file keys recorded when walking the directories if
+     * both files are indexed and the file system provides file keys.
+     */
+    public boolean isSameFile(Path first, Path second) throws IOException {
+        if (first.equals(second)) {
+            return true;
+        }
+        Object firstKey;
+        Object secondKey;
+        synchronized (this) {
+            firstKey = fileKeys.get(first);
+            secondKey = fileKeys.get(second);
+        }
+        if ((firstKey != null) && (secondKey != null)) {
+            return firstKey.equals(secondKey);
+        }
+        return Files.isSameFile(first, second);
+    }
+
+    /**
+     * Marks the index as outdated, so that the directories are walked again on the next use
+     */
+    @Override
+    public void fileUpdated() {
+        outdated = true;
+    }
+
+    /**
+     * Stops listening to changes of the directories. If the index is used afterwards, the directories are walked on each
+     * use.
+     */
+    public synchronized void close() {
+        stopWatching();
+    }
+
+    private void stopWatching() {
+        isWatchingAllDirectories = false;
+        watchedDirectories.forEach(directory -> fileUpdateMonitor.removeListener(directory, this));
+        watchedDirectories.clear();
+    }
+
+    private void update() throws IOException {
+        if (!outdated && isWatchingAllDirectories) {
+            return;
+        }
+        // Reset the flag first, so that changes while walking the directories are not lost
+        outdated = false;
+
+        filesByName.clear();
+        fileKeys.clear();
+        try {
+            for (Path directory : directories) {
+                if (Files.exists(directory)) {
+                    Files.walkFileTree(directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new IndexingVisitor());
+                }
+            }
+        } catch (IOException e) {
+            outdated = true;
+            throw new IOException("Problem in finding files", e);
+        }
+    }
+
+    private class IndexingVisitor extends SimpleFileVisitor<Path> {
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+            if (!fileUpdateMonitor.isActive() || !isWatchingAllDirectories || watchedDirectories.contains(directory)) {
+                return FileVisitResult.CONTINUE;
+            }
+            if (watchedDirectories.size() >= maxWatchedDirectories) {
+                LOGGER.info("Not listening for changes of more than {} directories, walking {} on each use instead", maxWatchedDirectories, directories);
+                stopWatching();
+                return FileVisitResult.CONTINUE;
+            }
+            try {
+                fileUpdateMonitor.addListenerForDirectory(directory, FileDirectoryIndex.this);
+                watchedDirectories.add(directory);
+            } catch (IOException e) {
+                LOGGER.warn("Could not listen for changes of {}, walking {} on each use instead", directory, directories, e);
+                stopWatching();
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+            if (fileKeys.containsKey(file)) {
+                // The directories overlap
+                return FileVisitResult.CONTINUE;
+            }
+            fileKeys.put(file, attributes.fileKey());
+            filesByName.computeIfAbsent(file.getFileName().toString(), name -> new ArrayList<>(1)).add(file);
+            return FileVisitResult.CONTINUE;
+        }
+    }
+}
@@ -16,4 +16,17 @@ public interface FileFinder {
      * @param extensions  The extensions that are acceptable.
      */
     List<Path> findAssociatedFiles(BibEntry entry, List<Path> directories, List<String> extensions) throws IOException;
+
+    /**
+     * Finds all files in the directories of the given index that are probably associated with the given entry and have
+     * one of the passed extensions. Use this method to find the files of many entries, as the index walks the
+     * directories only once.
+     *
+     * @param entry      The entry to search files for.
+     * @param index      The index of the root directories to search.
+     * @param extensions The extensions that are acceptable.
+     */
+    default List<Path> findAssociatedFiles(BibEntry entry, FileDirectoryIndex index, List<String> extensions) throws IOException {
+        return findAssociatedFiles(entry, index.getDirectories(), extensions);
+    }
 }
@@ -91,6 +91,39 @@ class RegExpBasedFileFinder implements FileFinder {
         return findFile(entry, directories, extensionRegExp);
     }
 
+    /**
+     * Looks up the files in the index if the expression only matches file names directly in or anywhere below the
+     * directories (e.g., <code>**&#47;[citationkey].*\\.[extension]</code>). Otherwise, falls back to walking the
+     * directories.
+     */
+    @Override
+    public List<Path> findAssociatedFiles(BibEntry entry, FileDirectoryIndex index, List<String> extensions) throws IOException {
+        String[] fileParts = splitIntoParts(regExp);
+        boolean anySubdirectory = (fileParts.length == 2) && "**".equals(fileParts[0]);
+        if (regExp.startsWith("/") || ((fileParts.length != 1) && !anySubdirectory)) {
+            return findAssociatedFiles(entry, index.getDirectories(), extensions);
+        }
+
+        String extensionRegExp = '(' + String.join("|", extensions) + ')';
+        Pattern toMatch = createFileNamePattern(fileParts, extensionRegExp, entry);
+        List<Path> matchingFiles = new ArrayList<>();
+        for (Path file : index.getFiles()) {
+            if (toMatch.matcher(file.getFileName().toString()).matches()) {
+                matchingFiles.add(file);
+            }
+        }
+
+        List<Path> result = new ArrayList<>();
+        for (Path directory : index.getDirectories()) {
+            for (Path file : matchingFiles) {
+                if (anySubdirectory ? file.startsWith(directory) : directory.equals(file.getParent())) {
+                    result.add(file);
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Searches the given directory and filename pattern for a file for the
      * BibTeX entry.
@@ -145,15 +178,7 @@ class RegExpBasedFileFinder implements FileFinder {
             actualDirectory = directory;
         }
 
-        // Escape handling...
-        Matcher m = ESCAPE_PATTERN.matcher(fileName);
-        StringBuilder s = new StringBuilder();
-        while (m.find()) {
-            m.appendReplacement(s, m.group(1) + '/' + m.group(2));
-        }
-        m.appendTail(s);
-        fileName = s.toString();
-        String[] fileParts = fileName.split("/");
+        String[] fileParts = splitIntoParts(fileName);
 
         if (fileParts.length == 0) {
             return resultFiles;
@@ -212,6 +237,20 @@ class RegExpBasedFileFinder implements FileFinder {
         return resultFiles;
     }
 
+    /**
+     * Splits the expression into the directory parts and the file name part (the last one)
+     */
+    private static String[] splitIntoParts(String fileName) {
+        // Escape handling...
+        Matcher m = ESCAPE_PATTERN.matcher(fileName);
+        StringBuilder s = new StringBuilder();
+        while (m.find()) {
+            m.appendReplacement(s, m.group(1) + '/' + m.group(2));
+        }
+        m.appendTail(s);
+        return s.toString().split("/");
+    }
+
     private boolean isSubDirectory(Path rootDirectory, Path path) {
         return !rootDirectory.equals(path) && Files.isDirectory(path);
     }
@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -31,6 +32,7 @@ import org.jabref.model.entry.event.EntryChangedEvent;
 import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
 import org.jabref.model.entry.field.FieldFactory;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.strings.StringUtil;
 
@@ -53,6 +55,14 @@ public class BibDatabase {
     private final ObservableList<BibEntry> entries = FXCollections.synchronizedObservableList(FXCollections.observableArrayList(BibEntry::getObservables));
     private Map<String, BibtexString> bibtexStrings = new ConcurrentHashMap<>();
 
+    /**
+     * Indexes kept in sync with {@link #entries} and {@link #bibtexStrings} to answer lookups in constant time.
+     * The lists stored as values are immutable and replaced on every change.
+     */
+    private final Map<String, BibEntry> entriesById = new ConcurrentHashMap<>();
+    private final Map<String, List<BibEntry>> entriesByCitationKey = new ConcurrentHashMap<>();
+    private final Map<String, List<BibtexString>> bibtexStringsByLowerCaseName = new ConcurrentHashMap<>();
+
     private final EventBus eventBus = new EventBus();
 
     private String preamble;
@@ -114,7 +124,7 @@ public class BibDatabase {
      * Returns whether an entry with the given ID exists (-> entry_type + hashcode).
      */
     public boolean containsEntryWithId(String id) {
-        return entries.stream().anyMatch(entry -> entry.getId().equals(id));
+        return entriesById.containsKey(id);
     }
 
     public ObservableList<BibEntry> getEntries() {
@@ -139,13 +149,8 @@ public class BibDatabase {
     /**
      * Returns the entry with the given citation key.
      */
-    public synchronized Optional<BibEntry> getEntryByCitationKey(String key) {
-        for (BibEntry entry : entries) {
-            if (key.equals(entry.getCitationKey().orElse(null))) {
-                return Optional.of(entry);
-            }
-        }
-        return Optional.empty();
+    public Optional<BibEntry> getEntryByCitationKey(String key) {
+        return entriesByCitationKey.getOrDefault(key, Collections.emptyList()).stream().findFirst();
     }
 
     /**
@@ -154,17 +159,8 @@ public class BibDatabase {
      *
      * @return list of entries that contains the given key
      */
-    public synchronized List<BibEntry> getEntriesByCitationKey(String key) {
-        List<BibEntry> result = new ArrayList<>();
-
-        for (BibEntry entry : entries) {
-            entry.getCitationKey().ifPresent(entryKey -> {
-                if (key.equals(entryKey)) {
-                    result.add(entry);
-                }
-            });
-        }
-        return result;
+    public List<BibEntry> getEntriesByCitationKey(String key) {
+        return new ArrayList<>(entriesByCitationKey.getOrDefault(key, Collections.emptyList()));
     }
 
     /**
@@ -205,6 +201,10 @@ public class BibDatabase {
             eventBus.post(new EntriesAddedEvent(newEntries, newEntries.get(0), eventSource));
         }
         entries.addAll(newEntries);
+        for (BibEntry entry : newEntries) {
+            entriesById.put(entry.getId(), entry);
+            entry.getCitationKey().ifPresent(key -> addToCitationKeyIndex(key, entry));
+        }
     }
 
     public synchronized void removeEntry(BibEntry bibEntry) {
@@ -235,11 +235,22 @@ public class BibDatabase {
     public synchronized void removeEntries(List<BibEntry> toBeDeleted, EntriesEventSource eventSource) {
         Objects.requireNonNull(toBeDeleted);
 
-        List<String> ids = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
         for (BibEntry entry : toBeDeleted) {
             ids.add(entry.getId());
         }
-        boolean anyRemoved = entries.removeIf(entry -> ids.contains(entry.getId()));
+        List<BibEntry> removed = new ArrayList<>();
+        boolean anyRemoved = entries.removeIf(entry -> {
+            if (ids.contains(entry.getId())) {
+                removed.add(entry);
+                return true;
+            }
+            return false;
+        });
+        for (BibEntry entry : removed) {
+            entriesById.remove(entry.getId(), entry);
+            entry.getCitationKey().ifPresent(key -> removeFromCitationKeyIndex(key, entry));
+        }
         if (anyRemoved) {
             eventBus.post(new EntriesRemovedEvent(toBeDeleted, eventSource));
         }
@@ -279,6 +290,7 @@ public class BibDatabase {
         }
 
         bibtexStrings.put(id, string);
+        addToStringIndex(string);
     }
 
     /**
@@ -286,16 +298,32 @@ public class BibDatabase {
      * Duplicates throw KeyCollisionException
      * @param stringsToAdd The collection of strings to set
      */
-    public void setStrings(List<BibtexString> stringsToAdd) {
+    public synchronized void setStrings(List<BibtexString> stringsToAdd) {
         bibtexStrings = new ConcurrentHashMap<>();
+        bibtexStringsByLowerCaseName.clear();
         stringsToAdd.forEach(this::addString);
     }
 
     /**
      * Removes the string with the given id.
      */
-    public void removeString(String id) {
-        bibtexStrings.remove(id);
+    public synchronized void removeString(String id) {
+        BibtexString removed = bibtexStrings.remove(id);
+        if (removed != null) {
+            removeFromStringIndex(removed.getName(), removed);
+        }
+    }
+
+    /**
+     * Changes the name of the given string. Strings contained in this database have to be renamed using this method
+     * to keep the lookup by name working.
+     */
+    public synchronized void renameString(BibtexString string, String newName) {
+        removeFromStringIndex(string.getName(), string);
+        string.setName(newName);
+        if (bibtexStrings.containsKey(string.getId())) {
+            addToStringIndex(string);
+        }
     }
 
     /**
@@ -325,7 +353,7 @@ public class BibDatabase {
      * Returns the string with the given name/label
      */
     public Optional<BibtexString> getStringByName(String name) {
-        return getStringValues().stream().filter(string -> string.getName().equals(name)).findFirst();
+        return getStringsByLowerCaseName(name).stream().filter(string -> string.getName().equals(name)).findFirst();
     }
 
     /**
@@ -354,8 +382,8 @@ public class BibDatabase {
     /**
      * Returns true if a string with the given label already exists.
      */
-    public synchronized boolean hasStringByName(String label) {
-        return bibtexStrings.values().stream().anyMatch(value -> value.getName().equals(label));
+    public boolean hasStringByName(String label) {
+        return getStringByName(label).isPresent();
     }
 
     /**
@@ -453,33 +481,33 @@ public class BibDatabase {
         Objects.requireNonNull(usedIds);
         Objects.requireNonNull(allUsedIds);
 
-        for (BibtexString string : bibtexStrings.values()) {
-            if (string.getName().equalsIgnoreCase(label)) {
-                // First check if this string label has been resolved
-                // earlier in this recursion. If so, we have a
-                // circular reference, and have to stop to avoid
-                // infinite recursion.
-                if (usedIds.contains(string.getId())) {
-                    LOGGER.info("Stopped due to circular reference in strings: " + label);
-                    return label;
-                }
-                // If not, log this string's ID now.
-                usedIds.add(string.getId());
-                if (allUsedIds != null) {
-                    allUsedIds.add(string.getId());
-                }
+        List<BibtexString> strings = getStringsByLowerCaseName(label);
+        if (!strings.isEmpty()) {
+            BibtexString string = strings.get(0);
+            // First check if this string label has been resolved
+            // earlier in this recursion. If so, we have a
+            // circular reference, and have to stop to avoid
+            // infinite recursion.
+            if (usedIds.contains(string.getId())) {
+                LOGGER.info("Stopped due to circular reference in strings: " + label);
+                return label;
+            }
+            // If not, log this string's ID now.
+            usedIds.add(string.getId());
+            if (allUsedIds != null) {
+                allUsedIds.add(string.getId());
+            }
 
-                // Ok, we found the string. Now we must make sure we
-                // resolve any references to other strings in this one.
-                String result = string.getContent();
-                result = resolveContent(result, usedIds, allUsedIds);
+            // Ok, we found the string. Now we must make sure we
+            // resolve any references to other strings in this one.
+            String result = string.getContent();
+            result = resolveContent(result, usedIds, allUsedIds);
 
-                // Finished with recursing this branch, so we remove our
-                // ID again:
-                usedIds.remove(string.getId());
+            // Finished with recursing this branch, so we remove our
+            // ID again:
+            usedIds.remove(string.getId());
 
-                return result;
-            }
+            return result;
         }
 
         // If we get to this point, the string has obviously not been defined locally.
@@ -573,9 +601,70 @@ public class BibDatabase {
 
     @Subscribe
     private void relayEntryChangeEvent(FieldChangedEvent event) {
+        updateIndexes(event);
         eventBus.post(event);
     }
 
+    /**
+     * Keeps the id and citation key indexes in sync. Called before the event is relayed, so that listeners already
+     * see the updated indexes.
+     */
+    private void updateIndexes(FieldChangedEvent event) {
+        BibEntry entry = event.getBibEntry();
+        if (InternalField.INTERNAL_ID_FIELD.equals(event.getField())) {
+            // The event is posted before the id is changed
+            if ((event.getOldValue() != null) && entriesById.remove(event.getOldValue(), entry)) {
+                entriesById.put(event.getNewValue(), entry);
+            }
+        } else if (InternalField.KEY_FIELD.equals(event.getField()) && entriesById.containsKey(entry.getId())) {
+            if (!StringUtil.isBlank(event.getOldValue())) {
+                removeFromCitationKeyIndex(event.getOldValue(), entry);
+            }
+            if (!StringUtil.isBlank(event.getNewValue())) {
+                addToCitationKeyIndex(event.getNewValue(), entry);
+            }
+        }
+    }
+
+    private void addToCitationKeyIndex(String key, BibEntry entry) {
+        entriesByCitationKey.compute(key, (k, bucket) -> {
+            if (bucket == null) {
+                return List.of(entry);
+            }
+            List<BibEntry> newBucket = new ArrayList<>(bucket);
+            newBucket.add(entry);
+            // Duplicate keys are rare, thus the lookup of the positions does not hurt
+            newBucket.sort(Comparator.comparingInt(entries::indexOf));
+            return List.copyOf(newBucket);
+        });
+    }
+
+    private void removeFromCitationKeyIndex(String key, BibEntry entry) {
+        entriesByCitationKey.computeIfPresent(key, (k, bucket) -> {
+            List<BibEntry> newBucket = bucket.stream().filter(other -> other != entry).collect(Collectors.toList());
+            return newBucket.isEmpty() ? null : List.copyOf(newBucket);
+        });
+    }
+
+    private List<BibtexString> getStringsByLowerCaseName(String name) {
+        return bibtexStringsByLowerCaseName.getOrDefault(name.toLowerCase(Locale.ROOT), Collections.emptyList());
+    }
+
+    private void addToStringIndex(BibtexString string) {
+        bibtexStringsByLowerCaseName.merge(string.getName().toLowerCase(Locale.ROOT), List.of(string), (bucket, added) -> {
+            List<BibtexString> newBucket = new ArrayList<>(bucket);
+            newBucket.addAll(added);
+            return List.copyOf(newBucket);
+        });
+    }
+
+    private void removeFromStringIndex(String name, BibtexString string) {
+        bibtexStringsByLowerCaseName.computeIfPresent(name.toLowerCase(Locale.ROOT), (k, bucket) -> {
+            List<BibtexString> newBucket = bucket.stream().filter(other -> other != string).collect(Collectors.toList());
+            return newBucket.isEmpty() ? null : List.copyOf(newBucket);
+        });
+    }
+
     public Optional<BibEntry> getReferencedEntry(BibEntry entry) {
         return entry.getField(StandardField.CROSSREF).flatMap(this::getEntryByCitationKey);
     }
@@ -610,10 +699,7 @@ public class BibDatabase {
      * Returns the number of occurrences of the given citation key in this database.
      */
     public long getNumberOfCitationKeyOccurrences(String key) {
-        return entries.stream()
-                      .flatMap(entry -> entry.getCitationKey().stream())
-                      .filter(key::equals)
-                      .count();
+        return entriesByCitationKey.getOrDefault(key, Collections.emptyList()).size();
     }
 
     /**
@@ -9,18 +9,30 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.jabref.architecture.AllowedToUseLogic;
+import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
+import org.jabref.logic.exporter.IncrementalBibtexDatabaseSaver;
+import org.jabref.logic.groups.GroupMembershipIndex;
+import org.jabref.logic.integrity.IntegrityCheck;
+import org.jabref.logic.journals.JournalAbbreviationRepository;
+import org.jabref.logic.search.SearchIndex;
 import org.jabref.logic.shared.DatabaseLocation;
 import org.jabref.logic.shared.DatabaseSynchronizer;
 import org.jabref.logic.util.CoarseChangeFilter;
+import org.jabref.logic.util.io.DatabaseFileLookup;
+import org.jabref.logic.util.io.FileDirectoryIndex;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.metadata.MetaData;
+import org.jabref.model.util.FileUpdateMonitor;
 import org.jabref.preferences.FilePreferences;
 
 /**
  * Represents everything related to a BIB file. <p> The entries are stored in BibDatabase, the other data in MetaData
  * and the options relevant for this file in Defaults.
+ * <p>
+ * Besides, it lazily creates the services kept up to date with the library (e.g., the search index or the integrity
+ * check), so that all users of the library share them. They are released by {@link #closeIndexes()}.
  */
-@AllowedToUseLogic("because it needs access to shared database features")
+@AllowedToUseLogic("because it needs access to shared database features and holds the logic services shared per library (indexes, incremental saver, integrity check)")
 public class BibDatabaseContext {
 
     private final BibDatabase database;
@@ -35,6 +47,18 @@ public class BibDatabaseContext {
     private CoarseChangeFilter dbmsListener;
     private DatabaseLocation location;
 
+    private SearchIndex searchIndex;
+
+    private GroupMembershipIndex groupMembershipIndex;
+
+    private FileDirectoryIndex fileDirectoryIndex;
+
+    private DatabaseFileLookup databaseFileLookup;
+
+    private IncrementalBibtexDatabaseSaver incrementalSaver;
+
+    private IntegrityCheck integrityCheck;
+
     public BibDatabaseContext() {
         this(new BibDatabase());
     }
@@ -97,8 +121,12 @@ public class BibDatabaseContext {
         return metaData;
     }
 
-    public void setMetaData(MetaData metaData) {
+    public synchronized void setMetaData(MetaData metaData) {
         this.metaData = Objects.requireNonNull(metaData);
+        if (groupMembershipIndex != null) {
+            groupMembershipIndex.invalidateAll();
+            metaData.registerListener(groupMembershipIndex);
+        }
     }
 
     public boolean isBiblatexMode() {
@@ -211,4 +239,109 @@ public class BibDatabaseContext {
     public List<BibEntry> getEntries() {
         return database.getEntries();
     }
+
+    /**
+     * Returns the full-text index of this library. The index is built on first access and kept up to date afterwards.
+     */
+    public synchronized SearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new SearchIndex(database);
+        }
+        return searchIndex;
+    }
+
+    /**
+     * Returns the index of the entries matched by the groups of this library. The index is kept up to date by listening
+     * to the entries of the library. Hence, listeners relying on the index have to get it before they register
+     * themselves on the entries.
+     */
+    public synchronized GroupMembershipIndex getGroupMembershipIndex() {
+        if (groupMembershipIndex == null) {
+            groupMembershipIndex = new GroupMembershipIndex(database);
+            metaData.registerListener(groupMembershipIndex);
+        }
+        return groupMembershipIndex;
+    }
+
+    /**
+     * Returns an index of the files in the file directories of this library (see {@link
+     * #getFileDirectories(FilePreferences)}). The index is shared and listens to changes of the directories, so that the
+     * directories are only walked again after they changed. If the file directories changed, a new index is created.
+     */
+    public synchronized FileDirectoryIndex getFileDirectoryIndex(FilePreferences preferences, FileUpdateMonitor fileUpdateMonitor) {
+        List<Path> directories = getFileDirectories(preferences);
+        if (!fileUpdateMonitor.isActive()) {
+            // A shared index would not notice changes of the directories
+            return new FileDirectoryIndex(directories, fileUpdateMonitor);
+        }
+        if ((fileDirectoryIndex == null) || !fileDirectoryIndex.getDirectories().equals(directories)) {
+            if (fileDirectoryIndex != null) {
+                fileDirectoryIndex.close();
+            }
+            fileDirectoryIndex = new FileDirectoryIndex(directories, fileUpdateMonitor);
+        }
+        return fileDirectoryIndex;
+    }
+
+    /**
+     * Returns the lookup of the files linked by the entries of this library. The lookup is shared and kept up to date by
+     * listening to the entries. If the file directories changed, a new lookup is created.
+     */
+    public synchronized DatabaseFileLookup getDatabaseFileLookup(FilePreferences preferences) {
+        if ((databaseFileLookup == null) || !databaseFileLookup.getFileDirectories().equals(getFileDirectories(preferences))) {
+            if (databaseFileLookup != null) {
+                databaseFileLookup.close();
+            }
+            databaseFileLookup = new DatabaseFileLookup(this, preferences);
+        }
+        return databaseFileLookup;
+    }
+
+    /**
+     * Returns the saver remembering the layout of the last save of this library, so that later saves only need to write
+     * the changed entries.
+     */
+    public synchronized IncrementalBibtexDatabaseSaver getIncrementalSaver() {
+        if (incrementalSaver == null) {
+            incrementalSaver = new IncrementalBibtexDatabaseSaver(this);
+        }
+        return incrementalSaver;
+    }
+
+    /**
+     * Returns the integrity check of this library. The check is shared and keeps the results of unchanged entries. If
+     * the settings of the check changed, a new check is created.
+     */
+    public synchronized IntegrityCheck getIntegrityCheck(FilePreferences filePreferences,
+                                                         CitationKeyPatternPreferences citationKeyPatternPreferences,
+                                                         JournalAbbreviationRepository journalAbbreviationRepository,
+                                                         boolean allowIntegerEdition) {
+        if ((integrityCheck == null) || !integrityCheck.isCheckingWith(filePreferences, journalAbbreviationRepository, allowIntegerEdition)) {
+            if (integrityCheck != null) {
+                integrityCheck.shutdown();
+            }
+            integrityCheck = new IntegrityCheck(this, filePreferences, citationKeyPatternPreferences, journalAbbreviationRepository, allowIntegerEdition);
+        } else {
+            integrityCheck.setCitationKeyPatternPreferences(citationKeyPatternPreferences);
+        }
+        return integrityCheck;
+    }
+
+    /**
+     * Stops the shared indexes and checks of this library which listen to changes. Called when the library is closed.
+     */
+    public synchronized void closeIndexes() {
+        if (integrityCheck != null) {
+            integrityCheck.shutdown();
+            integrityCheck = null;
+        }
+        if (fileDirectoryIndex != null) {
+            fileDirectoryIndex.close();
+            fileDirectoryIndex = null;
+        }
+        if (databaseFileLookup != null) {
+            databaseFileLookup.close();
+            databaseFileLookup = null;
+        }
+    }
 }
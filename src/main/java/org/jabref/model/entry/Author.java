@@ -3,7 +3,7 @@ package org.jabref.model.entry;
 import java.util.Objects;
 import java.util.Optional;
 
-import org.jabref.model.strings.LatexToUnicodeAdapter;
+import org.jabref.model.strings.LatexToUnicodeConverter;
 import org.jabref.model.strings.StringUtil;
 
 /**
@@ -362,11 +362,11 @@ public class Author {
      */
     public Author latexFree() {
         if (latexFreeAuthor == null) {
-            String first = getFirst().map(LatexToUnicodeAdapter::format).orElse(null);
-            String firstabbr = getFirstAbbr().map(LatexToUnicodeAdapter::format).orElse(null);
-            String von = getVon().map(LatexToUnicodeAdapter::format).orElse(null);
-            String last = getLast().map(LatexToUnicodeAdapter::format).orElse(null);
-            String jr = getJr().map(LatexToUnicodeAdapter::format).orElse(null);
+            String first = getFirst().map(LatexToUnicodeConverter::format).orElse(null);
+            String firstabbr = getFirstAbbr().map(LatexToUnicodeConverter::format).orElse(null);
+            String von = getVon().map(LatexToUnicodeConverter::format).orElse(null);
+            String last = getLast().map(LatexToUnicodeConverter::format).orElse(null);
+            String jr = getJr().map(LatexToUnicodeConverter::format).orElse(null);
             latexFreeAuthor = new Author(first, firstabbr, von, last, jr);
             latexFreeAuthor.latexFreeAuthor = latexFreeAuthor;
         }
@@ -2,7 +2,6 @@ package org.jabref.model.entry;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.WeakHashMap;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -10,6 +9,13 @@ import java.util.stream.Collectors;
 import org.jabref.architecture.AllowedToUseLogic;
 import org.jabref.logic.importer.AuthorListParser;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 /**
  * This is an immutable class representing information of either <CODE>author</CODE> or <CODE>editor</CODE> field in bibtex record.
  * <p>
@@ -115,7 +121,20 @@ import org.jabref.logic.importer.AuthorListParser;
 @AllowedToUseLogic("because it needs access to AuthorList parser")
 public class AuthorList {
 
-    private static final WeakHashMap<String, AuthorList> AUTHOR_CACHE = new WeakHashMap<>();
+    private static final int AUTHOR_CACHE_SIZE = 10_000;
+
+    // Thread-safe, because the cache is used by parallel tasks (e.g., the duplicate search)
+    private static final LoadingCache<String, AuthorList> AUTHOR_CACHE = CacheBuilder.newBuilder()
+                                                                                    .maximumSize(AUTHOR_CACHE_SIZE)
+                                                                                    .recordStats()
+                                                                                    .build(CacheLoader.from(AuthorList::parseUncached));
+
+    /**
+     * The same author usually occurs in many author lists. Parsed authors are interned, so that these lists share one
+     * instance (and thus, e.g., its LaTeX-free version).
+     */
+    private static final Interner<Author> AUTHOR_INTERNER = Interners.newWeakInterner();
+
     private final List<Author> authors;
     private AuthorList latexFreeAuthors;
 
@@ -169,14 +188,22 @@ public class AuthorList {
      */
     public static AuthorList parse(final String authors) {
         Objects.requireNonNull(authors);
+        return AUTHOR_CACHE.getUnchecked(authors);
+    }
 
-        AuthorList authorList = AUTHOR_CACHE.get(authors);
-        if (authorList == null) {
-            AuthorListParser parser = new AuthorListParser();
-            authorList = parser.parse(authors);
-            AUTHOR_CACHE.put(authors, authorList);
-        }
-        return authorList;
+    private static AuthorList parseUncached(String authors) {
+        AuthorListParser parser = new AuthorListParser();
+        return parser.parse(authors).getAuthors().stream()
+                     .map(AUTHOR_INTERNER::intern)
+                     .collect(collect());
+    }
+
+    /**
+     * Returns the statistics of the cache used by {@link #parse(String)}, i.e., the number of hits, misses and
+     * evictions.
+     */
+    public static CacheStats getCacheStatistics() {
+        return AUTHOR_CACHE.stats();
     }
 
     /**
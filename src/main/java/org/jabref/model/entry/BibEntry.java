@@ -1,12 +1,17 @@
 package org.jabref.model.entry;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -14,6 +19,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.regex.Pattern;
 
+import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -26,6 +32,7 @@ import org.jabref.logic.importer.util.FileFieldParser;
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.event.EntriesEventSource;
+import org.jabref.model.entry.event.EntryEventDispatcher;
 import org.jabref.model.entry.event.FieldAddedOrRemovedEvent;
 import org.jabref.model.entry.event.FieldChangedEvent;
 import org.jabref.model.entry.field.Field;
@@ -37,11 +44,10 @@ import org.jabref.model.entry.identifier.ISBN;
 import org.jabref.model.entry.types.EntryType;
 import org.jabref.model.entry.types.IEEETranEntryType;
 import org.jabref.model.entry.types.StandardEntryType;
-import org.jabref.model.strings.LatexToUnicodeAdapter;
+import org.jabref.model.strings.LatexToUnicodeConverter;
 import org.jabref.model.strings.StringUtil;
 import org.jabref.model.util.MultiKeyMap;
 
-import com.google.common.eventbus.EventBus;
 import com.tobiasdiez.easybind.EasyBind;
 import com.tobiasdiez.easybind.optional.OptionalBinding;
 import org.slf4j.Logger;
@@ -51,6 +57,10 @@ import org.slf4j.LoggerFactory;
  * Represents a BibTex / BibLaTeX entry.
  * <p>
  * In case you search for a builder as described in Item 2 of the book "Effective Java", you won't find one. Please use the methods {@link #withCitationKey(String)} and {@link #withField(Field, String)}.
+ * <p>
+ * A library can contain hundreds of thousands of entries, so an entry is kept small: The fields are stored in arrays
+ * (see {@link FieldValues}), the caches and the observables are only created when they are used, and the events are
+ * delivered by the shared {@link EntryEventDispatcher}.
  */
 @AllowedToUseLogic("because it needs access to parser and writers")
 public class BibEntry implements Cloneable {
@@ -58,30 +68,43 @@ public class BibEntry implements Cloneable {
     public static final EntryType DEFAULT_TYPE = StandardEntryType.Misc;
     private static final Logger LOGGER = LoggerFactory.getLogger(BibEntry.class);
     private static final Pattern REMOVE_TRAILING_WHITESPACE = Pattern.compile("\\s+$");
-    private final SharedBibEntryData sharedBibEntryData;
+    private SharedBibEntryData sharedBibEntryData;
 
     /**
-     * Map to store the words in every field
+     * Map to store the words in every field (created on first use)
      */
-    private final Map<Field, Set<String>> fieldsAsWords = new HashMap<>();
+    private Map<Field, Set<String>> fieldsAsWords;
 
     /**
-     * Cache that stores latex free versions of fields.
+     * Cache that stores latex free versions of fields (created on first use)
      */
-    private final Map<Field, String> latexFreeFields = new ConcurrentHashMap<>();
+    private volatile Map<Field, String> latexFreeFields;
 
     /**
-     * Cache that stores the field as keyword lists (format &lt;Field, Separator, Keyword list>)
+     * Cache that stores the field as keyword lists (format &lt;Field, Separator, Keyword list>, created on first use)
      */
-    private final MultiKeyMap<StandardField, Character, KeywordList> fieldsAsKeywords = new MultiKeyMap<>(StandardField.class);
+    private MultiKeyMap<StandardField, Character, KeywordList> fieldsAsKeywords;
 
-    private final EventBus eventBus = new EventBus();
+    /**
+     * The listeners of this entry, or null if there are none
+     */
+    private volatile Object[] listeners;
 
     private String id;
 
-    private final ObjectProperty<EntryType> type = new SimpleObjectProperty<>(DEFAULT_TYPE);
+    private volatile EntryType type = DEFAULT_TYPE;
+
+    /**
+     * The fields of this entry. The instance is replaced on each change.
+     */
+    private volatile FieldValues fields = FieldValues.EMPTY;
 
-    private ObservableMap<Field, String> fields = FXCollections.observableMap(new ConcurrentHashMap<>());
+    /**
+     * The observables of this entry, which are created when they are requested first
+     */
+    private volatile ObjectProperty<EntryType> typeProperty;
+    private volatile ObservableMap<Field, String> fieldsObservable;
+    private volatile EntryObservable observable;
 
     /**
      * The part before the start of the entry
@@ -113,7 +136,6 @@ public class BibEntry implements Cloneable {
     public BibEntry(EntryType type) {
         this.id = IdGenerator.next();
         setType(type);
-        this.sharedBibEntryData = new SharedBibEntryData();
     }
 
     public Optional<FieldChange> setMonth(Month parsedMonth) {
@@ -277,7 +299,7 @@ public class BibEntry implements Cloneable {
 
     private Optional<String> genericGetResolvedFieldOrAlias(Field field, BibDatabase database, BiFunction<BibEntry, Field, Optional<String>> getFieldOrAlias) {
         if (InternalField.TYPE_HEADER.equals(field) || InternalField.OBSOLETE_TYPE_HEADER.equals(field)) {
-            return Optional.of(type.get().getDisplayName());
+            return Optional.of(type.getDisplayName());
         }
 
         if (InternalField.KEY_FIELD.equals(field)) {
@@ -290,8 +312,8 @@ public class BibEntry implements Cloneable {
         if (result.isEmpty() && (database != null)) {
             Optional<BibEntry> referred = database.getReferencedEntry(this);
             if (referred.isPresent()) {
-                EntryType sourceEntry = referred.get().type.get();
-                EntryType targetEntry = type.get();
+                EntryType sourceEntry = referred.get().type;
+                EntryType targetEntry = type;
                 Optional<Field> sourceField = getSourceField(field, targetEntry, sourceEntry);
 
                 if (sourceField.isPresent()) {
@@ -324,7 +346,7 @@ public class BibEntry implements Cloneable {
 
         String oldId = this.id;
 
-        eventBus.post(new FieldChangedEvent(this, InternalField.INTERNAL_ID_FIELD, id, oldId));
+        post(new FieldChangedEvent(this, InternalField.INTERNAL_ID_FIELD, id, oldId));
         this.id = id;
         changed = true;
     }
@@ -362,11 +384,25 @@ public class BibEntry implements Cloneable {
      * Returns this entry's type.
      */
     public EntryType getType() {
-        return type.getValue();
+        return type;
     }
 
     public ObjectProperty<EntryType> typeProperty() {
-        return type;
+        ObjectProperty<EntryType> property = typeProperty;
+        if (property == null) {
+            synchronized (this) {
+                if (typeProperty == null) {
+                    property = new SimpleObjectProperty<>(type);
+                    property.addListener((observable, oldValue, newValue) -> {
+                        type = newValue;
+                        invalidateObservable();
+                    });
+                    typeProperty = property;
+                }
+                property = typeProperty;
+            }
+        }
+        return property;
     }
 
     /**
@@ -383,16 +419,23 @@ public class BibEntry implements Cloneable {
     public Optional<FieldChange> setType(EntryType newType, EntriesEventSource eventSource) {
         Objects.requireNonNull(newType);
 
-        EntryType oldType = type.get();
+        EntryType oldType = type;
         if (newType.equals(oldType)) {
             return Optional.empty();
         }
 
         changed = true;
-        this.type.setValue(newType);
+        this.type = newType;
+        ObjectProperty<EntryType> property = typeProperty;
+        if (property == null) {
+            invalidateObservable();
+        } else {
+            // The listener of the property notifies the observers
+            property.setValue(newType);
+        }
 
         FieldChange change = new FieldChange(this, InternalField.TYPE_HEADER, oldType.getName(), newType.getName());
-        eventBus.post(new FieldChangedEvent(change, eventSource));
+        post(new FieldChangedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -402,7 +445,7 @@ public class BibEntry implements Cloneable {
      * @return a set of existing field names
      */
     public Set<Field> getFields() {
-        return Collections.unmodifiableSet(fields.keySet());
+        return Collections.unmodifiableSet(new FieldMap(false).keySet());
     }
 
     /**
@@ -416,7 +459,7 @@ public class BibEntry implements Cloneable {
      * Returns true if the entry has the given field, or false if it is not set.
      */
     public boolean hasField(Field field) {
-        return fields.containsKey(field);
+        return fields.indexOf(field) >= 0;
     }
 
     /**
@@ -559,14 +602,13 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        invalidateFieldCache(field);
-        fields.put(field, value.intern());
+        putFieldValue(field, value.intern());
 
         FieldChange change = new FieldChange(this, field, oldValue, value);
         if (isNewField) {
-            eventBus.post(new FieldAddedOrRemovedEvent(change, eventSource));
+            post(new FieldAddedOrRemovedEvent(change, eventSource));
         } else {
-            eventBus.post(new FieldChangedEvent(change, eventSource));
+            post(new FieldChangedEvent(change, eventSource));
         }
         return Optional.of(change);
     }
@@ -605,11 +647,10 @@ public class BibEntry implements Cloneable {
 
         changed = true;
 
-        invalidateFieldCache(field);
-        fields.remove(field);
+        removeFieldValue(field);
 
         FieldChange change = new FieldChange(this, field, oldValue.get(), null);
-        eventBus.post(new FieldAddedOrRemovedEvent(change, eventSource));
+        post(new FieldAddedOrRemovedEvent(change, eventSource));
         return Optional.of(change);
     }
 
@@ -633,8 +674,9 @@ public class BibEntry implements Cloneable {
      */
     @Override
     public Object clone() {
-        BibEntry clone = new BibEntry(type.getValue());
-        clone.fields = FXCollections.observableMap(new ConcurrentHashMap<>(fields));
+        BibEntry clone = new BibEntry(type);
+        // The fields are immutable and can be shared
+        clone.fields = fields;
         clone.commentsBeforeEntry = commentsBeforeEntry;
         clone.parsedSerialization = parsedSerialization;
         clone.changed = changed;
@@ -789,14 +831,21 @@ public class BibEntry implements Cloneable {
     }
 
     public Collection<String> getFieldValues() {
-        return fields.values();
+        return getFieldMap().values();
     }
 
+    /**
+     * Returns the fields of this entry as map. Changes of the map are applied to the entry and notify the observers of
+     * the entry, but no events are posted.
+     */
     public Map<Field, String> getFieldMap() {
-        return fields;
+        return new FieldMap(true);
     }
 
-    public SharedBibEntryData getSharedBibEntryData() {
+    public synchronized SharedBibEntryData getSharedBibEntryData() {
+        if (sharedBibEntryData == null) {
+            sharedBibEntryData = new SharedBibEntryData();
+        }
         return sharedBibEntryData;
     }
 
@@ -809,23 +858,23 @@ public class BibEntry implements Cloneable {
             return false;
         }
         BibEntry entry = (BibEntry) o;
-        return Objects.equals(type.getValue(), entry.type.getValue())
+        return Objects.equals(type, entry.type)
                 && Objects.equals(fields, entry.fields)
                 && Objects.equals(commentsBeforeEntry, entry.commentsBeforeEntry);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type.getValue(), fields);
+        return Objects.hash(type, fields);
     }
 
-    public void registerListener(Object object) {
-        this.eventBus.register(object);
+    public synchronized void registerListener(Object object) {
+        listeners = EntryEventDispatcher.register(listeners, object);
     }
 
-    public void unregisterListener(Object object) {
+    public synchronized void unregisterListener(Object object) {
         try {
-            this.eventBus.unregister(object);
+            listeners = EntryEventDispatcher.unregister(listeners, object);
         } catch (IllegalArgumentException e) {
             // occurs if the event source has not been registered, should not prevent shutdown
             LOGGER.debug("Problem unregistering", e);
@@ -855,7 +904,7 @@ public class BibEntry implements Cloneable {
     }
 
     public Set<String> getFieldAsWords(Field field) {
-        Set<String> storedList = fieldsAsWords.get(field);
+        Set<String> storedList = (fieldsAsWords == null) ? null : fieldsAsWords.get(field);
         if (storedList != null) {
             return storedList;
         } else {
@@ -864,6 +913,9 @@ public class BibEntry implements Cloneable {
                 return Collections.emptySet();
             } else {
                 HashSet<String> words = new HashSet<>(StringUtil.getStringAsWords(fieldValue));
+                if (fieldsAsWords == null) {
+                    fieldsAsWords = new HashMap<>();
+                }
                 fieldsAsWords.put(field, words);
                 return words;
             }
@@ -871,7 +923,7 @@ public class BibEntry implements Cloneable {
     }
 
     public KeywordList getFieldAsKeywords(Field field, Character keywordSeparator) {
-        if (field instanceof StandardField) {
+        if ((field instanceof StandardField) && (fieldsAsKeywords != null)) {
             Optional<KeywordList> storedList = fieldsAsKeywords.get((StandardField) field, keywordSeparator);
             if (storedList.isPresent()) {
                 return storedList.get();
@@ -883,6 +935,9 @@ public class BibEntry implements Cloneable {
                 .orElse(new KeywordList());
 
         if (field instanceof StandardField) {
+            if (fieldsAsKeywords == null) {
+                fieldsAsKeywords = new MultiKeyMap<>(StandardField.class);
+            }
             fieldsAsKeywords.put((StandardField) field, keywordSeparator, keywords);
         }
         return keywords;
@@ -893,27 +948,100 @@ public class BibEntry implements Cloneable {
     }
 
     private void invalidateFieldCache(Field field) {
-        latexFreeFields.remove(field);
-        fieldsAsWords.remove(field);
-
-        if (field instanceof StandardField) {
+        if (latexFreeFields != null) {
+            latexFreeFields.remove(field);
+        }
+        if (fieldsAsWords != null) {
+            fieldsAsWords.remove(field);
+        }
+        if ((field instanceof StandardField) && (fieldsAsKeywords != null)) {
             fieldsAsKeywords.remove((StandardField) field);
         }
     }
 
+    /**
+     * Stores the value of the field without notifying anyone
+     *
+     * @return the previous value or null if the field was not set
+     */
+    private synchronized String storeField(Field field, String value) {
+        String oldValue = fields.get(field);
+        fields = fields.with(field, value);
+        invalidateFieldCache(field);
+        return oldValue;
+    }
+
+    /**
+     * Removes the field without notifying anyone
+     *
+     * @return the previous value or null if the field was not set
+     */
+    private synchronized String removeStoredField(Field field) {
+        int index = fields.indexOf(field);
+        if (index < 0) {
+            return null;
+        }
+        String oldValue = fields.getValue(index);
+        fields = fields.without(index);
+        invalidateFieldCache(field);
+        return oldValue;
+    }
+
+    /**
+     * Stores the value of the field and notifies the observers of this entry
+     */
+    private String putFieldValue(Field field, String value) {
+        ObservableMap<Field, String> observableFields = fieldsObservable;
+        if (observableFields != null) {
+            // The listener of the map notifies the observers of this entry
+            return observableFields.put(field, value);
+        }
+        String oldValue = storeField(field, value);
+        if (!value.equals(oldValue)) {
+            invalidateObservable();
+        }
+        return oldValue;
+    }
+
+    /**
+     * Removes the field and notifies the observers of this entry
+     */
+    private String removeFieldValue(Field field) {
+        ObservableMap<Field, String> observableFields = fieldsObservable;
+        if (observableFields != null) {
+            return observableFields.remove(field);
+        }
+        String oldValue = removeStoredField(field);
+        if (oldValue != null) {
+            invalidateObservable();
+        }
+        return oldValue;
+    }
+
+    private void invalidateObservable() {
+        EntryObservable entryObservable = observable;
+        if (entryObservable != null) {
+            entryObservable.invalidate();
+        }
+    }
+
+    private void post(Object event) {
+        EntryEventDispatcher.post(this, listeners, event);
+    }
+
     public Optional<String> getLatexFreeField(Field field) {
         if (InternalField.KEY_FIELD.equals(field)) {
             // the key field should not be converted
             return getCitationKey();
         } else if (InternalField.TYPE_HEADER.equals(field)) {
-            return Optional.of(type.get().getDisplayName());
-        } else if (latexFreeFields.containsKey(field)) {
+            return Optional.of(type.getDisplayName());
+        } else if ((latexFreeFields != null) && latexFreeFields.containsKey(field)) {
             return Optional.ofNullable(latexFreeFields.get(field));
         } else {
             Optional<String> fieldValue = getField(field);
             if (fieldValue.isPresent()) {
-                String latexFreeValue = LatexToUnicodeAdapter.format(fieldValue.get()).intern();
-                latexFreeFields.put(field, latexFreeValue);
+                String latexFreeValue = LatexToUnicodeConverter.format(fieldValue.get()).intern();
+                getLatexFreeFields().put(field, latexFreeValue);
                 return Optional.of(latexFreeValue);
             } else {
                 return Optional.empty();
@@ -921,6 +1049,13 @@ public class BibEntry implements Cloneable {
         }
     }
 
+    private synchronized Map<Field, String> getLatexFreeFields() {
+        if (latexFreeFields == null) {
+            latexFreeFields = new ConcurrentHashMap<>();
+        }
+        return latexFreeFields;
+    }
+
     public Optional<FieldChange> setFiles(List<LinkedFile> files) {
         Optional<String> oldValue = this.getField(StandardField.FILE);
         String newValue = FileFieldWriter.getStringRepresentation(files);
@@ -960,9 +1095,9 @@ public class BibEntry implements Cloneable {
 
     public OptionalBinding<String> getFieldBinding(Field field) {
         if ((field == InternalField.TYPE_HEADER) || (field == InternalField.OBSOLETE_TYPE_HEADER)) {
-            return EasyBind.wrapNullable(type).map(EntryType::getDisplayName);
+            return EasyBind.wrapNullable(typeProperty()).map(EntryType::getDisplayName);
         }
-        return EasyBind.valueAt(fields, field);
+        return EasyBind.valueAt(getFieldsObservable(), field);
     }
 
     public OptionalBinding<String> getCiteKeyBinding() {
@@ -982,14 +1117,35 @@ public class BibEntry implements Cloneable {
     }
 
     public ObservableMap<Field, String> getFieldsObservable() {
-        return fields;
+        ObservableMap<Field, String> observableFields = fieldsObservable;
+        if (observableFields == null) {
+            synchronized (this) {
+                if (fieldsObservable == null) {
+                    observableFields = FXCollections.observableMap(new FieldMap(false));
+                    observableFields.addListener((InvalidationListener) change -> invalidateObservable());
+                    fieldsObservable = observableFields;
+                }
+                observableFields = fieldsObservable;
+            }
+        }
+        return observableFields;
     }
 
     /**
-     * Returns a list of observables that represent the data of the entry.
+     * Returns a list of observables that represent the data of the entry. The list contains a single observable, which
+     * is invalidated on every change of the fields or the type.
      */
     public Observable[] getObservables() {
-        return new Observable[] {fields, type};
+        EntryObservable entryObservable = observable;
+        if (entryObservable == null) {
+            synchronized (this) {
+                if (observable == null) {
+                    observable = new EntryObservable();
+                }
+                entryObservable = observable;
+            }
+        }
+        return new Observable[] {entryObservable};
     }
 
     public void addLinkedFile(BibEntry entry, LinkedFile linkedFile, LinkedFile newLinkedFile, List<LinkedFile> linkedFiles) {
@@ -1011,4 +1167,140 @@ public class BibEntry implements Cloneable {
         entry.setFiles(linkedFiles);
     }
 
+    /**
+     * A view of the fields as map. Changes are either stored directly (used as backing map of
+     * {@link #getFieldsObservable()}) or also notify the observers of the entry.
+     */
+    private class FieldMap extends AbstractMap<Field, String> {
+
+        private final boolean notifying;
+
+        FieldMap(boolean notifying) {
+            this.notifying = notifying;
+        }
+
+        @Override
+        public int size() {
+            return fields.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return (key instanceof Field) && (fields.indexOf((Field) key) >= 0);
+        }
+
+        @Override
+        public String get(Object key) {
+            return (key instanceof Field) ? fields.get((Field) key) : null;
+        }
+
+        @Override
+        public String put(Field field, String value) {
+            Objects.requireNonNull(field);
+            Objects.requireNonNull(value);
+            return notifying ? putFieldValue(field, value) : storeField(field, value);
+        }
+
+        @Override
+        public String remove(Object key) {
+            if (!(key instanceof Field)) {
+                return null;
+            }
+            return notifying ? removeFieldValue((Field) key) : removeStoredField((Field) key);
+        }
+
+        @Override
+        public Set<Entry<Field, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Field, String>> iterator() {
+                    return new FieldIterator(FieldMap.this, fields);
+                }
+
+                @Override
+                public int size() {
+                    return fields.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the fields stored when the iterator was created
+     */
+    private static class FieldIterator implements Iterator<Map.Entry<Field, String>> {
+
+        private final Map<Field, String> map;
+        private final FieldValues values;
+        private int index;
+
+        FieldIterator(Map<Field, String> map, FieldValues values) {
+            this.map = map;
+            this.values = values;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < values.size();
+        }
+
+        @Override
+        public Map.Entry<Field, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Field field = values.getField(index);
+            String value = values.getValue(index);
+            index++;
+            return new AbstractMap.SimpleEntry<>(field, value) {
+                @Override
+                public String setValue(String newValue) {
+                    map.put(field, newValue);
+                    return super.setValue(newValue);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (index == 0) {
+                throw new IllegalStateException();
+            }
+            map.remove(values.getField(index - 1));
+        }
+    }
+
+    /**
+     * Notifies its listeners about every change of the fields or the type of the entry
+     */
+    private static class EntryObservable implements Observable {
+
+        private volatile InvalidationListener[] listeners = new InvalidationListener[0];
+
+        @Override
+        public synchronized void addListener(InvalidationListener listener) {
+            InvalidationListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+            newListeners[listeners.length] = listener;
+            listeners = newListeners;
+        }
+
+        @Override
+        public synchronized void removeListener(InvalidationListener listener) {
+            for (int i = 0; i < listeners.length; i++) {
+                if (listeners[i].equals(listener)) {
+                    InvalidationListener[] newListeners = new InvalidationListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, newListeners, 0, i);
+                    System.arraycopy(listeners, i + 1, newListeners, i, listeners.length - i - 1);
+                    listeners = newListeners;
+                    return;
+                }
+            }
+        }
+
+        private void invalidate() {
+            for (InvalidationListener listener : listeners) {
+                listener.invalidated(this);
+            }
+        }
+    }
 }
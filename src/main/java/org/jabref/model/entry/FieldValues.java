@@ -0,0 +1,169 @@
+package org.jabref.model.entry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jabref.model.entry.field.Field;
+
+/**
+ * The fields of an entry and their values.
+ * <p>
+ * An entry typically has about ten fields, which are stored in three small arrays instead of a map. The fields are
+ * compared by their ordinal, which is assigned once to each field (see {@link #getOrdinal(Field)}), so that a lookup
+ * does not need to call {@link Field#equals(Object)} for every stored field.
+ * <p>
+ * Instances are immutable: a change creates a new instance. Thus, the fields of an entry can be read by several
+ * threads without locking.
+ */
+final class FieldValues {
+
+    static final FieldValues EMPTY = new FieldValues(new int[0], new Field[0], new String[0]);
+
+    private static final Map<Field, Integer> ORDINALS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_ORDINAL = new AtomicInteger();
+
+    private final int[] ordinals;
+    private final Field[] fields;
+    private final String[] values;
+
+    private FieldValues(int[] ordinals, Field[] fields, String[] values) {
+        this.ordinals = ordinals;
+        this.fields = fields;
+        this.values = values;
+    }
+
+    /**
+     * Returns the ordinal of the given field. Equal fields (e.g., unknown fields differing in case) have the same
+     * ordinal.
+     */
+    private static int getOrdinal(Field field) {
+        Integer ordinal = ORDINALS.get(field);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        return ORDINALS.computeIfAbsent(field, key -> NEXT_ORDINAL.getAndIncrement());
+    }
+
+    int size() {
+        return fields.length;
+    }
+
+    Field getField(int index) {
+        return fields[index];
+    }
+
+    String getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Returns the value of the given field or null if the field is not set
+     */
+    String get(Field field) {
+        int index = indexOf(field);
+        return (index < 0) ? null : values[index];
+    }
+
+    /**
+     * Returns the position of the given field or -1 if the field is not set
+     */
+    int indexOf(Field field) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == field) {
+                return i;
+            }
+        }
+        if ((field instanceof Enum) || (fields.length == 0)) {
+            // Enum constants (e.g., the standard fields) are only equal to themselves
+            return -1;
+        }
+        Integer ordinal = ORDINALS.get(field);
+        if (ordinal == null) {
+            // No equal field has been stored
+            return -1;
+        }
+        for (int i = 0; i < ordinals.length; i++) {
+            if (ordinals[i] == ordinal) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the fields with the given field set to the given value. A field which is already set keeps its position.
+     */
+    FieldValues with(Field field, String value) {
+        int index = indexOf(field);
+        if (index >= 0) {
+            String[] newValues = values.clone();
+            newValues[index] = value;
+            return new FieldValues(ordinals, fields, newValues);
+        }
+        int size = fields.length;
+        int[] newOrdinals = Arrays.copyOf(ordinals, size + 1);
+        Field[] newFields = Arrays.copyOf(fields, size + 1);
+        String[] newValues = Arrays.copyOf(values, size + 1);
+        newOrdinals[size] = getOrdinal(field);
+        newFields[size] = field;
+        newValues[size] = value;
+        return new FieldValues(newOrdinals, newFields, newValues);
+    }
+
+    /**
+     * Returns the fields without the field at the given position
+     */
+    FieldValues without(int index) {
+        int size = fields.length;
+        if (size == 1) {
+            return EMPTY;
+        }
+        int[] newOrdinals = new int[size - 1];
+        Field[] newFields = new Field[size - 1];
+        String[] newValues = new String[size - 1];
+        System.arraycopy(ordinals, 0, newOrdinals, 0, index);
+        System.arraycopy(fields, 0, newFields, 0, index);
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(ordinals, index + 1, newOrdinals, index, size - index - 1);
+        System.arraycopy(fields, index + 1, newFields, index, size - index - 1);
+        System.arraycopy(values, index + 1, newValues, index, size - index - 1);
+        return new FieldValues(newOrdinals, newFields, newValues);
+    }
+
+    /**
+     * Compares the fields like two maps, i.e., regardless of their order
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if ((o == null) || (getClass() != o.getClass())) {
+            return false;
+        }
+        FieldValues other = (FieldValues) o;
+        if (size() != other.size()) {
+            return false;
+        }
+        for (int i = 0; i < fields.length; i++) {
+            if (!values[i].equals(other.get(fields[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the hash code like {@link Map#hashCode()}
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 0;
+        for (int i = 0; i < fields.length; i++) {
+            hashCode += fields[i].hashCode() ^ values[i].hashCode();
+        }
+        return hashCode;
+    }
+}
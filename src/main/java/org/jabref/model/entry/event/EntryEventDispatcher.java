@@ -0,0 +1,211 @@
+package org.jabref.model.entry.event;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.eventbus.Subscribe;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers the events of all entries to their listeners.
+ * <p>
+ * A library can contain hundreds of thousands of entries. Thus, an entry does not have its own
+ * {@link com.google.common.eventbus.EventBus}, but only an array of its listeners, which is maintained by
+ * {@link #register(Object[], Object)} and {@link #unregister(Object[], Object)}.
+ * <p>
+ * The events are delivered as by an EventBus: All methods of a listener annotated with {@link Subscribe}, which take
+ * the event (or a supertype of it), are called. An event posted by a listener of an entry is delivered after the current
+ * event of the same entry has been delivered to all listeners. Exceptions thrown by listeners are logged.
+ * In contrast to an EventBus, the listeners are called without synchronizing on them.
+ */
+public class EntryEventDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntryEventDispatcher.class);
+
+    private static final ClassValue<Subscriber[]> SUBSCRIBERS = new ClassValue<>() {
+        @Override
+        protected Subscriber[] computeValue(Class<?> type) {
+            return findSubscribers(type);
+        }
+    };
+
+    /**
+     * The sources, whose events are currently delivered by this thread, with the events posted meanwhile
+     */
+    private static final ThreadLocal<Map<Object, Deque<PendingEvent>>> DISPATCHING = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private EntryEventDispatcher() {
+    }
+
+    /**
+     * Adds the listener to the given listeners
+     *
+     * @param listeners the current listeners, or null if there are none
+     * @return the new listeners
+     * @throws IllegalArgumentException if the listener has a subscriber method not taking exactly one parameter
+     */
+    public static Object[] register(Object[] listeners, Object listener) {
+        // Checks the subscriber methods
+        SUBSCRIBERS.get(listener.getClass());
+        if (listeners == null) {
+            return new Object[] {listener};
+        }
+        if (indexOf(listeners, listener) >= 0) {
+            return listeners;
+        }
+        Object[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        return newListeners;
+    }
+
+    /**
+     * Removes the listener from the given listeners
+     *
+     * @param listeners the current listeners, or null if there are none
+     * @return the new listeners, or null if no listener is left
+     * @throws IllegalArgumentException if the listener is not contained in the given listeners
+     */
+    public static Object[] unregister(Object[] listeners, Object listener) {
+        int index = (listeners == null) ? -1 : indexOf(listeners, listener);
+        if (index < 0) {
+            throw new IllegalArgumentException("Listener " + listener + " is not registered");
+        }
+        if (listeners.length == 1) {
+            return null;
+        }
+        Object[] newListeners = new Object[listeners.length - 1];
+        System.arraycopy(listeners, 0, newListeners, 0, index);
+        System.arraycopy(listeners, index + 1, newListeners, index, listeners.length - index - 1);
+        return newListeners;
+    }
+
+    private static int indexOf(Object[] listeners, Object listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Delivers the event to the given listeners of the source
+     *
+     * @param listeners the listeners of the source, or null if there are none
+     */
+    public static void post(Object source, Object[] listeners, Object event) {
+        if (listeners == null) {
+            return;
+        }
+
+        Map<Object, Deque<PendingEvent>> dispatching = DISPATCHING.get();
+        if (dispatching.containsKey(source)) {
+            // A listener changed the source, the event is delivered after the current one
+            dispatching.computeIfAbsent(source, key -> new ArrayDeque<>()).add(new PendingEvent(listeners, event));
+            return;
+        }
+
+        dispatching.put(source, null);
+        try {
+            deliver(listeners, event);
+            Deque<PendingEvent> pendingEvents;
+            while (((pendingEvents = dispatching.get(source)) != null) && !pendingEvents.isEmpty()) {
+                PendingEvent pendingEvent = pendingEvents.remove();
+                deliver(pendingEvent.listeners, pendingEvent.event);
+            }
+        } finally {
+            dispatching.remove(source);
+        }
+    }
+
+    private static void deliver(Object[] listeners, Object event) {
+        for (Object listener : listeners) {
+            for (Subscriber subscriber : SUBSCRIBERS.get(listener.getClass())) {
+                if (subscriber.eventType.isInstance(event)) {
+                    subscriber.invoke(listener, event);
+                }
+            }
+        }
+    }
+
+    private static Subscriber[] findSubscribers(Class<?> listenerType) {
+        // Methods overridden in a subclass are only called once
+        Map<List<Object>, Subscriber> subscribers = new LinkedHashMap<>();
+        for (Class<?> type : getTypes(listenerType)) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (!method.isAnnotationPresent(Subscribe.class) || method.isSynthetic()) {
+                    continue;
+                }
+                if (method.getParameterCount() != 1) {
+                    throw new IllegalArgumentException("Method " + method + " has @Subscribe annotation but has "
+                            + method.getParameterCount() + " parameters. Subscriber methods must have exactly 1 parameter.");
+                }
+                List<Object> signature = List.of(method.getName(), method.getParameterTypes()[0]);
+                if (!subscribers.containsKey(signature)) {
+                    method.setAccessible(true);
+                    subscribers.put(signature, new Subscriber(method));
+                }
+            }
+        }
+        return subscribers.values().toArray(new Subscriber[0]);
+    }
+
+    /**
+     * Returns the given type, its superclasses and all implemented interfaces
+     */
+    private static Set<Class<?>> getTypes(Class<?> listenerType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        List<Class<?>> interfaces = new ArrayList<>();
+        for (Class<?> type = listenerType; type != null; type = type.getSuperclass()) {
+            types.add(type);
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        for (int i = 0; i < interfaces.size(); i++) {
+            if (types.add(interfaces.get(i))) {
+                interfaces.addAll(Arrays.asList(interfaces.get(i).getInterfaces()));
+            }
+        }
+        return types;
+    }
+
+    private static class Subscriber {
+        private final Method method;
+        private final Class<?> eventType;
+
+        Subscriber(Method method) {
+            this.method = method;
+            this.eventType = method.getParameterTypes()[0];
+        }
+
+        void invoke(Object listener, Object event) {
+            try {
+                method.invoke(listener, event);
+            } catch (InvocationTargetException e) {
+                LOGGER.error("Exception thrown by subscriber method {} on subscriber {} when dispatching event {}", method, listener, event, e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Method " + method + " became inaccessible", e);
+            }
+        }
+    }
+
+    private static class PendingEvent {
+        private final Object[] listeners;
+        private final Object event;
+
+        PendingEvent(Object[] listeners, Object event) {
+            this.listeners = listeners;
+            this.event = event;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package org.jabref.model.strings;
+
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Converts LaTeX to Unicode in one pass over the text, without parsing the text with the latex2unicode lib.
+ * <p>
+ * Most field values contain no LaTeX at all or only braces, accents, escaped characters and commands for special
+ * letters (such as \ss or \L). These values are converted directly. All other values (e.g., values containing math,
+ * formatting commands, or unknown commands) are converted by the {@link LatexToUnicodeAdapter}, so that the result is
+ * the same as the one of the adapter.
+ * <p>
+ * The results are cached, because the same values occur in many entries (e.g., journal names).
+ */
+public class LatexToUnicodeConverter {
+
+    private static final int CACHE_SIZE = 10_000;
+
+    /**
+     * Characters which are either converted by the latex2unicode lib (e.g., ~ or --) or start LaTeX constructs which are
+     * not converted by this class
+     */
+    private static final String UNSUPPORTED_CHARACTERS = "$~%^_&#`\"\t\n\r";
+
+    private static final Map<Character, Character> COMBINING_ACCENTS = Map.ofEntries(
+            Map.entry('"', '̈'),
+            Map.entry('\'', '́'),
+            Map.entry('`', '̀'),
+            Map.entry('^', '̂'),
+            Map.entry('~', '̃'),
+            Map.entry('=', '̄'),
+            Map.entry('.', '̇'),
+            Map.entry('u', '̆'),
+            Map.entry('v', '̌'),
+            Map.entry('H', '̋'),
+            Map.entry('c', '̧'),
+            Map.entry('k', '̨'),
+            Map.entry('r', '̊'),
+            Map.entry('d', '̣'));
+
+    private static final Map<String, String> LETTERS = Map.ofEntries(
+            Map.entry("ss", "ß"),
+            Map.entry("o", "ø"),
+            Map.entry("O", "Ø"),
+            Map.entry("l", "ł"),
+            Map.entry("L", "Ł"),
+            Map.entry("ae", "æ"),
+            Map.entry("AE", "Æ"),
+            Map.entry("oe", "œ"),
+            Map.entry("OE", "Œ"),
+            Map.entry("aa", "å"),
+            Map.entry("AA", "Å"),
+            Map.entry("i", "ı"),
+            Map.entry("j", "ȷ"));
+
+    private static final String ESCAPED_CHARACTERS = "&%$#";
+
+    // Thread-safe, because the cache is used by parallel tasks (e.g., the duplicate search)
+    private static final LoadingCache<String, String> CACHE = CacheBuilder.newBuilder()
+                                                                          .maximumSize(CACHE_SIZE)
+                                                                          .build(CacheLoader.from(LatexToUnicodeConverter::formatUncached));
+
+    private LatexToUnicodeConverter() {
+    }
+
+    /**
+     * Resolves all LaTeX in the String.
+     *
+     * @param inField a String containing LaTeX
+     * @return a String with LaTeX resolved into Unicode, or the original String if the LaTeX could not be parsed
+     * @see LatexToUnicodeAdapter#format(String)
+     */
+    public static String format(String inField) {
+        Objects.requireNonNull(inField);
+        if (isPlainText(inField)) {
+            return Normalizer.normalize(inField, Normalizer.Form.NFC);
+        }
+        return CACHE.getUnchecked(inField);
+    }
+
+    private static String formatUncached(String inField) {
+        return convert(inField).orElseGet(() -> LatexToUnicodeAdapter.format(inField));
+    }
+
+    /**
+     * Checks whether the text contains no LaTeX at all
+     */
+    private static boolean isPlainText(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if ((character == '\\') || (character == '{') || (character == '}') || !canBeCopied(text, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the character at the given position is not changed by the latex2unicode lib
+     */
+    private static boolean canBeCopied(String text, int position) {
+        char character = text.charAt(position);
+        if (UNSUPPORTED_CHARACTERS.indexOf(character) >= 0) {
+            return false;
+        }
+        // Dashes, quotes and spaces are contracted
+        if ((character == '-') || (character == '\'') || (character == ' ')) {
+            return ((position + 1) == text.length()) || (text.charAt(position + 1) != character);
+        }
+        return true;
+    }
+
+    /**
+     * Converts the given text without the latex2unicode lib.
+     *
+     * @return the converted text, or an empty optional if the text contains LaTeX which is not supported by this class
+     */
+    static Optional<String> convert(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        int depth = 0;
+        int i = 0;
+        while (i < text.length()) {
+            char character = text.charAt(i);
+            if (character == '{') {
+                depth++;
+                i++;
+            } else if (character == '}') {
+                if (depth == 0) {
+                    return Optional.empty();
+                }
+                depth--;
+                i++;
+            } else if (character == '\\') {
+                i = convertCommand(text, i, result);
+                if (i < 0) {
+                    return Optional.empty();
+                }
+            } else if (canBeCopied(text, i)) {
+                result.append(character);
+                i++;
+            } else {
+                return Optional.empty();
+            }
+        }
+        if (depth != 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Normalizer.normalize(result, Normalizer.Form.NFC));
+    }
+
+    /**
+     * Converts the command starting at the given position.
+     *
+     * @return the position after the command, or -1 if the command is not supported
+     */
+    private static int convertCommand(String text, int start, StringBuilder result) {
+        int nameStart = start + 1;
+        if (nameStart == text.length()) {
+            return -1;
+        }
+        char first = text.charAt(nameStart);
+        if (!isLetter(first)) {
+            if (ESCAPED_CHARACTERS.indexOf(first) >= 0) {
+                result.append(first);
+                return nameStart + 1;
+            }
+            Character accent = COMBINING_ACCENTS.get(first);
+            if (accent == null) {
+                return -1;
+            }
+            if (((nameStart + 1) < text.length()) && isLetter(text.charAt(nameStart + 1))) {
+                // Short form, e.g., \"a
+                result.append(text.charAt(nameStart + 1)).append(accent);
+                return nameStart + 2;
+            }
+            return convertAccentArgument(text, nameStart + 1, accent, result);
+        }
+
+        int nameEnd = nameStart;
+        while ((nameEnd < text.length()) && isLetter(text.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if ((nameEnd < text.length()) && Character.isWhitespace(text.charAt(nameEnd))) {
+            // LaTeX ignores spaces after a command, which is not done here
+            return -1;
+        }
+        String name = text.substring(nameStart, nameEnd);
+        String letter = LETTERS.get(name);
+        if (letter != null) {
+            result.append(letter);
+            return nameEnd;
+        }
+        if (name.length() == 1) {
+            Character accent = COMBINING_ACCENTS.get(name.charAt(0));
+            if (accent != null) {
+                return convertAccentArgument(text, nameEnd, accent, result);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts the argument of an accent, which has to be a single letter enclosed in braces, e.g., {a} or {\i}
+     *
+     * @return the position after the argument, or -1 if the argument is not supported
+     */
+    private static int convertAccentArgument(String text, int start, char accent, StringBuilder result) {
+        if ((start >= text.length()) || (text.charAt(start) != '{')) {
+            return -1;
+        }
+        int end = text.indexOf('}', start);
+        if (end < 0) {
+            return -1;
+        }
+        String argument = text.substring(start + 1, end);
+        if ((argument.length() == 1) && isLetter(argument.charAt(0))) {
+            result.append(argument).append(accent);
+        } else if (argument.equals("\\i") || argument.equals("\\j")) {
+            result.append(LETTERS.get(argument.substring(1))).append(accent);
+        } else {
+            return -1;
+        }
+        return end + 1;
+    }
+
+    private static boolean isLetter(char character) {
+        return ((character >= 'a') && (character <= 'z')) || ((character >= 'A') && (character <= 'Z'));
+    }
+}
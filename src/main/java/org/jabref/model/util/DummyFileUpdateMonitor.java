@@ -13,6 +13,11 @@ public class DummyFileUpdateMonitor implements FileUpdateMonitor {
         // empty
     }
 
+    @Override
+    public void addListenerForDirectory(Path directory, FileUpdateListener listener) {
+        // empty
+    }
+
     @Override
     public void removeListener(Path path, FileUpdateListener listener) {
         // empty
@@ -12,6 +12,15 @@ public interface FileUpdateMonitor {
      */
     void addListenerForFile(Path file, FileUpdateListener listener) throws IOException;
 
+    /**
+     * Add a new directory to monitor. The listener is notified if a file in the directory is created, modified or
+     * deleted. Subdirectories are not monitored.
+     *
+     * @param directory The directory to monitor.
+     * @throws IOException if the directory does not exist.
+     */
+    void addListenerForDirectory(Path directory, FileUpdateListener listener) throws IOException;
+
     /**
      * Removes a listener from the monitor.
      *
@@ -0,0 +1,174 @@
+package org.jabref.gui.autocompleter;
+
+import java.util.List;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.InternalField;
+import org.jabref.model.entry.field.StandardField;
+
+import com.google.common.base.Equivalence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SuggestionIndexTest {
+
+    private BibDatabase database;
+    private SuggestionIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase();
+        index = new SuggestionIndex<>(database, StandardField.JOURNAL::equals,
+                entry -> entry.getField(StandardField.JOURNAL).map(List::of).orElse(List.of()),
+                value -> value, Equivalence.equals(), List.of());
+    }
+
+    private void insertEntryWithJournal(String journal) {
+        database.insertEntry(new BibEntry().withField(StandardField.JOURNAL, journal));
+    }
+
+    @Test
+    void foldRemovesCaseAndDiacritics() {
+        assertEquals("muller and senor", SuggestionIndex.fold("Müller and Señor"));
+    }
+
+    @Test
+    void mostFrequentSuggestionIsReturnedFirst() {
+        insertEntryWithJournal("Nature Physics");
+        insertEntryWithJournal("Nature");
+        insertEntryWithJournal("Nature");
+
+        assertEquals(List.of("Nature", "Nature Physics"), index.getSuggestions("nat", 10));
+    }
+
+    @Test
+    void onlyGivenNumberOfSuggestionsIsReturned() {
+        insertEntryWithJournal("Nature Physics");
+        insertEntryWithJournal("Nature");
+        insertEntryWithJournal("Nature");
+        insertEntryWithJournal("Nature Methods");
+        insertEntryWithJournal("Nature Methods");
+        insertEntryWithJournal("Nature Methods");
+
+        assertEquals(List.of("Nature Methods", "Nature"), index.getSuggestions("Nature", 2));
+    }
+
+    @Test
+    void suggestionWithDiacriticsIsFoundWithoutDiacritics() {
+        insertEntryWithJournal("Zeitschrift für Physik");
+
+        assertEquals(List.of("Zeitschrift für Physik"), index.getSuggestions("ZEITSCHRIFT FUR", 10));
+    }
+
+    @Test
+    void suggestionContainingTextFollowsSuggestionsStartingWithText() {
+        insertEntryWithJournal("Applied Physics");
+        insertEntryWithJournal("Applied Physics");
+        insertEntryWithJournal("Physics Letters");
+
+        assertEquals(List.of("Physics Letters", "Applied Physics"), index.getSuggestions("phys", 10));
+    }
+
+    @Test
+    void shortTextOnlyFindsSuggestionsStartingWithText() {
+        insertEntryWithJournal("Applied Physics");
+        insertEntryWithJournal("Physics Letters");
+
+        assertEquals(List.of("Physics Letters"), index.getSuggestions("ph", 10));
+    }
+
+    @Test
+    void suggestionContainingTextIsFoundAfterRemovingOtherSuggestion() {
+        BibEntry entry = new BibEntry().withField(StandardField.JOURNAL, "Applied Physics");
+        database.insertEntry(entry);
+        insertEntryWithJournal("Journal of Applied Physics");
+        index.getSuggestions("phys", 10);
+
+        database.removeEntry(entry);
+
+        assertEquals(List.of("Journal of Applied Physics"), index.getSuggestions("applied", 10));
+    }
+
+    @Test
+    void unknownTextReturnsNothing() {
+        insertEntryWithJournal("Nature");
+
+        assertEquals(List.of(), index.getSuggestions("science", 10));
+    }
+
+    @Test
+    void changedFieldIsIndexed() {
+        BibEntry entry = new BibEntry().withField(StandardField.JOURNAL, "Nature");
+        database.insertEntry(entry);
+        index.getSuggestions("nat", 10);
+
+        entry.setField(StandardField.JOURNAL, "Science");
+
+        assertEquals(List.of(), index.getSuggestions("nat", 10));
+        assertEquals(List.of("Science"), index.getSuggestions("sci", 10));
+    }
+
+    @Test
+    void removedEntryIsNotSuggested() {
+        BibEntry entry = new BibEntry().withField(StandardField.JOURNAL, "Nature");
+        database.insertEntry(entry);
+        insertEntryWithJournal("Nature Physics");
+        index.getSuggestions("nat", 10);
+
+        database.removeEntry(entry);
+
+        assertEquals(List.of("Nature Physics"), index.getSuggestions("nat", 10));
+    }
+
+    @Test
+    void entryWithChangedKeyIsOnlySuggestedForNewKey() {
+        SuggestionIndex<BibEntry> keyIndex = new SuggestionIndex<>(database, InternalField.KEY_FIELD::equals,
+                entry -> entry.hasCitationKey() ? List.of(entry) : List.of(),
+                entry -> entry.getCitationKey().orElse(""), Equivalence.identity(), List.of());
+        BibEntry entry = new BibEntry().withCitationKey("Einstein1905");
+        database.insertEntry(entry);
+        keyIndex.getSuggestions("ein", 10);
+
+        entry.setCitationKey("Bohr1913");
+
+        assertEquals(List.of(), keyIndex.getSuggestions("ein", 10));
+        assertEquals(List.of(entry), keyIndex.getSuggestions("bohr", 10));
+    }
+
+    @Test
+    void remainingEqualEntryIsSuggestedAfterRemovingTheOther() {
+        SuggestionIndex<BibEntry> keyIndex = new SuggestionIndex<>(database, InternalField.KEY_FIELD::equals,
+                entry -> entry.hasCitationKey() ? List.of(entry) : List.of(),
+                entry -> entry.getCitationKey().orElse(""), Equivalence.equals().onResultOf(BibEntry::getCitationKey), List.of());
+        BibEntry first = new BibEntry().withCitationKey("Einstein1905");
+        BibEntry second = new BibEntry().withCitationKey("Einstein1905");
+        database.insertEntries(first, second);
+        keyIndex.getSuggestions("ein", 10);
+
+        database.removeEntry(first);
+
+        List<BibEntry> suggestions = keyIndex.getSuggestions("ein", 10);
+        assertEquals(1, suggestions.size());
+        assertSame(second, suggestions.get(0));
+
+        // The key contains the substring "ein" twice
+        database.removeEntry(second);
+
+        assertEquals(List.of(), keyIndex.getSuggestions("ein", 10));
+    }
+
+    @Test
+    void additionalSuggestionsAreReturned() {
+        SuggestionIndex<String> journalIndex = new SuggestionIndex<>(database, StandardField.JOURNAL::equals,
+                entry -> entry.getField(StandardField.JOURNAL).map(List::of).orElse(List.of()),
+                value -> value, Equivalence.equals(), List.of("Physical Review Letters"));
+        insertEntryWithJournal("Physical Review");
+        insertEntryWithJournal("Physical Review");
+
+        assertEquals(List.of("Physical Review", "Physical Review Letters"), journalIndex.getSuggestions("phys", 10));
+    }
+}
@@ -0,0 +1,123 @@
+package org.jabref.logic.autosaveandbackup;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupJournalTest {
+
+    private BackupJournal journal;
+    private BibEntry knuth;
+    private BibEntry lamport;
+
+    @BeforeEach
+    void setUp() {
+        journal = new BackupJournal();
+        knuth = new BibEntry(StandardEntryType.Book)
+                .withCitationKey("Knuth1984")
+                .withField(StandardField.TITLE, "The TeXbook");
+        lamport = new BibEntry(StandardEntryType.Book)
+                .withCitationKey("Lamport1994");
+        journal.startSnapshot(List.of(knuth, lamport));
+    }
+
+    @Test
+    void replayAppliesRecordedChangesToSnapshot(@TempDir Path tempDir) throws Exception {
+        Path snapshotPath = tempDir.resolve("library.bib.sav");
+        Path journalPath = BackupJournal.getJournalPath(snapshotPath);
+        Files.writeString(snapshotPath, "snapshot");
+        BackupJournal.create(journalPath, snapshotPath);
+
+        BibEntry turing = new BibEntry(StandardEntryType.Article)
+                .withCitationKey("Turing1936")
+                .withField(StandardField.NOTE, "line one\nline two\twith tab and \\ backslash");
+        journal.entriesAdded(List.of(turing));
+        journal.fieldChanged(lamport, StandardField.TITLE, "LaTeX");
+        journal.fieldChanged(knuth, StandardField.TITLE, null);
+        journal.entriesRemoved(List.of(knuth));
+        BackupJournal.append(journalPath, journal.takePendingRecords());
+
+        BibDatabase snapshot = new BibDatabase();
+        snapshot.insertEntries(new BibEntry(knuth.getType()).withCitationKey("Knuth1984").withField(StandardField.TITLE, "The TeXbook"),
+                new BibEntry(lamport.getType()).withCitationKey("Lamport1994"));
+        BackupJournal.replay(BackupJournal.readRecords(journalPath, snapshotPath).get(), snapshot);
+
+        assertEquals(List.of(
+                new BibEntry(StandardEntryType.Book).withCitationKey("Lamport1994").withField(StandardField.TITLE, "LaTeX"),
+                turing), snapshot.getEntries());
+    }
+
+    @Test
+    void journalOfOtherSnapshotIsIgnored(@TempDir Path tempDir) throws Exception {
+        Path snapshotPath = tempDir.resolve("library.bib.sav");
+        Path journalPath = BackupJournal.getJournalPath(snapshotPath);
+        Files.writeString(snapshotPath, "snapshot");
+        BackupJournal.create(journalPath, snapshotPath);
+        journal.fieldChanged(lamport, StandardField.TITLE, "LaTeX");
+        BackupJournal.append(journalPath, journal.takePendingRecords());
+
+        Files.writeString(snapshotPath, "newer snapshot");
+
+        assertEquals(Optional.empty(), BackupJournal.readRecords(journalPath, snapshotPath));
+    }
+
+    @Test
+    void incompleteLastRecordIsIgnored(@TempDir Path tempDir) throws Exception {
+        Path snapshotPath = tempDir.resolve("library.bib.sav");
+        Path journalPath = BackupJournal.getJournalPath(snapshotPath);
+        Files.writeString(snapshotPath, "snapshot");
+        BackupJournal.create(journalPath, snapshotPath);
+        journal.fieldChanged(lamport, StandardField.TITLE, "LaTeX");
+        BackupJournal.append(journalPath, journal.takePendingRecords() + "F\t0\ttit");
+
+        assertEquals(1, BackupJournal.readRecords(journalPath, snapshotPath).get().size());
+    }
+
+    @Test
+    void changeOfUnknownEntryRequiresSnapshot() {
+        assertFalse(journal.isSnapshotRequired());
+
+        journal.fieldChanged(new BibEntry(), StandardField.TITLE, "Unknown");
+
+        assertTrue(journal.isSnapshotRequired());
+    }
+
+    @Test
+    void entryAddedWhileStartingSnapshotIsNotRecordedAgain() {
+        journal.entriesAdded(List.of(lamport));
+
+        assertEquals("", journal.takePendingRecords());
+    }
+
+    @Test
+    void journalPathIsNextToBackup() {
+        assertEquals(Path.of("tmp", "test.bib.sav.journal"), BackupJournal.getJournalPath(Path.of("tmp", "test.bib.sav")));
+    }
+
+    @Test
+    void journalIsWrittenAsUtf8(@TempDir Path tempDir) throws Exception {
+        Path snapshotPath = tempDir.resolve("library.bib.sav");
+        Path journalPath = BackupJournal.getJournalPath(snapshotPath);
+        Files.writeString(snapshotPath, "snapshot");
+        BackupJournal.create(journalPath, snapshotPath);
+        journal.fieldChanged(lamport, StandardField.AUTHOR, "Lamport, Léslie");
+        BackupJournal.append(journalPath, journal.takePendingRecords());
+
+        assertTrue(new String(Files.readAllBytes(journalPath), StandardCharsets.UTF_8).contains("Lamport, Léslie"));
+    }
+}
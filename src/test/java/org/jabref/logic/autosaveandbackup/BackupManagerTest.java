@@ -1,15 +1,39 @@
 package org.jabref.logic.autosaveandbackup;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
+import org.jabref.logic.importer.ImportFormatPreferences;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.preferences.PreferencesService;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class BackupManagerTest {
 
+    private PreferencesService preferences;
+
+    @BeforeEach
+    public void setUp() {
+        preferences = mock(PreferencesService.class);
+        ImportFormatPreferences importFormatPreferences = mock(ImportFormatPreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(preferences.getImportFormatPreferences()).thenReturn(importFormatPreferences);
+        when(preferences.getDefaultEncoding()).thenReturn(StandardCharsets.UTF_8);
+    }
+
     @Test
     public void autosaveFileNameIsCorrectlyGeneratedWithinTmpDirectory() {
         Path bibPath = Path.of("tmp", "test.bib");
@@ -20,18 +44,49 @@ public class BackupManagerTest {
     @Test
     public void autosaveFileIsEqualForNonExistingBackup() throws Exception {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("no-autosave.bib").toURI());
-        assertFalse(BackupManager.backupFileDiffers(originalFile));
+        assertFalse(BackupManager.backupFileDiffers(originalFile, preferences));
     }
 
     @Test
     public void backupFileIsEqual() throws Exception {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("no-changes.bib").toURI());
-        assertFalse(BackupManager.backupFileDiffers(originalFile));
+        assertFalse(BackupManager.backupFileDiffers(originalFile, preferences));
     }
 
     @Test
     public void backupFileDiffers() throws Exception {
         Path originalFile = Path.of(BackupManagerTest.class.getResource("changes.bib").toURI());
-        assertTrue(BackupManager.backupFileDiffers(originalFile));
+        assertTrue(BackupManager.backupFileDiffers(originalFile, preferences));
+    }
+
+    @Test
+    public void backupFileIsEqualIfOriginalContainsJournaledChanges(@TempDir Path tempDir) throws Exception {
+        Path originalFile = tempDir.resolve("library.bib");
+        writeBackupWithTitleChange(originalFile);
+        Files.writeString(originalFile, "@Book{Knuth1984,\n  title = {The TeXbook},\n}\n");
+
+        assertFalse(BackupManager.backupFileDiffers(originalFile, preferences));
+    }
+
+    @Test
+    public void backupFileDiffersIfOriginalLacksJournaledChanges(@TempDir Path tempDir) throws Exception {
+        Path originalFile = tempDir.resolve("library.bib");
+        writeBackupWithTitleChange(originalFile);
+        Files.writeString(originalFile, "@Book{Knuth1984,\n}\n");
+
+        assertTrue(BackupManager.backupFileDiffers(originalFile, preferences));
+    }
+
+    private void writeBackupWithTitleChange(Path originalFile) throws Exception {
+        Path backupFile = BackupManager.getBackupPath(originalFile);
+        Path journalFile = BackupJournal.getJournalPath(backupFile);
+        Files.writeString(backupFile, "@Book{Knuth1984,\n}\n");
+        BackupJournal.create(journalFile, backupFile);
+
+        BibEntry knuth = new BibEntry(StandardEntryType.Book).withCitationKey("Knuth1984");
+        BackupJournal journal = new BackupJournal();
+        journal.startSnapshot(List.of(knuth));
+        journal.fieldChanged(knuth, StandardField.TITLE, "The TeXbook");
+        BackupJournal.append(journalFile, journal.takePendingRecords());
     }
 }
@@ -379,7 +379,7 @@ public class TestVM {
         vm.run(Collections.emptyList());
 
         assertEquals(Integer.MAX_VALUE, vm.getStack().pop());
-        assertTrue(vm.getStack().empty());
+        assertTrue(vm.getStack().isEmpty());
     }
 
     @Test
@@ -605,6 +605,27 @@ public class TestVM {
         assertEquals("Hallo", vm.getStack().pop());
     }
 
+    @Test
+    public void testIdentifierIsResolvedAgainAfterDeclaration() throws RecognitionException {
+        VM vm = new VM("FUNCTION {x}{ #1 } FUNCTION {f}{ x } EXECUTE {f} "
+                + "INTEGERS { x } FUNCTION {g}{ #5 'x := } EXECUTE {g} EXECUTE {f}");
+
+        vm.run(Collections.emptyList());
+
+        assertEquals(5, vm.getStack().pop());
+        assertEquals(1, vm.getStack().pop());
+    }
+
+    @Test
+    public void testRunTwiceWithOtherEntries() throws RecognitionException, IOException {
+        VM vm = new VM(new File("src/test/resources/org/jabref/logic/bst/abbrv.bst"));
+        List<BibEntry> sartre = List.of(TestVM.bibtexString2BibtexEntry("@article{canh05, author = \"Jean-Paul Sartre\" }"));
+
+        vm.run(List.of(t1BibtexEntry()));
+
+        assertEquals(new VM(new File("src/test/resources/org/jabref/logic/bst/abbrv.bst")).run(sartre), vm.run(sartre));
+    }
+
     @Test
     public void testHypthenatedName() throws RecognitionException, IOException {
         VM vm = new VM(new File("src/test/resources/org/jabref/logic/bst/abbrv.bst"));
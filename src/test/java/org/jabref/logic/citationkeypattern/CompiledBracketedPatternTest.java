@@ -0,0 +1,67 @@
+package org.jabref.logic.citationkeypattern;
+
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompiledBracketedPatternTest {
+
+    private BibEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        entry = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Eric von Hippel and Georg von Krogh and Alan Turing")
+                .withField(StandardField.EDITOR, "Donald E. Knuth")
+                .withField(StandardField.TITLE, "Open Source Software and the \"Private-Collective\" Innovation Model")
+                .withField(StandardField.YEAR, "2003")
+                .withField(StandardField.PAGES, "L209--223")
+                .withField(StandardField.KEYWORDS, "open source, innovation");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[auth][year]",
+            "[pureauth]_[authors2]_[authIni4]_[auth3_2]_[authorsAlpha]",
+            "[edtr]-[edtr3]-[editorIni]",
+            "[title:abbr]_[shorttitleINI]_[veryshorttitle:lower]",
+            "[firstpage][lastpage][pageprefix][shortyear]",
+            "[keyword2][keywords]",
+            "prefix\\[[year:(none)][unknownkey:(none)]\"quoted [text]\"",
+            "[journal:(no journal):upper]",
+            "[fulltitle:truncate6:truncate5]"
+    })
+    void expandsLikeInterpretedPattern(String pattern) {
+        assertEquals(BracketedPattern.expandBrackets(pattern, ';', entry, null),
+                CompiledBracketedPattern.compile(pattern).expand(entry, ';', null));
+    }
+
+    @Test
+    void compiledPatternIsReusedForOtherEntries() {
+        CompiledBracketedPattern pattern = CompiledBracketedPattern.compile("[auth:lower]-[year]");
+        BibEntry other = new BibEntry().withField(StandardField.AUTHOR, "Leslie Lamport")
+                                       .withField(StandardField.YEAR, "1994");
+
+        assertEquals(List.of("hippel-2003", "lamport-1994"),
+                List.of(pattern.expand(entry, ';', null), pattern.expand(other, ';', null)));
+    }
+
+    @Test
+    void textOutsideOfBracketsIsKept() {
+        assertEquals("Hippel and [Turing]", CompiledBracketedPattern.compile("[auth] and \\[[authorLast]\\]").expand(entry, ';', null));
+    }
+
+    @Test
+    void patternWithoutBracketsIsText() {
+        assertEquals("text", CompiledBracketedPattern.compile("text").expand(entry, ';', null));
+    }
+}
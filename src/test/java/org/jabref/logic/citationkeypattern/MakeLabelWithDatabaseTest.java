@@ -1,9 +1,13 @@
 package org.jabref.logic.citationkeypattern;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.InternalField;
 import org.jabref.model.entry.field.StandardField;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -500,4 +504,49 @@ class MakeLabelWithDatabaseTest {
         new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKey(entry);
         assertEquals(Optional.of("Aapoj"), entry.getCitationKey());
     }
+
+    @Test
+    void generateKeysAppendsLettersLikeGeneratingOneByOne() {
+        BibEntry entry2 = new BibEntry().withField(StandardField.AUTHOR, "John Doe").withField(StandardField.YEAR, "2016");
+        BibEntry entry3 = new BibEntry().withField(StandardField.AUTHOR, "Jane Roe").withField(StandardField.YEAR, "2016");
+        BibEntry entry4 = new BibEntry().withField(StandardField.AUTHOR, "John Doe").withField(StandardField.YEAR, "2016");
+        database.insertEntries(entry2, entry3, entry4);
+
+        new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKeys(database.getEntries());
+
+        assertEquals(List.of("Doe2016", "Doe2016a", "Roe2016", "Doe2016b"),
+                database.getEntries().stream().map(e -> e.getCitationKey().get()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void generateKeysKeepsExistingUniqueKey() {
+        entry.setCitationKey("Doe2016");
+        BibEntry entry2 = new BibEntry().withField(StandardField.AUTHOR, "John Doe").withField(StandardField.YEAR, "2016");
+        database.insertEntry(entry2);
+
+        List<FieldChange> changes = new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKeys(database.getEntries());
+
+        assertEquals(List.of(new FieldChange(entry2, InternalField.KEY_FIELD, null, "Doe2016a")), changes);
+    }
+
+    @Test
+    void generateKeysResolvesCrossrefWithKeyOfReferencedEntryAtThatTime() {
+        bibtexKeyPattern.setDefaultValue("[auth][year]");
+        entry.setCitationKey("parent");
+        BibEntry child = new BibEntry().withField(StandardField.CROSSREF, "Doe2016")
+                                       .withField(StandardField.TITLE, "Child");
+        database.insertEntry(child);
+        BibDatabase sequentialDatabase = new BibDatabase();
+        BibEntry sequentialParent = (BibEntry) entry.clone();
+        BibEntry sequentialChild = (BibEntry) child.clone();
+        sequentialDatabase.insertEntries(sequentialParent, sequentialChild);
+        CitationKeyGenerator sequentialGenerator = new CitationKeyGenerator(bibtexKeyPattern, sequentialDatabase, preferences);
+        sequentialGenerator.generateAndSetKey(sequentialParent);
+        sequentialGenerator.generateAndSetKey(sequentialChild);
+
+        new CitationKeyGenerator(bibtexKeyPattern, database, preferences).generateAndSetKeys(database.getEntries());
+
+        assertEquals(sequentialChild.getCitationKey(), child.getCitationKey());
+        assertEquals(Optional.of("Doe2016a"), child.getCitationKey());
+    }
 }
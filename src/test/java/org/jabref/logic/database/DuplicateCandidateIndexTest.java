@@ -0,0 +1,59 @@
+package org.jabref.logic.database;
+
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DuplicateCandidateIndexTest {
+
+    private final BibEntry article = new BibEntry(StandardEntryType.Article)
+            .withField(StandardField.AUTHOR, "Stefan Kolb and Simon Harrer")
+            .withField(StandardField.TITLE, "Towards the Portability of Process Models")
+            .withField(StandardField.YEAR, "2016");
+    private final BibEntry unrelated = new BibEntry(StandardEntryType.Book)
+            .withField(StandardField.AUTHOR, "Donald E. Knuth")
+            .withField(StandardField.TITLE, "The TeXbook")
+            .withField(StandardField.YEAR, "1984");
+
+    @Test
+    void entriesWithSameDoiAreCandidates() {
+        BibEntry one = new BibEntry().withField(StandardField.DOI, "10.1000/XYZ123");
+        BibEntry two = new BibEntry().withField(StandardField.DOI, "https://doi.org/10.1000/xyz123");
+
+        assertEquals(List.of(List.of(one, two)), new DuplicateCandidateIndex(List.of(one, unrelated, two)).getCandidatePairs());
+    }
+
+    @Test
+    void entriesWithSameFirstAuthorAndYearAreCandidates() {
+        BibEntry other = new BibEntry(StandardEntryType.Article)
+                .withField(StandardField.AUTHOR, "Kolb, Stefan")
+                .withField(StandardField.TITLE, "Something completely different")
+                .withField(StandardField.YEAR, "2016");
+
+        assertEquals(List.of(article), new DuplicateCandidateIndex(List.of(article, unrelated)).getCandidates(other));
+    }
+
+    @Test
+    void entriesWithSimilarTitlesAreCandidates() {
+        BibEntry other = new BibEntry(StandardEntryType.InProceedings)
+                .withField(StandardField.TITLE, "Towards the {P}ortability of Process Models.");
+
+        assertEquals(List.of(article), new DuplicateCandidateIndex(List.of(unrelated, article)).getCandidates(other));
+    }
+
+    @Test
+    void unrelatedEntriesAreNoCandidates() {
+        assertEquals(List.of(), new DuplicateCandidateIndex(List.of(article, unrelated)).getCandidatePairs());
+    }
+
+    @Test
+    void entryIsNoCandidateOfItself() {
+        assertEquals(List.of(), new DuplicateCandidateIndex(List.of(article)).getCandidates(article));
+    }
+}
@@ -0,0 +1,124 @@
+package org.jabref.logic.exporter;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.BibEntryTypesManager;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.metadata.MetaData;
+import org.jabref.model.metadata.SaveOrderConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IncrementalBibtexDatabaseSaverTest {
+
+    private Path file;
+    private SavePreferences preferences;
+    private BibEntryTypesManager entryTypesManager;
+    private BibDatabase database;
+    private BibDatabaseContext bibDatabaseContext;
+    private IncrementalBibtexDatabaseSaver saver;
+    private BibEntry knuth;
+    private BibEntry lamport;
+    private BibEntry turing;
+
+    @BeforeEach
+    void setUp(@TempDir Path tempDir) {
+        file = tempDir.resolve("library.bib");
+        preferences = mock(SavePreferences.class, Answers.RETURNS_DEEP_STUBS);
+        when(preferences.getEncoding()).thenReturn(StandardCharsets.UTF_8);
+        when(preferences.getSaveOrder()).thenReturn(new SaveOrderConfig());
+        when(preferences.takeMetadataSaveOrderInAccount()).thenReturn(true);
+        entryTypesManager = new BibEntryTypesManager();
+
+        database = new BibDatabase();
+        bibDatabaseContext = new BibDatabaseContext(database, new MetaData());
+        knuth = new BibEntry(StandardEntryType.Book)
+                .withCitationKey("Knuth1984")
+                .withField(StandardField.AUTHOR, "Donald E. Knuth")
+                .withField(StandardField.TITLE, "The TeXbook");
+        lamport = new BibEntry(StandardEntryType.Book)
+                .withCitationKey("Lamport1994")
+                .withField(StandardField.AUTHOR, "Leslie Lamport");
+        turing = new BibEntry(StandardEntryType.Article)
+                .withCitationKey("Turing1936")
+                .withField(StandardField.AUTHOR, "Alan Turing");
+        database.insertEntries(knuth, lamport, turing);
+        database.setPreamble("Test preamble");
+
+        saver = new IncrementalBibtexDatabaseSaver(bibDatabaseContext);
+    }
+
+    @Test
+    void firstSaveWritesCompleteLibrary() throws Exception {
+        saver.save(file, preferences, entryTypesManager);
+
+        assertEquals(saveCompletely(), Files.readString(file));
+    }
+
+    @Test
+    void saveAfterChangingEntryWritesSameAsCompleteSave() throws Exception {
+        saver.save(file, preferences, entryTypesManager);
+
+        lamport.setField(StandardField.TITLE, "LaTeX: A Document Preparation System");
+        saver.save(file, preferences, entryTypesManager);
+
+        assertEquals(saveCompletely(), Files.readString(file));
+    }
+
+    @Test
+    void saveAfterAddingAndRemovingEntriesWritesSameAsCompleteSave() throws Exception {
+        saver.save(file, preferences, entryTypesManager);
+
+        database.removeEntry(knuth);
+        database.insertEntry(new BibEntry(StandardEntryType.Misc).withCitationKey("Hopper1952"));
+        saver.save(file, preferences, entryTypesManager);
+
+        assertEquals(saveCompletely(), Files.readString(file));
+    }
+
+    @Test
+    void saveWithChangedSaveOrderWritesSameAsCompleteSave() throws Exception {
+        saver.save(file, preferences, entryTypesManager);
+
+        turing.setField(StandardField.YEAR, "1936");
+        when(preferences.getSaveOrder()).thenReturn(new SaveOrderConfig(false, true,
+                new SaveOrderConfig.SortCriterion(StandardField.AUTHOR, true),
+                new SaveOrderConfig.SortCriterion(StandardField.YEAR, false),
+                new SaveOrderConfig.SortCriterion(StandardField.TITLE, false)));
+        bibDatabaseContext.getMetaData().setSaveOrderConfig(preferences.getSaveOrder());
+        saver.save(file, preferences, entryTypesManager);
+
+        assertEquals(saveCompletely(), Files.readString(file));
+    }
+
+    @Test
+    void saveAfterExternalModificationWritesSameAsCompleteSave() throws Exception {
+        saver.save(file, preferences, entryTypesManager);
+
+        Files.writeString(file, "@Misc{external}");
+        knuth.setField(StandardField.YEAR, "1984");
+        saver.save(file, preferences, entryTypesManager);
+
+        assertEquals(saveCompletely(), Files.readString(file));
+    }
+
+    private String saveCompletely() throws Exception {
+        StringWriter stringWriter = new StringWriter();
+        new BibtexDatabaseWriter(stringWriter, preferences, entryTypesManager).saveDatabase(bibDatabaseContext);
+        return stringWriter.toString();
+    }
+}
@@ -56,4 +56,14 @@ public class ProtectTermsFormatterTest {
         assertEquals("{Testing BPEL Engine Performance: A Survey}",
                 formatter.format("{Testing BPEL Engine Performance: A Survey}"));
     }
+
+    @Test
+    public void testRepeatedTermIsProtectedEverywhere() {
+        assertEquals("{CDMA} {CDMA}", formatter.format("CDMA CDMA"));
+    }
+
+    @Test
+    public void testTermsAreMatchedLiterally() {
+        assertEquals("{H.264} and H1264", formatter.format("H.264 and H1264"));
+    }
 }
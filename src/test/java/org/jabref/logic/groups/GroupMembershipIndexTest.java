@@ -0,0 +1,116 @@
+package org.jabref.logic.groups;
+
+import java.util.List;
+import java.util.Set;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.groups.AllEntriesGroup;
+import org.jabref.model.groups.GroupHierarchyType;
+import org.jabref.model.groups.GroupTreeNode;
+import org.jabref.model.groups.WordKeywordGroup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GroupMembershipIndexTest {
+
+    private BibDatabase database;
+    private BibDatabaseContext databaseContext;
+    private GroupMembershipIndex index;
+    private GroupTreeNode root;
+    private GroupTreeNode physics;
+    private BibEntry einstein;
+    private BibEntry curie;
+
+    @BeforeEach
+    void setUp() {
+        einstein = new BibEntry().withField(StandardField.KEYWORDS, "physics, relativity");
+        curie = new BibEntry().withField(StandardField.KEYWORDS, "chemistry");
+        database = new BibDatabase();
+        database.insertEntries(einstein, curie);
+        databaseContext = new BibDatabaseContext(database);
+
+        root = GroupTreeNode.fromGroup(new AllEntriesGroup("All entries"));
+        physics = root.addSubgroup(keywordGroup("Physics", "physics", GroupHierarchyType.INDEPENDENT));
+        databaseContext.getMetaData().setGroups(root);
+
+        index = databaseContext.getGroupMembershipIndex();
+    }
+
+    @Test
+    void countsEntriesOfLibrary() {
+        assertEquals(2, index.getNumberOfMatches(root));
+        assertEquals(1, index.getNumberOfMatches(physics));
+    }
+
+    @Test
+    void addedEntryIsCounted() {
+        database.insertEntry(new BibEntry().withField(StandardField.KEYWORDS, "physics"));
+
+        assertEquals(2, index.getNumberOfMatches(physics));
+    }
+
+    @Test
+    void removedEntryIsNotCountedAnymore() {
+        database.removeEntry(einstein);
+
+        assertEquals(0, index.getNumberOfMatches(physics));
+        assertEquals(1, index.getNumberOfMatches(root));
+    }
+
+    @Test
+    void changedEntryIsMatchedAgain() {
+        assertEquals(1, index.getNumberOfMatches(physics));
+
+        curie.setField(StandardField.KEYWORDS, "chemistry, physics");
+        einstein.clearField(StandardField.KEYWORDS);
+
+        assertTrue(index.isMatch(physics, curie));
+        assertFalse(index.isMatch(physics, einstein));
+        assertEquals(1, index.getNumberOfMatches(physics));
+    }
+
+    @Test
+    void matchesAreCopied() {
+        Set<BibEntry> matches = index.getMatches(physics);
+        curie.setField(StandardField.KEYWORDS, "physics");
+
+        assertEquals(Set.of(einstein), matches);
+        assertEquals(Set.of(einstein, curie), index.getMatches(physics));
+    }
+
+    @Test
+    void entryNotInLibraryIsMatchedDirectly() {
+        assertTrue(index.isMatch(physics, new BibEntry().withField(StandardField.KEYWORDS, "physics")));
+    }
+
+    @Test
+    void changedGroupTreeIsTakenIntoAccount() {
+        assertEquals(1, index.getNumberOfMatches(physics));
+
+        physics.addSubgroup(keywordGroup("Chemistry", "chemistry", GroupHierarchyType.INDEPENDENT));
+        physics.setGroup(keywordGroup("Physics", "physics", GroupHierarchyType.INCLUDING), false, false, database.getEntries());
+
+        assertEquals(2, index.getNumberOfMatches(physics));
+    }
+
+    @Test
+    void refiningGroupOnlyMatchesEntriesOfParent() {
+        GroupTreeNode relativity = physics.addSubgroup(keywordGroup("Relativity", "relativity", GroupHierarchyType.REFINING));
+        database.insertEntry(new BibEntry().withField(StandardField.KEYWORDS, "relativity"));
+
+        assertEquals(1, index.getNumberOfMatches(relativity));
+        assertEquals(List.of(einstein), relativity.findMatches(database));
+    }
+
+    private static WordKeywordGroup keywordGroup(String name, String keyword, GroupHierarchyType context) {
+        return new WordKeywordGroup(name, context, StandardField.KEYWORDS, keyword, false, ',', false);
+    }
+}
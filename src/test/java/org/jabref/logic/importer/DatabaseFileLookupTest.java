@@ -1,20 +1,32 @@
 package org.jabref.logic.importer;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 import org.jabref.logic.importer.fileformat.BibtexImporter;
+import org.jabref.logic.util.io.DatabaseFileLookup;
 import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
 import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.LinkedFile;
 import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.preferences.FilePreferences;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class DatabaseFileLookupTest {
 
@@ -24,6 +36,9 @@ class DatabaseFileLookupTest {
     private BibEntry entry1;
     private BibEntry entry2;
 
+    @TempDir
+    Path fileDirectory;
+
     @BeforeEach
     void setUp() throws Exception {
         ParserResult result = new BibtexImporter(mock(ImportFormatPreferences.class, Answers.RETURNS_DEEP_STUBS), new DummyFileUpdateMonitor())
@@ -45,4 +60,87 @@ class DatabaseFileLookupTest {
         assertNotNull(entry1);
         assertNotNull(entry2);
     }
+
+    @Test
+    void fileLinkedByEntryIsFound() throws Exception {
+        Path file = Files.createFile(fileDirectory.resolve("paper.pdf"));
+        BibDatabaseContext context = createContext(entryLinking("paper.pdf"));
+
+        assertTrue(createLookup(context).lookupDatabase(file));
+    }
+
+    @Test
+    void fileLinkedByAddedEntryIsFound() throws Exception {
+        Path file = Files.createFile(fileDirectory.resolve("paper.pdf"));
+        BibDatabaseContext context = createContext();
+        DatabaseFileLookup lookup = createLookup(context);
+
+        context.getDatabase().insertEntry(entryLinking("paper.pdf"));
+
+        assertTrue(lookup.lookupDatabase(file));
+    }
+
+    @Test
+    void fileOfRemovedEntryIsNotFound() throws Exception {
+        Path file = Files.createFile(fileDirectory.resolve("paper.pdf"));
+        BibEntry entry = entryLinking("paper.pdf");
+        BibDatabaseContext context = createContext(entry);
+        DatabaseFileLookup lookup = createLookup(context);
+
+        context.getDatabase().removeEntry(entry);
+
+        assertFalse(lookup.lookupDatabase(file));
+    }
+
+    @Test
+    void changedLinkIsFollowed() throws Exception {
+        Path oldFile = Files.createFile(fileDirectory.resolve("old.pdf"));
+        Path newFile = Files.createFile(fileDirectory.resolve("new.pdf"));
+        BibEntry entry = entryLinking("old.pdf");
+        DatabaseFileLookup lookup = createLookup(createContext(entry));
+
+        entry.setFiles(List.of(new LinkedFile("", "new.pdf", "PDF")));
+
+        assertEquals(List.of(false, true), List.of(lookup.lookupDatabase(oldFile), lookup.lookupDatabase(newFile)));
+    }
+
+    @Test
+    void fileLinkedByTwoEntriesIsFoundAfterRemovingOneOfThem() throws Exception {
+        Path file = Files.createFile(fileDirectory.resolve("paper.pdf"));
+        BibEntry entry = entryLinking("paper.pdf");
+        BibDatabaseContext context = createContext(entry, entryLinking("paper.pdf"));
+        DatabaseFileLookup lookup = createLookup(context);
+
+        context.getDatabase().removeEntry(entry);
+
+        assertTrue(lookup.lookupDatabase(file));
+    }
+
+    @Test
+    void missingFileIsFoundAfterItWasCreated() throws Exception {
+        DatabaseFileLookup lookup = createLookup(createContext(entryLinking("paper.pdf")));
+        Path file = Files.createFile(fileDirectory.resolve("paper.pdf"));
+
+        lookup.resolveMissingFiles();
+
+        assertTrue(lookup.lookupDatabase(file));
+    }
+
+    private BibDatabaseContext createContext(BibEntry... entries) {
+        BibDatabaseContext context = new BibDatabaseContext();
+        context.getDatabase().insertEntries(entries);
+        return context;
+    }
+
+    private DatabaseFileLookup createLookup(BibDatabaseContext context) {
+        FilePreferences filePreferences = mock(FilePreferences.class);
+        when(filePreferences.getFileDirectory()).thenReturn(Optional.of(fileDirectory));
+        return new DatabaseFileLookup(context, filePreferences);
+    }
+
+    private BibEntry entryLinking(String fileName) {
+        BibEntry entry = new BibEntry();
+        entry.setFiles(List.of(new LinkedFile("", fileName, "PDF")));
+        return entry;
+    }
 }
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import org.jabref.logic.citationkeypattern.AbstractCitationKeyPattern;
 import org.jabref.logic.citationkeypattern.DatabaseCitationKeyPattern;
@@ -1222,6 +1223,109 @@ class BibtexParserTest {
         assertEquals(OS.NEWLINE + OS.NEWLINE + testEntry, parsedEntry.getParsedSerialization());
     }
 
+    @Test
+    void parseSetsParsedSerializationOfEntriesSpanningSeveralBuffers() throws IOException {
+        StringBuilder bibtex = new StringBuilder();
+        List<String> serializations = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String entry = "@article{key" + i + ",  author = {Author " + i + "}," + OS.NEWLINE
+                    + "  abstract = {" + "Lorem ipsum dolor sit amet ".repeat(i % 7) + "}}" + OS.NEWLINE;
+            serializations.add(entry);
+            bibtex.append(entry);
+        }
+
+        List<BibEntry> parsed = parser.parse(new StringReader(bibtex.toString())).getDatabase().getEntries();
+
+        assertEquals(500, parsed.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(Optional.of("key" + i), parsed.get(i).getCitationKey());
+            assertEquals(serializations.get(i), parsed.get(i).getParsedSerialization());
+        }
+    }
+
+    @Test
+    void parseWithConsumerPassesEntriesInOrderAndKeepsStrings() throws IOException {
+        List<BibEntry> entries = new ArrayList<>();
+
+        ParserResult result = parser.parse(new StringReader("@string{bourdieu = {Bourdieu, Pierre}}" + OS.NEWLINE
+                + "@article{first,author=bourdieu}" + OS.NEWLINE
+                + "@article{second,author={Ed von Test}}"), entries::add);
+
+        assertEquals(2, entries.size());
+        assertEquals(Optional.of("first"), entries.get(0).getCitationKey());
+        assertEquals(Optional.of("#bourdieu#"), entries.get(0).getField(StandardField.AUTHOR));
+        assertEquals(Optional.of("second"), entries.get(1).getCitationKey());
+        assertEquals(Collections.emptyList(), result.getDatabase().getEntries());
+        assertEquals(Optional.of("Bourdieu, Pierre"), result.getDatabase().getStringValues().stream().map(BibtexString::getContent).findFirst());
+    }
+
+    @Test
+    void parseTwiceWithSameParserReturnsSameResult() throws IOException {
+        String bibtex = "@article{test,author={Ed von Test}}";
+
+        List<BibEntry> first = parser.parse(new StringReader(bibtex)).getDatabase().getEntries();
+        List<BibEntry> second = parser.parse(new StringReader(bibtex)).getDatabase().getEntries();
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void findChunkBoundariesSplitsAfterEntriesOnly() {
+        String first = "@article{a, title = {{@}x}}" + OS.NEWLINE;
+        String comment = "@comment{some comment}" + OS.NEWLINE;
+        String second = "% foo@bar.org" + OS.NEWLINE + "@article{b, title = {y}}";
+
+        assertEquals(List.of(0, first.length(), (first + comment + second).length()),
+                BibtexParser.findChunkBoundaries(first + comment + second, 1));
+    }
+
+    @Test
+    void parseParallelReturnsSameResultAsParse() throws IOException {
+        String bibtex = "% DBID: 2mvhh73ge3hc5fosdsvuoa808t" + OS.NEWLINE
+                + "@string{bourdieu = {Bourdieu, Pierre}}" + OS.NEWLINE
+                + "@preamble{some preamble}" + OS.NEWLINE
+                + "@article{first, author = bourdieu, title = {@ in {braces}}}" + OS.NEWLINE + OS.NEWLINE
+                + "@comment{plain comment}" + OS.NEWLINE
+                + "comment before second entry" + OS.NEWLINE
+                + "@book{second,author={Ed von Test}}" + OS.NEWLINE
+                + "@string{foucault = {Foucault, Michel}}" + OS.NEWLINE
+                + "@article{third, author = foucault}" + OS.NEWLINE
+                + "@comment{jabref-meta: saveActions:enabled;title[lower_case]}" + OS.NEWLINE
+                + "epilog";
+
+        ParserResult expected = parser.parse(new StringReader(bibtex));
+        ParserResult result = parser.parseParallel(bibtex, new ForkJoinPool(2), 1);
+
+        assertEquals(expected.getDatabase().getEntries(), result.getDatabase().getEntries());
+        for (int i = 0; i < expected.getDatabase().getEntryCount(); i++) {
+            assertEquals(expected.getDatabase().getEntries().get(i).getParsedSerialization(),
+                    result.getDatabase().getEntries().get(i).getParsedSerialization());
+        }
+        assertEquals(expected.getDatabase().getStringKeySet().size(), result.getDatabase().getStringCount());
+        assertEquals(Optional.of("Foucault, Michel"), result.getDatabase().getStringByName("foucault").map(BibtexString::getContent));
+        assertEquals(expected.getDatabase().getPreamble(), result.getDatabase().getPreamble());
+        assertEquals(expected.getDatabase().getSharedDatabaseID(), result.getDatabase().getSharedDatabaseID());
+        assertEquals(expected.getDatabase().getEpilog(), result.getDatabase().getEpilog());
+        assertEquals(expected.getMetaData(), result.getMetaData());
+        assertEquals(expected.warnings(), result.warnings());
+    }
+
+    @Test
+    void parseParallelReportsSameWarningsAsParse() throws IOException {
+        String bibtex = "@article{first, author = {A}}" + OS.NEWLINE
+                + "@string{name = {A}}" + OS.NEWLINE
+                + "@article{second, author = {B}" + OS.NEWLINE
+                + "@string{name = {B}}" + OS.NEWLINE
+                + "@article{third, author = {C}}" + OS.NEWLINE;
+
+        ParserResult expected = parser.parse(new StringReader(bibtex));
+        ParserResult result = parser.parseParallel(bibtex, new ForkJoinPool(2), 1);
+
+        assertFalse(expected.warnings().isEmpty());
+        assertEquals(expected.warnings(), result.warnings());
+        assertEquals(expected.getDatabase().getEntries(), result.getDatabase().getEntries());
+    }
+
     @Test
     void parseSavesNewlinesBetweenEntriesInParsedSerialization() throws IOException {
         String testEntryOne = "@article{test1,author={Ed von Test}}";
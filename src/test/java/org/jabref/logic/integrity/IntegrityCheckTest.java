@@ -3,6 +3,7 @@ package org.jabref.logic.integrity;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -197,6 +198,69 @@ class IntegrityCheckTest {
         assertEquals(Collections.emptyList(), messages);
     }
 
+    @Test
+    void checkEntriesReportsSameMessagesAsCheckEntry() {
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.TITLE, "{unbalanced");
+        IntegrityCheck check = createCheck(entry);
+
+        assertEquals(check.checkEntry(entry), checkEntries(check, entry));
+        check.shutdown();
+    }
+
+    @Test
+    void checkEntriesChecksChangedEntryAgain() {
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.TITLE, "{unbalanced");
+        IntegrityCheck check = createCheck(entry);
+        assertNotEquals(Collections.emptyList(), checkEntries(check, entry));
+
+        entry.setField(StandardField.TITLE, "{balanced}");
+
+        assertEquals(check.checkEntry(entry), checkEntries(check, entry));
+        check.shutdown();
+    }
+
+    @Test
+    void checkEntriesChecksUnchangedEntryAgainstChangedLibrary() {
+        BibEntry first = new BibEntry(StandardEntryType.Article).withCitationKey("first");
+        BibEntry second = new BibEntry(StandardEntryType.Article).withCitationKey("second");
+        IntegrityCheck check = createCheck(first, second);
+        List<IntegrityMessage> messagesBefore = checkEntries(check, first);
+
+        second.setCitationKey("first");
+
+        assertEquals(check.checkEntry(first), checkEntries(check, first));
+        assertNotEquals(messagesBefore, checkEntries(check, first));
+        check.shutdown();
+    }
+
+    @Test
+    void checkEntriesChecksLinkedFilesAgain(@TempDir Path testFolder) throws IOException {
+        Path pdfFile = testFolder.resolve("file.pdf");
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.FILE, ":" + pdfFile + ":PDF");
+        IntegrityCheck check = createCheck(entry);
+        assertNotEquals(Collections.emptyList(), checkEntries(check, entry));
+
+        Files.createFile(pdfFile);
+
+        assertEquals(check.checkEntry(entry), checkEntries(check, entry));
+        check.shutdown();
+    }
+
+    private IntegrityCheck createCheck(BibEntry... entries) {
+        BibDatabase database = new BibDatabase();
+        database.insertEntries(entries);
+        return new IntegrityCheck(withMode(new BibDatabaseContext(database), BibDatabaseMode.BIBLATEX),
+                mock(FilePreferences.class),
+                createCitationKeyPatternPreferences(),
+                JournalAbbreviationLoader.loadBuiltInRepository(), false);
+    }
+
+    private List<IntegrityMessage> checkEntries(IntegrityCheck check, BibEntry... entries) {
+        List<IntegrityMessage> messages = new ArrayList<>();
+        check.checkEntries(List.of(entries), messages::addAll);
+        return messages;
+    }
+
     private CitationKeyPatternPreferences createCitationKeyPatternPreferences() {
         final GlobalCitationKeyPattern keyPattern = GlobalCitationKeyPattern.fromPattern("[auth][year]");
         return new CitationKeyPatternPreferences(
@@ -19,6 +19,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Answers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -166,4 +168,38 @@ class LayoutTest {
 
         assertEquals("JoeDoe and MaryJ", layoutText);
     }
+
+    @Test
+    void skippedFieldBlockRemovesFollowingBlankText() throws IOException {
+        String layoutText = "\\begin{author}\\begin{editor}\\editor\\end{editor} \\author\\end{author}";
+        BibEntry entry = new BibEntry(StandardEntryType.Article).withField(StandardField.AUTHOR, "Author");
+
+        assertEquals("Author", layout(layoutText, entry));
+        assertEquals("Editor Author", layout(layoutText, entry.withField(StandardField.EDITOR, "Editor")));
+    }
+
+    @Test
+    void doLayoutAppendsToBuilder() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\author (\\year)"), layoutFormatterPreferences).getLayoutFromText();
+        StringBuilder builder = new StringBuilder("1. ");
+
+        layout.doLayout(new BibEntry().withField(StandardField.AUTHOR, "Author").withField(StandardField.YEAR, "2020"), null, builder);
+        layout.doLayout(new BibEntry().withField(StandardField.AUTHOR, "Other"), null, builder.append(", 2. "));
+
+        assertEquals("1. Author (2020), 2. Other ()", builder.toString());
+    }
+
+    @Test
+    void layoutWithoutGroupsDoesNotDependOnEntryOrder() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\begin{author}\\format[HTMLChars]{\\author}\\end{author}"), layoutFormatterPreferences).getLayoutFromText();
+
+        assertFalse(layout.dependsOnEntryOrder());
+    }
+
+    @Test
+    void layoutWithGroupDependsOnEntryOrder() throws IOException {
+        Layout layout = new LayoutHelper(new StringReader("\\begingroup{keywords}\\keywords\\endgroup{keywords}\\title"), layoutFormatterPreferences).getLayoutFromText();
+
+        assertTrue(layout.dependsOnEntryOrder());
+    }
 }
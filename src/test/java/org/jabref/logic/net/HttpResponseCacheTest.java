@@ -0,0 +1,228 @@
+package org.jabref.logic.net;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HttpResponseCacheTest {
+
+    private HttpServer server;
+    private final List<HttpExchange> requests = Collections.synchronizedList(new ArrayList<>());
+    // Responses modified a year ago are used for some time without asking the server
+    private Map<String, String> responseHeaders = Map.of("Last-Modified",
+            DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusYears(1)));
+    private int responseStatus = 200;
+
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange);
+            String eTag = responseHeaders.get("ETag");
+            boolean isNotModified = (eTag != null) && eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            responseHeaders.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            byte[] body = ("content of " + exchange.getRequestURI().getPath()).getBytes(StandardCharsets.UTF_8);
+            if (isNotModified) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.sendResponseHeaders(responseStatus, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        URLDownload.setResponseCache(null);
+        server.stop(0);
+    }
+
+    private URL getUrl(String path) throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private String download(String path) throws IOException {
+        URLDownload download = new URLDownload(getUrl(path));
+        download.setUseResponseCache(true);
+        try (InputStream input = download.asInputStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void repeatedDownloadIsAnsweredFromCache() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+
+        assertEquals("content of /doi", download("/doi"));
+        assertEquals("content of /doi", download("/doi"));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void downloadWithoutCacheAsksServer() throws IOException {
+        download("/doi");
+        download("/doi");
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void responseWithoutExpirationAndModificationDateIsNotUsedWithoutAskingServer() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+        responseHeaders = Map.of();
+
+        download("/search");
+        download("/search");
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void outdatedResponseIsRevalidatedWithETag() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory, HttpResponseCache.DEFAULT_MAX_SIZE, Duration.ZERO));
+        responseHeaders = Map.of("ETag", "\"v1\"");
+
+        download("/doi");
+        String content = download("/doi");
+
+        assertEquals("content of /doi", content);
+        assertEquals(2, requests.size());
+        assertNull(requests.get(0).getRequestHeaders().getFirst("If-None-Match"));
+        assertEquals("\"v1\"", requests.get(1).getRequestHeaders().getFirst("If-None-Match"));
+    }
+
+    @Test
+    void responseWithMaxAgeZeroIsNotUsedWithoutAskingServer() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+        responseHeaders = Map.of("Cache-Control", "max-age=0");
+
+        download("/doi");
+        download("/doi");
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void responseWithNoStoreIsNotStored() throws IOException {
+        HttpResponseCache cache = new HttpResponseCache(cacheDirectory);
+        URLDownload.setResponseCache(cache);
+        responseHeaders = Map.of("Cache-Control", "no-store");
+
+        assertEquals("content of /doi", download("/doi"));
+        download("/doi");
+
+        assertEquals(2, requests.size());
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void errorResponseIsNotStored() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+        responseStatus = 404;
+
+        assertEquals("", download("/doi"));
+        download("/doi");
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void leastRecentlyUsedResponseIsRemoved() throws IOException {
+        // Each response has 13 bytes
+        HttpResponseCache cache = new HttpResponseCache(cacheDirectory, 30, HttpResponseCache.MAX_HEURISTIC_TIME_TO_LIVE);
+        URLDownload.setResponseCache(cache);
+
+        download("/a");
+        download("/b");
+        download("/a");
+        download("/c");
+        download("/a");
+        download("/b");
+
+        assertEquals(List.of("/a", "/b", "/c", "/b"), requests.stream().map(request -> request.getRequestURI().getPath()).collect(Collectors.toList()));
+        assertEquals(26, cache.getSize());
+    }
+
+    @Test
+    void responseIsReadAfterRestart() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+        download("/doi");
+
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+
+        assertEquals("content of /doi", download("/doi"));
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void responseRemovedFromDiskIsDownloadedAgain() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+        download("/doi");
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+
+        assertEquals("content of /doi", download("/doi"));
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    void downloadAsStringIsAnsweredFromCache() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+        download("/doi");
+
+        URLDownload download = new URLDownload(getUrl("/doi"));
+        download.setUseResponseCache(true);
+
+        assertEquals("content of /doi\n", download.asString());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void downloadsWithDifferentHeadersAreStoredSeparately() throws IOException {
+        URLDownload.setResponseCache(new HttpResponseCache(cacheDirectory));
+
+        download("/doi");
+        URLDownload download = new URLDownload(getUrl("/doi"));
+        download.addHeader("Accept", "application/x-bibtex");
+        download.setUseResponseCache(true);
+        download.asInputStream().close();
+
+        assertEquals(2, requests.size());
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ProtectedTermsLoaderTest {
@@ -215,4 +216,24 @@ class ProtectedTermsLoaderTest {
                 tempDir.toFile().getAbsolutePath());
         assertEquals("My new list", newList.getDescription());
     }
+
+    @Test
+    void matcherProtectsTermsOfEnabledLists() {
+        assertEquals("{VLSI} in {Germany}", loader.getProtectedTermsMatcher().protectTerms("VLSI in Germany"));
+    }
+
+    @Test
+    void matcherIsReusedIfListsDidNotChange() {
+        assertSame(loader.getProtectedTermsMatcher(), loader.getProtectedTermsMatcher());
+    }
+
+    @Test
+    void matcherFollowsChangedLists(@TempDir Path tempDir) {
+        loader.getProtectedTermsMatcher();
+        ProtectedTermsList list = loader.addNewProtectedTermsList("My terms", tempDir.resolve("my.terms").toString());
+        list.addProtectedTerm("Einstein");
+        loader.getProtectedTermsLists().forEach(termsList -> termsList.setEnabled(termsList == list));
+
+        assertEquals("{Einstein} and VLSI", loader.getProtectedTermsMatcher().protectTerms("Einstein and VLSI"));
+    }
 }
@@ -0,0 +1,39 @@
+package org.jabref.logic.protectedterms;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProtectedTermsMatcherTest {
+
+    private final ProtectedTermsMatcher matcher = new ProtectedTermsMatcher(List.of("CMOS", "VLSI", "3G", "3GPP", "H.264", "United States", "States"));
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "VLSI | {VLSI}",
+            "{VLSI} | {VLSI}",
+            "VLsI | VLsI",
+            "VLSIs | VLSIs",
+            "3GPP 3G | {3GPP} {3G}",
+            "3GPP3G | {3GPP}{3G}",
+            "CMOS CMOS | {CMOS} {CMOS}",
+            "A CMOS-based VLSI/CMOS design | A {CMOS}-based {VLSI}/{CMOS} design",
+            "(CMOS) [VLSI] | ({CMOS}) [{VLSI}]",
+            "aCMOS | aCMOS",
+            "H.264 and H1264 | {H.264} and H1264",
+            "United States | {United States}",
+            "no terms | no terms"
+    })
+    void protectsTerms(String text, String expected) {
+        assertEquals(expected, matcher.protectTerms(text));
+    }
+
+    @Test
+    void matcherWithoutTermsDoesNotChangeText() {
+        assertEquals("CMOS VLSI", new ProtectedTermsMatcher(List.of()).protectTerms("CMOS VLSI"));
+    }
+}
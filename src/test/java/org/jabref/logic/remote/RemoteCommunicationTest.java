@@ -1,19 +1,33 @@
 package org.jabref.logic.remote;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.jabref.logic.remote.client.RemoteClient;
 import org.jabref.logic.remote.server.MessageHandler;
 import org.jabref.logic.remote.server.RemoteListenerServerLifecycle;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
 import org.jabref.support.DisabledOnCIServer;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for the case where the client and server are set-up correctly. Testing the exceptional cases happens in {@link
@@ -83,4 +97,48 @@ class RemoteCommunicationTest {
 
         verify(server).handleCommandLineArguments(message);
     }
+
+    @Test
+    void concurrentPingsReturnTrue() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<Boolean>> pings = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                pings.add(executor.submit(client::ping));
+            }
+            for (Future<Boolean> ping : pings) {
+                assertTrue(ping.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchLibrariesReturnsCitationKeysOfOpenLibraries() {
+        BibDatabase database = new BibDatabase();
+        database.insertEntries(new BibEntry().withCitationKey("Turing1950").withField(StandardField.AUTHOR, "Alan Turing"),
+                new BibEntry().withCitationKey("Knuth1968").withField(StandardField.AUTHOR, "Donald E. Knuth"));
+        when(server.getOpenLibraries()).thenReturn(List.of(new BibDatabaseContext(database)));
+
+        assertEquals(Optional.of(List.of("Turing1950")), client.searchLibraries("author=turing"));
+    }
+
+    @Test
+    void getEntryReturnsEntryOfOpenLibraries() {
+        BibDatabase database = new BibDatabase();
+        database.insertEntry(new BibEntry().withCitationKey("Turing1950").withField(StandardField.AUTHOR, "Alan Turing"));
+        when(server.getOpenLibraries()).thenReturn(List.of(new BibDatabaseContext(database)));
+
+        assertTrue(client.getEntry("Turing1950").orElseThrow().contains("Alan Turing"));
+        assertEquals(Optional.empty(), client.getEntry("Knuth1968"));
+    }
+
+    @Test
+    void failingQueryIsAnsweredWithoutWaitingForTimeout() {
+        when(server.getOpenLibraries()).thenThrow(new IllegalStateException("Library was closed"));
+
+        // The client would wait five seconds for an answer
+        assertTimeout(Duration.ofSeconds(2), () -> assertEquals(Optional.empty(), client.getEntry("Turing1950")));
+    }
 }
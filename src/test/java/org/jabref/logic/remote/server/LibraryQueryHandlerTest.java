@@ -0,0 +1,82 @@
+package org.jabref.logic.remote.server;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.logic.util.OS;
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.database.BibDatabaseContext;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LibraryQueryHandlerTest {
+
+    private LibraryQueryHandler queryHandler;
+
+    @BeforeEach
+    void setUp() {
+        BibDatabase first = new BibDatabase();
+        first.insertEntries(
+                new BibEntry(StandardEntryType.Article).withCitationKey("Turing1950")
+                                                       .withField(StandardField.AUTHOR, "Alan Turing")
+                                                       .withField(StandardField.TITLE, "Computing Machinery and Intelligence")
+                                                       .withField(StandardField.YEAR, "1950"),
+                new BibEntry(StandardEntryType.Book).withCitationKey("Knuth1968")
+                                                    .withField(StandardField.AUTHOR, "Donald E. Knuth")
+                                                    .withField(StandardField.TITLE, "The Art of Computer Programming"),
+                new BibEntry(StandardEntryType.Misc).withField(StandardField.TITLE, "Computing without key"));
+        BibDatabase second = new BibDatabase();
+        second.insertEntry(new BibEntry(StandardEntryType.Article).withCitationKey("Church1936")
+                                                                  .withField(StandardField.AUTHOR, "Alonzo Church")
+                                                                  .withField(StandardField.TITLE, "An Unsolvable Problem of Elementary Number Theory"));
+
+        queryHandler = new LibraryQueryHandler(() -> List.of(new BibDatabaseContext(first), new BibDatabaseContext(second)));
+    }
+
+    @Test
+    void findCitationKeysSearchesAllLibraries() {
+        assertEquals(List.of("Church1936", "Knuth1968", "Turing1950"), queryHandler.findCitationKeys("author=al or author=knuth"));
+    }
+
+    @Test
+    void findCitationKeysOmitsEntriesWithoutKey() {
+        assertEquals(List.of("Turing1950"), queryHandler.findCitationKeys("title=computing"));
+    }
+
+    @Test
+    void findCitationKeysWithoutMatches() {
+        assertEquals(Collections.emptyList(), queryHandler.findCitationKeys("hopper"));
+    }
+
+    @Test
+    void getEntryAsBibtex() {
+        assertEquals(Optional.of("@Article{Church1936," + OS.NEWLINE
+                        + "  author = {Alonzo Church}," + OS.NEWLINE
+                        + "  title  = {An Unsolvable Problem of Elementary Number Theory}," + OS.NEWLINE
+                        + "}"),
+                queryHandler.getEntryAsBibtex("Church1936"));
+    }
+
+    @Test
+    void getEntryAsBibtexOfUnknownKey() {
+        assertEquals(Optional.empty(), queryHandler.getEntryAsBibtex("Hopper1952"));
+    }
+
+    @Test
+    void formatCitationUsesDefaultStyle() {
+        assertTrue(queryHandler.formatCitation("Turing1950").orElseThrow().contains("Computing Machinery and Intelligence"));
+    }
+
+    @Test
+    void formatCitationOfUnknownKey() {
+        assertEquals(Optional.empty(), queryHandler.formatCitation("Hopper1952"));
+    }
+}
@@ -0,0 +1,45 @@
+package org.jabref.logic.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelEntryMatcherTest {
+
+    @Test
+    void matchesSameEntriesAsSequentialSearch() {
+        List<BibEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            entries.add(new BibEntry().withField(StandardField.YEAR, String.valueOf(1900 + (i % 120))));
+        }
+        SearchQuery query = new SearchQuery("year=19", false, true);
+
+        BitSet expected = new BitSet();
+        for (int i = 0; i < entries.size(); i++) {
+            expected.set(i, query.isMatch(entries.get(i)));
+        }
+
+        assertEquals(expected, ParallelEntryMatcher.match(entries, query::isMatch, () -> false));
+    }
+
+    @Test
+    void noEntriesAreMatchedInEmptyList() {
+        assertEquals(new BitSet(), ParallelEntryMatcher.match(List.of(), entry -> true, () -> false));
+    }
+
+    @Test
+    void canceledMatchingThrowsException() {
+        List<BibEntry> entries = List.of(new BibEntry());
+
+        assertThrows(CancellationException.class, () -> ParallelEntryMatcher.match(entries, entry -> true, () -> true));
+    }
+}
@@ -0,0 +1,134 @@
+package org.jabref.logic.search;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jabref.model.database.BibDatabase;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class SearchIndexTest {
+
+    private BibDatabase database;
+    private SearchIndex searchIndex;
+    private BibEntry knuth;
+    private BibEntry lamport;
+
+    @BeforeEach
+    void setUp() {
+        database = new BibDatabase();
+        knuth = new BibEntry(StandardEntryType.Book)
+                .withCitationKey("Knuth1984")
+                .withField(StandardField.AUTHOR, "Donald E. Knuth")
+                .withField(StandardField.TITLE, "The {\\TeX}book")
+                .withField(StandardField.YEAR, "1984");
+        lamport = new BibEntry(StandardEntryType.Book)
+                .withCitationKey("Lamport1994")
+                .withField(StandardField.AUTHOR, "Leslie Lamport")
+                .withField(StandardField.TITLE, "LaTeX: A Document Preparation System")
+                .withField(StandardField.YEAR, "1994");
+        database.insertEntries(knuth, lamport);
+        searchIndex = new SearchIndex(database);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "knuth, false",
+            "Knuth, true",
+            "knuth, true",
+            "tex, false",
+            "TeXbook, true",
+            "ment prep, false",
+            "\"document preparation\", false",
+            "1984, false",
+            "199, false",
+            "lamport1994, false",
+            "author=knuth, false",
+            "title=knuth, false",
+            "anyfield=lamport, false",
+            "author=knuth or title=latex, false",
+            "author=knuth and year=1994, false",
+            "not author=knuth, false",
+            "author!=lamport, false",
+            "entrytype=book, false",
+            "year==1984, false",
+            "nothing, false"
+    })
+    void resultsEqualFullScan(String query, boolean caseSensitive) {
+        SearchQuery searchQuery = new SearchQuery(query, caseSensitive, false);
+
+        List<BibEntry> expected = database.getEntries().stream().filter(searchQuery::isMatch).collect(Collectors.toList());
+
+        assertEquals(expected, searchIndex.getMatches(searchQuery));
+    }
+
+    @Test
+    void candidatesAreNarrowedForContainBasedSearch() {
+        Optional<Set<BibEntry>> candidates = searchIndex.getCandidates(new SearchQuery("knuth", false, false));
+
+        assertEquals(Optional.of(Set.of(knuth)), candidates);
+    }
+
+    @Test
+    void candidatesAreNarrowedForFieldScopedSearch() {
+        Optional<Set<BibEntry>> candidates = searchIndex.getCandidates(new SearchQuery("title=lamport", false, false));
+
+        assertEquals(Optional.of(Set.of()), candidates);
+    }
+
+    @Test
+    void regularExpressionIsNotNarrowed() {
+        assertEquals(Optional.empty(), searchIndex.getCandidates(new SearchQuery("kn.th", false, true)));
+    }
+
+    @Test
+    void changedFieldIsReindexed() {
+        SearchQuery query = new SearchQuery("turing", false, false);
+        assertFalse(searchIndex.getMatches(query).contains(knuth));
+
+        knuth.setField(StandardField.NOTE, "Turing Award");
+
+        assertEquals(List.of(knuth), searchIndex.getMatches(query));
+    }
+
+    @Test
+    void clearedFieldIsRemovedFromIndex() {
+        knuth.clearField(StandardField.AUTHOR);
+
+        assertEquals(List.of(), searchIndex.getMatches(new SearchQuery("donald", false, false)));
+    }
+
+    @Test
+    void addedEntryIsIndexed() {
+        BibEntry turing = new BibEntry().withField(StandardField.AUTHOR, "Alan Turing");
+        database.insertEntry(turing);
+
+        assertEquals(List.of(turing), searchIndex.getMatches(new SearchQuery("turing", false, false)));
+    }
+
+    @Test
+    void removedEntryIsNotFound() {
+        database.removeEntry(lamport);
+
+        assertEquals(List.of(), searchIndex.getMatches(new SearchQuery("lamport", false, false)));
+    }
+
+    @Test
+    void matchesAreInLibraryOrder() {
+        database.removeEntry(knuth);
+        database.insertEntry(knuth);
+
+        assertEquals(List.of(lamport, knuth), searchIndex.getMatches(new SearchQuery("19", false, false)));
+    }
+}
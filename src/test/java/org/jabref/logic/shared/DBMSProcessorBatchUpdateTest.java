@@ -0,0 +1,181 @@
+package org.jabref.logic.shared;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.logic.shared.exception.OfflineLockException;
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the batched update against an in-memory H2 database in PostgreSQL compatibility mode
+ */
+class DBMSProcessorBatchUpdateTest {
+
+    private static final int NUMBER_OF_ENTRIES = 200;
+
+    private Connection h2Connection;
+    private StatementCounter statementCounter;
+    private DBMSProcessor dbmsProcessor;
+    private List<BibEntry> entries;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        h2Connection = DriverManager.getConnection("jdbc:h2:mem:jabref;MODE=PostgreSQL");
+        statementCounter = new StatementCounter(h2Connection);
+        Connection countingConnection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class}, statementCounter);
+        DBMSConnectionProperties properties = new DBMSConnectionPropertiesBuilder().setType(DBMSType.POSTGRESQL).createDBMSConnectionProperties();
+        dbmsProcessor = new PostgreSQLProcessor(new DatabaseConnection() {
+            @Override
+            public DatabaseConnectionProperties getProperties() {
+                return properties;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return countingConnection;
+            }
+        });
+        dbmsProcessor.setupSharedDatabase();
+
+        entries = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_ENTRIES; i++) {
+            entries.add(new BibEntry(StandardEntryType.Article)
+                    .withField(StandardField.AUTHOR, "Author " + i)
+                    .withField(StandardField.TITLE, "Title " + i));
+        }
+        dbmsProcessor.insertEntries(entries);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        h2Connection.close();
+    }
+
+    @Test
+    void updateEntriesNeedsConstantNumberOfStatements() throws Exception {
+        for (BibEntry entry : entries) {
+            entry.setField(StandardField.YEAR, "2021");
+            entry.clearField(StandardField.TITLE);
+        }
+        statementCounter.reset();
+
+        List<OfflineLockException> refusedUpdates = dbmsProcessor.updateEntries(entries);
+
+        assertEquals(List.of(), refusedUpdates);
+        // lock and read change number, select versions, delete fields, insert fields, update versions, record changes
+        assertEquals(8, statementCounter.getCount());
+        assertEquals(entries, dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    void updateEntriesNeedsFewerStatementsThanUpdatingOneByOne() throws Exception {
+        for (BibEntry entry : entries) {
+            entry.setField(StandardField.YEAR, "2021");
+        }
+        statementCounter.reset();
+        for (BibEntry entry : entries.subList(0, 10)) {
+            dbmsProcessor.updateEntry(entry);
+        }
+        int statementsForTenEntries = statementCounter.getCount();
+
+        statementCounter.reset();
+        dbmsProcessor.updateEntries(entries.subList(10, NUMBER_OF_ENTRIES));
+
+        assertTrue(statementCounter.getCount() < statementsForTenEntries);
+        assertEquals(entries, dbmsProcessor.getSharedEntries());
+    }
+
+    @Test
+    void updateEntriesIncreasesLocalVersion() throws Exception {
+        BibEntry entry = entries.get(0);
+        int version = entry.getSharedBibEntryData().getVersion();
+
+        dbmsProcessor.updateEntries(List.of(entry));
+
+        assertEquals(version + 1, entry.getSharedBibEntryData().getVersion());
+        assertEquals(version + 1, dbmsProcessor.getSharedEntry(entry.getSharedBibEntryData().getSharedID()).get().getSharedBibEntryData().getVersion());
+    }
+
+    @Test
+    void outdatedEntryIsRefusedAndOtherEntriesAreUpdated() throws Exception {
+        BibEntry outdatedEntry = entries.get(0);
+        BibEntry otherClientsEntry = dbmsProcessor.getSharedEntry(outdatedEntry.getSharedBibEntryData().getSharedID()).get();
+        otherClientsEntry.setField(StandardField.YEAR, "1999");
+        dbmsProcessor.updateEntries(List.of(otherClientsEntry));
+
+        outdatedEntry.setField(StandardField.YEAR, "2021");
+        entries.get(1).setField(StandardField.YEAR, "2021");
+        List<OfflineLockException> refusedUpdates = dbmsProcessor.updateEntries(entries.subList(0, 2));
+
+        assertEquals(1, refusedUpdates.size());
+        assertEquals(outdatedEntry, refusedUpdates.get(0).getLocalBibEntry());
+        assertEquals(otherClientsEntry, dbmsProcessor.getSharedEntry(outdatedEntry.getSharedBibEntryData().getSharedID()).get());
+        assertEquals(entries.get(1), dbmsProcessor.getSharedEntry(entries.get(1).getSharedBibEntryData().getSharedID()).get());
+    }
+
+    /**
+     * Counts the statements sent to the database. A JDBC batch is counted as one statement.
+     */
+    private static class StatementCounter implements InvocationHandler {
+        private final Connection connection;
+        private int count;
+
+        StatementCounter(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeOn(connection, method, args);
+            if (result instanceof PreparedStatement) {
+                return wrap(result, PreparedStatement.class);
+            } else if (result instanceof Statement) {
+                return wrap(result, Statement.class);
+            }
+            return result;
+        }
+
+        private Object wrap(Object statement, Class<?> statementInterface) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {statementInterface}, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    count++;
+                }
+                return invokeOn(statement, method, args);
+            });
+        }
+
+        private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        void reset() {
+            count = 0;
+        }
+
+        int getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.jabref.logic.shared;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+import org.jabref.model.entry.types.StandardEntryType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests fetching the changes of the shared entries against an in-memory H2 database in PostgreSQL compatibility mode
+ */
+class DBMSProcessorEntryChangesTest {
+
+    private Connection connection;
+    private DBMSProcessor dbmsProcessor;
+    private BibEntry knuth;
+    private BibEntry lamport;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:jabrefEntryChanges;MODE=PostgreSQL");
+        DBMSConnectionProperties properties = new DBMSConnectionPropertiesBuilder().setType(DBMSType.POSTGRESQL).createDBMSConnectionProperties();
+        dbmsProcessor = new PostgreSQLProcessor(new DatabaseConnection() {
+            @Override
+            public DatabaseConnectionProperties getProperties() {
+                return properties;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return connection;
+            }
+        });
+        dbmsProcessor.setupSharedDatabase();
+
+        knuth = new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.AUTHOR, "Donald E. Knuth")
+                .withField(StandardField.TITLE, "The TeXbook");
+        lamport = new BibEntry(StandardEntryType.Book)
+                .withField(StandardField.AUTHOR, "Leslie Lamport");
+        dbmsProcessor.insertEntries(List.of(knuth, lamport));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void noChangesAfterLatestChangeNumber() {
+        int changeNumber = dbmsProcessor.getLatestChangeNumber();
+
+        SharedEntryChanges changes = dbmsProcessor.getSharedEntryChanges(changeNumber).get();
+
+        assertEquals(List.of(), changes.getChangedEntries());
+        assertEquals(List.of(), changes.getRemovedSharedIDs());
+        assertEquals(changeNumber, changes.getLatestChangeNumber());
+    }
+
+    @Test
+    void insertedEntriesAreFetchedWithAllFields() {
+        SharedEntryChanges changes = dbmsProcessor.getSharedEntryChanges(0).get();
+
+        assertEquals(List.of(knuth, lamport), changes.getChangedEntries());
+        assertEquals(dbmsProcessor.getLatestChangeNumber(), changes.getLatestChangeNumber());
+    }
+
+    @Test
+    void onlyEntriesChangedAfterChangeNumberAreFetched() throws Exception {
+        int changeNumber = dbmsProcessor.getLatestChangeNumber();
+        lamport.setField(StandardField.TITLE, "LaTeX");
+        dbmsProcessor.updateEntries(List.of(lamport));
+
+        SharedEntryChanges changes = dbmsProcessor.getSharedEntryChanges(changeNumber).get();
+
+        assertEquals(List.of(lamport), changes.getChangedEntries());
+        assertEquals(lamport.getSharedBibEntryData().getVersion(), changes.getChangedEntries().get(0).getSharedBibEntryData().getVersion());
+        assertTrue(changes.getLatestChangeNumber() > changeNumber);
+    }
+
+    @Test
+    void removedEntriesAreReported() {
+        int changeNumber = dbmsProcessor.getLatestChangeNumber();
+        dbmsProcessor.removeEntries(List.of(knuth));
+
+        SharedEntryChanges changes = dbmsProcessor.getSharedEntryChanges(changeNumber).get();
+
+        assertEquals(List.of(), changes.getChangedEntries());
+        assertEquals(List.of(knuth.getSharedBibEntryData().getSharedID()), changes.getRemovedSharedIDs());
+    }
+
+    @Test
+    void setUpOfExistingChangeTableKeepsChangeNumber() {
+        int changeNumber = dbmsProcessor.getLatestChangeNumber();
+
+        dbmsProcessor.setUpEntryChangeTable();
+
+        assertEquals(changeNumber, dbmsProcessor.getLatestChangeNumber());
+    }
+
+    @Test
+    void newDatabaseHasEntryChangeStructureVersion() throws Exception {
+        assertEquals(DBMSProcessor.ENTRY_CHANGE_STRUCTURE_VERSION, dbmsProcessor.getStructureVersion());
+        assertFalse(dbmsProcessor.getSharedMetaData().containsKey(DBMSProcessor.STRUCTURE_VERSION_KEY));
+    }
+
+    @Test
+    void changesAreNotFetchedFromDatabaseCreatedByOlderVersion() throws Exception {
+        connection.createStatement().executeUpdate("DELETE FROM \"METADATA\" WHERE \"KEY\" = '" + DBMSProcessor.STRUCTURE_VERSION_KEY + "'");
+
+        dbmsProcessor.setUpEntryChangeTable();
+
+        assertEquals(0, dbmsProcessor.getStructureVersion());
+        assertEquals(Optional.empty(), dbmsProcessor.getSharedEntryChanges(0));
+    }
+}
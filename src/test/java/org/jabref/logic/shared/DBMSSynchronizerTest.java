@@ -94,6 +94,7 @@ public class DBMSSynchronizerTest {
         bibDatabase.insertEntry(expectedEntry);
         expectedEntry.setField(StandardField.AUTHOR, "Brad L and Gilson");
         expectedEntry.setField(StandardField.TITLE, "The micro multiplexer");
+        dbmsSynchronizer.pushChanges();
 
         List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
         assertEquals(Collections.singletonList(expectedEntry), actualEntries);
@@ -106,8 +107,10 @@ public class DBMSSynchronizerTest {
 
         bibDatabase.insertEntry(exampleBibEntry);
         exampleBibEntry.setField(StandardField.AUTHOR, "Brad L and Gilson");
+        dbmsSynchronizer.pushChanges();
         // shared updates are not synchronized back to the remote database
         exampleBibEntry.setField(StandardField.TITLE, "The micro multiplexer", EntriesEventSource.SHARED);
+        dbmsSynchronizer.pushChanges();
 
         List<BibEntry> actualEntries = dbmsProcessor.getSharedEntries();
 
@@ -88,6 +88,8 @@ public class SynchronizationTestSimulator {
         bibEntry.setField(new UnknownField("custom"), "custom value");
         // client B pulls the changes
         bibEntry.clearField(StandardField.AUTHOR);
+        // client A pushes the changes without waiting for the push delay
+        clientContextA.getDBMSSynchronizer().pushChanges();
 
         clientContextB.getDBMSSynchronizer().pullChanges();
 
@@ -135,6 +137,8 @@ public class SynchronizationTestSimulator {
         // client B tries to update the entry
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0);
         bibEntryOfClientB.setField(StandardField.YEAR, "2009");
+        // client B synchronizes without waiting for the push delay
+        clientContextB.getDBMSSynchronizer().pullChanges();
 
         // here a new SharedEntryNotPresentEvent has been thrown. In this case the user B would get an pop-up window.
         assertNotNull(eventListenerB.getSharedEntriesNotPresentEvent());
@@ -151,6 +155,7 @@ public class SynchronizationTestSimulator {
 
         // A now increases the version number
         bibEntryOfClientA.setField(StandardField.YEAR, "2001");
+        clientContextA.getDBMSSynchronizer().pushChanges();
 
         // B does nothing here, so there is no event occurrence
         assertFalse(clientContextB.getDatabase().getEntries().isEmpty());
@@ -159,6 +164,7 @@ public class SynchronizationTestSimulator {
         BibEntry bibEntryOfClientB = clientContextB.getDatabase().getEntries().get(0);
         // B also tries to change something
         bibEntryOfClientB.setField(StandardField.YEAR, "2016");
+        clientContextB.getDBMSSynchronizer().pushChanges();
 
         // B now cannot update the shared entry, due to optimistic offline lock.
         // In this case an BibEntry merge dialog pops up.
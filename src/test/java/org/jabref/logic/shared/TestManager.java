@@ -24,10 +24,12 @@ public class TestManager {
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `FIELD`");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `ENTRY`");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `METADATA`");
+            dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS `ENTRY_CHANGE`");
         } else if (dbmsType == DBMSType.POSTGRESQL) {
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"FIELD\"");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"ENTRY\"");
             dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"METADATA\"");
+            dbmsConnection.getConnection().createStatement().executeUpdate("DROP TABLE IF EXISTS \"ENTRY_CHANGE\"");
         } else if (dbmsType == DBMSType.ORACLE) {
             dbmsConnection.getConnection().createStatement()
                           .executeUpdate("BEGIN\n"
@@ -41,6 +43,10 @@ public class TestManager {
                           .executeUpdate("BEGIN\n"
                                   + "EXECUTE IMMEDIATE 'DROP TABLE \"METADATA\"';\n" + "EXCEPTION\n" + "WHEN OTHERS THEN\n"
                                   + "IF SQLCODE != -942 THEN\n" + "RAISE;\n" + "END IF;\n" + "END;\n");
+            dbmsConnection.getConnection().createStatement()
+                          .executeUpdate("BEGIN\n"
+                                  + "EXECUTE IMMEDIATE 'DROP TABLE \"ENTRY_CHANGE\"';\n" + "EXCEPTION\n" + "WHEN OTHERS THEN\n"
+                                  + "IF SQLCODE != -942 THEN\n" + "RAISE;\n" + "END IF;\n" + "END;\n");
             dbmsConnection.getConnection().createStatement()
                           // Sequence does not exist has a different error code than table does not exist
                           .executeUpdate("BEGIN\n"
@@ -9,6 +9,7 @@ import java.util.List;
 
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -99,4 +100,19 @@ class CitationKeyBasedFileFinderTest {
 
         assertEquals(Collections.emptyList(), results);
     }
+
+    @Test
+    void findAssociatedFilesInIndexFindsSameFilesAsDirectoryWalk() throws Exception {
+        Files.createFile(pdfsDir.resolve("HipKro03a - Hello second paper.pdf"));
+        Files.createFile(pdfsDir.resolve("HipKro03_Hello second paper.pdf"));
+        List<String> extensions = Arrays.asList("jpg", "pdf");
+        List<Path> dirs = Arrays.asList(rootDir, graphicsDir);
+        FileDirectoryIndex index = new FileDirectoryIndex(dirs, new DummyFileUpdateMonitor());
+
+        for (boolean exactKeyOnly : List.of(false, true)) {
+            FileFinder fileFinder = new CitationKeyBasedFileFinder(exactKeyOnly);
+
+            assertEquals(fileFinder.findAssociatedFiles(entry, dirs, extensions), fileFinder.findAssociatedFiles(entry, index, extensions));
+        }
+    }
 }
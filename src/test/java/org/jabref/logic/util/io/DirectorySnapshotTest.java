@@ -0,0 +1,91 @@
+package org.jabref.logic.util.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DirectorySnapshotTest {
+
+    private static final FileTime LAST_MODIFIED = FileTime.fromMillis(1_000_000_000_000L);
+
+    @TempDir
+    Path tempDir;
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createDirectory(tempDir.resolve("papers"));
+        Files.createDirectory(directory.resolve("2020"));
+        Files.createFile(directory.resolve("paper.pdf"));
+        Files.setLastModifiedTime(directory, LAST_MODIFIED);
+    }
+
+    @Test
+    void listsSubdirectoriesAndFiles() throws Exception {
+        try (DirectorySnapshot snapshot = DirectorySnapshot.inMemory()) {
+            DirectorySnapshot.Listing listing = snapshot.list(directory);
+
+            assertEquals(List.of(directory.resolve("2020")), listing.getSubdirectories(directory));
+            assertEquals(List.of(directory.resolve("paper.pdf")), listing.getFiles(directory));
+        }
+    }
+
+    @Test
+    void reusesListingOfUnmodifiedDirectory() throws Exception {
+        try (DirectorySnapshot snapshot = DirectorySnapshot.inMemory()) {
+            snapshot.list(directory);
+            // Pretend that the directory was not modified
+            Files.createFile(directory.resolve("other.pdf"));
+            Files.setLastModifiedTime(directory, LAST_MODIFIED);
+
+            assertEquals(List.of(directory.resolve("paper.pdf")), snapshot.list(directory).getFiles(directory));
+        }
+    }
+
+    @Test
+    void listsModifiedDirectoryAgain() throws Exception {
+        try (DirectorySnapshot snapshot = DirectorySnapshot.inMemory()) {
+            snapshot.list(directory);
+            Files.delete(directory.resolve("paper.pdf"));
+            Files.setLastModifiedTime(directory, FileTime.fromMillis(LAST_MODIFIED.toMillis() + 1000));
+
+            assertEquals(List.of(), snapshot.list(directory).getFiles(directory));
+        }
+    }
+
+    @Test
+    void doesNotRecordListingOfRecentlyModifiedDirectory() throws Exception {
+        try (DirectorySnapshot snapshot = DirectorySnapshot.inMemory()) {
+            FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+            Files.setLastModifiedTime(directory, now);
+            snapshot.list(directory);
+            // Files created within the precision of the modification time might not change it
+            Files.createFile(directory.resolve("other.pdf"));
+            Files.setLastModifiedTime(directory, now);
+
+            assertEquals(2, snapshot.list(directory).getFiles(directory).size());
+        }
+    }
+
+    @Test
+    void snapshotIsStoredInFile() throws Exception {
+        Path file = tempDir.resolve("snapshot.mv");
+        try (DirectorySnapshot snapshot = DirectorySnapshot.open(file)) {
+            snapshot.list(directory);
+        }
+        Files.createFile(directory.resolve("other.pdf"));
+        Files.setLastModifiedTime(directory, LAST_MODIFIED);
+
+        try (DirectorySnapshot snapshot = DirectorySnapshot.open(file)) {
+            assertEquals(List.of(directory.resolve("paper.pdf")), snapshot.list(directory).getFiles(directory));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.jabref.logic.util.io;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import org.jabref.model.util.DummyFileUpdateMonitor;
+import org.jabref.model.util.FileUpdateMonitor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileDirectoryIndexTest {
+
+    private Path rootDir;
+    private Path subDir;
+    private Path rootFile;
+    private Path subFile;
+    private FileDirectoryIndex index;
+
+    @BeforeEach
+    void setUp(@TempDir Path temporaryFolder) throws Exception {
+        rootDir = temporaryFolder;
+        subDir = Files.createDirectory(rootDir.resolve("sub"));
+        rootFile = Files.createFile(rootDir.resolve("Knuth1968.pdf"));
+        subFile = Files.createFile(subDir.resolve("Knuth1968 - Volume 1.pdf"));
+        Files.createFile(subDir.resolve("Turing1950.pdf"));
+
+        index = new FileDirectoryIndex(List.of(rootDir), new DummyFileUpdateMonitor());
+    }
+
+    @Test
+    void getFilesStartingWithFindsFilesInSubdirectories() throws Exception {
+        assertEquals(List.of(subFile, rootFile), index.getFilesStartingWith("Knuth"));
+    }
+
+    @Test
+    void getFilesStartingWithUnknownPrefix() throws Exception {
+        assertEquals(Collections.emptyList(), index.getFilesStartingWith("Church"));
+    }
+
+    @Test
+    void getFilesListsEachFileOnceForOverlappingDirectories() throws Exception {
+        FileDirectoryIndex overlappingIndex = new FileDirectoryIndex(List.of(rootDir, subDir), new DummyFileUpdateMonitor());
+
+        assertEquals(3, overlappingIndex.getFiles().size());
+    }
+
+    @Test
+    void indexIsOnlyUpdatedAfterChange() throws Exception {
+        assertEquals(List.of(subFile, rootFile), index.getFilesStartingWith("Knuth"));
+        Path newFile = Files.createFile(subDir.resolve("Knuth1973.pdf"));
+
+        assertEquals(List.of(subFile, rootFile), index.getFilesStartingWith("Knuth"));
+
+        index.fileUpdated();
+
+        assertEquals(List.of(subFile, rootFile, newFile), index.getFilesStartingWith("Knuth"));
+    }
+
+    @Test
+    void isSameFile() throws Exception {
+        index.getFiles();
+
+        assertTrue(index.isSameFile(rootFile, rootDir.resolve("sub/../Knuth1968.pdf")));
+        assertFalse(index.isSameFile(rootFile, subFile));
+    }
+
+    @Test
+    void nonExistingDirectoryHasNoFiles() throws Exception {
+        FileDirectoryIndex emptyIndex = new FileDirectoryIndex(List.of(rootDir.resolve("nonexisting")), new DummyFileUpdateMonitor());
+
+        assertEquals(Collections.emptyList(), emptyIndex.getFiles());
+    }
+
+    @Test
+    void watchedIndexIsOnlyUpdatedAfterChange() throws Exception {
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(true);
+        FileDirectoryIndex watchedIndex = new FileDirectoryIndex(List.of(rootDir), monitor, 2);
+        watchedIndex.getFiles();
+        Files.createFile(subDir.resolve("Knuth1973.pdf"));
+
+        assertEquals(List.of(subFile, rootFile), watchedIndex.getFilesStartingWith("Knuth"));
+        verify(monitor).addListenerForDirectory(rootDir, watchedIndex);
+        verify(monitor).addListenerForDirectory(subDir, watchedIndex);
+        verify(monitor, never()).removeListener(any(), any());
+    }
+
+    @Test
+    void tooManyDirectoriesAreWalkedOnEachUse() throws Exception {
+        FileUpdateMonitor monitor = mock(FileUpdateMonitor.class);
+        when(monitor.isActive()).thenReturn(true);
+        FileDirectoryIndex watchedIndex = new FileDirectoryIndex(List.of(rootDir), monitor, 1);
+        watchedIndex.getFiles();
+        Path newFile = Files.createFile(subDir.resolve("Knuth1973.pdf"));
+
+        assertEquals(List.of(subFile, rootFile, newFile), watchedIndex.getFilesStartingWith("Knuth"));
+        verify(monitor).removeListener(rootDir, watchedIndex);
+    }
+
+    @Test
+    void closedIndexIsWalkedOnEachUse() throws Exception {
+        index.getFiles();
+        index.close();
+        Path newFile = Files.createFile(subDir.resolve("Knuth1973.pdf"));
+
+        assertEquals(List.of(subFile, rootFile, newFile), index.getFilesStartingWith("Knuth"));
+    }
+}
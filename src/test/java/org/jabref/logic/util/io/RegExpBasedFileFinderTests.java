@@ -8,6 +8,7 @@ import java.util.List;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.field.StandardField;
 import org.jabref.model.entry.types.StandardEntryType;
+import org.jabref.model.util.DummyFileUpdateMonitor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -173,4 +174,35 @@ class RegExpBasedFileFinderTests {
         // then
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void findFilesInIndexRecursive() throws Exception {
+        RegExpBasedFileFinder fileFinder = new RegExpBasedFileFinder("**/[year]_[auth]_[firstpage].*\\\\.[extension]", ',');
+        FileDirectoryIndex index = new FileDirectoryIndex(List.of(directory), new DummyFileUpdateMonitor());
+
+        List<Path> result = fileFinder.findAssociatedFiles(entry, index, PDF_EXTENSION);
+
+        assertEquals(List.of(directory.resolve("directory/subdirectory/2003_Hippel_209.pdf")), result);
+    }
+
+    @Test
+    void findFilesInIndexNonRecursive() throws Exception {
+        BibEntry localEntry = new BibEntry(StandardEntryType.Article).withCitationKey("pdfInSubdirectory");
+        RegExpBasedFileFinder fileFinder = new RegExpBasedFileFinder("[citationkey].*\\\\.[extension]", ',');
+        FileDirectoryIndex index = new FileDirectoryIndex(List.of(directory), new DummyFileUpdateMonitor());
+
+        assertTrue(fileFinder.findAssociatedFiles(localEntry, index, PDF_EXTENSION).isEmpty());
+        assertEquals(List.of(directory.resolve("directory/subdirectory/pdfInSubdirectory.pdf")),
+                fileFinder.findAssociatedFiles(localEntry, new FileDirectoryIndex(List.of(directory.resolve("directory/subdirectory")), new DummyFileUpdateMonitor()), PDF_EXTENSION));
+    }
+
+    @Test
+    void findFilesInIndexWithOtherDirectoryPatternWalksDirectories() throws Exception {
+        BibEntry localEntry = new BibEntry(StandardEntryType.Article).withCitationKey("pdfInSubdirectory");
+        RegExpBasedFileFinder fileFinder = new RegExpBasedFileFinder("*/[citationkey].*\\\\.[extension]", ',');
+        FileDirectoryIndex index = new FileDirectoryIndex(List.of(directory), new DummyFileUpdateMonitor());
+
+        assertEquals(fileFinder.findAssociatedFiles(localEntry, List.of(directory), PDF_EXTENSION),
+                fileFinder.findAssociatedFiles(localEntry, index, PDF_EXTENSION));
+    }
 }
@@ -4,6 +4,9 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 
+import org.jabref.logic.citationkeypattern.CitationKeyPatternPreferences;
+import org.jabref.logic.integrity.IntegrityCheck;
+import org.jabref.logic.journals.JournalAbbreviationRepository;
 import org.jabref.model.entry.BibEntry;
 import org.jabref.model.entry.types.IEEETranEntryType;
 import org.jabref.model.metadata.MetaData;
@@ -13,6 +16,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -22,6 +27,8 @@ class BibDatabaseContextTest {
 
     private FilePreferences fileDirPrefs;
 
+    private final JournalAbbreviationRepository journalAbbreviationRepository = mock(JournalAbbreviationRepository.class);
+
     @BeforeEach
     void setUp() {
         fileDirPrefs = mock(FilePreferences.class);
@@ -116,4 +123,35 @@ class BibDatabaseContextTest {
         BibDatabaseContext bibDatabaseContext = new BibDatabaseContext(db);
         assertEquals(BibDatabaseMode.BIBLATEX, bibDatabaseContext.getMode());
     }
+
+    @Test
+    void integrityCheckIsShared() {
+        BibDatabaseContext bibDatabaseContext = new BibDatabaseContext();
+
+        assertSame(getIntegrityCheck(bibDatabaseContext), getIntegrityCheck(bibDatabaseContext));
+    }
+
+    @Test
+    void integrityCheckIsCreatedAgainAfterModeChanged() {
+        BibDatabaseContext bibDatabaseContext = new BibDatabaseContext();
+        IntegrityCheck integrityCheck = getIntegrityCheck(bibDatabaseContext);
+
+        bibDatabaseContext.setMode(BibDatabaseMode.BIBTEX);
+
+        assertNotSame(integrityCheck, getIntegrityCheck(bibDatabaseContext));
+    }
+
+    @Test
+    void integrityCheckIsCreatedAgainAfterIndexesClosed() {
+        BibDatabaseContext bibDatabaseContext = new BibDatabaseContext();
+        IntegrityCheck integrityCheck = getIntegrityCheck(bibDatabaseContext);
+
+        bibDatabaseContext.closeIndexes();
+
+        assertNotSame(integrityCheck, getIntegrityCheck(bibDatabaseContext));
+    }
+
+    private IntegrityCheck getIntegrityCheck(BibDatabaseContext bibDatabaseContext) {
+        return bibDatabaseContext.getIntegrityCheck(fileDirPrefs, mock(CitationKeyPatternPreferences.class), journalAbbreviationRepository, false);
+    }
 }
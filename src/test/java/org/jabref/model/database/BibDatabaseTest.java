@@ -345,6 +345,68 @@ class BibDatabaseTest {
         assertEquals(1, database.getNumberOfCitationKeyOccurrences("AAA"));
     }
 
+    @Test
+    void correctKeyCountAfterChangingKey() {
+        BibEntry entry = new BibEntry();
+        entry.setCitationKey("AAA");
+        database.insertEntry(entry);
+        entry.setCitationKey("BBB");
+        assertEquals(0, database.getNumberOfCitationKeyOccurrences("AAA"));
+        assertEquals(1, database.getNumberOfCitationKeyOccurrences("BBB"));
+    }
+
+    @Test
+    void getEntryByCitationKeyFindsEntryAfterKeyChange() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        entry.setCitationKey("AAA");
+        assertEquals(Optional.of(entry), database.getEntryByCitationKey("AAA"));
+        entry.clearCiteKey();
+        assertEquals(Optional.empty(), database.getEntryByCitationKey("AAA"));
+    }
+
+    @Test
+    void getEntriesByCitationKeyKeepsDatabaseOrder() {
+        BibEntry first = new BibEntry();
+        BibEntry second = new BibEntry();
+        second.setCitationKey("AAA");
+        database.insertEntries(first, second);
+        first.setCitationKey("AAA");
+        assertEquals(List.of(first, second), database.getEntriesByCitationKey("AAA"));
+    }
+
+    @Test
+    void containsEntryWithIdAfterIdChange() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        String oldId = entry.getId();
+        entry.setId("newId");
+        assertFalse(database.containsEntryWithId(oldId));
+        assertTrue(database.containsEntryWithId("newId"));
+    }
+
+    @Test
+    void containsEntryWithIdIsFalseAfterRemoval() {
+        BibEntry entry = new BibEntry();
+        database.insertEntry(entry);
+        database.removeEntry(entry);
+        assertFalse(database.containsEntryWithId(entry.getId()));
+    }
+
+    @Test
+    void getStringByNameAfterRenaming() {
+        database.addString(bibtexString);
+        database.renameString(bibtexString, "SP");
+        assertEquals(Optional.empty(), database.getStringByName("DSP"));
+        assertEquals(Optional.of(bibtexString), database.getStringByName("SP"));
+    }
+
+    @Test
+    void resolveForStringsIgnoresCaseOfLabel() {
+        database.addString(bibtexString);
+        assertEquals("Digital Signal Processing", database.resolveForStrings("#dsp#"));
+    }
+
     @Test
     void circularStringResolving() {
         BibtexString string = new BibtexString("AAA", "#BBB#");
@@ -1098,21 +1098,31 @@ public class AuthorListTest {
     }
 
     @Test
-    public void parseGarbageCollectAuthorListForUnreachableKey() throws Exception {
+    public void parseRetrieveCachedAuthorListForUnreachableKey() throws Exception {
         final String uniqueAuthorName = "Fleur Hornbach";
         // Note that "new String()" is needed, uniqueAuthorName is a reference to a String literal
         AuthorList uniqueAuthor = AuthorList.parse(new String(uniqueAuthorName));
         System.gc();
-        assertNotSame(uniqueAuthor, AuthorList.parse(uniqueAuthorName));
+        assertSame(uniqueAuthor, AuthorList.parse(uniqueAuthorName));
     }
 
     @Test
-    public void parseGarbageCollectUnreachableInstitution() throws Exception {
-        final String uniqueInstitutionName = "{Unique LLC}";
-        // Note that "new String()" is needed, uniqueAuthorName is a reference to a String literal
-        AuthorList uniqueInstitution = AuthorList.parse(new String(uniqueInstitutionName));
-        System.gc();
-        assertNotSame(uniqueInstitution, AuthorList.parse(uniqueInstitutionName));
+    public void parseCountsCacheHitsAndMisses() {
+        long hits = AuthorList.getCacheStatistics().hitCount();
+        long misses = AuthorList.getCacheStatistics().missCount();
+
+        AuthorList.parse("Kristof Nemeth and Ulla Rademacher");
+        AuthorList.parse("Kristof Nemeth and Ulla Rademacher");
+
+        assertEquals(hits + 1, AuthorList.getCacheStatistics().hitCount());
+        assertEquals(misses + 1, AuthorList.getCacheStatistics().missCount());
+    }
+
+    @Test
+    public void parseSharesEqualAuthorsOfDifferentLists() {
+        Author inFirstList = AuthorList.parse("Ilse Korbinian and Marten Oberholz").getAuthor(1);
+        Author inSecondList = AuthorList.parse("Oberholz, Marten").getAuthor(0);
+        assertSame(inFirstList, inSecondList);
     }
 
     /**
@@ -5,7 +5,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.beans.Observable;
 
 import org.jabref.model.FieldChange;
 import org.jabref.model.database.BibDatabase;
@@ -656,4 +661,100 @@ class BibEntryTest {
         entry = new BibEntry().withField(StandardField.AUTHOR, "value");
         assertFalse(entry.hasChanged());
     }
+
+    @Test
+    void unknownFieldIsFoundRegardlessOfCase() {
+        entry.setField(new UnknownField("customField"), "value");
+
+        assertEquals(Optional.of("value"), entry.getField(new UnknownField("CUSTOMFIELD")));
+        assertEquals(Set.of(new UnknownField("customField")), entry.getFields());
+    }
+
+    @Test
+    void clearedFieldIsRemovedFromFieldMap() {
+        entry.setField(StandardField.AUTHOR, "author");
+        entry.setField(StandardField.TITLE, "title");
+        entry.setField(StandardField.YEAR, "2021");
+
+        entry.clearField(StandardField.TITLE);
+
+        assertEquals(Map.of(StandardField.AUTHOR, "author", StandardField.YEAR, "2021"), entry.getFieldMap());
+    }
+
+    @Test
+    void changeOfFieldMapIsVisibleInObservableMap() {
+        entry.getFieldMap().put(StandardField.AUTHOR, "author");
+
+        assertEquals(Map.of(StandardField.AUTHOR, "author"), entry.getFieldsObservable());
+    }
+
+    @Test
+    void changeOfObservableMapIsVisibleInEntry() {
+        entry.getFieldsObservable().put(StandardField.AUTHOR, "author");
+
+        assertEquals(Optional.of("author"), entry.getField(StandardField.AUTHOR));
+    }
+
+    @Test
+    void changeOfFieldInvalidatesObservables() {
+        AtomicInteger invalidations = new AtomicInteger();
+        for (Observable observable : entry.getObservables()) {
+            observable.addListener(invalidated -> invalidations.incrementAndGet());
+        }
+
+        entry.setField(StandardField.AUTHOR, "author");
+        entry.getFieldsObservable().put(StandardField.TITLE, "title");
+        entry.clearField(StandardField.AUTHOR);
+
+        assertEquals(3, invalidations.get());
+    }
+
+    @Test
+    void changeOfTypeInvalidatesObservables() {
+        AtomicInteger invalidations = new AtomicInteger();
+        for (Observable observable : entry.getObservables()) {
+            observable.addListener(invalidated -> invalidations.incrementAndGet());
+        }
+
+        entry.setType(StandardEntryType.Article);
+
+        assertEquals(1, invalidations.get());
+        assertEquals(StandardEntryType.Article, entry.typeProperty().get());
+    }
+
+    @Test
+    void changeOfTypePropertyChangesType() {
+        entry.typeProperty().set(StandardEntryType.Book);
+
+        assertEquals(StandardEntryType.Book, entry.getType());
+    }
+
+    @Test
+    void latexFreeFieldIsUpdatedAfterChange() {
+        entry.setField(StandardField.TITLE, "M{\\\"{u}}ller");
+        assertEquals(Optional.of("Müller"), entry.getLatexFreeField(StandardField.TITLE));
+
+        entry.setField(StandardField.TITLE, "Meier");
+        assertEquals(Optional.of("Meier"), entry.getLatexFreeField(StandardField.TITLE));
+    }
+
+    @Test
+    void cloneHasSameFieldsAndIsIndependent() {
+        entry.setField(StandardField.AUTHOR, "author");
+
+        BibEntry clone = (BibEntry) entry.clone();
+        clone.setField(StandardField.TITLE, "title");
+
+        assertEquals(Map.of(StandardField.AUTHOR, "author", StandardField.TITLE, "title"), clone.getFieldMap());
+        assertEquals(Map.of(StandardField.AUTHOR, "author"), entry.getFieldMap());
+    }
+
+    @Test
+    void entriesWithSameFieldsInDifferentOrderAreEqual() {
+        BibEntry first = new BibEntry().withField(StandardField.AUTHOR, "author").withField(StandardField.TITLE, "title");
+        BibEntry second = new BibEntry().withField(StandardField.TITLE, "title").withField(StandardField.AUTHOR, "author");
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
 }
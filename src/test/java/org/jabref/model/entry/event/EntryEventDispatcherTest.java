@@ -0,0 +1,126 @@
+package org.jabref.model.entry.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jabref.model.entry.BibEntry;
+import org.jabref.model.entry.field.StandardField;
+
+import com.google.common.eventbus.Subscribe;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntryEventDispatcherTest {
+
+    @Test
+    void eventIsDeliveredToSubscriberOfSupertype() {
+        BibEntry entry = new BibEntry();
+        FieldChangeListener listener = new FieldChangeListener();
+        entry.registerListener(listener);
+
+        entry.setField(StandardField.AUTHOR, "author");
+        entry.setField(StandardField.AUTHOR, "other author");
+
+        assertEquals(List.of("author", "other author"), listener.newValues);
+    }
+
+    @Test
+    void unregisteredListenerGetsNoEvents() {
+        BibEntry entry = new BibEntry();
+        FieldChangeListener listener = new FieldChangeListener();
+        entry.registerListener(listener);
+        entry.unregisterListener(listener);
+
+        entry.setField(StandardField.AUTHOR, "author");
+
+        assertEquals(List.of(), listener.newValues);
+    }
+
+    @Test
+    void listenerRegisteredTwiceGetsEventOnce() {
+        Object listener = new Object();
+        Object[] listeners = EntryEventDispatcher.register(null, listener);
+
+        assertArrayEquals(listeners, EntryEventDispatcher.register(listeners, listener));
+    }
+
+    @Test
+    void unregisteringLastListenerRemovesListeners() {
+        Object listener = new Object();
+
+        assertNull(EntryEventDispatcher.unregister(EntryEventDispatcher.register(null, listener), listener));
+    }
+
+    @Test
+    void unregisteringUnknownListenerThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> EntryEventDispatcher.unregister(null, new Object()));
+    }
+
+    @Test
+    void listenerWithInvalidSubscriberIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EntryEventDispatcher.register(null, new InvalidListener()));
+    }
+
+    @Test
+    void eventPostedByListenerIsDeliveredAfterCurrentEvent() {
+        BibEntry entry = new BibEntry();
+        List<String> deliveredValues = new ArrayList<>();
+        Object changingListener = new Object() {
+            @Subscribe
+            public void listen(FieldChangedEvent event) {
+                if ("author".equals(event.getNewValue())) {
+                    entry.setField(StandardField.TITLE, "title");
+                }
+            }
+        };
+        FieldChangeListener recordingListener = new FieldChangeListener() {
+            @Override
+            @Subscribe
+            public void listen(FieldChangedEvent event) {
+                deliveredValues.add(event.getNewValue());
+            }
+        };
+        entry.registerListener(changingListener);
+        entry.registerListener(recordingListener);
+
+        entry.setField(StandardField.AUTHOR, "author");
+
+        assertEquals(List.of("author", "title"), deliveredValues);
+    }
+
+    @Test
+    void exceptionOfListenerDoesNotStopDelivery() {
+        BibEntry entry = new BibEntry();
+        FieldChangeListener listener = new FieldChangeListener();
+        entry.registerListener(new Object() {
+            @Subscribe
+            public void listen(FieldChangedEvent event) {
+                throw new IllegalStateException("Listener failed");
+            }
+        });
+        entry.registerListener(listener);
+
+        entry.setField(StandardField.AUTHOR, "author");
+
+        assertEquals(List.of("author"), listener.newValues);
+    }
+
+    public static class FieldChangeListener {
+        private final List<String> newValues = new ArrayList<>();
+
+        @Subscribe
+        public void listen(FieldChangedEvent event) {
+            newValues.add(event.getNewValue());
+        }
+    }
+
+    public static class InvalidListener {
+        @Subscribe
+        public void listen(FieldChangedEvent event, Object additionalParameter) {
+        }
+    }
+}
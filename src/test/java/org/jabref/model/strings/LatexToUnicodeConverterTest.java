@@ -0,0 +1,62 @@
+package org.jabref.model.strings;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatexToUnicodeConverterTest {
+
+    @Test
+    void plainTextIsReturnedUnchanged() {
+        assertEquals("Journal of Computer Science", LatexToUnicodeConverter.format("Journal of Computer Science"));
+    }
+
+    @Test
+    void plainTextIsNormalized() {
+        assertEquals("ä", LatexToUnicodeConverter.format("a\u0308"));
+    }
+
+    @Test
+    void bracesAreRemoved() {
+        assertEquals(Optional.of("Journal of ACM"), LatexToUnicodeConverter.convert("Journal of {ACM}"));
+    }
+
+    @Test
+    void accentsAreConverted() {
+        assertEquals(Optional.of("Mönch Maliński Škoda ç"), LatexToUnicodeConverter.convert("M{\\\"{o}}nch Mali\\'nski \\v{S}koda \\c{c}"));
+    }
+
+    @Test
+    void accentOnDotlessIIsConverted() {
+        assertEquals(Optional.of("ı̈"), LatexToUnicodeConverter.convert("\\\"{\\i}"));
+    }
+
+    @Test
+    void lettersAreConverted() {
+        assertEquals(Optional.of("Łęski Straße ø"), LatexToUnicodeConverter.convert("\\L\\k{e}ski Stra\\ss{}e {\\o}"));
+    }
+
+    @Test
+    void escapedCharactersAreConverted() {
+        assertEquals(Optional.of("Science & Technology, 5% of $10"), LatexToUnicodeConverter.convert("Science \\& Technology, 5\\% of \\$10"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\\textit{x}", "$x^2$", "a -- b", "a~b", "``quoted''", "x_{1}", "\\ss x", "\\'{ab}", "{a", "a}", "\\unknown"})
+    void unsupportedLatexIsNotConverted(String text) {
+        assertTrue(LatexToUnicodeConverter.convert(text).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Journal of {ACM}", "M{\\\"{o}}nch", "Mali\\'nski", "\\L\\k{e}ski", "\\\"{\\i}", "Science \\& Technology",
+            "\\v{S}koda", "M\\\"uller", "Stra\\ss{}e", "{\\o}", "\\aa{}ngstr\\\"om", "\\textit{x}", "a -- b", "x_{1}",
+            "K\\={o}be", "\\=a", "\\.{Z}ywiec", "\\.z", "Erd\\H{o}s", "\\r{A}ngstr\\\"om", "\\d{s}", "Erdo\\u{g}an", "\\u{a}"})
+    void resultIsSameAsResultOfAdapter(String text) {
+        assertEquals(LatexToUnicodeAdapter.format(text), LatexToUnicodeConverter.format(text));
+    }
+}